@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.android;
+
+import com.android.dex.DexFormat;
+import com.android.dx.cf.direct.DirectClassFile;
+import com.android.dx.cf.direct.StdAttributeFactory;
+import com.android.dx.dex.DexOptions;
+import com.android.dx.dex.cf.CfOptions;
+import com.android.dx.dex.cf.CfTranslator;
+import com.android.dx.dex.file.DexFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Converts classfiles to dex files kept in the dex cache directory, used by {@link MultiDexClassLoader}.
+ * Does not depend on the Android runtime so the conversion and the cache can be tested on a plain JVM.
+ */
+class DexConverter {
+    private static final Logger log = LoggerFactory.getLogger(DexConverter.class);
+
+    private final File dexDir;
+    private final boolean reuseClassFiles;
+    private final int maxBatchClasses;
+    private final DexTimings timings;
+    final DexOptions dex_options = new DexOptions();
+    final CfOptions cf_options = new CfOptions();
+
+    DexConverter(File dexDir, boolean reuseClassFiles, int maxBatchClasses, DexTimings timings) {
+        this.dexDir = dexDir;
+        this.reuseClassFiles = reuseClassFiles;
+        this.maxBatchClasses = Math.max(1, maxBatchClasses);
+        this.timings = timings;
+        dex_options.targetApiLevel = DexFormat.API_NO_EXTENDED_OPCODES;
+        cf_options.optimize = true;
+    }
+
+    /**
+     * Convert class to dex
+     * @param name class name
+     * @param bytes   classfile bytes
+     * @return  the dex file name
+     */
+    String convertClass(String name, byte[] bytes) throws IOException {
+        name = name.replace('.','/');
+        File dexFile = new File(String.format("%s/%s.dex", dexDir, name));
+        if(dexFile.exists() && reuseClassFiles) {
+            if (log.isTraceEnabled())
+                log.trace(String.format("Reused class [%s] from cache: %s", name, dexFile.getAbsolutePath()));
+            timings.cacheHit();
+            return dexFile.getAbsolutePath();
+        }
+        long start = System.nanoTime();
+        //convert .class ==> .dex
+        DexFile file = new DexFile(dex_options);
+        addClass(file, name, bytes);
+
+        //write dex file to cache dir
+        writeDex(file, dexFile);
+        timings.conversion(1, System.nanoTime() - start);
+        if (log.isTraceEnabled())
+            log.trace(String.format("Wrote class [%s] to cache: %s", name, dexFile.getAbsolutePath()));
+        return dexFile.getAbsolutePath();
+    }
+
+    /**
+     * Convert classes to dex files of at most the configured number of classes each, every dex is cached by hash
+     * of its class names and bytes so unchanged set of classes is converted only once
+     * @param classes classfile bytes by class name
+     * @return  the dex file names
+     */
+    List<String> convertBatch(SortedMap<String, byte[]> classes) throws IOException {
+        List<String> paths = new ArrayList<String>();
+        for (SortedMap<String, byte[]> part : split(classes, maxBatchClasses)) {
+            paths.add(convertClasses(part));
+        }
+        return paths;
+    }
+
+    private String convertClasses(SortedMap<String, byte[]> classes) throws IOException {
+        File dexFile = new File(new File(dexDir, "batch"), hash(classes) + ".dex");
+        if(dexFile.exists() && reuseClassFiles) {
+            log.debug("Reused batch of {} classes from cache: {}", classes.size(), dexFile.getAbsolutePath());
+            timings.cacheHit();
+            return dexFile.getAbsolutePath();
+        }
+        long start = System.nanoTime();
+        DexFile file = new DexFile(dex_options);
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            addClass(file, entry.getKey().replace('.', '/'), entry.getValue());
+        }
+        writeDex(file, dexFile);
+        long duration = System.nanoTime() - start;
+        timings.conversion(classes.size(), duration);
+        log.debug("Wrote batch of {} classes in {} ms to cache: {}", classes.size(), duration / 1000000, dexFile.getAbsolutePath());
+        return dexFile.getAbsolutePath();
+    }
+
+    private void addClass(DexFile file, String name, byte[] bytes) {
+        DirectClassFile cf =
+                new DirectClassFile(bytes, name + ".class", cf_options.strictNameCheck);
+
+        cf.setAttributeFactory(StdAttributeFactory.THE_ONE);
+        cf.getMagic();
+
+        file.add(CfTranslator.translate(cf, bytes, cf_options, dex_options, file));
+    }
+
+    private void writeDex(DexFile file, File dexFile) throws IOException {
+        dexFile.getParentFile().mkdirs();
+        // write to temporary file first so an interrupted write is never reused from the cache
+        File tmpFile = new File(dexFile.getParentFile(), dexFile.getName() + ".tmp");
+        FileOutputStream fos = null;
+        try {
+            fos = new FileOutputStream(tmpFile);
+            file.writeTo(fos, null, false);
+        } finally {
+            if(fos!=null) {
+                try {
+                    fos.close();
+                } catch (IOException e) {}
+            }
+        }
+        if (dexFile.exists()) dexFile.delete();
+        if (!tmpFile.renameTo(dexFile)) {
+            throw new IOException("Unable to move " + tmpFile + " to " + dexFile);
+        }
+    }
+
+    /**
+     * Splits classes in the order of their names, so the same classes always end up in the same parts
+     */
+    static List<SortedMap<String, byte[]>> split(SortedMap<String, byte[]> classes, int maxClasses) {
+        List<SortedMap<String, byte[]>> parts = new ArrayList<SortedMap<String, byte[]>>();
+        SortedMap<String, byte[]> part = null;
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            if (part == null || part.size() == maxClasses) {
+                part = new TreeMap<String, byte[]>();
+                parts.add(part);
+            }
+            part.put(entry.getKey(), entry.getValue());
+        }
+        return parts;
+    }
+
+    static String hash(SortedMap<String, byte[]> classes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(entry.getValue());
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -24,10 +24,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.Enumeration;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 
+import static org.drools.android.DroolsAndroidContext.isBatchDex;
 import static org.drools.core.util.ClassUtils.convertClassToResourcePath;
 
 /**
@@ -80,7 +84,11 @@ public class DexPackageClassLoader extends MultiDexClassLoader implements FastCl
                         existingPackages.add(pkgName);
                     }
                 }
-                cls = super.defineClass(name, clazzBytes);
+                if (isBatchDex()) {
+                    cls = defineClassInBatch(name, getPackageClasses());
+                } else {
+                    cls = super.defineClass(name, clazzBytes);
+                }
             }
 
             if (cls != null) {
@@ -91,6 +99,20 @@ public class DexPackageClassLoader extends MultiDexClassLoader implements FastCl
         return cls;
     }
 
+    /**
+     * @return bytes of all classes compiled for the package by class name
+     */
+    protected SortedMap<String, byte[]> getPackageClasses() {
+        SortedMap<String, byte[]> classes = new TreeMap<String, byte[]>();
+        for (Map.Entry<String, byte[]> entry : this.store.getStore().entrySet()) {
+            String resource = entry.getKey();
+            if (resource.endsWith(".class") && entry.getValue() != null) {
+                classes.put(resource.substring(0, resource.length() - ".class".length()).replace('/', '.'), entry.getValue());
+            }
+        }
+        return classes;
+    }
+
     public InputStream getResourceAsStream(final String name) {
         final byte[] clsBytes = this.store.read(name);
         if (clsBytes != null) {
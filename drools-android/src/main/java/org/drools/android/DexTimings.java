@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.android;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accumulated cost of turning generated classes into dex files and loading them.
+ */
+public class DexTimings {
+
+    private final AtomicLong conversions = new AtomicLong();
+    private final AtomicLong convertedClasses = new AtomicLong();
+    private final AtomicLong conversionTime = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadTime = new AtomicLong();
+
+    void conversion(int classes, long nanos) {
+        conversions.incrementAndGet();
+        convertedClasses.addAndGet(classes);
+        conversionTime.addAndGet(nanos);
+    }
+
+    void cacheHit() {
+        cacheHits.incrementAndGet();
+    }
+
+    void load(long nanos) {
+        loads.incrementAndGet();
+        loadTime.addAndGet(nanos);
+    }
+
+    /**
+     * @return number of dex files written
+     */
+    public long getConversions() {
+        return conversions.get();
+    }
+
+    /**
+     * @return number of classes converted to dex
+     */
+    public long getConvertedClasses() {
+        return convertedClasses.get();
+    }
+
+    public long getConversionTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(conversionTime.get());
+    }
+
+    /**
+     * @return number of dex files reused from the cache directory instead of being converted
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * @return number of dex files added to class loaders
+     */
+    public long getLoads() {
+        return loads.get();
+    }
+
+    public long getLoadTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(loadTime.get());
+    }
+
+    public void reset() {
+        conversions.set(0);
+        convertedClasses.set(0);
+        conversionTime.set(0);
+        cacheHits.set(0);
+        loads.set(0);
+        loadTime.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "DexTimings[conversions=" + getConversions() +
+                ", convertedClasses=" + getConvertedClasses() +
+                ", conversionTime=" + getConversionTimeMillis() + "ms" +
+                ", cacheHits=" + getCacheHits() +
+                ", loads=" + getLoads() +
+                ", loadTime=" + getLoadTimeMillis() + "ms]";
+    }
+}
@@ -34,6 +34,9 @@ public class DroolsAndroidContext {
 
     private static Context context;
     private static boolean reuseClassFiles = true;
+    private static boolean batchDex = false;
+    private static int maxBatchDexClasses = 1000;
+    private static final DexTimings dexTimings = new DexTimings();
 
     public static Context getContext() {
         return context;
@@ -82,6 +85,37 @@ public class DroolsAndroidContext {
         reuseClassFiles = reuse;
     }
 
+    public static boolean isBatchDex() {
+        return batchDex;
+    }
+
+    /**
+     * When enabled, all classes generated for a rule package are converted into single dex file which is cached
+     * by hash of the class bytes and loaded at once, instead of converting and loading every class separately.
+     */
+    public static void setBatchDex(boolean batch) {
+        batchDex = batch;
+    }
+
+    public static int getMaxBatchDexClasses() {
+        return maxBatchDexClasses;
+    }
+
+    /**
+     * Limits the number of classes converted into single dex file when batching is enabled, larger packages are
+     * split into several dex files so that a single file stays within the dex method and field limits.
+     */
+    public static void setMaxBatchDexClasses(int maxClasses) {
+        maxBatchDexClasses = maxClasses;
+    }
+
+    /**
+     * @return time spent converting classes to dex and loading them since start or last reset
+     */
+    public static DexTimings getDexTimings() {
+        return dexTimings;
+    }
+
     public static File getCacheDir() {
         return cacheDir;
     }
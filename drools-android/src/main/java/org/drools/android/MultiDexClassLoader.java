@@ -16,13 +16,6 @@
 
 package org.drools.android;
 
-import com.android.dex.DexFormat;
-import com.android.dx.cf.direct.DirectClassFile;
-import com.android.dx.cf.direct.StdAttributeFactory;
-import com.android.dx.dex.DexOptions;
-import com.android.dx.dex.cf.CfOptions;
-import com.android.dx.dex.cf.CfTranslator;
-import com.android.dx.dex.file.DexFile;
 import dalvik.system.BaseDexClassLoader;
 import dalvik.system.DexClassLoader;
 import org.drools.core.util.ByteArrayClassLoader;
@@ -32,24 +25,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.security.ProtectionDomain;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
 
 import static org.drools.android.DroolsAndroidContext.*;
 
 /**
- * Maintains separate dex files for each defined class.
+ * Maintains separate dex files for each defined class, or for each batch of classes defined together.
  */
 @Instrument
 public class MultiDexClassLoader extends DexClassLoader implements ByteArrayClassLoader, MVELClassLoader {
     private static final Logger log = LoggerFactory.getLogger(MultiDexClassLoader.class);
 
     private String dexPath="";
-    final DexOptions dex_options = new DexOptions();
-    final CfOptions cf_options = new CfOptions();
+    private Set<String> batchedClasses = Collections.emptySet();
+    private boolean batchFailed = false;
+    private final DexConverter converter;
     private static Field pathListField;
     private static Class dexPathListClazz;
     private static Constructor dexPathListConstructor;
@@ -70,62 +67,27 @@ public class MultiDexClassLoader extends DexClassLoader implements ByteArrayClas
                 getOptimizedDir().getAbsolutePath(),
                 getContext().getApplicationInfo().nativeLibraryDir,
                 parent!=null ? parent : getContext().getClassLoader());
-        dex_options.targetApiLevel = DexFormat.API_NO_EXTENDED_OPCODES;
-        cf_options.optimize = true;
+        converter = new DexConverter(getDexDir(), isReuseClassFiles(), getMaxBatchDexClasses(), getDexTimings());
     }
 
     /**
-     * Convert class to dex
-     * @param name class name
-     * @param bytes   classfile bytes
-     * @return  the dex file name
+     * Makes classes of the dex file (or files separated by path separator) available to this class loader
      */
-    private String writeClass(String name, byte[] bytes) throws IOException {
-        name = name.replace('.','/');
-        File dexFile = new File(String.format("%s/%s.dex", getDexDir(), name));
-        if(dexFile.exists() && isReuseClassFiles()) {
-            if (log.isTraceEnabled())
-                log.trace(String.format("Reused class [%s] from cache: %s", name, dexFile.getAbsolutePath()));
-            return dexFile.getAbsolutePath();
-        }
-        FileOutputStream fos = null;
-        try {
-            //convert .class ==> .dex
-            DexFile file = new DexFile(dex_options);
-            DirectClassFile cf =
-                    new DirectClassFile(bytes, name + ".class", cf_options.strictNameCheck);
-
-            cf.setAttributeFactory(StdAttributeFactory.THE_ONE);
-            cf.getMagic();
-
-            file.add(CfTranslator.translate(cf, bytes, cf_options, dex_options, file));
-
-            //write dex file to cache dir
-            dexFile.getParentFile().mkdirs();
-            if (dexFile.exists()) dexFile.delete();
-            fos = new FileOutputStream(dexFile);
-            file.writeTo(fos, null, false);
-            if (log.isTraceEnabled())
-                log.trace(String.format("Wrote class [%s] to cache: %s", name, dexFile.getAbsolutePath()));
-            return dexFile.getAbsolutePath();
-        } finally {
-            if(fos!=null) {
-                try {
-                    fos.close();
-                } catch (IOException e) {}
-            }
-        }
+    protected void addDexFile(String path) throws Exception {
+        long start = System.nanoTime();
+        dexPath += (dexPath.isEmpty() ? "" : ":") + path;
+        log.trace("New Dexpath: " + dexPath);
+        pathListField.set(this, dexPathListConstructor.newInstance(this,
+                path,
+                getContext().getApplicationInfo().nativeLibraryDir,
+                getOptimizedDir()));
+        getDexTimings().load(System.nanoTime() - start);
     }
 
     public Class defineClass(String name, byte[] bytes) {
         try {
-            String path = writeClass(name, bytes);
-            dexPath += (dexPath.isEmpty() ? "" : ":") + path;
-            log.trace("New Dexpath: " + dexPath);
-            pathListField.set(this, dexPathListConstructor.newInstance(this,
-                    path,
-                    getContext().getApplicationInfo().nativeLibraryDir,
-                    getOptimizedDir()));
+            String path = converter.convertClass(name, bytes);
+            addDexFile(path);
             return findClass(name);
         } catch (Exception e) {
             log.error("Error", e);
@@ -133,6 +95,40 @@ public class MultiDexClassLoader extends DexClassLoader implements ByteArrayClas
         }
     }
 
+    /**
+     * Defines class that is part of a batch of classes converted to dex files of at most
+     * {@link DroolsAndroidContext#getMaxBatchDexClasses()} classes. Whenever the class is not part of the dex
+     * files loaded so far, the whole batch is converted (or reused from the cache) and loaded again.
+     * @param name class name
+     * @param classes classfile bytes of all classes of the batch by class name, must contain the class
+     */
+    public synchronized Class defineClassInBatch(String name, SortedMap<String, byte[]> classes) {
+        if (batchFailed) {
+            return defineClass(name, classes.get(name));
+        }
+        try {
+            if (!batchedClasses.contains(name)) {
+                List<String> paths = converter.convertBatch(classes);
+                addDexFile(join(paths));
+                batchedClasses = new HashSet<String>(classes.keySet());
+            }
+            return findClass(name);
+        } catch (Exception e) {
+            // e.g. too many methods for single dex, continue with one dex per class
+            log.warn("Unable to load batch of " + classes.size() + " classes, falling back to dex per class", e);
+            batchFailed = true;
+            return defineClass(name, classes.get(name));
+        }
+    }
+
+    private static String join(List<String> paths) {
+        StringBuilder dexPath = new StringBuilder();
+        for (String path : paths) {
+            dexPath.append(dexPath.length() == 0 ? "" : File.pathSeparator).append(path);
+        }
+        return dexPath.toString();
+    }
+
     @Override
     public Class< ? > defineClass(final String name,
                                   final byte[] bytes,
@@ -21,6 +21,7 @@ import org.robolectric.annotation.Implementation;
 import org.robolectric.annotation.Implements;
 
 import java.security.ProtectionDomain;
+import java.util.SortedMap;
 
 /**
  * {@link MultiDexClassLoader} which loads classes normally,
@@ -42,6 +43,11 @@ public class ShadowMultiDexClassLoader extends ShadowDexClassLoader {
         return super.defineClass(name, bytes, 0, bytes.length);
     }
 
+    @Implementation
+    public Class defineClassInBatch(String name, SortedMap<String, byte[]> classes) {
+        return defineClass(name, classes.get(name));
+    }
+
     @Implementation
     public Class<?> defineClass(final String name,
                                 final byte[] bytes,
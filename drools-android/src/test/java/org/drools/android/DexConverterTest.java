@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.android;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mvel2.asm.ClassWriter;
+import org.mvel2.asm.MethodVisitor;
+import org.mvel2.asm.Opcodes;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class DexConverterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File dexDir;
+    private DexTimings timings;
+
+    @Before
+    public void setup() throws Exception {
+        dexDir = folder.newFolder("dex");
+        timings = new DexTimings();
+    }
+
+    @Test
+    public void testClassReusedFromCache() throws Exception {
+        DexConverter converter = new DexConverter(dexDir, true, 10, timings);
+
+        String path = converter.convertClass("org.test.First", classBytes("org.test.First", "value"));
+        assertTrue(new File(path).exists());
+        assertEquals(1, timings.getConversions());
+        assertEquals(0, timings.getCacheHits());
+
+        assertEquals(path, converter.convertClass("org.test.First", classBytes("org.test.First", "value")));
+        assertEquals(1, timings.getConversions());
+        assertEquals(1, timings.getCacheHits());
+    }
+
+    @Test
+    public void testClassConvertedAgainWithoutReuse() throws Exception {
+        DexConverter converter = new DexConverter(dexDir, false, 10, timings);
+
+        String path = converter.convertClass("org.test.First", classBytes("org.test.First", "value"));
+        assertEquals(path, converter.convertClass("org.test.First", classBytes("org.test.First", "value")));
+        assertEquals(2, timings.getConversions());
+        assertEquals(0, timings.getCacheHits());
+    }
+
+    @Test
+    public void testBatchReusedFromCache() throws Exception {
+        DexConverter converter = new DexConverter(dexDir, true, 10, timings);
+        SortedMap<String, byte[]> classes = classes("org.test.First", "org.test.Second");
+
+        List<String> paths = converter.convertBatch(classes);
+        assertEquals(1, paths.size());
+        assertTrue(new File(paths.get(0)).exists());
+        assertEquals(1, timings.getConversions());
+        assertEquals(2, timings.getConvertedClasses());
+
+        // another loader of the same package, e.g. after restart of the application
+        DexConverter other = new DexConverter(dexDir, true, 10, timings);
+        assertEquals(paths, other.convertBatch(classes("org.test.First", "org.test.Second")));
+        assertEquals(1, timings.getConversions());
+        assertEquals(1, timings.getCacheHits());
+    }
+
+    @Test
+    public void testBatchConvertedAgainWhenClassesChange() throws Exception {
+        DexConverter converter = new DexConverter(dexDir, true, 10, timings);
+        SortedMap<String, byte[]> classes = classes("org.test.First", "org.test.Second");
+        List<String> paths = converter.convertBatch(classes);
+
+        // recompiled class with the same name
+        classes.put("org.test.Second", classBytes("org.test.Second", "changed"));
+        List<String> changedPaths = converter.convertBatch(classes);
+        assertFalse(paths.equals(changedPaths));
+
+        // added class
+        classes.put("org.test.Third", classBytes("org.test.Third", "value"));
+        List<String> addedPaths = converter.convertBatch(classes);
+        assertFalse(changedPaths.equals(addedPaths));
+
+        assertEquals(3, timings.getConversions());
+        assertEquals(0, timings.getCacheHits());
+        assertNotEquals(DexConverter.hash(classes("org.test.First")), DexConverter.hash(classes("org.test.Second")));
+    }
+
+    @Test
+    public void testBatchSplit() throws Exception {
+        DexConverter converter = new DexConverter(dexDir, true, 2, timings);
+        SortedMap<String, byte[]> classes = classes("org.test.A", "org.test.B", "org.test.C", "org.test.D", "org.test.E");
+
+        List<String> paths = converter.convertBatch(classes);
+        assertEquals(3, paths.size());
+        for (String path : paths) {
+            assertTrue(new File(path).exists());
+        }
+        assertEquals(3, timings.getConversions());
+        assertEquals(5, timings.getConvertedClasses());
+
+        // classes are split in the order of their names, so only the last part changes
+        classes.put("org.test.F", classBytes("org.test.F", "value"));
+        List<String> addedPaths = converter.convertBatch(classes);
+        assertEquals(3, addedPaths.size());
+        assertEquals(paths.subList(0, 2), addedPaths.subList(0, 2));
+        assertFalse(paths.get(2).equals(addedPaths.get(2)));
+        assertEquals(4, timings.getConversions());
+        assertEquals(2, timings.getCacheHits());
+    }
+
+    @Test
+    public void testSplit() {
+        SortedMap<String, byte[]> classes = classes("org.test.C", "org.test.A", "org.test.B");
+
+        List<SortedMap<String, byte[]>> parts = DexConverter.split(classes, 2);
+        assertEquals(2, parts.size());
+        assertEquals(Arrays.asList("org.test.A", "org.test.B"), Arrays.asList(parts.get(0).keySet().toArray()));
+        assertEquals(Arrays.asList("org.test.C"), Arrays.asList(parts.get(1).keySet().toArray()));
+
+        assertEquals(1, DexConverter.split(classes, 3).size());
+        assertEquals(0, DexConverter.split(new TreeMap<String, byte[]>(), 3).size());
+    }
+
+    private static SortedMap<String, byte[]> classes(String... names) {
+        SortedMap<String, byte[]> classes = new TreeMap<String, byte[]>();
+        for (String name : names) {
+            classes.put(name, classBytes(name, "value"));
+        }
+        return classes;
+    }
+
+    /**
+     * Generates class with a default constructor and single static field, different field names give different bytes
+     */
+    private static byte[] classBytes(String name, String fieldName) {
+        ClassWriter cw = new ClassWriter(0);
+        cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name.replace('.', '/'), null, "java/lang/Object", null);
+        cw.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, fieldName, "I", null, null).visitEnd();
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V");
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmark.jmh;
+
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmark.Benchmark;
+import org.drools.benchmark.BenchmarkDefinition;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Runs an existing {@link Benchmark} under JMH. Every iteration gets a freshly initialized benchmark
+ * (the same way BenchmarkRunner does for each repetition) and measures a single call of
+ * {@link Benchmark#execute(int)}, so sessions filled by one iteration never leak into the next one.
+ *
+ * With more than one thread (<code>-t</code>) every thread runs its own clone of the benchmark, which is
+ * supported only by benchmarks overriding {@link Benchmark#clone()} - same restriction as the
+ * <code>parallel-threads</code> attribute of benchmark.xml.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(3)
+public abstract class AbstractJmhBenchmark {
+
+    // prototypes of the parallel benchmarks, the first clone initializes the state shared by all the clones
+    private static final Map<String, Benchmark> prototypes = new HashMap<String, Benchmark>();
+
+    protected Benchmark benchmark;
+    protected BenchmarkDefinition definition;
+    private int repNr;
+
+    /**
+     * @return definition of the benchmark to run with the current values of the JMH parameters
+     */
+    protected abstract BenchmarkDefinition createDefinition();
+
+    @Setup(Level.Iteration)
+    public void setUp(BenchmarkParams params) {
+        definition = createDefinition().setThreadNr(params.getThreads());
+
+        if (!definition.isParallel()) {
+            benchmark = definition.instance();
+            benchmark.init(definition);
+            return;
+        }
+
+        // serialized so that clones never see the shared state half initialized
+        synchronized (prototypes) {
+            String key = prototypeKey(params);
+            Benchmark prototype = prototypes.get(key);
+            boolean isFirst = prototype == null;
+            if (isFirst) {
+                prototype = definition.instance();
+                prototypes.put(key, prototype);
+            }
+            benchmark = prototype.clone();
+            benchmark.init(definition, isFirst);
+        }
+    }
+
+    protected void execute() {
+        benchmark.execute(repNr++);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (benchmark != null) {
+            if (definition.isParallel()) {
+                benchmark.terminate(false);
+            } else {
+                benchmark.terminate();
+            }
+            benchmark = null;
+        }
+    }
+
+    protected static BenchmarkDefinition definition(String description, Class<? extends Benchmark> type, Object... args) {
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (constructor.getParameterTypes().length == args.length) {
+                return new BenchmarkDefinition(constructor, args).setDescription(description);
+            }
+        }
+        throw new IllegalArgumentException("Unable to find a constructor of " + type.getName() + " with " + args.length + " argument(s)");
+    }
+
+    private static String prototypeKey(BenchmarkParams params) {
+        StringBuilder key = new StringBuilder(params.getBenchmark());
+        for (String param : params.getParamsKeys()) {
+            key.append(':').append(param).append('=').append(params.getParam(param));
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmark.jmh;
+
+import org.drools.benchmark.BenchmarkDefinition;
+import org.drools.benchmark.benchmarks.CompareIndexCrossProductNoMatch;
+import org.drools.benchmark.benchmarks.CompareIndexLeftModifyNoMatchManyRight;
+import org.drools.benchmark.benchmarks.CompareIndexLeftModifyNoMatchOneRight;
+import org.drools.benchmark.benchmarks.CompareIndexRightModifyNoMatchManyLeft;
+import org.drools.benchmark.benchmarks.CompareIndexRightModifyNoMatchOneLeft;
+import org.drools.benchmark.benchmarks.CompareIndexWorstCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+public class CompareIndexJmhBenchmark extends AbstractJmhBenchmark {
+
+    @Param({"LeftModifyNoMatchOneRight", "LeftModifyNoMatchManyRight", "RightModifyNoMatchOneLeft",
+            "RightModifyNoMatchManyLeft", "CrossProductNoMatch", "WorstCase"})
+    public String scenario;
+
+    @Param({"10000"})
+    public int objectNr;
+
+    // not used by WorstCase
+    @Param({"1000"})
+    public int modifications;
+
+    @Override
+    protected BenchmarkDefinition createDefinition() {
+        String description = "CompareIndex " + scenario;
+        switch (scenario) {
+            case "LeftModifyNoMatchOneRight":
+                return definition(description, CompareIndexLeftModifyNoMatchOneRight.class, objectNr, modifications, "compareIndexLeftModifyNoMatch.drl");
+            case "LeftModifyNoMatchManyRight":
+                return definition(description, CompareIndexLeftModifyNoMatchManyRight.class, objectNr, modifications, "compareIndexLeftModifyNoMatch.drl");
+            case "RightModifyNoMatchOneLeft":
+                return definition(description, CompareIndexRightModifyNoMatchOneLeft.class, objectNr, modifications, "compareIndexRightModifyNoMatch.drl");
+            case "RightModifyNoMatchManyLeft":
+                return definition(description, CompareIndexRightModifyNoMatchManyLeft.class, objectNr, modifications, "compareIndexRightModifyNoMatch.drl");
+            case "CrossProductNoMatch":
+                return definition(description, CompareIndexCrossProductNoMatch.class, objectNr, modifications, "compareIndexLeftRightModifyNoMatch.drl");
+            case "WorstCase":
+                return definition(description, CompareIndexWorstCase.class, objectNr, "compareIndexWorstCase.drl");
+            default:
+                throw new IllegalArgumentException("Unknown scenario " + scenario);
+        }
+    }
+
+    @Benchmark
+    public void compareIndex() {
+        execute();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmark.jmh;
+
+import java.io.File;
+
+import org.drools.core.util.Drools;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+import static java.lang.System.*;
+
+/**
+ * Entry point of the executable benchmarks jar. Accepts the usual JMH command line options (benchmark
+ * regexp, <code>-p</code>, <code>-f</code>, <code>-wi</code>, <code>-i</code>...) and on top of them:
+ * <ul>
+ *     <li>runs the selected benchmarks once per thread count listed in the <code>drools.benchmark.threads</code>
+ *     system property (default <code>1</code>, e.g. <code>-Ddrools.benchmark.threads=1,2,4,8</code>)</li>
+ *     <li>always enables the allocation profiler (<code>-prof gc</code>)</li>
+ *     <li>writes JSON results named after the Drools version and thread count into the directory given by
+ *     <code>drools.benchmark.results</code> (default <code>target/jmh</code>), so runs of different Drools
+ *     versions can be compared side by side</li>
+ * </ul>
+ * <pre>
+ * java -Ddrools.benchmark.threads=1,4 -jar target/drools-benchmarks.jar "Manners|Waltz"
+ * </pre>
+ */
+public class JmhBenchmarkRunner {
+
+    public static final String THREADS_PROPERTY = "drools.benchmark.threads";
+    public static final String RESULTS_PROPERTY = "drools.benchmark.results";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        File resultsDir = new File(getProperty(RESULTS_PROPERTY, "target/jmh"));
+        if (!resultsDir.isDirectory() && !resultsDir.mkdirs()) {
+            throw new IllegalStateException("Unable to create results directory " + resultsDir);
+        }
+        String droolsVersion = Drools.getFullVersion();
+
+        for (String threads : getProperty(THREADS_PROPERTY, "1").split(",")) {
+            int threadNr = Integer.parseInt(threads.trim());
+            File result = new File(resultsDir, "drools-" + droolsVersion + "-" + threadNr + "t.json");
+            out.println("Running benchmarks of Drools " + droolsVersion + " with " + threadNr + " thread(s), results in " + result);
+
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .parent(commandLineOptions)
+                    .threads(threadNr)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(result.getPath());
+            if (!hasGCProfiler(commandLineOptions)) {
+                options.addProfiler(GCProfiler.class);
+            }
+            new Runner(options.build()).run();
+        }
+    }
+
+    private static boolean hasGCProfiler(CommandLineOptions options) {
+        for (ProfilerConfig profiler : options.getProfilers()) {
+            if ("gc".equals(profiler.getKlass()) || GCProfiler.class.getName().equals(profiler.getKlass())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
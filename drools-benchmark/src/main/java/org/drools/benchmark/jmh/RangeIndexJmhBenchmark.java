@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmark.jmh;
+
+import org.drools.benchmark.BenchmarkDefinition;
+import org.drools.benchmark.benchmarks.RangeIndexCrossProductNoMatch;
+import org.drools.benchmark.benchmarks.RangeIndexLeftModifyNoMatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+public class RangeIndexJmhBenchmark extends AbstractJmhBenchmark {
+
+    @Param({"LeftModifyNoMatch", "CrossProductNoMatch"})
+    public String scenario;
+
+    @Param({"1000", "10000"})
+    public int objectNr;
+
+    @Param({"1000"})
+    public int modifications;
+
+    @Override
+    protected BenchmarkDefinition createDefinition() {
+        String description = "RangeIndex " + scenario;
+        switch (scenario) {
+            case "LeftModifyNoMatch":
+                return definition(description, RangeIndexLeftModifyNoMatch.class, objectNr, modifications, "rangeIndexLeftModifyNoMatch.drl");
+            case "CrossProductNoMatch":
+                return definition(description, RangeIndexCrossProductNoMatch.class, objectNr, modifications, "rangeIndexLeftRightModifyNoMatch.drl");
+            default:
+                throw new IllegalArgumentException("Unknown scenario " + scenario);
+        }
+    }
+
+    @Benchmark
+    public void rangeIndex() {
+        execute();
+    }
+}
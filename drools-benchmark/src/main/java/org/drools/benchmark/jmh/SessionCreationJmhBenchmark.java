@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmark.jmh;
+
+import org.drools.benchmark.BenchmarkDefinition;
+import org.drools.benchmark.benchmarks.StatefulSessionCreation;
+import org.drools.benchmark.benchmarks.StatelessSessionCreation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+public class SessionCreationJmhBenchmark extends AbstractJmhBenchmark {
+
+    @Param({"stateful", "stateless"})
+    public String sessionType;
+
+    @Param({"10000"})
+    public int sessionNr;
+
+    @Override
+    protected BenchmarkDefinition createDefinition() {
+        if ("stateful".equals(sessionType)) {
+            return definition("Create and dispose stateful sessions", StatefulSessionCreation.class, sessionNr);
+        }
+        return definition("Create stateless sessions", StatelessSessionCreation.class, sessionNr);
+    }
+
+    @Benchmark
+    public void createSessions() {
+        execute();
+    }
+}
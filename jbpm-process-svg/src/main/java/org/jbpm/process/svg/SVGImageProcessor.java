@@ -44,6 +44,9 @@ import org.w3c.dom.NodeList;
 
 public class SVGImageProcessor {
 
+    static final String COMPLETED_COLOR = "#C0C0C0";
+    static final String ACTIVE_COLOR = "#FF0000";
+
     private Document svgDocument;
     private SVGSummary summary = new SVGSummary();
     private boolean mapById = true;
@@ -108,11 +111,11 @@ public class SVGImageProcessor {
     }
 
     public void defaultCompletedTransformation(String nodeId) {
-        transform(new SetBackgroundColorTransformation(nodeId, "#C0C0C0"));
+        transform(new SetBackgroundColorTransformation(nodeId, COMPLETED_COLOR));
     }
 
     public void defaultActiveTransformation(String nodeId) {
-        transform(new SetBorderColorTransformation(nodeId, "#FF0000"));
+        transform(new SetBorderColorTransformation(nodeId, ACTIVE_COLOR));
     }
 
     public void defaultSubProcessLinkTransformation(String nodeId, String link) {
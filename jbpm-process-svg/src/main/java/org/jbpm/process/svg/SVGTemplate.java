@@ -0,0 +1,332 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.jbpm.process.svg;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-processed process SVG that can be transformed repeatedly without parsing the document again.
+ * <p>
+ * The SVG is scanned once to index, for every process node (mapped by <code>bpmn2nodeid</code>), the
+ * position of the elements touched by the default transformations of {@link SVGImageProcessor}.
+ * Transforming the template only rewrites or appends the affected attributes at those positions.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public class SVGTemplate {
+
+    private final String content;
+    private final Map<String, NodeOffsets> nodes;
+
+    public SVGTemplate(InputStream svg) {
+        this(readFully(svg));
+    }
+
+    public SVGTemplate(byte[] svg) {
+        this.content = new String(svg, StandardCharsets.UTF_8);
+        this.nodes = index(content);
+    }
+
+    public String transform(List<String> completed, List<String> active) {
+        return transform(completed, active, null);
+    }
+
+    /**
+     * Produces the same result as {@link SVGImageProcessor#transform(InputStream, List, List, Map)}
+     * applied to the SVG this template was created from.
+     */
+    public String transform(List<String> completed, List<String> active, Map<String, String> subProcessLinks) {
+        Map<TagOffsets, Map<String, String>> changes = new IdentityHashMap<TagOffsets, Map<String, String>>();
+        for (String nodeId : completed) {
+            if (!active.contains(nodeId)) {
+                NodeOffsets node = nodes.get(nodeId);
+                if (node != null) {
+                    setAttribute(changes, node.background, "stop-color", SVGImageProcessor.COMPLETED_COLOR);
+                }
+            }
+        }
+        for (String nodeId : active) {
+            NodeOffsets node = nodes.get(nodeId);
+            if (node != null) {
+                setAttribute(changes, node.border, "stroke", SVGImageProcessor.ACTIVE_COLOR);
+                setAttribute(changes, node.border, "stroke-width", "2");
+                setAttribute(changes, node.borderSubProcess, "stroke", SVGImageProcessor.ACTIVE_COLOR);
+                setAttribute(changes, node.borderSubProcess, "stroke-width", "2");
+            }
+        }
+        if (subProcessLinks != null) {
+            for (Map.Entry<String, String> subProcessLink : subProcessLinks.entrySet()) {
+                NodeOffsets node = nodes.get(subProcessLink.getKey());
+                if (node != null) {
+                    setAttribute(changes, node.subProcessLink, "onclick", "");
+                    setAttribute(changes, node.subProcessLink, "xlink:href", subProcessLink.getValue());
+                    setAttribute(changes, node.subProcessLink, "target", "_blank");
+                }
+            }
+        }
+        return apply(changes);
+    }
+
+    public boolean containsNode(String nodeId) {
+        return nodes.containsKey(nodeId);
+    }
+
+    private void setAttribute(Map<TagOffsets, Map<String, String>> changes, TagOffsets tag, String name, String value) {
+        if (tag != null) {
+            changes.computeIfAbsent(tag, t -> new LinkedHashMap<String, String>()).put(name, value);
+        }
+    }
+
+    private String apply(Map<TagOffsets, Map<String, String>> changes) {
+        if (changes.isEmpty()) {
+            return content;
+        }
+        List<Edit> edits = new ArrayList<Edit>();
+        for (Map.Entry<TagOffsets, Map<String, String>> entry : changes.entrySet()) {
+            TagOffsets tag = entry.getKey();
+            StringBuilder appended = new StringBuilder();
+            for (Map.Entry<String, String> attribute : entry.getValue().entrySet()) {
+                AttributeOffsets existing = tag.attributes.get(attribute.getKey());
+                if (existing != null) {
+                    edits.add(new Edit(existing.valueStart, existing.valueEnd, escape(attribute.getValue(), existing.quote)));
+                } else {
+                    appended.append(' ').append(attribute.getKey()).append("=\"").append(escape(attribute.getValue(), '"')).append('"');
+                }
+            }
+            if (appended.length() > 0) {
+                edits.add(new Edit(tag.attributesEnd, tag.attributesEnd, appended.toString()));
+            }
+        }
+        edits.sort((e1, e2) -> Integer.compare(e1.start, e2.start));
+
+        StringBuilder result = new StringBuilder(content.length() + 64 * edits.size());
+        int position = 0;
+        for (Edit edit : edits) {
+            result.append(content, position, edit.start).append(edit.text);
+            position = edit.end;
+        }
+        result.append(content, position, content.length());
+        return result.toString();
+    }
+
+    private static Map<String, NodeOffsets> index(String content) {
+        Map<String, TagOffsets> tagsById = new HashMap<String, TagOffsets>();
+        Map<String, String> svgIdsByNodeId = new LinkedHashMap<String, String>();
+
+        int length = content.length();
+        int i = content.indexOf('<');
+        while (i >= 0 && i < length - 1) {
+            char next = content.charAt(i + 1);
+            if (content.startsWith("<!--", i)) {
+                i = content.indexOf('<', skipPast(content, "-->", i));
+                continue;
+            } else if (content.startsWith("<![CDATA[", i)) {
+                i = content.indexOf('<', skipPast(content, "]]>", i));
+                continue;
+            } else if (next == '?' || next == '!' || next == '/') {
+                i = content.indexOf('<', skipDeclaration(content, i));
+                continue;
+            }
+
+            TagOffsets tag = new TagOffsets();
+            int j = i + 1;
+            while (j < length && !isTagNameEnd(content.charAt(j))) {
+                j++;
+            }
+            tag.attributesEnd = j;
+            while (true) {
+                while (j < length && Character.isWhitespace(content.charAt(j))) {
+                    j++;
+                }
+                if (j >= length) {
+                    throw new IllegalArgumentException("Could not parse svg, unterminated element at " + i);
+                }
+                char c = content.charAt(j);
+                if (c == '>' || c == '/') {
+                    break;
+                }
+                int nameStart = j;
+                while (j < length && content.charAt(j) != '=' && !Character.isWhitespace(content.charAt(j))) {
+                    j++;
+                }
+                String name = content.substring(nameStart, j);
+                while (j < length && Character.isWhitespace(content.charAt(j))) {
+                    j++;
+                }
+                if (j >= length - 1 || content.charAt(j) != '=') {
+                    throw new IllegalArgumentException("Could not parse svg, invalid attribute " + name + " at " + nameStart);
+                }
+                j++;
+                while (j < length && Character.isWhitespace(content.charAt(j))) {
+                    j++;
+                }
+                char quote = j < length ? content.charAt(j) : 0;
+                int valueEnd = quote == '"' || quote == '\'' ? content.indexOf(quote, j + 1) : -1;
+                if (valueEnd < 0) {
+                    throw new IllegalArgumentException("Could not parse svg, invalid value of attribute " + name + " at " + nameStart);
+                }
+                tag.attributes.put(name, new AttributeOffsets(j + 1, valueEnd, quote));
+                j = valueEnd + 1;
+                tag.attributesEnd = j;
+            }
+
+            AttributeOffsets id = tag.attributes.get("id");
+            if (id != null) {
+                String svgId = unescape(content.substring(id.valueStart, id.valueEnd));
+                tagsById.put(svgId, tag);
+                AttributeOffsets nodeId = tag.attributes.get("bpmn2nodeid");
+                if (nodeId != null) {
+                    svgIdsByNodeId.put(unescape(content.substring(nodeId.valueStart, nodeId.valueEnd)), svgId);
+                }
+            }
+            i = content.indexOf('<', j);
+        }
+
+        Map<String, NodeOffsets> nodes = new HashMap<String, NodeOffsets>();
+        for (Map.Entry<String, String> entry : svgIdsByNodeId.entrySet()) {
+            String svgId = entry.getValue();
+            nodes.put(entry.getKey(), new NodeOffsets(tagsById.get(svgId + "bg_frame"),
+                                                      tagsById.get(svgId + "fill_el"),
+                                                      tagsById.get(svgId + "frame"),
+                                                      tagsById.get(svgId + "pimg")));
+        }
+        return nodes;
+    }
+
+    private static boolean isTagNameEnd(char c) {
+        return Character.isWhitespace(c) || c == '>' || c == '/';
+    }
+
+    private static int skipPast(String content, String terminator, int from) {
+        int end = content.indexOf(terminator, from);
+        if (end < 0) {
+            throw new IllegalArgumentException("Could not parse svg, missing " + terminator + " for markup at " + from);
+        }
+        return end + terminator.length();
+    }
+
+    private static int skipDeclaration(String content, int from) {
+        // declarations such as DOCTYPE may carry an internal subset enclosed in brackets
+        int depth = 0;
+        for (int i = from + 1; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+            } else if (c == '>' && depth <= 0) {
+                return i + 1;
+            }
+        }
+        throw new IllegalArgumentException("Could not parse svg, unterminated markup at " + from);
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    private static String escape(String value, char quote) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '&') {
+                escaped.append("&amp;");
+            } else if (c == '<') {
+                escaped.append("&lt;");
+            } else if (c == '"' && quote == '"') {
+                escaped.append("&quot;");
+            } else if (c == '\'' && quote == '\'') {
+                escaped.append("&apos;");
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static byte[] readFully(InputStream svg) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = svg.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read svg", e);
+        }
+    }
+
+    private static class NodeOffsets {
+
+        private final TagOffsets border;
+        private final TagOffsets background;
+        private final TagOffsets borderSubProcess;
+        private final TagOffsets subProcessLink;
+
+        private NodeOffsets(TagOffsets border, TagOffsets background, TagOffsets borderSubProcess, TagOffsets subProcessLink) {
+            this.border = border;
+            this.background = background;
+            this.borderSubProcess = borderSubProcess;
+            this.subProcessLink = subProcessLink;
+        }
+    }
+
+    private static class TagOffsets {
+
+        private final Map<String, AttributeOffsets> attributes = new HashMap<String, AttributeOffsets>();
+        private int attributesEnd;
+    }
+
+    private static class AttributeOffsets {
+
+        private final int valueStart;
+        private final int valueEnd;
+        private final char quote;
+
+        private AttributeOffsets(int valueStart, int valueEnd, char quote) {
+            this.valueStart = valueStart;
+            this.valueEnd = valueEnd;
+            this.quote = quote;
+        }
+    }
+
+    private static class Edit {
+
+        private final int start;
+        private final int end;
+        private final String text;
+
+        private Edit(int start, int end, String text) {
+            this.start = start;
+            this.end = end;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.jbpm.process.svg;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the DOM based transformation with the pre-processed template one, run manually.
+ */
+@Ignore("Benchmark, run manually")
+public class SVGTemplateBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SVGTemplateBenchmarkTest.class);
+
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 2000;
+
+    private static final List<String> COMPLETED = Arrays.asList("_343B16DA-961A-49BF-8697-9A86DEAFBAF4");
+    private static final List<String> ACTIVE = Arrays.asList("_6063D302-9D81-4C86-920B-E808A45377C2");
+
+    @Test
+    public void benchmarkTransformations() throws Exception {
+        byte[] svg = readSVG("/evaluation-svg.svg");
+        SVGTemplate template = new SVGTemplate(svg);
+
+        for (int i = 0; i < WARMUP; i++) {
+            SVGImageProcessor.transform(new ByteArrayInputStream(svg), COMPLETED, ACTIVE);
+            template.transform(COMPLETED, ACTIVE);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            SVGImageProcessor.transform(new ByteArrayInputStream(svg), COMPLETED, ACTIVE);
+        }
+        long dom = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            template.transform(COMPLETED, ACTIVE);
+        }
+        long patched = System.nanoTime() - start;
+
+        logger.info("DOM transformation:      {} us/op", TimeUnit.NANOSECONDS.toMicros(dom / ITERATIONS));
+        logger.info("Template transformation: {} us/op", TimeUnit.NANOSECONDS.toMicros(patched / ITERATIONS));
+    }
+
+    private byte[] readSVG(String resource) throws Exception {
+        try (InputStream in = SVGTemplateBenchmarkTest.class.getResourceAsStream(resource)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -106,6 +106,48 @@ public class TestEvalutionSVG {
         validateCallActivityLinked(svgDocument, active, links);
     }
 
+    @Test
+    public void testTemplate() throws Exception {
+        List<String> completed = new ArrayList<String>();
+        completed.add("_343B16DA-961A-49BF-8697-9A86DEAFBAF4");
+        completed.add("_6063D302-9D81-4C86-920B-E808A45377C2");
+        List<String> active = new ArrayList<String>();
+        active.add("_6063D302-9D81-4C86-920B-E808A45377C2");
+
+        SVGTemplate template = new SVGTemplate(TestEvalutionSVG.class.getResourceAsStream("/evaluation-svg.svg"));
+        String svg = template.transform(completed, active);
+
+        // verify transformation
+        Document svgDocument = readSVG(svg);
+        validateNodesMarkedAsActive(svgDocument, active);
+        completed.remove("_6063D302-9D81-4C86-920B-E808A45377C2");
+        validateNodesMarkedAsCompleted(svgDocument, completed);
+
+        // template is not modified by transformations
+        svgDocument = readSVG(template.transform(new ArrayList<String>(), new ArrayList<String>()));
+        XPathExpression expr = xpath.compile("//*[@bpmn2nodeid='_343B16DA-961A-49BF-8697-9A86DEAFBAF4']");
+        Element element = (Element) expr.evaluate(svgDocument, XPathConstants.NODE);
+        Element background = svgDocument.getElementById(element.getAttribute("id") + "fill_el");
+        assertNotEquals("#C0C0C0", background.getAttribute("stop-color"));
+    }
+
+    @Test
+    public void testTemplateSubProcessLink() throws Exception {
+        List<String> completed = new ArrayList<String>();
+        List<String> active = new ArrayList<String>();
+        active.add("_35262208-8B3E-457E-8D8A-798E70CC280D");
+
+        Map<String, String> links = new HashMap<>();
+        links.put("_35262208-8B3E-457E-8D8A-798E70CC280D", "http://localhost/processes/1?view=\"svg\"&page=1");
+        SVGTemplate template = new SVGTemplate(TestEvalutionSVG.class.getResourceAsStream("/call-activity-svg.svg"));
+        String svg = template.transform(completed, active, links);
+
+        // verify transformation
+        Document svgDocument = readSVG(svg);
+        validateNodesMarkedAsActive(svgDocument, active);
+        validateCallActivityLinked(svgDocument, active, links);
+    }
+
     // helper methods for verifying svg transformation
 
     private void validateNodesMarkedAsActive(Document svgDocument, List<String> activeNodes) throws XPathExpressionException {
@@ -17,18 +17,28 @@
 package org.kie.camel;
 
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.naming.InitialContext;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.impl.DefaultComponent;
+import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.KieServicesConfiguration;
 import org.kie.server.client.KieServicesFactory;
+import org.kie.server.client.impl.KieServicesClientImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class KieComponent extends DefaultComponent {
 
+    private static final transient Logger log = LoggerFactory.getLogger( KieComponent.class );
+
     private KieConfiguration configuration;
 
+    private final Map<ClientKey, KieServicesClient> clients = new ConcurrentHashMap<>();
+
     public KieComponent() { }
 
     public KieComponent(CamelContext context) {
@@ -53,6 +63,31 @@ public class KieComponent extends DefaultComponent {
         return new KieEndpoint(uri, this, kieServicesConf, configuration);
     }
 
+    /**
+     * Returns client for given configuration, endpoints (and their producers) pointing to the same server
+     * with the same credentials share single client instead of creating (and initializing) their own.
+     */
+    public KieServicesClient getKieServicesClient( KieServicesConfiguration kieServicesConf ) {
+        return clients.computeIfAbsent( new ClientKey( kieServicesConf ),
+                                        key -> KieServicesFactory.newKieServicesClient( kieServicesConf ) );
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // clients are closed so that Web Socket connections (and their executors) are released with the component
+        for ( KieServicesClient client : clients.values() ) {
+            if ( client instanceof KieServicesClientImpl ) {
+                try {
+                    ( (KieServicesClientImpl) client ).close();
+                } catch ( Exception e ) {
+                    log.warn( "Error when closing KIE Server client", e );
+                }
+            }
+        }
+        clients.clear();
+        super.doStop();
+    }
+
     public KieConfiguration getConfiguration() {
         if (configuration == null) {
             configuration = new KieConfiguration();
@@ -63,4 +98,39 @@ public class KieComponent extends DefaultComponent {
     public void setConfiguration(KieConfiguration configuration) {
         this.configuration = configuration;
     }
+
+    private static final class ClientKey {
+
+        private final KieServicesConfiguration.Transport transport;
+        private final String serverUrl;
+        private final String userName;
+        private final String password;
+
+        private ClientKey( KieServicesConfiguration kieServicesConf ) {
+            this.transport = kieServicesConf.getTransport();
+            this.serverUrl = kieServicesConf.getServerUrl();
+            this.userName = kieServicesConf.getUserName();
+            this.password = kieServicesConf.getPassword();
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if ( this == o ) {
+                return true;
+            }
+            if ( !(o instanceof ClientKey) ) {
+                return false;
+            }
+            ClientKey other = (ClientKey) o;
+            return transport == other.transport &&
+                   Objects.equals( serverUrl, other.serverUrl ) &&
+                   Objects.equals( userName, other.userName ) &&
+                   Objects.equals( password, other.password );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash( transport, serverUrl, userName, password );
+        }
+    }
 }
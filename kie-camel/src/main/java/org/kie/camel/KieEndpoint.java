@@ -24,10 +24,18 @@ import org.apache.camel.Processor;
 import org.apache.camel.Producer;
 import org.apache.camel.impl.DefaultEndpoint;
 import org.apache.camel.spi.UriParam;
+import org.kie.server.client.CommandBatch;
+import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.KieServicesConfiguration;
+import org.kie.server.client.KieServicesFactory;
 
 public class KieEndpoint extends DefaultEndpoint {
 
+    // applied when batching is enabled by only one of the options, so that a batch is always flushed eventually
+    // and only a bounded number of exchanges wait for it
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final long DEFAULT_BATCH_TIMEOUT = 100;
+
     private final KieServicesConfiguration kieServicesConf;
     private final KieConfiguration configuration;
 
@@ -43,6 +51,14 @@ public class KieEndpoint extends DefaultEndpoint {
     @UriParam
     private String operation;
 
+    @UriParam(label = "producer")
+    private int batchSize;
+
+    @UriParam(label = "producer")
+    private long batchTimeout;
+
+    private CommandBatch commandBatch;
+
     public KieEndpoint(String uri, KieComponent component, KieServicesConfiguration kieServicesConf, KieConfiguration configuration ) throws URISyntaxException, MalformedURLException {
         super(uri, component);
         this.kieServicesConf = kieServicesConf;
@@ -53,6 +69,34 @@ public class KieEndpoint extends DefaultEndpoint {
         return this.kieServicesConf;
     }
 
+    public KieServicesClient getKieServicesClient() {
+        return ( (KieComponent) getComponent() ).getKieServicesClient( kieServicesConf );
+    }
+
+    /**
+     * @return batch the exchanges are sent with or null when batching is not enabled by
+     * <code>batchSize</code> or <code>batchTimeout</code>, the option that is not set takes its default value
+     */
+    public synchronized CommandBatch getCommandBatch() {
+        if (commandBatch == null && (batchSize > 0 || batchTimeout > 0)) {
+            commandBatch = KieServicesFactory.newCommandBatch( getKieServicesClient(),
+                                                               batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE,
+                                                               batchTimeout > 0 ? batchTimeout : DEFAULT_BATCH_TIMEOUT );
+        }
+        return commandBatch;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        synchronized (this) {
+            if (commandBatch != null) {
+                commandBatch.close();
+                commandBatch = null;
+            }
+        }
+        super.doStop();
+    }
+
     public KieConfiguration getConfiguration() {
         return configuration;
     }
@@ -103,4 +147,28 @@ public class KieEndpoint extends DefaultEndpoint {
     public void setOperation( String operation ) {
         this.operation = operation;
     }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Number of exchanges sent to KIE Server together as single command script, at most this many exchanges
+     * wait for the batch at the same time. Defaults to {@link #DEFAULT_BATCH_SIZE} when only <code>batchTimeout</code> is set.
+     */
+    public void setBatchSize( int batchSize ) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * Time in milliseconds after which exchanges waiting for the batch are sent even when the batch is not full.
+     * Defaults to {@link #DEFAULT_BATCH_TIMEOUT} when only <code>batchSize</code> is set.
+     */
+    public void setBatchTimeout( long batchTimeout ) {
+        this.batchTimeout = batchTimeout;
+    }
 }
@@ -16,27 +16,36 @@
 
 package org.kie.camel;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
 
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
-import org.apache.camel.impl.DefaultProducer;
+import org.apache.camel.impl.DefaultAsyncProducer;
 import org.kie.api.KieServices;
 import org.kie.api.command.Command;
 import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.client.CommandBatch;
 import org.kie.server.client.DMNServicesClient;
 import org.kie.server.client.KieServicesClient;
-import org.kie.server.client.KieServicesFactory;
 import org.kie.server.client.ProcessServicesClient;
 import org.kie.server.client.RuleServicesClient;
 import org.slf4j.Logger;
@@ -48,7 +57,7 @@ import static org.kie.camel.KieCamelUtils.asCamelKieName;
 import static org.kie.camel.KieCamelUtils.getResultMessage;
 import static org.kie.camel.KieCamelUtils.ucFirst;
 
-public class KieProducer extends DefaultProducer {
+public class KieProducer extends DefaultAsyncProducer {
 
     private static final transient Logger log = LoggerFactory.getLogger( KieProducer.class );
 
@@ -58,17 +67,36 @@ public class KieProducer extends DefaultProducer {
 
     private final KieServicesClient client;
 
-    private final Map<String, InternalProducer> producers = new HashMap<>();
+    private final Map<String, InternalProducer> producers = new ConcurrentHashMap<>();
 
     public KieProducer( KieEndpoint endpoint ) {
         super(endpoint);
         this.endpoint = endpoint;
-        client = KieServicesFactory.newKieServicesClient( endpoint.getKieServicesConf() );
+        client = endpoint.getKieServicesClient();
     }
 
     @Override
-    public void process( Exchange exchange ) throws Exception {
-        getProducer(exchange).execute(exchange);
+    public boolean process( Exchange exchange, AsyncCallback callback ) {
+        InternalProducer producer = getProducer(exchange);
+        CommandBatch batch = endpoint.getCommandBatch();
+        if (batch == null || !producer.isBatchable()) {
+            try {
+                producer.execute(exchange);
+            } catch (Throwable e) {
+                exchange.setException(e);
+            }
+            callback.done(true);
+            return true;
+        }
+
+        // the exchange is completed once the batch it was added to is flushed
+        ( (AbstractInternalProducer<?>) producer ).submit(batch, exchange).whenComplete( (result, e) -> {
+            if (e != null) {
+                exchange.setException( e instanceof CompletionException && e.getCause() != null ? e.getCause() : e );
+            }
+            callback.done(false);
+        } );
+        return false;
     }
 
     private InternalProducer getProducer(Exchange exchange) {
@@ -90,42 +118,75 @@ public class KieProducer extends DefaultProducer {
 
     interface InternalProducer {
         void execute(Exchange exchange);
+
+        default boolean isBatchable() {
+            return false;
+        }
     }
 
     abstract static class AbstractInternalProducer<C> implements InternalProducer {
 
         protected final C client;
 
-        private final Optional<Method> operationLookupMethod;
+        protected final Class<C> clientType;
+
+        private final Map<String, Operation<C>> operations;
 
         protected AbstractInternalProducer(C client) {
             this.client = client;
-           operationLookupMethod = getLookupMethod();
+            this.clientType = (Class<C>) ( (ParameterizedType) getClass().getGenericSuperclass() ).getActualTypeArguments()[0];
+            operations = indexOperations();
         }
 
-        protected Optional<Operation<C>> getOperation( String operationName ) {
-            return operationLookupMethod.flatMap( m -> {
-                try {
-                    return Optional.of( (Operation<C>) m.invoke( null, operationName ) );
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    return Optional.empty();
-                }
+        @Override
+        public final void execute(Exchange exchange) {
+            execute( client, exchange, false );
+        }
+
+        /**
+         * Executes the exchange with given client, that is either the client of the producer or client of a batch.
+         * Failures of batched calls are rethrown so that they complete the exchange, otherwise they are only logged.
+         */
+        protected abstract void execute(C client, Exchange exchange, boolean batched);
+
+        @Override
+        public boolean isBatchable() {
+            // only the services clients hand their commands over to the batch
+            return clientType != KieServicesClient.class;
+        }
+
+        CompletableFuture<Void> submit(CommandBatch batch, Exchange exchange) {
+            return batch.submit( clientType, batchClient -> {
+                execute( batchClient, exchange, true );
+                return null;
             } );
         }
 
-        private Optional<Method> getLookupMethod() {
+        protected Optional<Operation<C>> getOperation( String operationName ) {
+            return operationName != null ? Optional.ofNullable( operations.get( operationName ) ) : Optional.empty();
+        }
+
+        private Map<String, Operation<C>> indexOperations() {
+            Class<?> enumClass;
             try {
-                Class<?> enumClass = Class.forName( getClass().getName() + "$Operations" );
-                return Optional.of(enumClass.getMethod( "valueOf", String.class ));
-            } catch (Exception e) {
-                return Optional.empty();
+                enumClass = Class.forName( getClass().getName() + "$Operations" );
+            } catch (ClassNotFoundException e) {
+                return Collections.emptyMap();
             }
+            Map<String, Operation<C>> index = new HashMap<>();
+            for (Object operation : enumClass.getEnumConstants()) {
+                index.put( ( (Enum<?>) operation ).name(), (Operation<C>) operation );
+            }
+            return index;
         }
     }
 
     abstract static class AbstractReflectiveProducer<C> extends AbstractInternalProducer<C> {
         private final Map<String, Collection<Method>> methodsMap;
 
+        // candidate invocations of each operation, resolved on first use
+        private final Map<String, List<Invocation>> invocations = new ConcurrentHashMap<>();
+
         private final String clientName;
         private final KieEndpoint endpoint;
 
@@ -133,16 +194,16 @@ public class KieProducer extends DefaultProducer {
             super(client);
             this.clientName = clientName;
             this.endpoint = endpoint;
-            this.methodsMap = indexClientMethod( (Class) ( (ParameterizedType) getClass().getGenericSuperclass() ).getActualTypeArguments()[0] );
+            this.methodsMap = indexClientMethod( clientType );
         }
 
         @Override
-        public final void execute(Exchange exchange) {
+        protected final void execute(C client, Exchange exchange, boolean batched) {
             String operationName = endpoint.getOperation() != null ?
                                    endpoint.getOperation() :
                                    exchange.getIn().getHeader( KIE_OPERATION, String.class );
             Object response = getOperation(operationName).map(op -> op.execute( client, exchange ) )
-                                                         .orElseGet( () -> executeViaReflection( operationName, exchange ) );
+                                                         .orElseGet( () -> executeViaReflection( client, operationName, exchange, batched ) );
             writeResponse( exchange, response );
         }
 
@@ -158,42 +219,40 @@ public class KieProducer extends DefaultProducer {
             }
         }
 
-        private Object executeViaReflection( String operationName, Exchange exchange ) {
-            Collection<Method> methods = methodsMap.get( operationName );
-            if (methods == null) {
+        private Object executeViaReflection( C client, String operationName, Exchange exchange, boolean batched ) {
+            List<Invocation> candidates = operationName != null ?
+                                          invocations.computeIfAbsent( operationName, this::resolveInvocations ) :
+                                          null;
+            if (candidates == null || candidates.isEmpty()) {
                 log.error( "Unknown operation name: " + operationName );
                 return null;
             }
 
-            String bodyParam = endpoint.getConfiguration().getBodyParam( clientName, operationName );
-            Method method = methods.stream()
-                                   .filter( m -> invokable( exchange, m, bodyParam ) )
-                                   .findFirst()
-                                   .orElseGet( () -> {
-                                       log.error( "Unknown operation name: " + operationName );
-                                       return null;
-                                   } );
-            return method != null ? invoke( exchange, method, bodyParam ) : null;
-        }
-
-        private boolean invokable(Exchange exchange, Method method, String bodyParam) {
-            Set<String> headers = exchange.getIn().getHeaders().keySet();
-            return Stream.of(method.getParameters()).allMatch( p -> p.getName().equals( bodyParam ) ||
-                                                                    headers.contains( asCamelKieName( p.getName() ) ) );
+            Message in = exchange.getIn();
+            for (Invocation invocation : candidates) {
+                if (invocation.isInvokable( in )) {
+                    return invocation.invoke( client, in, batched );
+                }
+            }
+            log.error( "Unknown operation name: " + operationName );
+            return null;
         }
 
-        private Object invoke(Exchange exchange, Method method, String bodyParam) {
-            try {
-                Object[] args = Stream.of(method.getParameters())
-                                      .map(p -> p.getName().equals( bodyParam ) ?
-                                                exchange.getIn().getBody( p.getType() ) :
-                                                exchange.getIn().getHeader( asCamelKieName( p.getName() ), p.getType() ) )
-                                      .toArray();
-                return method.invoke(client, args);
-            } catch (Exception e) {
-                log.error( "Error executed operation: " + method.getName() + " caused by: " + e.getMessage(), e );
-                return null;
+        private List<Invocation> resolveInvocations( String operationName ) {
+            Collection<Method> methods = methodsMap.get( operationName );
+            if (methods == null) {
+                return Collections.emptyList();
             }
+            String bodyParam = endpoint.getConfiguration().getBodyParam( clientName, operationName );
+            List<Invocation> resolved = new ArrayList<>( methods.size() );
+            for (Method method : methods) {
+                try {
+                    resolved.add( new Invocation( method, bodyParam ) );
+                } catch (IllegalAccessException e) {
+                    log.warn( "Unable to access operation: " + method, e );
+                }
+            }
+            return resolved;
         }
 
         private Map<String, Collection<Method>> indexClientMethod(Class<?> cls) {
@@ -204,6 +263,59 @@ public class KieProducer extends DefaultProducer {
         }
     }
 
+    /**
+     * Method of the services client together with the headers (or body) its arguments are taken from.
+     */
+    static class Invocation {
+
+        private final String name;
+        private final MethodHandle handle;
+        private final String[] headers;
+        private final Class<?>[] types;
+
+        Invocation( Method method, String bodyParam ) throws IllegalAccessException {
+            this.name = method.getName();
+            Parameter[] parameters = method.getParameters();
+            this.headers = new String[parameters.length];
+            this.types = new Class<?>[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                // null header name stands for the body
+                headers[i] = parameters[i].getName().equals( bodyParam ) ? null : asCamelKieName( parameters[i].getName() );
+                types[i] = parameters[i].getType();
+            }
+            this.handle = MethodHandles.publicLookup()
+                                       .unreflect( method )
+                                       .asSpreader( Object[].class, parameters.length )
+                                       .asType( MethodType.methodType( Object.class, Object.class, Object[].class ) );
+        }
+
+        boolean isInvokable( Message message ) {
+            Map<String, Object> messageHeaders = message.getHeaders();
+            for (String header : headers) {
+                if (header != null && !messageHeaders.containsKey( header )) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Object invoke( Object client, Message message, boolean propagateErrors ) {
+            try {
+                Object[] args = new Object[headers.length];
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = headers[i] == null ? message.getBody( types[i] ) : message.getHeader( headers[i], types[i] );
+                }
+                return (Object) handle.invokeExact( client, args );
+            } catch (Throwable e) {
+                if (propagateErrors) {
+                    throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException( e );
+                }
+                log.error( "Error executed operation: " + name + " caused by: " + e.getMessage(), e );
+                return null;
+            }
+        }
+    }
+
     interface Operation<C> {
         Object execute(C client, Exchange exchange);
     }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.camel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.Test;
+import org.kie.server.api.exception.KieServicesException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.kie.camel.KieCamelConstants.KIE_CLIENT;
+import static org.kie.camel.KieCamelConstants.KIE_OPERATION;
+import static org.kie.camel.KieCamelUtils.asCamelKieName;
+import static org.kie.camel.KieCamelUtils.getResultMessage;
+
+public class KieComponentBatchingTest extends BaseKieComponentTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Test
+    public void testExchangesSentAsSingleBatch() throws Exception {
+        List<Future<Exchange>> sent = sendBatch( "containerId" );
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Exchange exchange = sent.get( i ).get( 10, TimeUnit.SECONDS );
+            assertNull( exchange.getException() );
+            // responses are split in the order the exchanges were queued
+            assertEquals( Long.valueOf( i + 1 ), getResultMessage( exchange ).getBody( Long.class ) );
+        }
+
+        verify( 1, postRequestedFor( urlEqualTo( "/config/BPM?containerId=containerId" ) ) );
+    }
+
+    @Test
+    public void testFailedBatchFailsAllExchanges() throws Exception {
+        List<Future<Exchange>> sent = sendBatch( "failingContainer" );
+
+        for (Future<Exchange> future : sent) {
+            Exchange exchange = future.get( 10, TimeUnit.SECONDS );
+            assertNotNull( exchange.getException() );
+            assertTrue( exchange.getException() instanceof KieServicesException );
+        }
+
+        verify( 1, postRequestedFor( urlEqualTo( "/config/BPM?containerId=failingContainer" ) ) );
+    }
+
+    private List<Future<Exchange>> sendBatch( String containerId ) throws Exception {
+        KieEndpoint endpoint = context.getEndpoint( getBatchingUri(), KieEndpoint.class );
+
+        List<Future<Exchange>> sent = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            sent.add( template.asyncSend( "direct:batch", exchange -> {
+                exchange.getIn().setHeader( KIE_CLIENT, "process" );
+                exchange.getIn().setHeader( KIE_OPERATION, "startProcess" );
+                exchange.getIn().setHeader( asCamelKieName( "containerId" ), containerId );
+                exchange.getIn().setHeader( asCamelKieName( "processId" ), "processId" );
+            } ) );
+            if (i < BATCH_SIZE - 1) {
+                // wait until the exchange is queued so that the order of the exchanges in the batch is known
+                awaitBatchSize( endpoint, i + 1 );
+            }
+        }
+        return sent;
+    }
+
+    private void awaitBatchSize( KieEndpoint endpoint, int expected ) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (endpoint.getCommandBatch().size() < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                fail( "Exchange was not queued in the batch" );
+            }
+            Thread.sleep( 10 );
+        }
+    }
+
+    private String getBatchingUri() {
+        // timeout is long enough for the batch to be flushed only once it is full
+        return "kie:" + getAuthenticadUrl( "admin", "admin" ) + "?batchSize=" + BATCH_SIZE + "&batchTimeout=60000";
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        stubFor(get(urlEqualTo("/"))
+                        .withHeader("Accept", equalTo("application/xml"))
+                        .willReturn(aResponse()
+                                            .withStatus(200)
+                                            .withHeader("Content-Type", "application/xml")
+                                            .withBody("<response type=\"SUCCESS\" msg=\"Kie Server info\">\n" +
+                                                      "  <kie-server-info>\n" +
+                                                      "     <capabilities>BPM</capabilities>\n" +
+                                                      "    <version>1.2.3</version>\n" +
+                                                      "  </kie-server-info>\n" +
+                                                      "</response>")));
+
+        StringBuilder responses = new StringBuilder("<responses>\n");
+        for (int i = 1; i <= BATCH_SIZE; i++) {
+            responses.append("  <response type=\"SUCCESS\" msg=\"\">\n")
+                     .append("    <results><![CDATA[<long-type><value>").append(i).append("</value></long-type>]]></results>\n")
+                     .append("  </response>\n");
+        }
+        responses.append("</responses>");
+
+        stubFor(post(urlEqualTo("/config/BPM?containerId=containerId"))
+                        .willReturn(aResponse()
+                                            .withStatus(200)
+                                            .withHeader("Content-Type", "application/xml")
+                                            .withBody(responses.toString())));
+
+        stubFor(post(urlEqualTo("/config/BPM?containerId=failingContainer"))
+                        .willReturn(aResponse()
+                                            .withStatus(500)
+                                            .withHeader("Content-Type", "text/plain")
+                                            .withBody("Unexpected error")));
+
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:batch")
+                        .to(getBatchingUri());
+            }
+        };
+    }
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.addComponent( "kie", new KieComponent() );
+        return context;
+    }
+}
@@ -31,6 +31,7 @@ import org.kie.server.api.model.KieContainerResourceList;
 import org.kie.server.api.model.KieContainerStatusFilter;
 import org.kie.server.api.model.KieServerInfo;
 import org.kie.server.api.model.ReleaseIdFilter;
+import org.kie.server.api.model.instance.ProcessInstance;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.kie.camel.KieCamelConstants.KIE_CLIENT;
@@ -89,6 +90,45 @@ public class KieComponentIntegrationTest extends BaseKieComponentTest {
         assertEquals("Number of listed containers", 2, result.getContainers().size());
     }
 
+    @Test
+    public void testOverloadMatchingHeadersInvoked() throws Exception {
+        MockEndpoint mockEndpoint = getMockEndpoint( "mock:result" );
+        mockEndpoint.expectedMessageCount( 2 );
+
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(KIE_CLIENT, "process");
+        headers.put(KIE_OPERATION, "getProcessInstance");
+        headers.put(asCamelKieName("containerId"), "containerId");
+        headers.put(asCamelKieName("processInstanceId"), 5L);
+        template.sendBodyAndHeaders("direct:start", null, headers);
+
+        // withVars header is available only for the second exchange
+        headers.put(asCamelKieName("withVars"), true);
+        template.sendBodyAndHeaders("direct:start", null, headers);
+        assertMockEndpointsSatisfied();
+
+        ProcessInstance withoutVars = getResultMessage(mockEndpoint.getExchanges().get(0)).getBody(ProcessInstance.class);
+        assertEquals("Process instance id", Long.valueOf(5), withoutVars.getId());
+        ProcessInstance withVars = getResultMessage(mockEndpoint.getExchanges().get(1)).getBody(ProcessInstance.class);
+        assertEquals("Process instance id", Long.valueOf(5), withVars.getId());
+
+        verify(1, getRequestedFor(urlEqualTo("/containers/containerId/processes/instances/5")));
+        verify(1, getRequestedFor(urlEqualTo("/containers/containerId/processes/instances/5?withVars=true")));
+    }
+
+    @Test
+    public void testEndpointsShareClient() throws Exception {
+        KieEndpoint processEndpoint = context.getEndpoint("kie:" + getAuthenticadUrl("admin", "admin") + "?client=process", KieEndpoint.class);
+        KieEndpoint dmnEndpoint = context.getEndpoint("kie:" + getAuthenticadUrl("admin", "admin") + "?client=dmn", KieEndpoint.class);
+        KieEndpoint otherUserEndpoint = context.getEndpoint("kie:" + getAuthenticadUrl("john", "secret") + "?client=process", KieEndpoint.class);
+
+        assertNotSame(processEndpoint, dmnEndpoint);
+        // same server and credentials
+        assertSame(processEndpoint.getKieServicesClient(), dmnEndpoint.getKieServicesClient());
+        // same server, different credentials
+        assertNotSame(processEndpoint.getKieServicesClient(), otherUserEndpoint.getKieServicesClient());
+    }
+
     @Test
     public void testCustomOperation() throws Exception {
         MockEndpoint mockEndpoint = getMockEndpoint( "mock:result" );
@@ -198,6 +238,24 @@ public class KieComponentIntegrationTest extends BaseKieComponentTest {
                                             .withHeader("Content-Type", "application/xml")
                                             .withBody("<string-type/>")));
 
+        stubFor(get(urlEqualTo("/containers/containerId/processes/instances/5"))
+                        .withHeader("Accept", equalTo("application/xml"))
+                        .willReturn(aResponse()
+                                            .withStatus(200)
+                                            .withHeader("Content-Type", "application/xml")
+                                            .withBody("<process-instance>\n" +
+                                                      "  <process-instance-id>5</process-instance-id>\n" +
+                                                      "</process-instance>")));
+
+        stubFor(get(urlEqualTo("/containers/containerId/processes/instances/5?withVars=true"))
+                        .withHeader("Accept", equalTo("application/xml"))
+                        .willReturn(aResponse()
+                                            .withStatus(200)
+                                            .withHeader("Content-Type", "application/xml")
+                                            .withBody("<process-instance>\n" +
+                                                      "  <process-instance-id>5</process-instance-id>\n" +
+                                                      "</process-instance>")));
+
         stubFor(post(urlEqualTo("/containers/containerId/dmn"))
                         .withHeader("Accept", equalTo("application/xml"))
                         .willReturn(aResponse()
@@ -23,10 +23,19 @@ import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import javax.inject.Inject;
@@ -47,6 +56,7 @@ import org.drools.compiler.kie.builder.impl.FileKieModule;
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
 import org.drools.compiler.kie.builder.impl.KieContainerImpl;
 import org.drools.compiler.kie.builder.impl.KieMetaInfoBuilder;
+import org.drools.compiler.kie.builder.impl.KieModuleKieProject;
 import org.drools.compiler.kie.builder.impl.KieProject;
 import org.drools.compiler.kie.builder.impl.ResultsImpl;
 import org.drools.compiler.kie.builder.impl.ZipKieModule;
@@ -59,6 +69,8 @@ import org.kie.api.KieServices;
 import org.kie.api.builder.KieRepository;
 import org.kie.api.builder.Message;
 import org.kie.api.builder.ReleaseId;
+import org.kie.api.builder.Results;
+import org.kie.api.builder.model.KieBaseModel;
 import org.kie.api.builder.model.KieModuleModel;
 
 import static org.drools.compiler.kie.builder.impl.KieBuilderImpl.setDefaultsforEmptyKieModule;
@@ -107,6 +119,20 @@ public class BuildMojo extends AbstractKieMojo {
     @Parameter(property = "generateModel", defaultValue = "no")
     private String generateModel;
 
+    /**
+     * When enabled, the KieBases defined in the kmodule.xml are verified concurrently. KieBases linked
+     * through includes are always built together on the same thread, each group of them in its own copy
+     * of the KieModule as the KieModule caches are not thread safe.
+     */
+    @Parameter(property = "kie.build.parallel", defaultValue = "false")
+    private boolean parallelBuild;
+
+    /**
+     * Number of threads used by the parallel build, a value lower than 1 means one thread per available processor.
+     */
+    @Parameter(property = "kie.build.threads", defaultValue = "0")
+    private int buildThreads;
+
     public void execute() throws MojoExecutionException, MojoFailureException {
         if(!ExecModelMode.shouldGenerateModel(generateModel)) {
             buildDrl();
@@ -117,6 +143,7 @@ public class BuildMojo extends AbstractKieMojo {
         ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
 
         List<InternalKieModule> kmoduleDeps = new ArrayList<InternalKieModule>();
+        ClassLoader projectClassLoader;
 
         try {
             Set<URL> urls = new HashSet<URL>();
@@ -144,7 +171,7 @@ public class BuildMojo extends AbstractKieMojo {
             }
             urls.add(outputDirectory.toURI().toURL());
 
-            ClassLoader projectClassLoader = URLClassLoader.newInstance(urls.toArray(new URL[0]),
+            projectClassLoader = URLClassLoader.newInstance(urls.toArray(new URL[0]),
                                                                         getClass().getClassLoader());
 
             Thread.currentThread().setContextClassLoader(projectClassLoader);
@@ -168,9 +195,27 @@ public class BuildMojo extends AbstractKieMojo {
 
             KieProject kieProject = kContainer.getKieProject();
 
-            ResultsImpl messages = kieProject.verify();
-
-            List<Message> errors = messages.filterMessages(Message.Level.ERROR);
+            List<Message> errors;
+            Map<String, byte[]> classStore = null;
+            if (parallelBuild) {
+                Supplier<InternalKieModule> groupModuleFactory = () -> {
+                    InternalKieModule groupModule = new FileKieModule(kModule.getReleaseId(), kModule.getKieModuleModel(), sourceFolder);
+                    for (InternalKieModule kmoduleDep : kmoduleDeps) {
+                        groupModule.addKieDependency(new ZipKieModule(kmoduleDep.getReleaseId(),
+                                                                      kmoduleDep.getKieModuleModel(),
+                                                                      kmoduleDep.getFile()));
+                    }
+                    return groupModule;
+                };
+                classStore = new LinkedHashMap<String, byte[]>();
+                errors = verifyInParallel(kModule, groupModuleFactory, projectClassLoader, classStore);
+            } else {
+                ResultsImpl messages = kieProject.verify();
+                errors = messages.filterMessages(Message.Level.ERROR);
+                if (kieProject.getClassLoader() instanceof ProjectClassLoader) {
+                    classStore = ((ProjectClassLoader) kieProject.getClassLoader()).getStore();
+                }
+            }
             if (!errors.isEmpty()) {
                 for (Message error : errors) {
                     getLog().error(error.toString());
@@ -180,7 +225,7 @@ public class BuildMojo extends AbstractKieMojo {
 
                 if (container != null && compilationID != null) {
                     shareKieObjectsWithMap(kModule);
-                    shareStoreWithMap(kieProject);
+                    shareStoreWithMap(classStore);
                     shareTypesMetaInfoWithMap(kModule);
                 } else {
                     new KieMetaInfoBuilder(kModule).writeKieModuleMetaInfo(new DiskResourceStore(outputDirectory));
@@ -192,6 +237,132 @@ public class BuildMojo extends AbstractKieMojo {
         getLog().info("KieModule successfully built!");
     }
 
+    /**
+     * Verifies the groups of KieBases concurrently, each of them in a KieModule and KieProject of its own created
+     * by the given factory. The KnowledgeBuilders of the groups are then cached in the built KieModule and the classes
+     * generated by the groups are collected into the class store, so the result is the same as of a sequential build.
+     */
+    private List<Message> verifyInParallel(InternalKieModule kModule,
+                                           Supplier<InternalKieModule> groupModuleFactory,
+                                           ClassLoader projectClassLoader,
+                                           Map<String, byte[]> classStore) throws MojoFailureException {
+        KieModuleModel kieModuleModel = kModule.getKieModuleModel();
+        List<List<String>> groups = groupKieBasesByIncludes(kieModuleModel);
+        int threads = Math.min(Math.max(groups.size(), 1),
+                               buildThreads > 0 ? buildThreads : Runtime.getRuntime().availableProcessors());
+        getLog().info("Building " + kieModuleModel.getKieBaseModels().size() + " KieBase(s) in " + groups.size() +
+                              " independent group(s) using " + threads + " thread(s)");
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new KieBuildThreadFactory(projectClassLoader));
+        try {
+            Map<List<String>, Future<GroupBuild>> builds = new LinkedHashMap<List<String>, Future<GroupBuild>>();
+            for (final List<String> group : groups) {
+                builds.put(group, executor.submit(() -> {
+                    long start = System.nanoTime();
+                    InternalKieModule groupModule = groupModuleFactory.get();
+                    KieProject groupProject = new KieModuleKieProject(groupModule);
+                    groupProject.init();
+                    Results groupResults = groupProject.verify(group.toArray(new String[group.size()]));
+                    getLog().info("KieBase(s) " + group + " built in " +
+                                          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+                    return new GroupBuild(groupModule, groupProject, groupResults);
+                }));
+            }
+
+            // errors are collected in the kmodule.xml declaration order, regardless of which group completed first
+            List<Message> errors = new ArrayList<Message>();
+            for (Map.Entry<List<String>, Future<GroupBuild>> entry : builds.entrySet()) {
+                GroupBuild build;
+                try {
+                    build = entry.getValue().get();
+                } catch (ExecutionException e) {
+                    throw new MojoFailureException("Unable to build KieBase(s) " + entry.getKey(), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MojoFailureException("Interrupted while building KieBase(s) " + entry.getKey(), e);
+                }
+                errors.addAll(build.results.getMessages(Message.Level.ERROR));
+                for (String kieBaseName : entry.getKey()) {
+                    kModule.cacheKnowledgeBuilderForKieBase(kieBaseName, build.module.getKnowledgeBuilderForKieBase(kieBaseName));
+                }
+                if (build.project.getClassLoader() instanceof ProjectClassLoader) {
+                    Map<String, byte[]> store = ((ProjectClassLoader) build.project.getClassLoader()).getStore();
+                    if (store != null) {
+                        classStore.putAll(store);
+                    }
+                }
+            }
+            return errors;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class GroupBuild {
+
+        private final InternalKieModule module;
+        private final KieProject project;
+        private final Results results;
+
+        private GroupBuild(InternalKieModule module, KieProject project, Results results) {
+            this.module = module;
+            this.project = project;
+            this.results = results;
+        }
+    }
+
+    /**
+     * Partitions the KieBases of the module so that KieBases connected through includes end up in the same group,
+     * keeping the kmodule.xml declaration order both among and within the groups.
+     */
+    static List<List<String>> groupKieBasesByIncludes(KieModuleModel kieModuleModel) {
+        Map<String, KieBaseModel> kieBaseModels = kieModuleModel.getKieBaseModels();
+        Map<String, String> parents = new LinkedHashMap<String, String>();
+        for (String name : kieBaseModels.keySet()) {
+            parents.put(name, name);
+        }
+        for (KieBaseModel kieBaseModel : kieBaseModels.values()) {
+            for (String include : kieBaseModel.getIncludes()) {
+                // includes of KieBases defined in dependencies are resolved by the build of the including KieBase
+                if (parents.containsKey(include)) {
+                    parents.put(findRoot(parents, include), findRoot(parents, kieBaseModel.getName()));
+                }
+            }
+        }
+
+        Map<String, List<String>> groups = new LinkedHashMap<String, List<String>>();
+        for (String name : parents.keySet()) {
+            groups.computeIfAbsent(findRoot(parents, name), k -> new ArrayList<String>()).add(name);
+        }
+        return new ArrayList<List<String>>(groups.values());
+    }
+
+    private static String findRoot(Map<String, String> parents, String name) {
+        String root = name;
+        while (!root.equals(parents.get(root))) {
+            root = parents.get(root);
+        }
+        return root;
+    }
+
+    private static class KieBuildThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+        private final ClassLoader classLoader;
+
+        private KieBuildThreadFactory(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "kie-build-" + counter.incrementAndGet());
+            thread.setContextClassLoader(classLoader);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     private void shareKieObjectsWithMap(InternalKieModule kModule) {
         Optional<Map<String, Object>> optionalKieMap = getKieMap();
         if (optionalKieMap.isPresent()) {
@@ -216,16 +387,12 @@ public class BuildMojo extends AbstractKieMojo {
     }
 
 
-    private void shareStoreWithMap(KieProject kieProject) {
+    private void shareStoreWithMap(Map<String, byte[]> types) {
         Optional<Map<String, Object>> optionalKieMap = getKieMap();
-        if (optionalKieMap.isPresent() && kieProject.getClassLoader() instanceof ProjectClassLoader) {
-            ProjectClassLoader projectClassloder = (ProjectClassLoader) kieProject.getClassLoader();
-            Map<String, byte[]> types = projectClassloder.getStore();
-            if (projectClassloder.getStore() != null) {
-                StringBuilder sbTypes = new StringBuilder(compilationID).append(".").append("ProjectClassloaderStore");
-                optionalKieMap.get().put(sbTypes.toString(), types);
-                getLog().info("ProjectClassloader Store available in the map shared with the Maven Embedder");
-            }
+        if (optionalKieMap.isPresent() && types != null) {
+            StringBuilder sbTypes = new StringBuilder(compilationID).append(".").append("ProjectClassloaderStore");
+            optionalKieMap.get().put(sbTypes.toString(), types);
+            getLog().info("ProjectClassloader Store available in the map shared with the Maven Embedder");
         }
     }
 
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.maven.plugin;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.kie.api.KieServices;
+import org.kie.api.builder.model.KieModuleModel;
+
+import static org.junit.Assert.*;
+
+public class BuildMojoTest {
+
+    @Test
+    public void testIndependentKieBasesInSeparateGroups() {
+        KieModuleModel kieModuleModel = KieServices.Factory.get().newKieModuleModel();
+        kieModuleModel.newKieBaseModel("kbase1");
+        kieModuleModel.newKieBaseModel("kbase2");
+        kieModuleModel.newKieBaseModel("kbase3");
+
+        List<List<String>> groups = BuildMojo.groupKieBasesByIncludes(kieModuleModel);
+        assertEquals(Arrays.asList(Arrays.asList("kbase1"),
+                                   Arrays.asList("kbase2"),
+                                   Arrays.asList("kbase3")),
+                     groups);
+    }
+
+    @Test
+    public void testIncludedKieBasesInSameGroup() {
+        KieModuleModel kieModuleModel = KieServices.Factory.get().newKieModuleModel();
+        kieModuleModel.newKieBaseModel("kbase1").addInclude("kbase3");
+        kieModuleModel.newKieBaseModel("kbase2");
+        kieModuleModel.newKieBaseModel("kbase3");
+        kieModuleModel.newKieBaseModel("kbase4").addInclude("kbase3");
+
+        List<List<String>> groups = BuildMojo.groupKieBasesByIncludes(kieModuleModel);
+        assertEquals(Arrays.asList(Arrays.asList("kbase1", "kbase3", "kbase4"),
+                                   Arrays.asList("kbase2")),
+                     groups);
+    }
+
+    @Test
+    public void testTransitiveIncludesInSameGroup() {
+        KieModuleModel kieModuleModel = KieServices.Factory.get().newKieModuleModel();
+        kieModuleModel.newKieBaseModel("kbase1").addInclude("kbase2");
+        kieModuleModel.newKieBaseModel("kbase2").addInclude("kbase3");
+        kieModuleModel.newKieBaseModel("kbase3");
+        kieModuleModel.newKieBaseModel("kbase4");
+
+        List<List<String>> groups = BuildMojo.groupKieBasesByIncludes(kieModuleModel);
+        assertEquals(Arrays.asList(Arrays.asList("kbase1", "kbase2", "kbase3"),
+                                   Arrays.asList("kbase4")),
+                     groups);
+    }
+
+    @Test
+    public void testIncludeFromDependencyIgnored() {
+        KieModuleModel kieModuleModel = KieServices.Factory.get().newKieModuleModel();
+        kieModuleModel.newKieBaseModel("kbase1").addInclude("dependencyKBase");
+        kieModuleModel.newKieBaseModel("kbase2").addInclude("dependencyKBase");
+
+        List<List<String>> groups = BuildMojo.groupKieBasesByIncludes(kieModuleModel);
+        assertEquals(Arrays.asList(Arrays.asList("kbase1"),
+                                   Arrays.asList("kbase2")),
+                     groups);
+    }
+
+    @Test
+    public void testNoKieBases() {
+        KieModuleModel kieModuleModel = KieServices.Factory.get().newKieModuleModel();
+
+        assertTrue(BuildMojo.groupKieBasesByIncludes(kieModuleModel).isEmpty());
+    }
+}
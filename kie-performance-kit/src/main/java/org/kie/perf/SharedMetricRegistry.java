@@ -1,6 +1,10 @@
 package org.kie.perf;
 
+import org.kie.perf.metrics.HdrTimer;
+
+import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 
 public class SharedMetricRegistry {
 
@@ -29,4 +33,20 @@ public class SharedMetricRegistry {
         return instance;
     }
 
+    /**
+     * Timer for operation latencies - backed by HdrHistogram when enabled in {@link TestConfig}, otherwise
+     * the default timer of the registry.
+     */
+    public static synchronized Timer latencyTimer(String name) {
+        MetricRegistry registry = getInstance();
+        if (!TestConfig.getInstance().isHdrHistogramEnabled()) {
+            return registry.timer(name);
+        }
+        Metric existing = registry.getMetrics().get(name);
+        if (existing instanceof Timer) {
+            return (Timer) existing;
+        }
+        return registry.register(name, new HdrTimer());
+    }
+
 }
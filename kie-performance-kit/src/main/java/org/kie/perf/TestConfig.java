@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Properties;
 
 import org.kie.perf.run.Duration;
+import org.kie.perf.run.FixedRate;
 import org.kie.perf.run.IRunType;
 import org.kie.perf.run.Iteration;
 import org.kie.perf.suite.ConcurrentLoadSuite;
@@ -30,6 +31,7 @@ public class TestConfig {
     protected int duration;
     protected int iterations;
     protected int expectedRate;
+    protected int arrivalRate;
 
     protected ReporterType reporterType;
     protected int periodicity;
@@ -93,10 +95,21 @@ public class TestConfig {
             expectedRate = Integer.valueOf(expectedRateProp);
         }
 
+        String arrivalRateProp = System.getProperty("arrivalRate");
+        if (arrivalRateProp == null || arrivalRateProp.isEmpty()) {
+            arrivalRate = 10;
+        } else {
+            arrivalRate = Integer.valueOf(arrivalRateProp);
+        }
+
         properties.put("runType", runType);
         properties.put("duration", duration);
         properties.put("iterations", iterations);
         properties.put("expectedRate", expectedRate);
+        if (runType == RunType.FIXEDRATE) {
+            properties.put("arrivalRate", arrivalRate);
+            addTag("rate-" + arrivalRate);
+        }
 
         reporterType = ReporterType.valueOf(System.getProperty("reporterType").toUpperCase());
         periodicity = Integer.valueOf(System.getProperty("periodicity"));
@@ -214,6 +227,13 @@ public class TestConfig {
         return expectedRate;
     }
 
+    /**
+     * @return number of operations started per second by {@link RunType#FIXEDRATE} runs
+     */
+    public int getArrivalRate() {
+        return arrivalRate;
+    }
+
     public ReporterType getReporterType() {
         return reporterType;
     }
@@ -246,6 +266,13 @@ public class TestConfig {
         return measure;
     }
 
+    /**
+     * @return true when scenario durations should be recorded into HdrHistogram backed timers
+     */
+    public boolean isHdrHistogramEnabled() {
+        return measure.contains(Measure.HDRHISTOGRAM) || reporterType == ReporterType.HDRHISTOGRAM;
+    }
+
     public List<String> getTags() {
         return tags;
     }
@@ -267,15 +294,15 @@ public class TestConfig {
     }
 
     public static enum ReporterType {
-        CONSOLE, CSV, CSVSINGLE, PERFREPO
+        CONSOLE, CSV, CSVSINGLE, PERFREPO, HDRHISTOGRAM
     }
 
     public static enum Measure {
-        MEMORYUSAGE, FILEDESCRIPTORS, THREADSTATES, CPUUSAGE
+        MEMORYUSAGE, FILEDESCRIPTORS, THREADSTATES, CPUUSAGE, HDRHISTOGRAM
     }
 
     public static enum RunType {
-        DURATION(Duration.class), ITERATION(Iteration.class);
+        DURATION(Duration.class), ITERATION(Iteration.class), FIXEDRATE(FixedRate.class);
 
         private Class<? extends IRunType> klass;
 
@@ -0,0 +1,178 @@
+package org.kie.perf.metrics;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Timer;
+
+/**
+ * Writes for every HDR backed timer ({@link HdrTimer}) of the registry:
+ * <ul>
+ * <li><code>&lt;metric&gt;.hgrm</code> - full percentile distribution of all values recorded so far, rewritten on
+ * every report; can be plotted with the HdrHistogram plotter</li>
+ * <li><code>&lt;metric&gt;.hlog</code> - histogram log with one interval histogram per report, which allows to see how
+ * latency evolved during the run and to merge results of several runs</li>
+ * </ul>
+ * Metrics without HDR data are not reported.
+ */
+public class HdrHistogramReporter extends ScheduledReporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HdrHistogramReporter.class);
+
+    public static final int PERCENTILE_TICKS_PER_HALF_DISTANCE = 5;
+
+    public static Builder forRegistry(MetricRegistry registry) {
+        return new Builder(registry);
+    }
+
+    public static class Builder {
+        private final MetricRegistry registry;
+        private TimeUnit rateUnit;
+        private TimeUnit durationUnit;
+        private MetricFilter filter;
+
+        private Builder(MetricRegistry registry) {
+            this.registry = registry;
+            this.rateUnit = TimeUnit.SECONDS;
+            this.durationUnit = TimeUnit.MILLISECONDS;
+            this.filter = MetricFilter.ALL;
+        }
+
+        public Builder convertRatesTo(TimeUnit rateUnit) {
+            this.rateUnit = rateUnit;
+            return this;
+        }
+
+        public Builder convertDurationsTo(TimeUnit durationUnit) {
+            this.durationUnit = durationUnit;
+            return this;
+        }
+
+        public Builder filter(MetricFilter filter) {
+            this.filter = filter;
+            return this;
+        }
+
+        public HdrHistogramReporter build(File directory) {
+            return new HdrHistogramReporter(registry, directory, rateUnit, durationUnit, filter);
+        }
+    }
+
+    private final File directory;
+    private final double durationScalingRatio;
+    private final Map<String, LogFile> logs = new HashMap<String, LogFile>();
+
+    private HdrHistogramReporter(MetricRegistry registry, File directory, TimeUnit rateUnit, TimeUnit durationUnit, MetricFilter filter) {
+        super(registry, "hdrhistogram-reporter", filter, rateUnit, durationUnit);
+        this.directory = directory;
+        this.durationScalingRatio = durationUnit.toNanos(1);
+    }
+
+    @Override
+    public synchronized void report(SortedMap<String, Gauge> gauges, SortedMap<String, Counter> counters,
+            SortedMap<String, com.codahale.metrics.Histogram> histograms, SortedMap<String, Meter> meters, SortedMap<String, Timer> timers) {
+
+        for (Map.Entry<String, Timer> entry : timers.entrySet()) {
+            if (entry.getValue() instanceof HdrTimer) {
+                reportTimer(entry.getKey(), ((HdrTimer) entry.getValue()).getReservoir());
+            }
+        }
+    }
+
+    private void reportTimer(String name, HdrHistogramReservoir reservoir) {
+        try {
+            getLog(name).write(reservoir.getIntervalHistogram());
+        } catch (IOException e) {
+            LOGGER.warn("Error writing histogram log of {}", name, e);
+        }
+
+        Histogram total = reservoir.getTotalHistogram();
+        PrintStream out = null;
+        try {
+            out = new PrintStream(new FileOutputStream(new File(directory, name + ".hgrm")), false, "UTF-8");
+            out.println("# " + name + " [" + getDurationUnit() + "], throughput " + String.format("%.2f", convertRate(meanRate(total))) + " events/" + getRateUnit());
+            total.outputPercentileDistribution(out, PERCENTILE_TICKS_PER_HALF_DISTANCE, durationScalingRatio);
+        } catch (IOException e) {
+            LOGGER.warn("Error writing percentile distribution of {}", name, e);
+        } finally {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+
+    // events per second over the whole recorded period
+    private double meanRate(Histogram histogram) {
+        long elapsed = histogram.getEndTimeStamp() - histogram.getStartTimeStamp();
+        if (elapsed <= 0) {
+            return 0.0;
+        }
+        return histogram.getTotalCount() * 1000.0 / elapsed;
+    }
+
+    private LogFile getLog(String name) throws FileNotFoundException {
+        LogFile log = logs.get(name);
+        if (log == null) {
+            log = new LogFile(new File(directory, name + ".hlog"));
+            logs.put(name, log);
+        }
+        return log;
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        synchronized (this) {
+            for (LogFile log : logs.values()) {
+                log.close();
+            }
+            logs.clear();
+        }
+    }
+
+    private static class LogFile {
+
+        private final PrintStream stream;
+        private final HistogramLogWriter writer;
+        private boolean headerWritten;
+
+        LogFile(File file) throws FileNotFoundException {
+            this.stream = new PrintStream(new FileOutputStream(file));
+            this.writer = new HistogramLogWriter(stream);
+        }
+
+        void write(Histogram interval) throws IOException {
+            if (!headerWritten) {
+                writer.outputLogFormatVersion();
+                writer.outputStartTime(interval.getStartTimeStamp());
+                writer.setBaseTime(interval.getStartTimeStamp());
+                writer.outputLegend();
+                headerWritten = true;
+            }
+            writer.outputIntervalHistogram(interval);
+            stream.flush();
+        }
+
+        void close() {
+            stream.close();
+        }
+    }
+}
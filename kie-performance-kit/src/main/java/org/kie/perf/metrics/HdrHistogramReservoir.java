@@ -0,0 +1,82 @@
+package org.kie.perf.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+/**
+ * Reservoir keeping every recorded value in an HdrHistogram instead of a sample, so that high percentiles
+ * (p99.9, p99.99) and max are exact within the configured precision no matter how many values were recorded.
+ * 
+ * Recording is lock free (values go to a {@link Recorder}), snapshots and interval histograms are taken
+ * under the reservoir lock.
+ */
+public class HdrHistogramReservoir implements Reservoir {
+
+    public static final int DEFAULT_SIGNIFICANT_DIGITS = 3;
+
+    private final Recorder recorder;
+    private final Histogram total;
+    private final Histogram interval;
+    private Histogram recycled;
+
+    public HdrHistogramReservoir() {
+        this(DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    public HdrHistogramReservoir(int numberOfSignificantValueDigits) {
+        this.recorder = new Recorder(numberOfSignificantValueDigits);
+        this.total = new Histogram(numberOfSignificantValueDigits);
+        this.interval = new Histogram(numberOfSignificantValueDigits);
+        long now = System.currentTimeMillis();
+        this.total.setStartTimeStamp(now);
+        this.interval.setStartTimeStamp(now);
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(getTotalHistogram().getTotalCount(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void update(long value) {
+        recorder.recordValue(value);
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        return new HdrHistogramSnapshot(getTotalHistogram());
+    }
+
+    /**
+     * @return copy of the histogram with all values recorded since the reservoir was created
+     */
+    public synchronized Histogram getTotalHistogram() {
+        drain();
+        Histogram copy = total.copy();
+        copy.setEndTimeStamp(System.currentTimeMillis());
+        return copy;
+    }
+
+    /**
+     * @return histogram with values recorded since the previous call of this method (or since the reservoir
+     * was created), with start and end time stamps set to the covered interval
+     */
+    public synchronized Histogram getIntervalHistogram() {
+        drain();
+        long now = System.currentTimeMillis();
+        Histogram copy = interval.copy();
+        copy.setEndTimeStamp(now);
+        interval.reset();
+        interval.setStartTimeStamp(now);
+        return copy;
+    }
+
+    private void drain() {
+        recycled = recorder.getIntervalHistogram(recycled);
+        total.add(recycled);
+        interval.add(recycled);
+    }
+}
@@ -0,0 +1,90 @@
+package org.kie.perf.metrics;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import com.codahale.metrics.Snapshot;
+
+/**
+ * Snapshot answering quantiles directly from an HdrHistogram.
+ */
+public class HdrHistogramSnapshot extends Snapshot {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final AbstractHistogram histogram;
+
+    public HdrHistogramSnapshot(AbstractHistogram histogram) {
+        this.histogram = histogram;
+    }
+
+    public AbstractHistogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public double getValue(double quantile) {
+        if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+            throw new IllegalArgumentException(quantile + " is not in [0..1]");
+        }
+        if (histogram.getTotalCount() == 0) {
+            return 0.0;
+        }
+        return histogram.getValueAtPercentile(quantile * 100.0);
+    }
+
+    @Override
+    public long[] getValues() {
+        long[] values = new long[size()];
+        int i = 0;
+        for (HistogramIterationValue value : histogram.recordedValues()) {
+            long v = histogram.highestEquivalentValue(value.getValueIteratedTo());
+            for (long c = 0; c < value.getCountAtValueIteratedTo() && i < values.length; c++) {
+                values[i++] = v;
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long getMax() {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue();
+    }
+
+    @Override
+    public double getMean() {
+        return histogram.getTotalCount() == 0 ? 0.0 : histogram.getMean();
+    }
+
+    @Override
+    public long getMin() {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getMinValue();
+    }
+
+    @Override
+    public double getStdDev() {
+        return histogram.getTotalCount() == 0 ? 0.0 : histogram.getStdDeviation();
+    }
+
+    @Override
+    public void dump(OutputStream output) {
+        final PrintWriter out = new PrintWriter(new OutputStreamWriter(output, UTF_8));
+        try {
+            for (long value : getValues()) {
+                out.printf("%d%n", value);
+            }
+        } finally {
+            out.close();
+        }
+    }
+}
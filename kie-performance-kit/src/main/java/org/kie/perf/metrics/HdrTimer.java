@@ -0,0 +1,25 @@
+package org.kie.perf.metrics;
+
+import com.codahale.metrics.Timer;
+
+/**
+ * Timer backed by {@link HdrHistogramReservoir}, durations are recorded in nanoseconds. Keeps the reservoir
+ * reachable so that {@link HdrHistogramReporter} can write the full distribution and interval logs.
+ */
+public class HdrTimer extends Timer {
+
+    private final HdrHistogramReservoir reservoir;
+
+    public HdrTimer() {
+        this(new HdrHistogramReservoir());
+    }
+
+    public HdrTimer(HdrHistogramReservoir reservoir) {
+        super(reservoir);
+        this.reservoir = reservoir;
+    }
+
+    public HdrHistogramReservoir getReservoir() {
+        return reservoir;
+    }
+}
@@ -0,0 +1,90 @@
+package org.kie.perf.run;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.kie.perf.TestConfig;
+
+/**
+ * Open model run type - operations are started at fixed arrival rate (<code>arrivalRate</code> per second,
+ * shared by all threads of the run) for the configured duration, regardless of how long previous operations
+ * took. When the scenario cannot keep up, operations start late and the delay is part of their latency since
+ * it is measured from the intended start time ({@link #getOperationStartTime()}), which avoids coordinated
+ * omission of closed loop runs.
+ */
+public class FixedRate implements IRunType {
+
+    private static Schedule schedule;
+
+    private Schedule current;
+    private long intendedStartTime;
+
+    @Override
+    public void start(int limit) {
+        synchronized (FixedRate.class) {
+            // threads of the same run share one schedule, a new one is created once the previous run is over
+            if (schedule == null || schedule.isOver()) {
+                TestConfig tc = TestConfig.getInstance();
+                schedule = new Schedule(tc.getArrivalRate(), tc.getDuration(), limit);
+            }
+            current = schedule;
+        }
+    }
+
+    @Override
+    public boolean isEnd() {
+        long next = current.nextArrival();
+        if (next < 0) {
+            return true;
+        }
+        long delay;
+        while ((delay = next - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(delay);
+        }
+        intendedStartTime = next;
+        return false;
+    }
+
+    @Override
+    public long getOperationStartTime() {
+        return intendedStartTime;
+    }
+
+    private static class Schedule {
+
+        private final long startTime;
+        private final long endTime;
+        private final double interval;
+        private final long limit;
+        private final AtomicLong arrivals = new AtomicLong();
+        private volatile boolean over;
+
+        Schedule(int arrivalRate, int duration, int limit) {
+            if (arrivalRate <= 0) {
+                throw new IllegalArgumentException("arrivalRate must be greater than 0 for run type FIXEDRATE");
+            }
+            this.startTime = System.nanoTime();
+            this.endTime = startTime + TimeUnit.SECONDS.toNanos(duration);
+            this.interval = (double) TimeUnit.SECONDS.toNanos(1) / arrivalRate;
+            this.limit = limit;
+        }
+
+        /**
+         * @return intended start (nano time) of the next operation or -1 when the run is over
+         */
+        long nextArrival() {
+            long arrival = arrivals.getAndIncrement();
+            long next = startTime + (long) (arrival * interval);
+            if (arrival >= limit || next > endTime) {
+                over = true;
+                return -1;
+            }
+            return next;
+        }
+
+        boolean isOver() {
+            return over;
+        }
+    }
+}
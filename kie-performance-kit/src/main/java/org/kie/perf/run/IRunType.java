@@ -6,4 +6,12 @@ public interface IRunType {
 
     public boolean isEnd();
 
+    /**
+     * Time (as {@link System#nanoTime()}) the operation allowed by last call of {@link #isEnd()} should be
+     * measured from. Closed model run types return current time, open model ones the intended start time.
+     */
+    public default long getOperationStartTime() {
+        return System.nanoTime();
+    }
+
 }
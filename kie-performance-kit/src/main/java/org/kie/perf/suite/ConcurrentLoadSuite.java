@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.kie.perf.Executor;
 import org.kie.perf.SharedMetricRegistry;
@@ -83,7 +84,7 @@ public class ConcurrentLoadSuite implements ITestSuite {
         TestConfig tc = TestConfig.getInstance();
 
         Timer.Context contextDuration = null;
-        if (tc.getRunType() != RunType.DURATION) {
+        if (tc.getRunType() == RunType.ITERATION) {
             Timer duration = SharedMetricRegistry.getInstance().timer(MetricRegistry.name(scenario, "scenario.total.duration"));
             contextDuration = duration.time();
         }
@@ -141,14 +142,14 @@ public class ConcurrentLoadSuite implements ITestSuite {
         
         @Override
         public void run() {
-            Timer duration = SharedMetricRegistry.getInstance().timer(MetricRegistry.name(scenario.getClass(), "scenario.single.duration"));
+            Timer duration = SharedMetricRegistry.latencyTimer(MetricRegistry.name(scenario.getClass(), "scenario.single.duration"));
             IRunType run = TestConfig.getInstance().getRunType().newInstance();
 
             run.start(max);
             while (!run.isEnd()) {
-                Timer.Context context = duration.time();
+                long startTime = run.getOperationStartTime();
                 scenario.execute();
-                context.stop();
+                duration.update(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
             }
         }
     }
@@ -79,9 +79,7 @@ public class SoakSuite implements ITestSuite {
     }
     
     private void startScenario(IPerfTest scenario) {
-        MetricRegistry metrics = SharedMetricRegistry.getInstance();
-
-        Timer scenarioDuration = metrics.timer(MetricRegistry.name(scenario.getClass(), "scenario.single.duration"));
+        Timer scenarioDuration = SharedMetricRegistry.latencyTimer(MetricRegistry.name(scenario.getClass(), "scenario.single.duration"));
         scenario.init();
         scenario.initMetrics();
         Timer.Context context = scenarioDuration.time();
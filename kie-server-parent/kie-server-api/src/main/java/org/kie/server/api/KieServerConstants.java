@@ -32,6 +32,7 @@ public class KieServerConstants {
     public static final String KIE_DMN_SERVER_EXT_DISABLED = "org.kie.dmn.server.ext.disabled";
     public static final String KIE_JBM_SEARCH_SERVER_EXT_DISABLED = "org.jbpm.search.server.ext.disabled";
     public static final String KIE_SWAGGER_SERVER_EXT_DISABLED = "org.kie.swagger.server.ext.disabled";
+    public static final String KIE_METRICS_SERVER_EXT_DISABLED = "org.kie.server.metrics.ext.disabled";
 
     public static final String KIE_DROOLS_FILTER_REMOTEABLE_CLASSES = "org.drools.server.filter.classes";
 
@@ -41,6 +42,7 @@ public class KieServerConstants {
     public static final String KIE_SERVER_JAAS_DOMAIN = "org.kie.server.domain";
     public static final String KIE_SERVER_CONTROLLER = "org.kie.server.controller";
     public static final String KIE_SERVER_STATE_REPO = "org.kie.server.repo";
+    public static final String KIE_SERVER_STATE_REPO_WRITE_DELAY = "org.kie.server.repo.write.delay";
     public static final String KIE_SERVER_CONTAINER_DEPLOYMENT = "org.kie.server.container.deployment";
     public static final String KIE_SERVER_CONTAINER_LOCATOR = "org.kie.server.container.locator";
     public static final String KIE_SERVER_ACTIVATE_POLICIES = "org.kie.server.policy.activate";
@@ -57,6 +59,10 @@ public class KieServerConstants {
     public static final String CFG_KIE_SERVER_RESPONSE_QUEUE = "kie.server.jms.queues.response";
 
     public static final String CFG_KIE_SERVER_CONTROLLER_CONNECT_INTERVAL = "org.kie.server.controller.connect";
+    public static final String CFG_KIE_SERVER_CONTROLLER_CONNECT_INTERVAL_MAX = "org.kie.server.controller.connect.max";
+
+    public static final String CFG_KIE_SERVER_WEBSOCKET_BATCH_SIZE = "org.kie.server.websocket.batch.size";
+    public static final String CFG_KIE_SERVER_WEBSOCKET_EXECUTOR = "org.kie.server.websocket.executor";
 
     /**
      * security settings used to connect to KIE Server
@@ -82,6 +88,9 @@ public class KieServerConstants {
     public static final String CFG_EXECUTOR_TIME_UNIT = "org.kie.executor.timeunit";
     public static final String CFG_EXECUTOR_JMS_QUEUE = "org.kie.executor.jms.queue";
     public static final String CFG_EXECUTOR_DISABLED = "org.kie.executor.disabled";
+    public static final String CFG_EXECUTOR_BATCH_SIZE = "org.kie.executor.batch.size";
+    public static final String CFG_EXECUTOR_BATCH_MAX = "org.kie.executor.batch.max";
+    public static final String CFG_EXECUTOR_IDLE_BACKOFF = "org.kie.executor.idle.backoff";
 
     public static final String CFG_DOCUMENT_STORAGE_PATH = "org.jbpm.document.storage";
 
@@ -95,6 +104,12 @@ public class KieServerConstants {
 
     public static final String CFG_SYNC_DEPLOYMENT = "org.kie.server.sync.deploy";
 
+    // comma separated list of marshalling formats (JAXB, JSON, XSTREAM) built in background when container is started
+    public static final String CFG_MARSHALLERS_PREWARM = "org.kie.server.marshallers.prewarm";
+
+    // maximum number of running process instances per container whose start time is kept to measure their duration
+    public static final String CFG_METRICS_PROCESS_TRACKED_INSTANCES = "org.kie.server.metrics.process.tracked.instances";
+
     public static final String KIE_SERVER_PARAM_MODULE_METADATA = "KieModuleMetaData";
     public static final String KIE_SERVER_PARAM_MESSAGES = "ContainerMessages";
 
@@ -114,6 +129,7 @@ public class KieServerConstants {
     public static final String CAPABILITY_CASE = "CaseMgmt"; // Case Management
     public static final String CAPABILITY_DMN = "DMN"; // DMN
     public static final String CAPABILITY_SWAGGER = "Swagger"; // Swagger
+    public static final String CAPABILITY_METRICS = "Metrics"; // Metrics
 
     public static final String FAILURE_REASON_PROP = "failure-reason";
 
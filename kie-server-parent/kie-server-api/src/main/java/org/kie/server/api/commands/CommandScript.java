@@ -50,6 +50,11 @@ public class CommandScript implements Serializable {
 
     private static final long serialVersionUID = 510l;
 
+    // declared first so it is serialized ahead of the commands and can be found without reading whole message
+    @XmlElement(name = "correlation-id")
+    @XStreamAlias("correlation-id")
+    private String correlationId;
+
     @XmlElements({
             @XmlElement(name = "get-server-info", type = GetServerInfoCommand.class),
             @XmlElement(name = "create-container", type = CreateContainerCommand.class),
@@ -97,8 +102,17 @@ public class CommandScript implements Serializable {
         return this.commands;
     }
 
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public void setCorrelationId(String correlationId) {
+        this.correlationId = correlationId;
+    }
+
     public String toString() {
         return "CommandScriptImpl{ commands=" + commands +
+                (correlationId == null ? "" : ", correlationId=" + correlationId) +
                 '}';
     }
 
@@ -15,12 +15,19 @@
 
 package org.kie.server.api.marshalling;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static org.apache.commons.lang3.StringUtils.startsWithIgnoreCase;
 import static org.apache.commons.lang3.StringUtils.upperCase;
 
 public enum MarshallingFormat {
     XSTREAM(0, "xstream"), JAXB(1, "xml"), JSON(2, "json");
 
+    // formats of the content types seen so far, the number of distinct content types sent by clients is small
+    private static final int MAX_CACHED_TYPES = 64;
+    private static final Map<String, MarshallingFormat> formatsByType = new ConcurrentHashMap<>();
+
     private final int id;
     private final String type;
 
@@ -45,6 +52,17 @@ public enum MarshallingFormat {
     }
 
     public static MarshallingFormat fromType( String type ) {
+        MarshallingFormat format = type != null ? formatsByType.get( type ) : null;
+        if ( format == null ) {
+            format = resolveType( type );
+            if ( type != null && formatsByType.size() < MAX_CACHED_TYPES ) {
+                formatsByType.put( type, format );
+            }
+        }
+        return format;
+    }
+
+    private static MarshallingFormat resolveType( String type ) {
         if(startsWithIgnoreCase(type, "xstream") || startsWithIgnoreCase(type, "application/xstream")) {
             return XSTREAM;
         } else if (startsWithIgnoreCase(type, "xml") || startsWithIgnoreCase(type, "application/xml")) {
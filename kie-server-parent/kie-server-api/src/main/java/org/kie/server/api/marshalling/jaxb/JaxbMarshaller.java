@@ -78,6 +78,7 @@ import org.kie.server.api.marshalling.ModelWrapper;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieContainerResourceFilter;
 import org.kie.server.api.model.KieContainerResourceList;
+import org.kie.server.api.model.KieContainerRuleProfile;
 import org.kie.server.api.model.KieContainerStatus;
 import org.kie.server.api.model.KieContainerStatusFilter;
 import org.kie.server.api.model.KieServerConfig;
@@ -87,6 +88,7 @@ import org.kie.server.api.model.KieServerStateInfo;
 import org.kie.server.api.model.Message;
 import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.ReleaseIdFilter;
+import org.kie.server.api.model.RuleStatistics;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.ServiceResponsesList;
 import org.kie.server.api.model.Wrapped;
@@ -204,6 +206,8 @@ public class JaxbMarshaller implements Marshaller {
                 ServiceResponse.class,
                 ServiceResponsesList.class,
                 KieServerStateInfo.class,
+                KieContainerRuleProfile.class,
+                RuleStatistics.class,
 
                 ReleaseIdFilter.class,
                 KieContainerStatusFilter.class,
@@ -18,7 +18,6 @@ package org.kie.server.api.marshalling.json;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
-import java.lang.reflect.Array;
 import java.lang.reflect.Member;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
@@ -34,6 +33,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
@@ -54,6 +54,7 @@ import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
@@ -66,6 +67,7 @@ import com.fasterxml.jackson.databind.jsontype.NamedType;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
 import com.fasterxml.jackson.databind.jsontype.TypeResolverBuilder;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.jsontype.impl.AsWrapperTypeDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.util.ClassUtil;
@@ -105,6 +107,9 @@ public class JSONMarshaller implements Marshaller {
 
     protected DateFormat dateFormat = new SimpleDateFormat(dateFormatStr);
 
+    // classes of the wrapped objects by whether their class name is written as type id
+    private final Map<Class<?>, Boolean> classNameTypes = new ConcurrentHashMap<Class<?>, Boolean>();
+
     // Optional Marshaller Extension to handle new types
     private static final List<JSONMarshallerExtension> EXTENSIONS;
 
@@ -491,9 +496,8 @@ public class JSONMarshaller implements Marshaller {
 
         @Override
         public void serialize(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
-
-            String json = customObjectMapper.writeValueAsString(value);
-            jgen.writeRawValue(json);
+            // written directly to the generator of the enclosing value instead of going through intermediate string
+            customObjectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE).writeValue(jgen, value);
         }
     }
 
@@ -507,63 +511,98 @@ public class JSONMarshaller implements Marshaller {
 
         @Override
         public void serialize(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
-            String className = value.getClass().getName();
+            ObjectWriter writer = customObjectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
 
             if (value instanceof Collection) {
-                String collectionJson = writeCollection((Collection) value, customObjectMapper);
-                jgen.writeRawValue(collectionJson);
+                writeCollection((Collection) value, writer, jgen);
             } else if (value instanceof Map) {
-                String mapJson = writeMap((Map) value, customObjectMapper);
-                jgen.writeRawValue(mapJson);
-            } else if (value instanceof Object[] || value.getClass().isArray()) {
-                String arrayJson = writeArray((Object[]) value, customObjectMapper);
-                jgen.writeRawValue(arrayJson);
-            } else {
-
-                String json = customObjectMapper.writeValueAsString(value);
-
-                // don't wrap java and javax classes as they are always available, in addition avoid double wrapping
-                if (!className.startsWith("java.") && !className.startsWith("javax.") && !json.contains(className)) {
-                    json = "{\"" + className + "\":" + json + "}";
+                if (hasStringKeys((Map<?, ?>) value)) {
+                    writeMap((Map<?, ?>) value, writer, jgen);
+                } else {
+                    // keys are written as their JSON representation, that cannot be done with the generator
+                    jgen.writeRawValue(writeMapAsString((Map<?, ?>) value));
                 }
-                jgen.writeRawValue(json);
+            } else if (value instanceof Object[]) {
+                writeArray((Object[]) value, writer, jgen);
+            } else if (value.getClass().isArray()) {
+                writer.writeValue(jgen, value);
+            } else {
+                writeElement(value, writer, jgen);
             }
         }
 
-        private String writeArray(Object[] value, ObjectMapper customObjectMapper) throws IOException{
-            StringBuilder builder = new StringBuilder();
-            builder.append("[");
+        private void writeArray(Object[] value, ObjectWriter writer, JsonGenerator jgen) throws IOException {
+            jgen.writeStartArray();
+            for (Object element : value) {
+                writeElement(element, writer, jgen);
+            }
+            jgen.writeEndArray();
+        }
 
-            int size = Array.getLength(value);
+        private void writeCollection(Collection<?> collection, ObjectWriter writer, JsonGenerator jgen) throws IOException {
+            jgen.writeStartArray();
+            for (Object element : collection) {
+                writeElement(element, writer, jgen);
+            }
+            jgen.writeEndArray();
+        }
 
-            for (Object element : value) {
-                size--;
-                String elementClassName = element.getClass().getName();
-                String json = customObjectMapper.writeValueAsString(element);
+        private void writeMap(Map<?, ?> value, ObjectWriter writer, JsonGenerator jgen) throws IOException {
+            jgen.writeStartObject();
+            for (Map.Entry<?, ?> entry : value.entrySet()) {
+                jgen.writeFieldName((String) entry.getKey());
+                writeElement(entry.getValue(), writer, jgen);
+            }
+            jgen.writeEndObject();
+        }
 
-                // don't wrap java and javax classes as they are always available, in addition avoid double wrapping
-                if (!elementClassName.startsWith("java.") && !elementClassName.startsWith("javax.") && !json.contains(elementClassName)) {
-                    json = "{\"" + elementClassName + "\":" + json + "}";
-                }
+        private void writeElement(Object element, ObjectWriter writer, JsonGenerator jgen) throws IOException {
+            if (element == null) {
+                jgen.writeNull();
+                return;
+            }
+            String className = element.getClass().getName();
+            // don't wrap java and javax classes as they are always available, in addition avoid double wrapping
+            if (className.startsWith("java.") || className.startsWith("javax.") || writesClassName(element.getClass())) {
+                writer.writeValue(jgen, element);
+            } else {
+                jgen.writeStartObject();
+                jgen.writeFieldName(className);
+                writer.writeValue(jgen, element);
+                jgen.writeEndObject();
+            }
+        }
 
-                builder.append(json);
+        /*
+         * Checks whether the class name is already written as type id by the mapper, result is cached per class
+         */
+        private boolean writesClassName(Class<?> type) throws IOException {
+            Boolean writes = classNameTypes.get(type);
+            if (writes == null) {
+                TypeSerializer typeSerializer = customObjectMapper.getSerializerFactory()
+                        .createTypeSerializer(customObjectMapper.getSerializationConfig(), customObjectMapper.constructType(type));
+                writes = typeSerializer != null && typeSerializer.getTypeIdResolver().getMechanism() == JsonTypeInfo.Id.CLASS;
+                classNameTypes.put(type, writes);
+            }
+            return writes;
+        }
 
-                if (size > 0) {
-                    builder.append(",");
+        private boolean hasStringKeys(Map<?, ?> map) {
+            for (Object key : map.keySet()) {
+                if (!(key instanceof String)) {
+                    return false;
                 }
             }
-            builder.append("]");
-
-            return  builder.toString();
+            return true;
         }
 
-        private String writeMap(Map value, ObjectMapper customObjectMapper) throws IOException{
+        private String writeMapAsString(Map<?, ?> value) throws IOException {
             StringBuilder builder = new StringBuilder();
             builder.append("{");
 
-            int size = ((Map<?, ?>)value).size();
+            int size = value.size();
 
-            for (Map.Entry<?, ?> entry : ((Map<?, ?>)value).entrySet()) {
+            for (Map.Entry<?, ?> entry : value.entrySet()) {
                 size--;
                 // handle map key
                 Object key = entry.getKey();
@@ -597,35 +636,6 @@ public class JSONMarshaller implements Marshaller {
             builder.append("}");
             return builder.toString();
         }
-
-        private String writeCollection(Collection collection, ObjectMapper customObjectMapper) throws IOException {
-
-            StringBuilder builder = new StringBuilder();
-            builder.append("[");
-
-            int size = collection.size();
-            Iterator it = collection.iterator();
-            while (it.hasNext()) {
-                size--;
-                Object element = it.next();
-                String elementClassName = element.getClass().getName();
-                String json = customObjectMapper.writeValueAsString(element);
-
-                // don't wrap java and javax classes as they are always available, in addition avoid double wrapping
-                if (!elementClassName.startsWith("java.") && !elementClassName.startsWith("javax.") && !json.contains(elementClassName)) {
-                    json = "{\"" + elementClassName + "\":" + json + "}";
-                }
-
-                builder.append(json);
-
-                if (size > 0) {
-                    builder.append(",");
-                }
-            }
-            builder.append("]");
-
-            return  builder.toString();
-        }
     }
 
     class CustomObjectDeserializer extends UntypedObjectDeserializer {
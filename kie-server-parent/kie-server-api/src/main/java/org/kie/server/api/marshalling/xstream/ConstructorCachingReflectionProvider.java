@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.marshalling.xstream;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.thoughtworks.xstream.converters.reflection.ObjectAccessException;
+import com.thoughtworks.xstream.converters.reflection.PureJavaReflectionProvider;
+
+/**
+ * {@link PureJavaReflectionProvider} that remembers no-arg constructors of the unmarshalled types instead of
+ * looking them up for every created object. Objects are still created by calling their constructor, so field
+ * initializers are applied the same way as with the pure java provider (unlike with the unsafe providers).
+ */
+public class ConstructorCachingReflectionProvider extends PureJavaReflectionProvider {
+
+    private final Map<Class<?>, Constructor<?>> constructors = new ConcurrentHashMap<Class<?>, Constructor<?>>();
+
+    @Override
+    public Object newInstance(Class type) {
+        Constructor<?> constructor = constructors.get(type);
+        if (constructor == null) {
+            constructor = findDefaultConstructor(type);
+            if (constructor == null) {
+                // no-arg constructor not available, e.g. serializable types
+                return super.newInstance(type);
+            }
+            constructors.put(type, constructor);
+        }
+        try {
+            return constructor.newInstance();
+        } catch (InvocationTargetException e) {
+            throw new ObjectAccessException("Constructor for " + type.getName() + " threw an exception", e.getTargetException());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new ObjectAccessException("Cannot construct " + type.getName(), e);
+        }
+    }
+
+    private Constructor<?> findDefaultConstructor(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            if (constructor.getParameterTypes().length == 0) {
+                if (!constructor.isAccessible()) {
+                    constructor.setAccessible(true);
+                }
+                return constructor;
+            }
+        }
+        return null;
+    }
+}
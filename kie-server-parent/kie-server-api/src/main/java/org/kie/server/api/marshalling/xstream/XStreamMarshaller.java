@@ -17,13 +17,17 @@ package org.kie.server.api.marshalling.xstream;
 
 import static org.kie.soup.commons.xstream.XStreamUtils.createNonTrustingXStream;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
 
 import org.drools.core.runtime.help.impl.XStreamXML;
 import org.kie.server.api.commands.CallContainerCommand;
@@ -52,12 +56,14 @@ import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieContainerResourceFilter;
 import org.kie.server.api.model.KieContainerResourceList;
+import org.kie.server.api.model.KieContainerRuleProfile;
 import org.kie.server.api.model.KieContainerStatus;
 import org.kie.server.api.model.KieContainerStatusFilter;
 import org.kie.server.api.model.KieScannerResource;
 import org.kie.server.api.model.KieServerInfo;
 import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.ReleaseIdFilter;
+import org.kie.server.api.model.RuleStatistics;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.ServiceResponsesList;
 import org.kie.server.api.model.dmn.DMNContextKS;
@@ -74,17 +80,78 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.converters.reflection.PureJavaReflectionProvider;
 import com.thoughtworks.xstream.mapper.MapperWrapper;
 
 public class XStreamMarshaller
         implements Marshaller {    
 
     private static final Logger logger = LoggerFactory.getLogger(XStreamMarshaller.class);
+
+    // configured instances are shared by marshallers built for the same class loader and classes
+    private static final boolean SHARE_XSTREAM = Boolean.parseBoolean(System.getProperty("org.kie.server.xstream.shared", "true"));
+
+    /*
+     * XStream is thread safe once configured. Class loaders are weak keys and instances are weakly referenced (they
+     * reference the class loader) so they are released together with the last marshaller using them.
+     */
+    private static final Map<ClassLoader, Map<Set<String>, WeakReference<XStream>>> sharedInstances = new WeakHashMap<>();
+
+    private static final Class<?>[] MODEL_CLASSES = {
+            CommandScript.class,
+            CallContainerCommand.class,
+            CreateContainerCommand.class,
+            DisposeContainerCommand.class,
+            GetContainerInfoCommand.class,
+            GetScannerInfoCommand.class,
+            UpdateScannerCommand.class,
+            GetReleaseIdCommand.class,
+            UpdateReleaseIdCommand.class,
+            GetServerInfoCommand.class,
+            ListContainersCommand.class,
+            ServiceResponsesList.class,
+            ServiceResponse.class,
+            KieContainerResourceList.class,
+            KieContainerResource.class,
+            ReleaseId.class,
+            KieContainerStatus.class,
+            KieScannerResource.class,
+            KieServerInfo.class,
+            KieContainerRuleProfile.class,
+            RuleStatistics.class,
+
+            ReleaseIdFilter.class,
+            KieContainerStatusFilter.class,
+            KieContainerResourceFilter.class,
+
+            SolverInstance.class,
+            CreateSolverCommand.class,
+            DisposeSolverCommand.class,
+            GetSolverWithBestSolutionCommand.class,
+            GetSolversCommand.class,
+            GetSolverCommand.class,
+            SolvePlanningProblemCommand.class,
+            TerminateSolverEarlyCommand.class,
+            AddProblemFactChangeCommand.class,
+            AddProblemFactChangesCommand.class,
+            IsEveryProblemFactChangeProcessedCommand.class,
+
+            DMNContextKS.class,
+            DMNResultKS.class,
+            DMNNodeStub.class,
+            DMNMessageKS.class,
+            DMNDecisionResultKS.class,
+            DMNModelInfoList.class,
+            DMNModelInfo.class,
+            DMNDecisionInfo.class
+    };
+
     protected XStream xstream;
     protected ClassLoader classLoader;
     protected Map<String, Class> classNames = new HashMap<String, Class>();
 
+    private final Set<Class<?>> classes;
+    private final boolean shared;
+
     // Optional marshaller extensions to handle new types / configure custom behavior
     private static final List<XStreamMarshallerExtension> EXTENSIONS;        
 
@@ -102,7 +169,36 @@ public class XStreamMarshaller
 
     public XStreamMarshaller(Set<Class<?>> classes,
                              final ClassLoader classLoader) {
+        this(classes,
+             classLoader,
+             SHARE_XSTREAM);
+    }
+
+    private XStreamMarshaller(Set<Class<?>> classes,
+                              final ClassLoader classLoader,
+                              boolean share) {
         this.classLoader = classLoader;
+        // copied as the set is the key of the shared instance and must not change after the marshaller is built
+        this.classes = classes != null ? Collections.unmodifiableSet(new HashSet<>(classes)) : null;
+        // subclasses may configure the instance differently so they always build their own
+        this.shared = share && getClass() == XStreamMarshaller.class;
+        if (shared) {
+            if (this.classes != null) {
+                for (Class<?> clazz : this.classes) {
+                    this.classNames.put(clazz.getName(),
+                                        clazz);
+                }
+            }
+            this.xstream = getSharedXStream(this.classes,
+                                            classLoader);
+        } else {
+            build(this.classes,
+                  classLoader);
+        }
+    }
+
+    private void build(Set<Class<?>> classes,
+                       ClassLoader classLoader) {
         buildMarshaller(classes,
                         classLoader);
 
@@ -112,9 +208,38 @@ public class XStreamMarshaller
         EXTENSIONS.forEach(ext -> ext.extend(this));
     }
 
+    /*
+     * Returns the configured instance shared for given classes and class loader, a missing one is built by a separate
+     * not shared marshaller so that the state of the calling marshaller is never touched while building.
+     */
+    private static XStream getSharedXStream(Set<Class<?>> classes,
+                                            ClassLoader classLoader) {
+        Set<String> key = new TreeSet<>();
+        if (classes != null) {
+            for (Class<?> clazz : classes) {
+                key.add(clazz.getName());
+            }
+        }
+        synchronized (sharedInstances) {
+            Map<Set<String>, WeakReference<XStream>> instances = sharedInstances.computeIfAbsent(classLoader,
+                                                                                               cl -> new HashMap<>());
+            WeakReference<XStream> reference = instances.get(key);
+            XStream instance = reference != null ? reference.get() : null;
+            if (instance == null) {
+                logger.debug("Building XStream instance for classes {} and class loader {}", key, classLoader);
+                instance = new XStreamMarshaller(classes,
+                                                 classLoader,
+                                                 false).getXstream();
+                instances.put(key,
+                              new WeakReference<>(instance));
+            }
+            return instance;
+        }
+    }
+
     protected void buildMarshaller(Set<Class<?>> classes,
                                    final ClassLoader classLoader) {
-        this.xstream = XStreamXML.newXStreamMarshaller(createNonTrustingXStream(new PureJavaReflectionProvider(),
+        this.xstream = XStreamXML.newXStreamMarshaller(createNonTrustingXStream(new ConstructorCachingReflectionProvider(),
                                                                      next -> {
                                                                          return new MapperWrapper(chainMapperWrappers(new ArrayList<>(EXTENSIONS),
                                                                                                                       next)) {
@@ -152,54 +277,11 @@ public class XStreamMarshaller
 
         AbstractScoreXStreamConverter.registerScoreConverters(xstream);
 
-        this.xstream.processAnnotations(CommandScript.class);
-        this.xstream.processAnnotations(CallContainerCommand.class);
-        this.xstream.processAnnotations(CreateContainerCommand.class);
-        this.xstream.processAnnotations(DisposeContainerCommand.class);
-        this.xstream.processAnnotations(GetContainerInfoCommand.class);
-        this.xstream.processAnnotations(GetScannerInfoCommand.class);
-        this.xstream.processAnnotations(UpdateScannerCommand.class);
-        this.xstream.processAnnotations(GetReleaseIdCommand.class);
-        this.xstream.processAnnotations(UpdateReleaseIdCommand.class);
-        this.xstream.processAnnotations(GetServerInfoCommand.class);
-        this.xstream.processAnnotations(ListContainersCommand.class);
-        this.xstream.processAnnotations(ServiceResponsesList.class);
-        this.xstream.processAnnotations(ServiceResponse.class);
-        this.xstream.processAnnotations(KieContainerResourceList.class);
-        this.xstream.processAnnotations(KieContainerResource.class);
-        this.xstream.processAnnotations(ReleaseId.class);
-        this.xstream.processAnnotations(KieContainerStatus.class);
-        this.xstream.processAnnotations(KieScannerResource.class);
-        this.xstream.processAnnotations(KieServerInfo.class);
-
-        this.xstream.processAnnotations(ReleaseIdFilter.class);
-        this.xstream.processAnnotations(KieContainerStatusFilter.class);
-        this.xstream.processAnnotations(KieContainerResourceFilter.class);
-
-        this.xstream.processAnnotations(SolverInstance.class);
-        this.xstream.processAnnotations(CreateSolverCommand.class);
-        this.xstream.processAnnotations(DisposeSolverCommand.class);
-        this.xstream.processAnnotations(GetSolverWithBestSolutionCommand.class);
-        this.xstream.processAnnotations(GetSolversCommand.class);
-        this.xstream.processAnnotations(GetSolverCommand.class);
-        this.xstream.processAnnotations(SolvePlanningProblemCommand.class);
-        this.xstream.processAnnotations(TerminateSolverEarlyCommand.class);
-        this.xstream.processAnnotations(AddProblemFactChangeCommand.class);
-        this.xstream.processAnnotations(AddProblemFactChangesCommand.class);
-        this.xstream.processAnnotations(IsEveryProblemFactChangeProcessedCommand.class);
-
-        this.xstream.processAnnotations(DMNContextKS.class);
-        this.xstream.processAnnotations(DMNResultKS.class);
-        this.xstream.processAnnotations(DMNNodeStub.class);
-        this.xstream.processAnnotations(DMNMessageKS.class);
-        this.xstream.processAnnotations(DMNDecisionResultKS.class);
-        this.xstream.processAnnotations(DMNModelInfoList.class);
-        this.xstream.processAnnotations(DMNModelInfo.class);
-        this.xstream.processAnnotations(DMNDecisionInfo.class);
+        this.xstream.processAnnotations(MODEL_CLASSES);
 
         if (classes != null) {
+            this.xstream.processAnnotations(classes.toArray(new Class[classes.size()]));
             for (Class<?> clazz : classes) {
-                this.xstream.processAnnotations(clazz);
                 this.classNames.put(clazz.getName(),
                                     clazz);
             }
@@ -234,8 +316,14 @@ public class XStreamMarshaller
 
     @Override
     public void setClassLoader(ClassLoader classLoader) {
+        if (shared) {
+            // shared instance must not be reconfigured, switch to the one of the new class loader
+            this.xstream = getSharedXStream(classes,
+                                            classLoader);
+        } else {
+            this.xstream.setClassLoader(classLoader);
+        }
         this.classLoader = classLoader;
-        this.xstream.setClassLoader(classLoader);
     }
 
     @Override
@@ -243,6 +331,10 @@ public class XStreamMarshaller
         return classLoader;
     }
 
+    /**
+     * @return XStream instance of the marshaller, that might be shared with other marshallers built for the same
+     * class loader and classes so it should be configured only by marshaller extensions
+     */
     public XStream getXstream() {
         return xstream;
     }
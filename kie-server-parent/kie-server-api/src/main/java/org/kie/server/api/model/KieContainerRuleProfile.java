@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.model;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamImplicit;
+
+/**
+ * Snapshot of rule profiling statistics collected for sessions of single container
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "kie-container-rule-profile")
+@XStreamAlias("kie-container-rule-profile")
+public class KieContainerRuleProfile {
+
+    @XmlElement(name = "container-id")
+    @XStreamAlias("container-id")
+    private String containerId;
+
+    @XmlElement(name = "enabled")
+    @XStreamAlias("enabled")
+    private boolean enabled;
+
+    @XmlElement(name = "collected-since")
+    @XStreamAlias("collected-since")
+    private Date collectedSince;
+
+    @XmlElement(name = "rules")
+    @XStreamImplicit(itemFieldName = "rules")
+    private List<RuleStatistics> rules;
+
+    public KieContainerRuleProfile() {
+    }
+
+    public KieContainerRuleProfile(String containerId, boolean enabled, Date collectedSince, List<RuleStatistics> rules) {
+        this.containerId = containerId;
+        this.enabled = enabled;
+        this.collectedSince = collectedSince;
+        this.rules = rules;
+    }
+
+    public String getContainerId() {
+        return containerId;
+    }
+
+    public void setContainerId(String containerId) {
+        this.containerId = containerId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Date getCollectedSince() {
+        return collectedSince;
+    }
+
+    public void setCollectedSince(Date collectedSince) {
+        this.collectedSince = collectedSince;
+    }
+
+    public List<RuleStatistics> getRules() {
+        if (rules == null) {
+            rules = new ArrayList<RuleStatistics>();
+        }
+        return rules;
+    }
+
+    public void setRules(List<RuleStatistics> rules) {
+        this.rules = rules;
+    }
+
+    @Override
+    public String toString() {
+        return "KieContainerRuleProfile{" +
+                "containerId='" + containerId + '\'' +
+                ", enabled=" + enabled +
+                ", collectedSince=" + collectedSince +
+                ", rules=" + rules +
+                '}';
+    }
+}
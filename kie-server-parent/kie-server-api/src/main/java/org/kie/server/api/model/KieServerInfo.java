@@ -34,6 +34,8 @@ public class KieServerInfo {
     private List<String> capabilities;
 
     private List<Message> messages;
+
+    private String setupVersion;
     
     public KieServerInfo() {
         super();
@@ -108,6 +110,19 @@ public class KieServerInfo {
         this.messages = messages;
     }
 
+    /**
+     * Version of the setup (containers) the server currently runs, sent to controller on connect so it
+     * can skip sending the setup when nothing has changed
+     */
+    @XmlElement(name="setup-version")
+    public String getSetupVersion() {
+        return setupVersion;
+    }
+
+    public void setSetupVersion(String setupVersion) {
+        this.setupVersion = setupVersion;
+    }
+
     @Override
     public String toString() {
         return "KieServerInfo{" +
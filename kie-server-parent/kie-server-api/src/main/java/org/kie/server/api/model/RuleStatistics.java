@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.model;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+
+/**
+ * Profiling statistics of single rule, times are given in nanoseconds
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "rule-statistics")
+@XStreamAlias("rule-statistics")
+public class RuleStatistics {
+
+    @XmlElement(name = "package")
+    @XStreamAlias("package")
+    private String packageName;
+
+    @XmlElement(name = "rule-name")
+    @XStreamAlias("rule-name")
+    private String ruleName;
+
+    @XmlElement(name = "activations-created")
+    @XStreamAlias("activations-created")
+    private long activationsCreated;
+
+    @XmlElement(name = "activations-cancelled")
+    @XStreamAlias("activations-cancelled")
+    private long activationsCancelled;
+
+    @XmlElement(name = "fired")
+    @XStreamAlias("fired")
+    private long fired;
+
+    @XmlElement(name = "consequence-time-total")
+    @XStreamAlias("consequence-time-total")
+    private long consequenceTimeTotal;
+
+    @XmlElement(name = "consequence-time-max")
+    @XStreamAlias("consequence-time-max")
+    private long consequenceTimeMax;
+
+    public RuleStatistics() {
+    }
+
+    public RuleStatistics(String packageName, String ruleName, long activationsCreated, long activationsCancelled,
+                          long fired, long consequenceTimeTotal, long consequenceTimeMax) {
+        this.packageName = packageName;
+        this.ruleName = ruleName;
+        this.activationsCreated = activationsCreated;
+        this.activationsCancelled = activationsCancelled;
+        this.fired = fired;
+        this.consequenceTimeTotal = consequenceTimeTotal;
+        this.consequenceTimeMax = consequenceTimeMax;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public void setPackageName(String packageName) {
+        this.packageName = packageName;
+    }
+
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    public void setRuleName(String ruleName) {
+        this.ruleName = ruleName;
+    }
+
+    public long getActivationsCreated() {
+        return activationsCreated;
+    }
+
+    public void setActivationsCreated(long activationsCreated) {
+        this.activationsCreated = activationsCreated;
+    }
+
+    public long getActivationsCancelled() {
+        return activationsCancelled;
+    }
+
+    public void setActivationsCancelled(long activationsCancelled) {
+        this.activationsCancelled = activationsCancelled;
+    }
+
+    public long getFired() {
+        return fired;
+    }
+
+    public void setFired(long fired) {
+        this.fired = fired;
+    }
+
+    public long getConsequenceTimeTotal() {
+        return consequenceTimeTotal;
+    }
+
+    public void setConsequenceTimeTotal(long consequenceTimeTotal) {
+        this.consequenceTimeTotal = consequenceTimeTotal;
+    }
+
+    public long getConsequenceTimeMax() {
+        return consequenceTimeMax;
+    }
+
+    public void setConsequenceTimeMax(long consequenceTimeMax) {
+        this.consequenceTimeMax = consequenceTimeMax;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleStatistics{" +
+                "packageName='" + packageName + '\'' +
+                ", ruleName='" + ruleName + '\'' +
+                ", activationsCreated=" + activationsCreated +
+                ", activationsCancelled=" + activationsCancelled +
+                ", fired=" + fired +
+                ", consequenceTimeTotal=" + consequenceTimeTotal +
+                ", consequenceTimeMax=" + consequenceTimeMax +
+                '}';
+    }
+}
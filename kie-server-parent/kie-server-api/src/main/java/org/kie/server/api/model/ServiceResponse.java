@@ -71,6 +71,7 @@ public class ServiceResponse<T> implements KieServiceResponse<T> {
             @XmlElement(name = "kie-scanner", type = KieScannerResource.class),
             @XmlElement(name = "release-id", type = ReleaseId.class),
             @XmlElement(name = "kie-server-state-info", type = KieServerStateInfo.class),
+            @XmlElement(name = "kie-container-rule-profile", type = KieContainerRuleProfile.class),
             // definition model
             @XmlElement(name = "process-associated-entities", type = AssociatedEntitiesDefinition.class),
             @XmlElement(name = "process-definition", type = ProcessDefinition.class),
@@ -30,6 +30,10 @@ import java.util.List;
 @XmlAccessorType(XmlAccessType.FIELD)
 public class ServiceResponsesList {
 
+    @XmlElement(name = "correlation-id")
+    @XStreamAlias("correlation-id")
+    private String correlationId;
+
     @XmlElement(name = "response")
     @XStreamImplicit(itemFieldName = "response")
     private List<ServiceResponse<? extends Object>> responses;
@@ -49,4 +53,12 @@ public class ServiceResponsesList {
     public void setResponses(List<ServiceResponse<? extends Object>> responses) {
         this.responses = responses;
     }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public void setCorrelationId(String correlationId) {
+        this.correlationId = correlationId;
+    }
 }
@@ -219,12 +219,17 @@ public class RestURI {
     public static final String SOLVER_STATE_RUNNING = "state/solving";
     public static final String SOLVER_STATE_TERMINATING = "state/terminating-early";
 
+    // rules profiling URI
+    public static final String RULE_PROFILING_URI = "containers/{" + CONTAINER_ID + "}/rules/profiling";
+    public static final String RULE_PROFILING_RESET_URI = "reset";
+
     // DMN URI
     public static final String DMN_URI = "containers/{" + CONTAINER_ID + "}/dmn";
 
     // document related
     public static final String DOCUMENT_INSTANCE_GET_URI = "{" + DOCUMENT_ID + "}";
     public static final String DOCUMENT_INSTANCE_CONTENT_GET_URI = "{" + DOCUMENT_ID + "}/content";
+    public static final String DOCUMENT_INSTANCE_CONTENT_PUT_URI = "{" + DOCUMENT_ID + "}/content";
     public static final String DOCUMENT_INSTANCE_PUT_URI = "{" + DOCUMENT_ID + "}";
     public static final String DOCUMENT_INSTANCE_DELETE_URI = "{" + DOCUMENT_ID + "}";
 
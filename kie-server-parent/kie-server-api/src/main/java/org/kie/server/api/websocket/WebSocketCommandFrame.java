@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.websocket;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Text frame exchanged over the runtime Web Socket transport. Single frame carries one or more entries
+ * (requests or responses) so small commands can be batched. Every entry is made of a header line with
+ * the same information that JMS transport sends as message properties, followed by marshalled payload
+ * (<code>CommandScript</code> for requests, <code>ServiceResponsesList</code> for responses):
+ * <pre>
+ * KIEWS1 &lt;number of entries&gt;
+ * &lt;correlation id&gt;\t&lt;format id&gt;\t&lt;class type&gt;\t&lt;target capability&gt;\t&lt;container id&gt;\t&lt;conversation id&gt;\t&lt;payload length&gt;
+ * &lt;payload&gt;
+ * ...
+ * </pre>
+ */
+public class WebSocketCommandFrame {
+
+    public static final String RUNTIME_ENDPOINT_PATH = "/websocket/runtime";
+    // batched frames can be considerably bigger than containers' default text buffer
+    public static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    private static final String MAGIC = "KIEWS1";
+    private static final char SEPARATOR = '\t';
+    private static final char NEW_LINE = '\n';
+    private static final int HEADER_FIELDS = 7;
+
+    private WebSocketCommandFrame() {
+    }
+
+    public static String encode(List<Entry> entries) {
+        int size = MAGIC.length() + 16;
+        for (Entry entry : entries) {
+            size += entry.payload.length() + 128;
+        }
+        StringBuilder frame = new StringBuilder(size);
+        frame.append(MAGIC).append(' ').append(entries.size()).append(NEW_LINE);
+        for (Entry entry : entries) {
+            appendField(frame, entry.correlationId).append(SEPARATOR);
+            frame.append(entry.formatId).append(SEPARATOR);
+            appendField(frame, entry.classType).append(SEPARATOR);
+            appendField(frame, entry.targetCapability).append(SEPARATOR);
+            appendField(frame, entry.containerId).append(SEPARATOR);
+            appendField(frame, entry.conversationId).append(SEPARATOR);
+            frame.append(entry.payload.length()).append(NEW_LINE);
+            frame.append(entry.payload);
+        }
+        return frame.toString();
+    }
+
+    public static String encode(Entry entry) {
+        return encode(Collections.singletonList(entry));
+    }
+
+    public static List<Entry> decode(String frame) {
+        int position = frame.indexOf(NEW_LINE);
+        if (position < 0 || !frame.startsWith(MAGIC + " ")) {
+            throw new IllegalArgumentException("Not a valid command frame");
+        }
+        int count = Integer.parseInt(frame.substring(MAGIC.length() + 1, position));
+        position++;
+
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int lineEnd = frame.indexOf(NEW_LINE, position);
+            if (lineEnd < 0) {
+                throw new IllegalArgumentException("Command frame is truncated, expected " + count + " entries but found " + i);
+            }
+            String[] header = frame.substring(position, lineEnd).split(String.valueOf(SEPARATOR), -1);
+            if (header.length != HEADER_FIELDS) {
+                throw new IllegalArgumentException("Invalid entry header '" + frame.substring(position, lineEnd) + "'");
+            }
+            int length = Integer.parseInt(header[6]);
+            int payloadStart = lineEnd + 1;
+            if (payloadStart + length > frame.length()) {
+                throw new IllegalArgumentException("Command frame is truncated, payload of entry " + header[0] + " is incomplete");
+            }
+
+            Entry entry = new Entry(toValue(header[0]), Integer.parseInt(header[1]), frame.substring(payloadStart, payloadStart + length));
+            entry.classType = toValue(header[2]);
+            entry.targetCapability = toValue(header[3]);
+            entry.containerId = toValue(header[4]);
+            entry.conversationId = toValue(header[5]);
+            entries.add(entry);
+
+            position = payloadStart + length;
+        }
+        return entries;
+    }
+
+    private static StringBuilder appendField(StringBuilder frame, String value) {
+        if (value == null) {
+            return frame;
+        }
+        if (value.indexOf(SEPARATOR) >= 0 || value.indexOf(NEW_LINE) >= 0) {
+            throw new IllegalArgumentException("Value '" + value + "' cannot be sent in command frame header");
+        }
+        return frame.append(value);
+    }
+
+    private static String toValue(String field) {
+        return field.isEmpty() ? null : field;
+    }
+
+    public static class Entry {
+
+        private final String correlationId;
+        private final int formatId;
+        private final String payload;
+
+        private String classType;
+        private String targetCapability;
+        private String containerId;
+        private String conversationId;
+
+        public Entry(String correlationId, int formatId, String payload) {
+            this.correlationId = correlationId;
+            this.formatId = formatId;
+            this.payload = payload == null ? "" : payload;
+        }
+
+        public String getCorrelationId() {
+            return correlationId;
+        }
+
+        public int getFormatId() {
+            return formatId;
+        }
+
+        public String getPayload() {
+            return payload;
+        }
+
+        public String getClassType() {
+            return classType;
+        }
+
+        public Entry classType(String classType) {
+            this.classType = classType;
+            return this;
+        }
+
+        public String getTargetCapability() {
+            return targetCapability;
+        }
+
+        public Entry targetCapability(String targetCapability) {
+            this.targetCapability = targetCapability;
+            return this;
+        }
+
+        public String getContainerId() {
+            return containerId;
+        }
+
+        public Entry containerId(String containerId) {
+            this.containerId = containerId;
+            return this;
+        }
+
+        public String getConversationId() {
+            return conversationId;
+        }
+
+        public Entry conversationId(String conversationId) {
+            this.conversationId = conversationId;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "correlationId='" + correlationId + '\'' +
+                    ", formatId=" + formatId +
+                    ", classType='" + classType + '\'' +
+                    ", targetCapability='" + targetCapability + '\'' +
+                    ", containerId='" + containerId + '\'' +
+                    '}';
+        }
+    }
+}
@@ -5,11 +5,15 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.drools.core.xml.jaxb.util.JaxbUnknownAdapter;
 import org.junit.Test;
@@ -18,6 +22,7 @@ import org.kie.server.api.marshalling.objects.DateObject;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class JSONMarshallerTest {
 
@@ -64,6 +69,49 @@ public class JSONMarshallerTest {
         assertEquals( OffsetDateTime.of( LocalDateTime.of( 2017, 1, 1, 10, 10, 10 ), ZoneOffset.ofHours( 1 ) ), dateObject.getOffsetDateTime() );
     }
     
+    @Test
+    public void testMarshallWrappedCollectionsOfUserObjects() throws Exception {
+        Holder holder = new Holder();
+        holder.setH("myValueInH");
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("holder", holder);
+        map.put("number", 1);
+        map.put("empty", null);
+
+        Marshaller marshaller = MarshallerFactory.getMarshaller( MarshallingFormat.JSON, getClass().getClassLoader() );
+
+        Unknown unknown = new Unknown();
+        unknown.setValue(map);
+        JsonNode mapJson = new ObjectMapper().readTree( marshaller.marshall( unknown ) ).get( "value" );
+        assertEquals( "myValueInH", mapJson.get( "holder" ).get( Holder.class.getName() ).get( "h" ).asText() );
+        assertEquals( 1, mapJson.get( "number" ).asInt() );
+        assertTrue( mapJson.get( "empty" ).isNull() );
+
+        unknown.setValue(Arrays.asList( holder, "text" ));
+        JsonNode listJson = new ObjectMapper().readTree( marshaller.marshall( unknown ) ).get( "value" );
+        assertEquals( 2, listJson.size() );
+        assertEquals( "myValueInH", listJson.get( 0 ).get( Holder.class.getName() ).get( "h" ).asText() );
+        assertEquals( "text", listJson.get( 1 ).asText() );
+
+        unknown.setValue(new Object[]{ holder });
+        JsonNode arrayJson = new ObjectMapper().readTree( marshaller.marshall( unknown ) ).get( "value" );
+        assertEquals( "myValueInH", arrayJson.get( 0 ).get( Holder.class.getName() ).get( "h" ).asText() );
+    }
+
+    public static class Unknown {
+        @XmlJavaTypeAdapter(JaxbUnknownAdapter.class)
+        private Object value;
+
+        public Object getValue() {
+            return value;
+        }
+
+        public void setValue(Object value) {
+            this.value = value;
+        }
+    }
+
     public static class Holder {
         private String h;
         
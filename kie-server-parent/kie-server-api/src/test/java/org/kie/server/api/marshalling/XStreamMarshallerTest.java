@@ -29,8 +29,11 @@ import org.kie.server.api.commands.ListContainersCommand;
 import org.kie.server.api.marshalling.objects.AnotherMessage;
 import org.kie.server.api.marshalling.objects.DateObject;
 import org.kie.server.api.marshalling.objects.Message;
+import org.kie.server.api.marshalling.xstream.XStreamMarshaller;
 import org.kie.server.api.model.KieContainerResourceFilter;
 
+import com.thoughtworks.xstream.XStream;
+
 import static org.junit.Assert.*;
 
 public class XStreamMarshallerTest {
@@ -127,4 +130,61 @@ public class XStreamMarshallerTest {
         assertEquals( OffsetDateTime.of( LocalDateTime.of( 2017, 1, 1, 10, 10, 10 ), ZoneOffset.ofHours( 1 ) ), dateObject.getOffsetDateTime() );
     }
 
+    @Test
+    public void testXStreamSharedForSameClasses() {
+        Set<Class<?>> extraClasses = new HashSet<Class<?>>();
+        extraClasses.add(DateObject.class);
+        XStreamMarshaller first = new XStreamMarshaller( extraClasses, getClass().getClassLoader() );
+        XStreamMarshaller second = new XStreamMarshaller( new HashSet<Class<?>>( extraClasses ), getClass().getClassLoader() );
+        assertSame( first.getXstream(), second.getXstream() );
+
+        extraClasses.add(Message.class);
+        XStreamMarshaller other = new XStreamMarshaller( extraClasses, getClass().getClassLoader() );
+        assertNotSame( first.getXstream(), other.getXstream() );
+
+        String expectedString = "<date-object>\n" +
+                "  <localDate>2017-01-01</localDate>\n" +
+                "</date-object>";
+        assertEquals( LocalDate.of( 2017, 1, 1 ), second.unmarshall( expectedString, DateObject.class ).getLocalDate() );
+    }
+
+    @Test
+    public void testXStreamSharedNotAffectedByChangesOfClasses() {
+        Set<Class<?>> extraClasses = new HashSet<Class<?>>();
+        extraClasses.add(DateObject.class);
+        XStreamMarshaller first = new XStreamMarshaller( extraClasses, getClass().getClassLoader() );
+
+        // changes of the set after the marshaller is built must not change the instance it shares
+        extraClasses.add(Message.class);
+        Set<Class<?>> dateObjectOnly = new HashSet<Class<?>>();
+        dateObjectOnly.add(DateObject.class);
+        XStreamMarshaller second = new XStreamMarshaller( dateObjectOnly, getClass().getClassLoader() );
+        assertSame( first.getXstream(), second.getXstream() );
+    }
+
+    @Test
+    public void testSetClassLoaderOfSharedMarshaller() {
+        Set<Class<?>> extraClasses = new HashSet<Class<?>>();
+        extraClasses.add(DateObject.class);
+        ClassLoader otherClassLoader = new ClassLoader( getClass().getClassLoader() ) {
+        };
+        XStreamMarshaller first = new XStreamMarshaller( extraClasses, getClass().getClassLoader() );
+        XStreamMarshaller second = new XStreamMarshaller( extraClasses, getClass().getClassLoader() );
+        XStream sharedInstance = first.getXstream();
+
+        second.setClassLoader( otherClassLoader );
+        assertNotSame( sharedInstance, second.getXstream() );
+        assertSame( sharedInstance, first.getXstream() );
+        assertSame( getClass().getClassLoader(), sharedInstance.getClassLoader() );
+        assertSame( otherClassLoader, second.getClassLoader() );
+
+        XStreamMarshaller third = new XStreamMarshaller( extraClasses, otherClassLoader );
+        assertSame( second.getXstream(), third.getXstream() );
+
+        String expectedString = "<date-object>\n" +
+                "  <localDate>2017-01-01</localDate>\n" +
+                "</date-object>";
+        assertEquals( LocalDate.of( 2017, 1, 1 ), second.unmarshall( expectedString, DateObject.class ).getLocalDate() );
+    }
+
 }
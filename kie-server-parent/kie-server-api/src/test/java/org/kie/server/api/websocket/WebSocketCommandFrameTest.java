@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.websocket;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WebSocketCommandFrameTest {
+
+    @Test
+    public void testEncodeAndDecodeBatch() {
+        WebSocketCommandFrame.Entry first = new WebSocketCommandFrame.Entry("1", 0, "{\"lookup\" : null,\n\"commands\" : [ ]}")
+                .classType("org.example.Person")
+                .targetCapability("BPM")
+                .containerId("container1")
+                .conversationId("'server':'container1':'1.0'");
+        WebSocketCommandFrame.Entry second = new WebSocketCommandFrame.Entry("2", 1, "<script/>");
+
+        List<WebSocketCommandFrame.Entry> decoded = WebSocketCommandFrame.decode(WebSocketCommandFrame.encode(Arrays.asList(first, second)));
+        assertEquals(2, decoded.size());
+
+        WebSocketCommandFrame.Entry entry = decoded.get(0);
+        assertEquals("1", entry.getCorrelationId());
+        assertEquals(0, entry.getFormatId());
+        assertEquals("org.example.Person", entry.getClassType());
+        assertEquals("BPM", entry.getTargetCapability());
+        assertEquals("container1", entry.getContainerId());
+        assertEquals("'server':'container1':'1.0'", entry.getConversationId());
+        assertEquals(first.getPayload(), entry.getPayload());
+
+        entry = decoded.get(1);
+        assertEquals("2", entry.getCorrelationId());
+        assertEquals(1, entry.getFormatId());
+        assertNull(entry.getClassType());
+        assertNull(entry.getTargetCapability());
+        assertNull(entry.getContainerId());
+        assertNull(entry.getConversationId());
+        assertEquals("<script/>", entry.getPayload());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEncodeRejectsInvalidHeaderValue() {
+        WebSocketCommandFrame.encode(new WebSocketCommandFrame.Entry("1", 0, "").containerId("bad\tcontainer"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeTruncatedFrame() {
+        String frame = WebSocketCommandFrame.encode(new WebSocketCommandFrame.Entry("1", 0, "payload"));
+        WebSocketCommandFrame.decode(frame.substring(0, frame.length() - 2));
+    }
+}
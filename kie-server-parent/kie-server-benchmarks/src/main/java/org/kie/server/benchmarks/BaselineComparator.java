@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares JMH results (<code>-rf json</code>) with the baseline results kept with the module and fails
+ * (exit code 1) when any benchmark got slower than the allowed threshold. Benchmarks missing in the baseline
+ * are only reported so new benchmarks can be added before the baseline is refreshed. An empty baseline is an
+ * error unless <code>record</code> is given, in that case the results are stored as the new baseline.
+ * <pre>
+ * java -cp target/kie-server-benchmarks.jar org.kie.server.benchmarks.BaselineComparator baseline/jmh-baseline.json target/jmh-result.json 10 [record]
+ * </pre>
+ */
+public class BaselineComparator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BaselineComparator.class);
+
+    private static final double DEFAULT_THRESHOLD = 10;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <baseline.json> <result.json> [threshold in percent] [record]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        boolean record = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        BaselineComparator comparator = new BaselineComparator();
+        File baselineFile = new File(args[0]);
+        File resultFile = new File(args[1]);
+        if (record) {
+            comparator.record(baselineFile, resultFile);
+            return;
+        }
+        try {
+            if (comparator.compare(baselineFile, resultFile, threshold) > 0) {
+                System.exit(1);
+            }
+        } catch (IllegalStateException e) {
+            logger.error(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return number of benchmarks that regressed more than given threshold
+     * @throws IllegalStateException when the baseline or the results are empty, there is nothing to compare
+     */
+    public int compare(File baselineFile, File resultFile, double threshold) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = baselineFile.exists() ? index(mapper.readTree(baselineFile)) : new LinkedHashMap<String, JsonNode>();
+        Map<String, JsonNode> results = index(mapper.readTree(resultFile));
+
+        if (baseline.isEmpty()) {
+            throw new IllegalStateException("Baseline " + baselineFile + " has no results, record it with -Dbenchmarks.record=true on the reference machine");
+        }
+        if (results.isEmpty()) {
+            throw new IllegalStateException("Results " + resultFile + " are empty, no benchmark was run");
+        }
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> result : results.entrySet()) {
+            JsonNode reference = baseline.get(result.getKey());
+            if (reference == null) {
+                logger.info("{}: no baseline", result.getKey());
+                continue;
+            }
+            double score = result.getValue().path("primaryMetric").path("score").asDouble();
+            double referenceScore = reference.path("primaryMetric").path("score").asDouble();
+            if (referenceScore == 0) {
+                continue;
+            }
+            // throughput is better when higher, all other modes (average time, sample time...) when lower
+            boolean higherIsBetter = "thrpt".equals(result.getValue().path("mode").asText());
+            double change = (score - referenceScore) / referenceScore * 100;
+            double slowdown = higherIsBetter ? -change : change;
+
+            String unit = result.getValue().path("primaryMetric").path("scoreUnit").asText();
+            if (slowdown > threshold) {
+                regressions++;
+                logger.error("{}: {} {} (baseline {} {}), {}% slower", result.getKey(), format(score), unit, format(referenceScore), unit, format(slowdown));
+            } else {
+                logger.info("{}: {} {} (baseline {} {}), {}%", result.getKey(), format(score), unit, format(referenceScore), unit, format(-slowdown));
+            }
+        }
+        logger.info("{} of {} benchmark(s) regressed by more than {}%", regressions, results.size(), threshold);
+        return regressions;
+    }
+
+    /**
+     * Stores the results as the new baseline.
+     */
+    public void record(File baselineFile, File resultFile) throws IOException {
+        if (index(new ObjectMapper().readTree(resultFile)).isEmpty()) {
+            throw new IllegalStateException("Results " + resultFile + " are empty, no benchmark was run");
+        }
+        Files.copy(resultFile.toPath(), baselineFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        logger.info("Results {} recorded as baseline {}", resultFile, baselineFile);
+    }
+
+    protected Map<String, JsonNode> index(JsonNode runs) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<String, JsonNode>();
+        for (JsonNode run : runs) {
+            indexed.put(key(run), run);
+        }
+        return indexed;
+    }
+
+    protected String key(JsonNode run) {
+        StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+        JsonNode params = run.path("params");
+        if (params.size() > 0) {
+            // sorted so that key does not depend on order of the parameters in the file
+            Map<String, String> sorted = new TreeMap<String, String>();
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                sorted.put(field.getKey(), field.getValue().asText());
+            }
+            key.append(sorted);
+        }
+        return key.toString();
+    }
+
+    private static String format(double value) {
+        return String.format("%.3f", value);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.core.command.runtime.BatchExecutionCommandImpl;
+import org.kie.api.KieServices;
+import org.kie.api.command.Command;
+import org.kie.api.command.KieCommands;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.KieContainerResourceList;
+import org.kie.server.api.model.KieContainerStatus;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.dmn.DMNContextKS;
+import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.api.model.instance.ProcessInstanceList;
+import org.kie.server.api.model.instance.TaskSummary;
+import org.kie.server.api.model.instance.TaskSummaryList;
+
+/**
+ * Payloads shared by the benchmarks, sized to resemble typical responses of a KIE Server
+ * with a handful of containers and a page of task or process instance data.
+ */
+public final class BenchmarkPayloads {
+
+    public static final String CONTAINER_ID = "benchmark";
+
+    private BenchmarkPayloads() {
+    }
+
+    public static ServiceResponse<KieContainerResourceList> containersResponse(int count) {
+        List<KieContainerResource> containers = new ArrayList<KieContainerResource>(count);
+        for (int i = 0; i < count; i++) {
+            ReleaseId releaseId = new ReleaseId("org.kie.server.benchmarks", "kjar-" + i, "1.0." + i);
+            containers.add(new KieContainerResource("container-" + i, releaseId, releaseId, KieContainerStatus.STARTED));
+        }
+        return new ServiceResponse<KieContainerResourceList>(ServiceResponse.ResponseType.SUCCESS, "List of created containers", new KieContainerResourceList(containers));
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static BatchExecutionCommandImpl batchCommand(int inserts) {
+        KieCommands commands = KieServices.Factory.get().getCommands();
+        List<Command> batch = new ArrayList<Command>(inserts + 1);
+        for (int i = 0; i < inserts; i++) {
+            batch.add(commands.newInsert("fact-" + i));
+        }
+        batch.add(commands.newFireAllRules());
+        return (BatchExecutionCommandImpl) commands.newBatchExecution(batch);
+    }
+
+    public static List<Fact> facts(int count) {
+        List<Fact> facts = new ArrayList<Fact>(count);
+        for (int i = 0; i < count; i++) {
+            facts.add(new Fact("fact-" + i, i, i % 2 == 0));
+        }
+        return facts;
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static BatchExecutionCommandImpl insertElementsCommand(int count) {
+        KieCommands commands = KieServices.Factory.get().getCommands();
+        List<Command> batch = new ArrayList<Command>(2);
+        batch.add(commands.newInsertElements(facts(count), "facts", true, null));
+        batch.add(commands.newFireAllRules());
+        return (BatchExecutionCommandImpl) commands.newBatchExecution(batch);
+    }
+
+    public static DMNContextKS dmnContext(int count) {
+        Map<String, Object> context = new HashMap<String, Object>();
+        List<Fact> facts = facts(count);
+        for (Fact fact : facts) {
+            context.put(fact.getName(), fact);
+        }
+        context.put("facts", facts);
+        return new DMNContextKS("https://www.drools.org/benchmark", "benchmark", context);
+    }
+
+    public static TaskSummaryList taskSummaries(int count) {
+        Date now = new Date();
+        List<TaskSummary> tasks = new ArrayList<TaskSummary>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(TaskSummary.builder()
+                              .id((long) i)
+                              .name("Task " + i)
+                              .subject("Subject of task " + i)
+                              .description("Description of task " + i)
+                              .status("Reserved")
+                              .priority(i % 10)
+                              .actualOwner("john")
+                              .createdBy("mary")
+                              .createdOn(now)
+                              .activationTime(now)
+                              .processInstanceId((long) i)
+                              .processId("evaluation")
+                              .containerId(CONTAINER_ID)
+                              .build());
+        }
+        return new TaskSummaryList(tasks);
+    }
+
+    public static ProcessInstanceList processInstances(int offset, int count) {
+        Date now = new Date();
+        List<ProcessInstance> instances = new ArrayList<ProcessInstance>(count);
+        for (int i = offset; i < offset + count; i++) {
+            instances.add(ProcessInstance.builder()
+                                  .id((long) i)
+                                  .processId("evaluation")
+                                  .processName("Evaluation")
+                                  .processVersion("1.0")
+                                  .state(1)
+                                  .containerId(CONTAINER_ID)
+                                  .initiator("john")
+                                  .date(now)
+                                  .processInstanceDescription("Evaluation " + i)
+                                  .correlationKey(Integer.toString(i))
+                                  .parentInstanceId(-1L)
+                                  .build());
+        }
+        return new ProcessInstanceList(instances);
+    }
+
+    /**
+     * User defined fact, as sent in commands and returned in execution results
+     */
+    public static class Fact {
+
+        private String name;
+        private int value;
+        private boolean valid;
+
+        public Fact() {
+        }
+
+        public Fact(String name, int value, boolean valid) {
+            this.name = name;
+            this.value = value;
+            this.valid = valid;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        public void setValue(int value) {
+            this.value = value;
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        public void setValid(boolean valid) {
+            this.valid = valid;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.impl.InternalKieContainer;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.runtime.ExecutionResults;
+import org.kie.api.runtime.KieContainer;
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.model.KieContainerStatus;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.services.drools.DroolsKieContainerCommandServiceImpl;
+import org.kie.server.services.drools.RulesExecutionService;
+import org.kie.server.services.impl.KieContainerInstanceImpl;
+import org.kie.server.services.impl.KieServerRegistryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Server side of the rules runtime endpoint - container marshaller lookup and
+ * {@link DroolsKieContainerCommandServiceImpl#callContainer(String, String, MarshallingFormat, String)}
+ * with a container built in memory. The rule retracts every inserted fact so the default
+ * session stays the same size during the whole run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContainerCommandBenchmark {
+
+    private static final String RULES = "package org.kie.server.benchmarks\n" +
+            "rule \"consume\"\n" +
+            "when\n" +
+            "    $fact : String()\n" +
+            "then\n" +
+            "    delete($fact);\n" +
+            "end\n";
+
+    @Param({"JSON", "JAXB", "XSTREAM"})
+    public String format;
+
+    private MarshallingFormat marshallingFormat;
+    private KieContainer kieContainer;
+    private KieContainerInstanceImpl containerInstance;
+    private DroolsKieContainerCommandServiceImpl commandService;
+    private String payload;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        marshallingFormat = MarshallingFormat.valueOf(format);
+
+        KieServices kieServices = KieServices.Factory.get();
+        KieFileSystem kfs = kieServices.newKieFileSystem();
+        kfs.write("src/main/resources/org/kie/server/benchmarks/consume.drl", RULES);
+        KieBuilder kieBuilder = kieServices.newKieBuilder(kfs).buildAll();
+        if (kieBuilder.getResults().hasMessages(Message.Level.ERROR)) {
+            throw new IllegalStateException("Unable to build benchmark rules: " + kieBuilder.getResults().getMessages());
+        }
+        kieContainer = kieServices.newKieContainer(kieServices.getRepository().getDefaultReleaseId());
+
+        KieServerRegistryImpl registry = new KieServerRegistryImpl();
+        containerInstance = new KieContainerInstanceImpl(BenchmarkPayloads.CONTAINER_ID, KieContainerStatus.STARTED, (InternalKieContainer) kieContainer);
+        registry.registerContainer(BenchmarkPayloads.CONTAINER_ID, containerInstance);
+        commandService = new DroolsKieContainerCommandServiceImpl(null, registry, new RulesExecutionService(registry));
+
+        payload = containerInstance.getMarshaller(marshallingFormat).marshall(BenchmarkPayloads.batchCommand(10));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        containerInstance.disposeMarshallers();
+        kieContainer.dispose();
+    }
+
+    @Benchmark
+    public Marshaller containerMarshaller() {
+        return containerInstance.getMarshaller(marshallingFormat);
+    }
+
+    @Benchmark
+    public ServiceResponse<ExecutionResults> callContainer() {
+        ServiceResponse<ExecutionResults> response = commandService.callContainer(BenchmarkPayloads.CONTAINER_ID, payload, marshallingFormat, null);
+        if (response.getType() != ServiceResponse.ResponseType.SUCCESS) {
+            throw new IllegalStateException(response.getMsg());
+        }
+        return response;
+    }
+
+    @Benchmark
+    public String callContainerAndMarshallResponse() {
+        return containerInstance.getMarshaller(marshallingFormat).marshall(callContainer());
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.core.Cookie;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Variant;
+
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.common.rest.RestEasy960Util;
+import org.kie.server.common.rest.variant.ServerDrivenNegotiation;
+import org.kie.server.remote.rest.common.util.RestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Content negotiation done by the REST resources for every request - selection of the response variant and
+ * resolution of content type and marshalling format from the request headers. <code>negotiateUncached</code>
+ * parses the accept header on every call as all requests did before the results were cached.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentNegotiationBenchmark {
+
+    @Param({"JSON", "JAXB", "XSTREAM"})
+    public String format;
+
+    private HttpHeaders headers;
+    private String contentType;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MultivaluedMap<String, String> requestHeaders = new MultivaluedHashMap<String, String>();
+        switch (MarshallingFormat.valueOf(format)) {
+            case JSON:
+                requestHeaders.putSingle(HttpHeaders.ACCEPT, "application/json");
+                requestHeaders.putSingle(HttpHeaders.CONTENT_TYPE, "application/json");
+                break;
+            case JAXB:
+                requestHeaders.putSingle(HttpHeaders.ACCEPT, "application/xml;q=0.9, application/json;q=.5");
+                requestHeaders.putSingle(HttpHeaders.CONTENT_TYPE, "application/xml");
+                break;
+            default:
+                // clients set X-KIE-ContentType to the format name that is not a valid media type
+                requestHeaders.putSingle(HttpHeaders.ACCEPT, "application/xml");
+                requestHeaders.putSingle(KieServerConstants.KIE_CONTENT_TYPE_HEADER, "xstream");
+        }
+        headers = new RequestHeaders(requestHeaders);
+        contentType = RestUtils.getContentType(headers);
+    }
+
+    @Benchmark
+    public Variant negotiateUncached() {
+        List<String> acceptHeaders = new ArrayList<String>();
+        for (String header : headers.getRequestHeader(HttpHeaders.ACCEPT)) {
+            acceptHeaders.add(header.replaceAll("q=\\.", "q=0."));
+        }
+        ServerDrivenNegotiation negotiation = new ServerDrivenNegotiation();
+        negotiation.setAcceptHeaders(acceptHeaders);
+        return negotiation.getBestMatch(RestEasy960Util.variants);
+    }
+
+    @Benchmark
+    public Variant getVariant() {
+        return RestUtils.getVariant(headers);
+    }
+
+    @Benchmark
+    public String getContentType() {
+        return RestUtils.getContentType(headers);
+    }
+
+    @Benchmark
+    public MediaType getMediaType() {
+        return RestUtils.getMediaType(headers);
+    }
+
+    @Benchmark
+    public MarshallingFormat marshallingFormatFromType() {
+        return MarshallingFormat.fromType(contentType);
+    }
+
+    private static class RequestHeaders implements HttpHeaders {
+
+        private final MultivaluedMap<String, String> requestHeaders;
+
+        RequestHeaders(MultivaluedMap<String, String> requestHeaders) {
+            this.requestHeaders = requestHeaders;
+        }
+
+        @Override
+        public List<String> getRequestHeader(String name) {
+            return requestHeaders.get(name);
+        }
+
+        @Override
+        public String getHeaderString(String name) {
+            List<String> values = requestHeaders.get(name);
+            return values == null ? null : String.join(",", values);
+        }
+
+        @Override
+        public MultivaluedMap<String, String> getRequestHeaders() {
+            return requestHeaders;
+        }
+
+        @Override
+        public List<MediaType> getAcceptableMediaTypes() {
+            return Collections.singletonList(MediaType.WILDCARD_TYPE);
+        }
+
+        @Override
+        public List<Locale> getAcceptableLanguages() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public MediaType getMediaType() {
+            String value = requestHeaders.getFirst(HttpHeaders.CONTENT_TYPE);
+            return value == null ? null : MediaType.valueOf(value);
+        }
+
+        @Override
+        public Locale getLanguage() {
+            return null;
+        }
+
+        @Override
+        public Map<String, Cookie> getCookies() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Date getDate() {
+            return null;
+        }
+
+        @Override
+        public int getLength() {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.benchmarks;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.command.runtime.BatchExecutionCommandImpl;
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.model.dmn.DMNContextKS;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JSON serialization of large lists and maps of user objects - the objects are written by the wrapping
+ * and custom object serializers of the JSON marshaller, with the fact class either registered as
+ * extra class of the container or not. Use <code>-prof gc</code> to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonFactsBenchmark {
+
+    @Param({"100", "1000"})
+    public int facts;
+
+    @Param({"true", "false"})
+    public boolean extraClass;
+
+    private Marshaller marshaller;
+
+    private BatchExecutionCommandImpl insertElementsCommand;
+    private DMNContextKS dmnContext;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Set<Class<?>> extraClasses = extraClass ?
+                new HashSet<Class<?>>(Collections.<Class<?>>singleton(BenchmarkPayloads.Fact.class)) :
+                new HashSet<Class<?>>();
+        marshaller = MarshallerFactory.getMarshaller(extraClasses, MarshallingFormat.JSON, JsonFactsBenchmark.class.getClassLoader());
+
+        insertElementsCommand = BenchmarkPayloads.insertElementsCommand(facts);
+        dmnContext = BenchmarkPayloads.dmnContext(facts);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        marshaller.dispose();
+    }
+
+    @Benchmark
+    public String insertElementsMarshall() {
+        return marshaller.marshall(insertElementsCommand);
+    }
+
+    @Benchmark
+    public String dmnContextMarshall() {
+        return marshaller.marshall(dmnContext);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.benchmarks;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.command.runtime.BatchExecutionCommandImpl;
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.instance.TaskSummaryList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creation cost and round trips (marshall + unmarshall) of the marshallers used by KIE Server
+ * for every request, measured for each supported format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MarshallerBenchmark {
+
+    @Param({"JSON", "JAXB", "XSTREAM"})
+    public String format;
+
+    private MarshallingFormat marshallingFormat;
+    private ClassLoader classLoader;
+    private Set<Class<?>> extraClasses;
+    private Marshaller marshaller;
+
+    private ServiceResponse<?> containersResponse;
+    private String containersResponseContent;
+    private BatchExecutionCommandImpl batchCommand;
+    private String batchCommandContent;
+    private TaskSummaryList taskSummaries;
+    private String taskSummariesContent;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        marshallingFormat = MarshallingFormat.valueOf(format);
+        classLoader = MarshallerBenchmark.class.getClassLoader();
+        extraClasses = Collections.<Class<?>>emptySet();
+        marshaller = MarshallerFactory.getMarshaller(extraClasses, marshallingFormat, classLoader);
+
+        containersResponse = BenchmarkPayloads.containersResponse(10);
+        containersResponseContent = marshaller.marshall(containersResponse);
+        batchCommand = BenchmarkPayloads.batchCommand(10);
+        batchCommandContent = marshaller.marshall(batchCommand);
+        taskSummaries = BenchmarkPayloads.taskSummaries(50);
+        taskSummariesContent = marshaller.marshall(taskSummaries);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        marshaller.dispose();
+    }
+
+    @Benchmark
+    public Marshaller createMarshaller() {
+        Marshaller created = MarshallerFactory.getMarshaller(extraClasses, marshallingFormat, classLoader);
+        created.dispose();
+        return created;
+    }
+
+    @Benchmark
+    public Object serviceResponseRoundTrip() {
+        return marshaller.unmarshall(marshaller.marshall(containersResponse), ServiceResponse.class);
+    }
+
+    @Benchmark
+    public Object serviceResponseUnmarshall() {
+        return marshaller.unmarshall(containersResponseContent, ServiceResponse.class);
+    }
+
+    @Benchmark
+    public Object batchCommandRoundTrip() {
+        return marshaller.unmarshall(marshaller.marshall(batchCommand), BatchExecutionCommandImpl.class);
+    }
+
+    @Benchmark
+    public Object batchCommandUnmarshall() {
+        return marshaller.unmarshall(batchCommandContent, BatchExecutionCommandImpl.class);
+    }
+
+    @Benchmark
+    public Object taskSummaryListRoundTrip() {
+        return marshaller.unmarshall(marshaller.marshall(taskSummaries), TaskSummaryList.class);
+    }
+
+    @Benchmark
+    public Object taskSummaryListUnmarshall() {
+        return marshaller.unmarshall(taskSummariesContent, TaskSummaryList.class);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.router.proxy.aggragate.JSONResponseAggregator;
+import org.kie.server.router.proxy.aggragate.JaxbXMLResponseAggregator;
+import org.kie.server.router.proxy.aggragate.ResponseAggregator;
+import org.kie.server.router.proxy.aggragate.XstreamXMLResponseAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Merging of process instance pages returned by several KIE Servers, as done by the router
+ * for queries that are not bound to a single container.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseAggregatorBenchmark {
+
+    @Param({"JSON", "JAXB", "XSTREAM"})
+    public String format;
+
+    @Param({"3"})
+    public int servers;
+
+    @Param({"50"})
+    public int pageSize;
+
+    private ResponseAggregator aggregator;
+    private List<String> responses;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MarshallingFormat marshallingFormat = MarshallingFormat.valueOf(format);
+        switch (marshallingFormat) {
+            case JSON:
+                aggregator = new JSONResponseAggregator();
+                break;
+            case JAXB:
+                aggregator = new JaxbXMLResponseAggregator();
+                break;
+            default:
+                aggregator = new XstreamXMLResponseAggregator();
+        }
+
+        Marshaller marshaller = MarshallerFactory.getMarshaller(marshallingFormat, ResponseAggregatorBenchmark.class.getClassLoader());
+        responses = new ArrayList<String>(servers);
+        for (int i = 0; i < servers; i++) {
+            responses.add(marshaller.marshall(BenchmarkPayloads.processInstances(i * pageSize, pageSize)));
+        }
+        marshaller.dispose();
+    }
+
+    @Benchmark
+    public String aggregate() {
+        return aggregator.aggregate(responses);
+    }
+
+    @Benchmark
+    public String aggregateSortedPage() {
+        return aggregator.aggregate(responses, "ProcessInstanceId", false, 0, pageSize);
+    }
+}
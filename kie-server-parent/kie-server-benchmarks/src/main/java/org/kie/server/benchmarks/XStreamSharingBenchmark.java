@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.benchmarks;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.xstream.XStreamMarshaller;
+import org.kie.server.api.model.ServiceResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * XStream marshallers with the configured XStream instance shared between marshallers of the same class loader and
+ * classes compared with marshallers building their own instance. Subclasses of <code>XStreamMarshaller</code> never
+ * share the instance, so the not shared case uses an anonymous subclass.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XStreamSharingBenchmark {
+
+    @Param({"true", "false"})
+    public boolean shared;
+
+    private ClassLoader classLoader;
+    private Set<Class<?>> extraClasses;
+    private Marshaller marshaller;
+
+    private ServiceResponse<?> containersResponse;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        classLoader = XStreamSharingBenchmark.class.getClassLoader();
+        extraClasses = Collections.<Class<?>>emptySet();
+        marshaller = newMarshaller();
+
+        containersResponse = BenchmarkPayloads.containersResponse(10);
+    }
+
+    @Benchmark
+    public Marshaller createMarshaller() {
+        return newMarshaller();
+    }
+
+    @Benchmark
+    public Object createMarshallerAndRoundTrip() {
+        Marshaller created = newMarshaller();
+        return created.unmarshall(created.marshall(containersResponse), ServiceResponse.class);
+    }
+
+    @Benchmark
+    public Object serviceResponseRoundTrip() {
+        return marshaller.unmarshall(marshaller.marshall(containersResponse), ServiceResponse.class);
+    }
+
+    private Marshaller newMarshaller() {
+        if (shared) {
+            return new XStreamMarshaller(extraClasses, classLoader);
+        }
+        return new XStreamMarshaller(extraClasses, classLoader) {
+        };
+    }
+}
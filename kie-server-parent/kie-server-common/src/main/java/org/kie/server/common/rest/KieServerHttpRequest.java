@@ -161,6 +161,7 @@ public class KieServerHttpRequest {
         String charset;
 
         StringBuilder body;
+        InputStream bodyStream;
         MediaType bodyContentType;
 
         public URL getRequestUrl() {
@@ -227,6 +228,7 @@ public class KieServerHttpRequest {
             RequestInfo clone = new RequestInfo();
             clone.baseUrl = baseUrl;
             clone.body = body;
+            clone.bodyStream = bodyStream;
             clone.bodyContentType = bodyContentType;
             clone.charset = charset;
             clone.form = form;
@@ -899,7 +901,12 @@ public class KieServerHttpRequest {
                    requestInfo.setHeader(CONTENT_TYPE, contentTypeList.get(0));
                 }
             }
-            requestInfo.setHeader(CONTENT_LENGTH, contentLength);
+            if( requestInfo.bodyStream != null ) {
+                // length of the stream is not known up front, send it in chunks
+                connection.setChunkedStreamingMode(bufferSize);
+            } else {
+                requestInfo.setHeader(CONTENT_LENGTH, contentLength);
+            }
             connection.setInstanceFollowRedirects(followRedirects);
 
             // auth
@@ -927,6 +934,14 @@ public class KieServerHttpRequest {
                     throw new KieServerHttpRequestException("Unable to add char sequence to request body", ioe);
                 }
             }
+            if( requestInfo.bodyStream != null ) {
+                try {
+                    openOutput();
+                    copy(requestInfo.bodyStream, output);
+                } catch( IOException ioe ) {
+                    throw new KieServerHttpRequestException("Unable to add stream to request body", ioe);
+                }
+            }
         }
     }
 
@@ -1160,6 +1175,18 @@ public class KieServerHttpRequest {
         return this;
     }
 
+    /**
+     * Set the request body to content of the given stream, it is sent in chunks without being loaded in memory
+     * and closed once it is sent
+     *
+     * @param value
+     * @return this request
+     */
+    public KieServerHttpRequest body(final InputStream value ) throws KieServerHttpRequestException {
+        getRequestInfo().bodyStream = value;
+        return this;
+    }
+
     public OutputStreamWriter writer() throws KieServerHttpRequestException {
         try {
             openOutput();
@@ -23,6 +23,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Variant;
 
+import org.kie.server.common.rest.variant.NegotiationCache;
 import org.kie.server.common.rest.variant.ServerDrivenNegotiation;
 
 /**
@@ -43,27 +44,35 @@ public class RestEasy960Util {
     public static final Variant jsonVariant 
         = Variant.mediaTypes(MediaType.APPLICATION_JSON_TYPE).add().build().get(0);
     
+    // selected variants by values of the accept headers
+    private static final NegotiationCache<String, Variant> variantCache = new NegotiationCache<String, Variant>();
+
     public static Variant getVariant(HttpHeaders headers) { 
-        // copied (except for the acceptHeaders fix) from RestEasy's RequestImpl class
-        ServerDrivenNegotiation negotiation = new ServerDrivenNegotiation();
         MultivaluedMap<String, String> requestHeaders = headers.getRequestHeaders();
         List<String> acceptHeaders = requestHeaders.get(ACCEPT);
-        // Fix
         if( acceptHeaders != null && ! acceptHeaders.isEmpty() ) { 
-            List<String> fixedAcceptHeaders = new ArrayList<String>();
-            for(String header : acceptHeaders ) { 
-                fixedAcceptHeaders.add(header.replaceAll("q=\\.", "q=0.")); 
-            }
-            acceptHeaders = fixedAcceptHeaders;
-            negotiation.setAcceptHeaders(acceptHeaders);
-            negotiation.setAcceptCharsetHeaders(requestHeaders.get(ACCEPT_CHARSET));
-            negotiation.setAcceptEncodingHeaders(requestHeaders.get(ACCEPT_ENCODING));
-            negotiation.setAcceptLanguageHeaders(requestHeaders.get(ACCEPT_LANGUAGE));
-
-            return negotiation.getBestMatch(variants);
-            // ** use below instead of above when RESTEASY-960 is fixed **
-            // return restRequest.selectVariant(variants);
+            String key = acceptHeaders + "|" + requestHeaders.get(ACCEPT_CHARSET) + "|"
+                    + requestHeaders.get(ACCEPT_ENCODING) + "|" + requestHeaders.get(ACCEPT_LANGUAGE);
+            return variantCache.get(key, k -> negotiate(requestHeaders));
         }
         return null;
     }
+
+    private static Variant negotiate(MultivaluedMap<String, String> requestHeaders) {
+        // copied (except for the acceptHeaders fix) from RestEasy's RequestImpl class
+        ServerDrivenNegotiation negotiation = new ServerDrivenNegotiation();
+        // Fix
+        List<String> fixedAcceptHeaders = new ArrayList<String>();
+        for(String header : requestHeaders.get(ACCEPT) ) { 
+            fixedAcceptHeaders.add(header.replaceAll("q=\\.", "q=0.")); 
+        }
+        negotiation.setAcceptHeaders(fixedAcceptHeaders);
+        negotiation.setAcceptCharsetHeaders(requestHeaders.get(ACCEPT_CHARSET));
+        negotiation.setAcceptEncodingHeaders(requestHeaders.get(ACCEPT_ENCODING));
+        negotiation.setAcceptLanguageHeaders(requestHeaders.get(ACCEPT_LANGUAGE));
+
+        return negotiation.getBestMatch(variants);
+        // ** use below instead of above when RESTEASY-960 is fixed **
+        // return restRequest.selectVariant(variants);
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.common.rest.variant;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of content negotiation results (e.g. variants selected for given <code>Accept</code> header or media
+ * types parsed from <code>Content-Type</code>) shared by all REST resources. Clients usually send the same few header
+ * values with every request, so parsing them again can be avoided. Once the cache is full, new values are still
+ * resolved but no longer cached, so headers sent by clients cannot grow it without limit.
+ * Cached values must be immutable.
+ */
+public class NegotiationCache<K, V> {
+
+    public static final String CACHE_SIZE_PROPERTY = "org.kie.server.rest.negotiation.cache.size";
+
+    private static final int DEFAULT_CACHE_SIZE = Integer.parseInt(System.getProperty(CACHE_SIZE_PROPERTY, "256"));
+
+    // marks resolved null values, ConcurrentHashMap does not allow nulls
+    private static final Object NULL = new Object();
+
+    private final ConcurrentHashMap<K, Object> cache = new ConcurrentHashMap<K, Object>();
+    private final int maxSize;
+
+    public NegotiationCache() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public NegotiationCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns value cached for given key or resolves it with given resolver
+     * @param key header value (or combination of header values), null keys are never cached
+     * @param resolver resolves the value when it is not cached, exceptions thrown by the resolver are not cached
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key, Function<K, V> resolver) {
+        if (key == null) {
+            return resolver.apply(null);
+        }
+        Object cached = cache.get(key);
+        if (cached == null) {
+            V value = resolver.apply(key);
+            cached = value == null ? NULL : value;
+            if (cache.size() < maxSize) {
+                cache.putIfAbsent(key, cached);
+            }
+        }
+        return cached == NULL ? null : (V) cached;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
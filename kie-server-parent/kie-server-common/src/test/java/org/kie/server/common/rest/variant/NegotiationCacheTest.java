@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.common.rest.variant;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class NegotiationCacheTest {
+
+    @Test
+    public void testValueResolvedOnce() {
+        NegotiationCache<String, String> cache = new NegotiationCache<String, String>(10);
+        AtomicInteger resolved = new AtomicInteger();
+
+        assertEquals("APPLICATION/JSON", cache.get("application/json", key -> { resolved.incrementAndGet(); return key.toUpperCase(); }));
+        assertEquals("APPLICATION/JSON", cache.get("application/json", key -> { resolved.incrementAndGet(); return key.toUpperCase(); }));
+        assertEquals(1, resolved.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testNullValueCached() {
+        NegotiationCache<String, String> cache = new NegotiationCache<String, String>(10);
+        AtomicInteger resolved = new AtomicInteger();
+
+        assertNull(cache.get("text/plain", key -> { resolved.incrementAndGet(); return null; }));
+        assertNull(cache.get("text/plain", key -> { resolved.incrementAndGet(); return null; }));
+        assertEquals(1, resolved.get());
+    }
+
+    @Test
+    public void testNullKeyNotCached() {
+        NegotiationCache<String, String> cache = new NegotiationCache<String, String>(10);
+
+        assertEquals("default", cache.get(null, key -> "default"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        NegotiationCache<String, String> cache = new NegotiationCache<String, String>(2);
+        for (int i = 0; i < 5; i++) {
+            assertEquals("value" + i, cache.get("key" + i, key -> key.replace("key", "value")));
+        }
+        assertEquals(2, cache.size());
+        // not cached value is still resolved
+        assertEquals("value4", cache.get("key4", key -> key.replace("key", "value")));
+    }
+
+    @Test
+    public void testFailureNotCached() {
+        NegotiationCache<String, String> cache = new NegotiationCache<String, String>(10);
+        try {
+            cache.get("invalid", key -> { throw new IllegalArgumentException(key); });
+            fail("Resolver exception should be propagated");
+        } catch (IllegalArgumentException e) {
+            assertEquals("invalid", e.getMessage());
+        }
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.controller.api;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.kie.server.api.KieServerConstants;
+
+/**
+ * Wait times between attempts of KIE Server to (re)connect to controller - exponential backoff starting at
+ * connect interval and capped by max connect interval, randomized so that many servers do not reconnect at the
+ * same time e.g. after controller restart.
+ */
+public class ControllerConnectBackoff {
+
+    private ControllerConnectBackoff() {
+    }
+
+    /**
+     * @param attempt number of failed attempts so far, starting at 0
+     * @return time in milliseconds to wait before next attempt
+     */
+    public static long nextWaitTime(int attempt) {
+        long interval = Long.parseLong(System.getProperty(KieServerConstants.CFG_KIE_SERVER_CONTROLLER_CONNECT_INTERVAL, "10000"));
+        long maxInterval = Math.max(interval, Long.parseLong(System.getProperty(KieServerConstants.CFG_KIE_SERVER_CONTROLLER_CONNECT_INTERVAL_MAX, "60000")));
+
+        int shift = Math.min(attempt, 16);
+        long waitTime = interval > (maxInterval >> shift) ? maxInterval : interval << shift;
+        // wait at least half of the computed time and random part of the other half
+        return waitTime / 2 + ThreadLocalRandom.current().nextLong(waitTime / 2 + 1);
+    }
+}
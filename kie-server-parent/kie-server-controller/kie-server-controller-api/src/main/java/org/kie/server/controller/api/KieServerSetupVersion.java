@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.controller.api;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.KieServerConfig;
+import org.kie.server.api.model.KieServerConfigItem;
+import org.kie.server.api.model.ReleaseId;
+
+/**
+ * Computes version of the container setup exchanged between KIE Server and controller. Version is derived
+ * from the content only (the data controller sends to the server) so both sides compute the same value
+ * without keeping any history, also across controller restarts.
+ * <p>
+ * Server configuration items named after <code>org.kie.server</code> and <code>org.kie.executor</code> system
+ * properties are populated locally by every server and never sent by controller, so they are not part of the version.
+ */
+public class KieServerSetupVersion {
+
+    private KieServerSetupVersion() {
+    }
+
+    public static String compute(Collection<KieContainerResource> containers) {
+        return compute(containers, null);
+    }
+
+    public static String compute(Collection<KieContainerResource> containers, KieServerConfig serverConfig) {
+        List<KieContainerResource> sorted = new ArrayList<>();
+        if (containers != null) {
+            sorted.addAll(containers);
+        }
+        sorted.sort(Comparator.comparing(KieContainerResource::getContainerId, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        StringBuilder content = new StringBuilder();
+        for (KieContainerResource container : sorted) {
+            content.append(container.getContainerId()).append('|')
+                    .append(container.getContainerAlias()).append('|')
+                    .append(releaseId(container.getReleaseId())).append('|')
+                    .append(container.getStatus()).append('|');
+            if (container.getScanner() != null) {
+                content.append(container.getScanner().getStatus()).append(':').append(container.getScanner().getPollInterval());
+            }
+            content.append('|');
+
+            appendConfigItems(content, container.getConfigItems());
+            content.append('\n');
+        }
+
+        if (serverConfig != null && serverConfig.getConfigItems() != null) {
+            List<KieServerConfigItem> configItems = new ArrayList<>();
+            for (KieServerConfigItem configItem : serverConfig.getConfigItems()) {
+                if (!isLocalConfigItem(configItem)) {
+                    configItems.add(configItem);
+                }
+            }
+            content.append("config|");
+            appendConfigItems(content, configItems);
+        }
+
+        return digest(content.toString());
+    }
+
+    private static void appendConfigItems(StringBuilder content, Collection<KieServerConfigItem> items) {
+        List<KieServerConfigItem> configItems = new ArrayList<>();
+        if (items != null) {
+            configItems.addAll(items);
+        }
+        configItems.sort(Comparator.comparing(KieServerConfigItem::getName, Comparator.nullsFirst(Comparator.naturalOrder()))
+                                 .thenComparing(KieServerConfigItem::getType, Comparator.nullsFirst(Comparator.naturalOrder())));
+        for (KieServerConfigItem configItem : configItems) {
+            content.append(configItem.getType()).append(':')
+                    .append(configItem.getName()).append('=')
+                    .append(configItem.getValue()).append(';');
+        }
+    }
+
+    private static boolean isLocalConfigItem(KieServerConfigItem configItem) {
+        String name = configItem.getName();
+        return name != null && (name.startsWith("org.kie.server") || name.startsWith("org.kie.executor"));
+    }
+
+    private static String releaseId(ReleaseId releaseId) {
+        if (releaseId == null) {
+            return "null";
+        }
+        return releaseId.getGroupId() + ":" + releaseId.getArtifactId() + ":" + releaseId.getVersion();
+    }
+
+    private static String digest(String content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to compute setup version", e);
+        }
+    }
+}
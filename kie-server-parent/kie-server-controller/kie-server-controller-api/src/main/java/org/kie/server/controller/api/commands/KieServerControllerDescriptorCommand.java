@@ -36,6 +36,9 @@ public class KieServerControllerDescriptorCommand implements KieServerCommand {
 
     private static final long serialVersionUID = -1803374525440238418L;
 
+    @XmlElement(name = "correlation-id")
+    private String correlationId;
+
     @XmlElement(name = "service")
     private String service;
 
@@ -141,6 +144,14 @@ public class KieServerControllerDescriptorCommand implements KieServerCommand {
         this.marshallerFormat = marshallerFormat;
     }
 
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public void setCorrelationId(String correlationId) {
+        this.correlationId = correlationId;
+    }
+
     @Override
     public String toString() {
         return "KieServerControllerDescriptorCommand{" +
@@ -149,6 +160,7 @@ public class KieServerControllerDescriptorCommand implements KieServerCommand {
                 ", arguments='" + arguments + '\'' +
                 ", marshallerFormat='" + marshallerFormat + '\'' +
                 ", payload=" + payload +
+                ", correlationId='" + correlationId + '\'' +
                 '}';
     }
 }
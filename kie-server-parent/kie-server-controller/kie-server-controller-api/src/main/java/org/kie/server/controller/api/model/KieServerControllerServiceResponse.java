@@ -38,6 +38,9 @@ import org.kie.server.controller.api.model.spec.ServerTemplateList;
 @XmlAccessorType(XmlAccessType.NONE)
 public class KieServerControllerServiceResponse<T> implements KieServiceResponse<T> {
 
+    @XmlAttribute(name = "correlation-id")
+    private String correlationId;
+
     @XmlAttribute
     private ResponseType type;
 
@@ -91,6 +94,14 @@ public class KieServerControllerServiceResponse<T> implements KieServiceResponse
         return result;
     }
 
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public void setCorrelationId(String correlationId) {
+        this.correlationId = correlationId;
+    }
+
     @Override
     public String toString() {
         return "KieServerControllerServiceResponse{" +
@@ -40,6 +40,13 @@ public class KieServerSetup {
     @XmlElementWrapper(name = "server-containers")
     private Set<KieContainerResource> containers;
 
+    /**
+     * Version of the setup as computed by controller, when it matches the version sent by the server
+     * containers and configuration are omitted as the server is already up to date
+     */
+    @XmlElement(name = "setup-version")
+    private String version;
+
     public KieServerConfig getServerConfig() {
         return serverConfig;
     }
@@ -58,4 +65,19 @@ public class KieServerSetup {
     public void setContainers(Set<KieContainerResource> containers) {
         this.containers = containers;
     }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    /**
+     * Returns true when controller confirmed that given setup version (as sent by the server) is up to date
+     */
+    public boolean isUpToDate(String setupVersion) {
+        return version != null && version.equals(setupVersion);
+    }
 }
@@ -98,6 +98,8 @@ public class WebSocketKieServerControllerClient implements KieServerControllerCl
         final KieServerControllerDescriptorCommand command = new KieServerControllerDescriptorCommand(service,
                                                                                                       method,
                                                                                                       arguments);
+        final String correlationId = WebSocketUtils.nextCorrelationId();
+        command.setCorrelationId(correlationId);
 
         LOGGER.debug("About to send descriptor command to kie server controller: {}",
                      command);
@@ -107,7 +109,8 @@ public class WebSocketKieServerControllerClient implements KieServerControllerCl
                      content);
         try {
             final WebSocketServiceResponse response = getMessageHandler();
-            client.sendTextWithInternalHandler(content,
+            client.sendTextWithPendingResponse(correlationId,
+                                               content,
                                                response);
             LOGGER.debug("Message successfully sent to kie server controller");
             if (response.getType() == ResponseType.FAILURE) {
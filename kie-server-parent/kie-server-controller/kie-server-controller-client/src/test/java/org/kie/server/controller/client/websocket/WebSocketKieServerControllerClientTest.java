@@ -22,13 +22,12 @@ import org.apache.commons.lang3.reflect.MethodUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.kie.server.api.commands.DescriptorCommand;
+import org.kie.server.controller.api.commands.KieServerControllerDescriptorCommand;
 import org.kie.server.controller.api.service.RuleCapabilitiesService;
 import org.kie.server.controller.api.service.RuntimeManagementService;
 import org.kie.server.controller.api.service.SpecManagementService;
 import org.kie.server.controller.websocket.common.KieServerMessageHandlerWebSocketClient;
 import org.kie.server.controller.websocket.common.WebSocketUtils;
-import org.kie.server.controller.websocket.common.handlers.InternalMessageHandler;
 import org.kie.server.controller.websocket.common.handlers.WebSocketServiceResponse;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
@@ -77,17 +76,22 @@ public class WebSocketKieServerControllerClientTest {
                                      m.getName(),
                                      new Object[m.getParameterCount()]);
 
+            ArgumentCaptor<String> correlationIdCaptor = ArgumentCaptor.forClass(String.class);
             ArgumentCaptor<String> contentCaptor = ArgumentCaptor.forClass(String.class);
-            verify(client).sendTextWithInternalHandler(contentCaptor.capture(),
-                                                       any(InternalMessageHandler.class));
+            verify(client).sendTextWithPendingResponse(correlationIdCaptor.capture(),
+                                                       contentCaptor.capture(),
+                                                       any(WebSocketServiceResponse.class));
 
-            final DescriptorCommand command = WebSocketUtils.unmarshal(contentCaptor.getValue(),
-                                                                 DescriptorCommand.class);
+            final KieServerControllerDescriptorCommand command = WebSocketUtils.unmarshal(contentCaptor.getValue(),
+                                                                                          KieServerControllerDescriptorCommand.class);
             assertNotNull(command);
             assertEquals(name,
                          command.getService());
             assertEquals(m.getName(),
                          command.getMethod());
+            assertNotNull(command.getCorrelationId());
+            assertEquals(correlationIdCaptor.getValue(),
+                         command.getCorrelationId());
 
             reset(client);
         }
@@ -29,6 +29,7 @@ import org.kie.server.api.model.KieServerConfigItem;
 import org.kie.server.api.model.KieServerInfo;
 import org.kie.server.api.model.Message;
 import org.kie.server.controller.api.KieServerController;
+import org.kie.server.controller.api.KieServerSetupVersion;
 import org.kie.server.controller.api.ModelFactory;
 import org.kie.server.controller.api.model.KieServerSetup;
 import org.kie.server.controller.api.model.events.ServerInstanceConnected;
@@ -77,9 +78,10 @@ public abstract class KieServerControllerImpl implements KieServerController {
             if (!serverTemplate.hasServerInstance(serverInfo.getLocation())) {
                 logger.debug("Server instance '{}' not yet registered", serverInfo.getLocation());
                 serverTemplate.addServerInstance(serverInstanceKey);
+                // only store the template when it actually changed to avoid writes on every reconnect
+                templateStorage.update(serverTemplate);
+                logger.debug("KieServerInstance updated after connect from server {}", serverInfo.getLocation());
             }
-            templateStorage.update(serverTemplate);
-            logger.debug("KieServerInstance updated after connect from server {}", serverInfo.getLocation());
 
 
             Set<KieContainerResource> containers = new HashSet<KieContainerResource>();
@@ -145,25 +147,15 @@ public abstract class KieServerControllerImpl implements KieServerController {
                         containerSpec.getReleasedId(),
                         serverInstanceKey.getUrl()+"/containers/"+containerSpec.getId()));
             }
-            serverSetup.setContainers(containers);
-
-            // server configuration
-            KieServerConfig serverConfig = new KieServerConfig();
-            for (Map.Entry<Capability, ServerConfig> entry : serverTemplate.getConfigs().entrySet()) {
-
-                KieServerConfigItem configItem = new KieServerConfigItem();
-
-                ServerConfig config = entry.getValue();
-                // currently ServerConfig does not have data...
-                //configItem.setName();
-                //configItem.setValue();
-                // type of the config item is capability
-                configItem.setType(entry.getKey().toString());
-
-                serverConfig.addConfigItem(configItem);
+            KieServerConfig serverConfig = buildServerConfig(serverTemplate);
+            String setupVersion = KieServerSetupVersion.compute(containers, serverConfig);
+            serverSetup.setVersion(setupVersion);
+            if (setupVersion.equals(serverInfo.getSetupVersion())) {
+                logger.debug("Server {} is up to date with setup version {}, skipping containers and configuration", serverInfo.getLocation(), setupVersion);
+            } else {
+                serverSetup.setContainers(containers);
+                serverSetup.setServerConfig(serverConfig);
             }
-
-            serverSetup.setServerConfig(serverConfig);
         } else {
             logger.debug("Server id {} unknown to this controller, registering...", serverInfo.getServerId());
             serverTemplate = new ServerTemplate();
@@ -205,6 +197,24 @@ public abstract class KieServerControllerImpl implements KieServerController {
         return serverSetup;
     }
 
+    protected KieServerConfig buildServerConfig(ServerTemplate serverTemplate) {
+        KieServerConfig serverConfig = new KieServerConfig();
+        for (Map.Entry<Capability, ServerConfig> entry : serverTemplate.getConfigs().entrySet()) {
+
+            KieServerConfigItem configItem = new KieServerConfigItem();
+
+            ServerConfig config = entry.getValue();
+            // currently ServerConfig does not have data...
+            //configItem.setName();
+            //configItem.setValue();
+            // type of the config item is capability
+            configItem.setType(entry.getKey().toString());
+
+            serverConfig.addConfigItem(configItem);
+        }
+        return serverConfig;
+    }
+
     @Override
     public synchronized void disconnect(KieServerInfo serverInfo) {
         ServerTemplate serverTemplate = templateStorage.load(serverInfo.getServerId());
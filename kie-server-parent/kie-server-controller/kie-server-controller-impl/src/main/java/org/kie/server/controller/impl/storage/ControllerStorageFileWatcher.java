@@ -15,10 +15,10 @@
 
 package org.kie.server.controller.impl.storage;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 
 import java.io.File;
-import java.io.FileReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -40,12 +40,14 @@ public class ControllerStorageFileWatcher implements Runnable {
     private Path toWatch;
     private AtomicBoolean active = new AtomicBoolean(true);
     private String templateFileName;
+    private String journalFileName;
     
     private FileBasedKieServerTemplateStorage storage;
    
     public ControllerStorageFileWatcher(String configFilePath, FileBasedKieServerTemplateStorage storage) {
         this.toWatch = Paths.get(configFilePath);
         this.templateFileName = toWatch.toFile().getName();
+        this.journalFileName = templateFileName + FileBasedKieServerTemplateStorage.JOURNAL_FILE_SUFFIX;
         this.storage = storage;
         if (!Files.isDirectory(this.toWatch)) {
             this.toWatch = Paths.get(configFilePath).getParent();
@@ -54,7 +56,8 @@ public class ControllerStorageFileWatcher implements Runnable {
         try {
             this.watcher = toWatch.getFileSystem().newWatchService();
             log.debug("About to start watching " + toWatch.toString());
-            toWatch.register(watcher, ENTRY_MODIFY);
+            // snapshot is replaced by atomic move which is reported as create
+            toWatch.register(watcher, ENTRY_MODIFY, ENTRY_CREATE);
         } catch (Exception e) {
             log.error("Error when setting up config file watcher :: " + e.getMessage(), e);
             this.active.set(false);
@@ -74,9 +77,9 @@ public class ControllerStorageFileWatcher implements Runnable {
                     for (WatchEvent<?> event : key.pollEvents()) {
                         Path updatedFile = (Path) event.context();
                         File modifiedFile = updatedFile.toFile();
-                        if (modifiedFile.getName().equals(templateFileName)) {
+                        if (modifiedFile.getName().equals(templateFileName) || modifiedFile.getName().equals(journalFileName)) {
                             log.debug("Received template file update event, reloading...");
-                            try (FileReader reader = new FileReader(new File(toWatch.toFile(), templateFileName))){                                                                
+                            try {
                                 this.storage.loadTemplateMapsFromFile();
                                 log.info("Successfully reloaded server templates from file");
                             } catch (Exception e) {
@@ -14,15 +14,31 @@
 */
 package org.kie.server.controller.impl.storage;
 
-import java.io.FileNotFoundException;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
 
 import org.kie.server.controller.api.model.spec.ServerTemplate;
 import org.kie.server.controller.api.model.spec.ServerTemplateKey;
@@ -34,6 +50,18 @@ import org.slf4j.LoggerFactory;
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.XStreamException;
 
+/**
+ * Server template storage backed by a snapshot file (list of all server templates) and an append only journal
+ * (<code>templatesLocation + ".journal"</code>) that records every stored or deleted template. Changes are appended
+ * to the journal so their cost is proportional to the size of the changed template, the journal is compacted into
+ * new snapshot once it grows bigger than the snapshot (or {@link #JOURNAL_COMPACTION_SIZE_PROP} if that is more).
+ * Reloading (e.g. by the file watcher) replays only journal records that were not seen yet, unless the snapshot
+ * was replaced in between.
+ * <p>
+ * All file access is serialized by a lock on <code>templatesLocation + ".lock"</code> so several controllers can share
+ * the same files. Every change first picks up records appended by others, so an incomplete or corrupted record found
+ * at the end of the journal can only be left over from a failed write and is truncated right away.
+ */
 public class FileBasedKieServerTemplateStorage implements KieServerTemplateStorage {
 	private static FileBasedKieServerTemplateStorage INSTANCE; 
 	
@@ -42,16 +70,33 @@ public class FileBasedKieServerTemplateStorage implements KieServerTemplateStora
     public static final String DEFAULT_SERVER_TEMPLATE_FILENAME = System.getProperty("java.io.tmpdir")+
     		System.getProperty("file.separator")
     		+"template_store.xml";
+    public static final String JOURNAL_COMPACTION_SIZE_PROP = "org.kie.server.controller.templatefile.journal.compaction.size";
+    public static final String JOURNAL_FILE_SUFFIX = ".journal";
+    public static final String LOCK_FILE_SUFFIX = ".lock";
+
+    private static final byte STORE_RECORD = 'S';
+    private static final byte DELETE_RECORD = 'D';
+    // record type, payload length and payload checksum
+    private static final int RECORD_HEADER_SIZE = 1 + 4 + 4;
+    // file locks are held by the whole JVM, instances sharing the files must not request them concurrently
+    private static final Map<String, Object> FILE_LOCKS = new ConcurrentHashMap<>();
     
     private static Logger logger = LoggerFactory.getLogger(FileBasedKieServerTemplateStorage.class);
-    private Map<String, ServerTemplate> templateMap = new ConcurrentHashMap<>();
-    private Map<String, ServerTemplateKey> templateKeyMap = new ConcurrentHashMap<>();
+    private volatile Map<String, ServerTemplate> templateMap = new ConcurrentHashMap<>();
+    private volatile Map<String, ServerTemplateKey> templateKeyMap = new ConcurrentHashMap<>();
     private String templatesLocation;
   
     private XStream xstream;
     
     private boolean configWatcherEnabled = Boolean.parseBoolean(System.getProperty(STORAGE_FILE_WATCHER_ENABLED, "false"));
     private ControllerStorageFileWatcher watcher;
+
+    private final Object writeLock = new Object();
+    private long minCompactionSize = Long.parseLong(System.getProperty(JOURNAL_COMPACTION_SIZE_PROP, String.valueOf(1024 * 1024)));
+    // state of the files as last seen by this instance, used to reload only what has changed
+    private Object snapshotVersion;
+    private long snapshotSize;
+    private long journalOffset;
     
     public static synchronized FileBasedKieServerTemplateStorage getInstance() {
     	if (INSTANCE == null) {
@@ -108,61 +153,272 @@ public class FileBasedKieServerTemplateStorage implements KieServerTemplateStora
     }
 
     /**
-     * Writes the map of server templates to the file pointed at by templatesLocation
+     * Loads the map of server templates from the file pointed at by the templatesLocation and the journal next to it.
+     * If the snapshot file did not change since last load only new journal records are applied.
+     */
+    public void loadTemplateMapsFromFile() {
+        synchronized (writeLock) {
+            try {
+                withFileLock(() -> {
+                    reload();
+                    return null;
+                });
+            } catch (XStreamException e) {
+                logger.warn("Unable to read server template maps from file {}. File corrupted. Possible concurrent update in progress.", templatesLocation);
+            } catch (Throwable e) {
+                logger.error("Unable to read server template maps from file",e);
+            }
+        }
+    }
+
+    /**
+     * Brings the template maps up to date with the files. Must be called holding the write lock and the file lock.
      */
-    private synchronized void writeTemplateMap() {
+    private void reload() throws IOException {
+        Path snapshot = Paths.get(templatesLocation);
+        Path journal = getJournalPath();
+        if (!Files.exists(snapshot)) {
+            logger.warn("Unable to read server template maps from file {}. File does not exist.", templatesLocation);
+            journalOffset = replayJournal(journal, journalOffset, templateMap, templateKeyMap);
+            writeSnapshot();
+            return;
+        }
+        Object version = getFileVersion(snapshot);
+        long journalSize = Files.exists(journal) ? Files.size(journal) : 0;
+        if (version.equals(snapshotVersion) && journalSize >= journalOffset) {
+            journalOffset = replayJournal(journal, journalOffset, templateMap, templateKeyMap);
+            return;
+        }
+
+        Map<String, ServerTemplate> newTemplateMap = new ConcurrentHashMap<>();
+        Map<String, ServerTemplateKey> newTemplateKeyMap = new ConcurrentHashMap<>();
+        for (ServerTemplate template : readSnapshot(snapshot)) {
+            newTemplateKeyMap.put(template.getId(), new ServerTemplateKey(template.getId(), template.getName()));
+            newTemplateMap.put(template.getId(), template);
+        }
+        long offset = replayJournal(journal, 0, newTemplateMap, newTemplateKeyMap);
+
+        templateKeyMap = newTemplateKeyMap;
+        templateMap = newTemplateMap;
+        snapshotVersion = version;
+        snapshotSize = Files.size(snapshot);
+        journalOffset = offset;
+    }
+
+    private <T> T withFileLock(FileOperation<T> operation) throws IOException {
+        Path lockFile = Paths.get(templatesLocation + LOCK_FILE_SUFFIX).toAbsolutePath();
+        synchronized (FILE_LOCKS.computeIfAbsent(lockFile.toString(), path -> new Object())) {
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                return operation.run();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ServerTemplate> readSnapshot(Path snapshot) throws IOException {
+        if (Files.size(snapshot) == 0) {
+            return new ArrayList<>();
+        }
+        try (FileReader reader = new FileReader(snapshot.toFile())) {
+            List<ServerTemplate> templates = (List<ServerTemplate>) this.xstream.fromXML(reader);
+            return templates == null ? new ArrayList<>() : templates;
+        }
+    }
+
+    /**
+     * Writes the map of server templates to the file pointed at by templatesLocation, replacing the file atomically,
+     * and discards the journal as all its records are now part of the snapshot. Must be called holding the write lock
+     * and the file lock.
+     */
+    private void writeSnapshot() {
+        Path snapshot = Paths.get(templatesLocation);
+        Path tmp = Paths.get(templatesLocation + ".tmp");
         String xml = this.xstream.toXML(new ArrayList<ServerTemplate>(templateMap.values()));
         try {
-            Files.write(Paths.get(templatesLocation), xml.getBytes());
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                write(channel, xml.getBytes());
+                channel.force(true);
+            }
+            try {
+                Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.deleteIfExists(getJournalPath());
+
+            snapshotVersion = getFileVersion(snapshot);
+            snapshotSize = Files.size(snapshot);
+            journalOffset = 0;
         } catch (IOException e) {
             logger.error("Unable to write template maps for standalone controller", e);
         }
     }
 
     /**
-     * Loads the map of server templates from the file pointed at by the templatesLocation
+     * Applies all complete journal records starting at given offset and returns offset after the last applied record.
+     * As writers hold the file lock, anything after the last valid record is the remainder of a failed write and is
+     * truncated so that following records are appended right after the valid ones.
      */
-    @SuppressWarnings("unchecked")
-    public synchronized void loadTemplateMapsFromFile() {
-        ArrayList<ServerTemplate> templates = null;
-        Map<String, ServerTemplate> newTemplateMap = new ConcurrentHashMap<>();
-        Map<String, ServerTemplateKey> newTemplateKeyMap = new ConcurrentHashMap<>();
+    private long replayJournal(Path journal, long offset, Map<String, ServerTemplate> templates, Map<String, ServerTemplateKey> keys) throws IOException {
+        if (!Files.exists(journal)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size < offset) {
+                // journal was compacted by someone else, snapshot change will trigger full reload
+                return 0;
+            }
+            channel.position(offset);
+            DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            while (offset + RECORD_HEADER_SIZE <= size) {
+                byte type = input.readByte();
+                int length = input.readInt();
+                int checksum = input.readInt();
+                if (length < 0 || offset + RECORD_HEADER_SIZE + length > size) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                input.readFully(payload);
+                if (checksum != checksum(payload)) {
+                    break;
+                }
+                applyRecord(type, new String(payload, StandardCharsets.UTF_8), templates, keys);
+                offset += RECORD_HEADER_SIZE + length;
+            }
+            if (offset < size) {
+                logger.warn("Incomplete or corrupted record found in server template journal {} at position {}, discarding {} bytes",
+                            journal, offset, size - offset);
+                channel.truncate(offset);
+            }
+        }
+        return offset;
+    }
+
+    private void applyRecord(byte type, String payload, Map<String, ServerTemplate> templates, Map<String, ServerTemplateKey> keys) {
+        if (type == STORE_RECORD) {
+            ServerTemplate template = (ServerTemplate) this.xstream.fromXML(payload);
+            keys.put(template.getId(), new ServerTemplateKey(template.getId(), template.getName()));
+            templates.put(template.getId(), template);
+        } else if (type == DELETE_RECORD) {
+            keys.remove(payload);
+            templates.remove(payload);
+        } else {
+            logger.warn("Unknown record type {} in server template journal", type);
+        }
+    }
 
-        try (FileReader reader = new FileReader(templatesLocation)) {
-            templates = (ArrayList<ServerTemplate>)this.xstream.fromXML(reader);
+    private byte[] createRecord(byte type, String payload) {
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_HEADER_SIZE + data.length);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(type);
+            output.writeInt(data.length);
+            output.writeInt(checksum(data));
+            output.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
 
-            if (templates != null && !templates.isEmpty()) {
-                templates.forEach(template -> {
-                    newTemplateKeyMap.put(template.getId(),new ServerTemplateKey(template.getId(),template.getName()));
-                    newTemplateMap.put(template.getId(),template);
-                });
+    private static int checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Applies the change to the template maps and appends the record describing it to the journal, compacting
+     * the journal if it grew too big. Records appended by other instances are loaded first so the change is made
+     * on top of them and is part of the snapshot when compacting. Must be called holding the write lock.
+     */
+    private <T> T writeRecord(byte[] record, Supplier<T> change) {
+        try {
+            return withFileLock(() -> {
+                try {
+                    reload();
+                } catch (XStreamException | IOException e) {
+                    logger.warn("Unable to reload server template maps from file {} before writing", templatesLocation, e);
+                }
+                T result = change.get();
+                try {
+                    appendRecord(record);
+                    if (journalOffset > Math.max(minCompactionSize, snapshotSize)) {
+                        compact();
+                    }
+                } catch (IOException e) {
+                    logger.error("Unable to write template maps for standalone controller", e);
+                }
+                return result;
+            });
+        } catch (IOException e) {
+            logger.error("Unable to write template maps for standalone controller", e);
+            return change.get();
+        }
+    }
+
+    /**
+     * Appends the record to the journal and syncs it to disk. The journal offset is moved past the record when
+     * the journal was fully read before, so the record is not replayed again on the next reload.
+     */
+    private void appendRecord(byte[] record) throws IOException {
+        try (FileChannel channel = FileChannel.open(getJournalPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long start = channel.size();
+            write(channel, record);
+            channel.force(false);
+            if (start == journalOffset) {
+                journalOffset = start + record.length;
             }
-            templateKeyMap = newTemplateKeyMap;
-            templateMap = newTemplateMap;
+        }
+    }
 
-        } catch (FileNotFoundException e) {
-            logger.warn("Unable to read server template maps from file {}. File does not exist.", templatesLocation);
-            writeTemplateMap();
-        } catch (XStreamException e) {
-            logger.warn("Unable to read server template maps from file {}. File corrupted. Possible concurrent update in progress.", templatesLocation);
-        } catch (Throwable e) {
-            logger.error("Unable to read server template maps from file",e);
+    private static void write(FileChannel channel, byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
         }
     }
 
+    /**
+     * Writes all templates into new snapshot and discards the journal. Records appended by other instances
+     * since last reload are applied first so they are not lost. Must be called holding the write lock and
+     * the file lock.
+     */
+    private void compact() throws IOException {
+        logger.debug("Compacting server template journal of {}", templatesLocation);
+        journalOffset = replayJournal(getJournalPath(), journalOffset, templateMap, templateKeyMap);
+        writeSnapshot();
+    }
+
+    private static Object getFileVersion(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return Arrays.asList(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+    }
+
+    private Path getJournalPath() {
+        return Paths.get(templatesLocation + JOURNAL_FILE_SUFFIX);
+    }
+
+    private interface FileOperation<T> {
+
+        T run() throws IOException;
+    }
+
 
     @Override
     public ServerTemplate store(ServerTemplate serverTemplate) {
-        ServerTemplate template = null;
-        synchronized (templateMap) {
-            templateKeyMap.put(serverTemplate.getId(),
-                               new ServerTemplateKey(serverTemplate.getId(),
-                                                     serverTemplate.getName()));
-            template = templateMap.put(serverTemplate.getId(),
-                                   serverTemplate);
-            writeTemplateMap();
+        byte[] record = createRecord(STORE_RECORD, this.xstream.toXML(serverTemplate));
+        synchronized (writeLock) {
+            return writeRecord(record, () -> {
+                templateKeyMap.put(serverTemplate.getId(),
+                                   new ServerTemplateKey(serverTemplate.getId(),
+                                                         serverTemplate.getName()));
+                return templateMap.put(serverTemplate.getId(),
+                                       serverTemplate);
+            });
         }
-        return template;
     }
 
     @Override
@@ -197,29 +453,29 @@ public class FileBasedKieServerTemplateStorage implements KieServerTemplateStora
 
     @Override
     public ServerTemplate update(ServerTemplate serverTemplate) {
-        ServerTemplate updated = null;
-        synchronized (templateMap) {
-            templateKeyMap.put(serverTemplate.getId(),
-                               new ServerTemplateKey(serverTemplate.getId(),serverTemplate.getName()));
-            updated = templateMap.put(serverTemplate.getId(),serverTemplate);
-            writeTemplateMap();
+        byte[] record = createRecord(STORE_RECORD, this.xstream.toXML(serverTemplate));
+        synchronized (writeLock) {
+            return writeRecord(record, () -> {
+                templateKeyMap.put(serverTemplate.getId(),
+                                   new ServerTemplateKey(serverTemplate.getId(),serverTemplate.getName()));
+                return templateMap.put(serverTemplate.getId(),serverTemplate);
+            });
         }
-        return updated;
     }
 
     @Override
     public ServerTemplate delete(String identifier) {
-        ServerTemplate removed = null;
-        synchronized (templateMap) {
-            templateKeyMap.remove(identifier);
-            removed = templateMap.remove(identifier);
-            writeTemplateMap();
+        byte[] record = createRecord(DELETE_RECORD, identifier);
+        synchronized (writeLock) {
+            return writeRecord(record, () -> {
+                templateKeyMap.remove(identifier);
+                return templateMap.remove(identifier);
+            });
         }
-        return removed;
     }
     
     public void clearTemplateMaps() {
-        synchronized (templateMap) {
+        synchronized (writeLock) {
             templateKeyMap.entrySet().clear();
             templateMap.entrySet().clear();
         }
@@ -243,5 +499,17 @@ public class FileBasedKieServerTemplateStorage implements KieServerTemplateStora
         if (watcher != null) {
             watcher.stop();
         }
+        synchronized (writeLock) {
+            try {
+                withFileLock(() -> {
+                    if (Files.exists(getJournalPath()) && Files.size(getJournalPath()) > 0) {
+                        compact();
+                    }
+                    return null;
+                });
+            } catch (IOException | XStreamException e) {
+                logger.warn("Unable to compact server template journal of {}", templatesLocation, e);
+            }
+        }
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.controller.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.model.KieContainerStatus;
+import org.kie.server.api.model.KieServerInfo;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.controller.api.KieServerSetupVersion;
+import org.kie.server.controller.api.model.KieServerSetup;
+import org.kie.server.controller.api.model.spec.Capability;
+import org.kie.server.controller.api.model.spec.ContainerSpec;
+import org.kie.server.controller.api.model.spec.ServerConfig;
+import org.kie.server.controller.api.model.spec.ServerTemplate;
+import org.kie.server.controller.api.service.NotificationService;
+import org.kie.server.controller.impl.storage.InMemoryKieServerTemplateStorage;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class KieServerControllerImplTest {
+
+    private static final String SERVER_ID = "test-server";
+    private static final String SERVER_URL = "http://localhost:8080/kie-server/services/rest/server";
+
+    private KieServerControllerImpl controller;
+    private ServerTemplate serverTemplate;
+
+    @Before
+    public void setup() {
+        InMemoryKieServerTemplateStorage.getInstance().clear();
+
+        controller = new KieServerControllerImpl() {
+        };
+        controller.setNotificationService(mock(NotificationService.class));
+
+        serverTemplate = new ServerTemplate(SERVER_ID, "test server");
+        serverTemplate.addContainerSpec(new ContainerSpec("container1",
+                                                          "container1",
+                                                          serverTemplate,
+                                                          new ReleaseId("org.kie", "test", "1.0"),
+                                                          KieContainerStatus.STARTED,
+                                                          new HashMap<>()));
+        InMemoryKieServerTemplateStorage.getInstance().store(serverTemplate);
+    }
+
+    @After
+    public void cleanup() {
+        InMemoryKieServerTemplateStorage.getInstance().clear();
+    }
+
+    @Test
+    public void testConnectReturnsOnlyChangedSetup() {
+        KieServerSetup setup = controller.connect(serverInfo(null));
+        assertNotNull(setup.getVersion());
+        assertEquals(1, setup.getContainers().size());
+        assertNotNull(setup.getServerConfig());
+
+        // server reports it already runs the same setup
+        KieServerSetup upToDate = controller.connect(serverInfo(setup.getVersion()));
+        assertTrue(upToDate.isUpToDate(setup.getVersion()));
+        assertTrue(upToDate.getContainers().isEmpty());
+        assertNull(upToDate.getServerConfig());
+
+        // change of the container spec results in new version and complete setup
+        serverTemplate.addContainerSpec(new ContainerSpec("container2",
+                                                          "container2",
+                                                          serverTemplate,
+                                                          new ReleaseId("org.kie", "test", "2.0"),
+                                                          KieContainerStatus.STARTED,
+                                                          new HashMap<>()));
+        InMemoryKieServerTemplateStorage.getInstance().update(serverTemplate);
+
+        KieServerSetup changed = controller.connect(serverInfo(setup.getVersion()));
+        assertNotEquals(setup.getVersion(), changed.getVersion());
+        assertFalse(changed.isUpToDate(setup.getVersion()));
+        assertEquals(2, changed.getContainers().size());
+    }
+
+    @Test
+    public void testSetupVersionCoversServerConfig() {
+        KieServerSetup setup = controller.connect(serverInfo(null));
+        // server computes the same version from the setup it applied
+        assertEquals(setup.getVersion(), KieServerSetupVersion.compute(setup.getContainers(), setup.getServerConfig()));
+
+        // change of server configuration alone results in new version and complete setup
+        Map<Capability, ServerConfig> configs = serverTemplate.getConfigs();
+        configs.put(Capability.RULE, new ServerConfig());
+        serverTemplate.setConfigs(configs);
+        InMemoryKieServerTemplateStorage.getInstance().update(serverTemplate);
+
+        KieServerSetup changed = controller.connect(serverInfo(setup.getVersion()));
+        assertNotEquals(setup.getVersion(), changed.getVersion());
+        assertNotNull(changed.getServerConfig());
+        assertEquals(changed.getVersion(), KieServerSetupVersion.compute(changed.getContainers(), changed.getServerConfig()));
+    }
+
+    private KieServerInfo serverInfo(String setupVersion) {
+        KieServerInfo serverInfo = new KieServerInfo(SERVER_ID, "test server", "1.0", Arrays.asList(KieServerConstants.CAPABILITY_BRM), SERVER_URL);
+        serverInfo.setSetupVersion(setupVersion);
+        return serverInfo;
+    }
+}
@@ -19,10 +19,12 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -166,6 +168,8 @@ public class FileBasedKieServerTemplateStorageTest {
         System.clearProperty(FileBasedKieServerTemplateStorage.STORAGE_FILE_WATCHER_ENABLED);
         try {
             Files.deleteIfExists(tmpTemplateStore.toPath());
+            Files.deleteIfExists(new File(tmpTemplateStore.getAbsolutePath() + FileBasedKieServerTemplateStorage.JOURNAL_FILE_SUFFIX).toPath());
+            Files.deleteIfExists(new File(tmpTemplateStore.getAbsolutePath() + FileBasedKieServerTemplateStorage.LOCK_FILE_SUFFIX).toPath());
         } catch (IOException e) {
             logger.warn("Exception while deleting test server template storage",e);
             e.printStackTrace();
@@ -289,6 +293,84 @@ public class FileBasedKieServerTemplateStorageTest {
         assertEquals(3, templates.size());
     }
 
+    @Test
+    public void testReloadFromJournal() {
+        FileBasedKieServerTemplateStorage secondStorage = new FileBasedKieServerTemplateStorage(tmpTemplateStore.getAbsolutePath());
+        assertEquals(3, secondStorage.load().size());
+
+        ServerTemplate serverTemplate = new ServerTemplate();
+        serverTemplate.setName("StoredByOtherController");
+        serverTemplate.setId(UUID.randomUUID().toString());
+        secondStorage.store(serverTemplate);
+
+        storage.loadTemplateMapsFromFile();
+        assertEquals(4, storage.load().size());
+        assertEquals(serverTemplate.getName(), storage.getTemplateKey(serverTemplate.getId()).getName());
+
+        ServerTemplate toDeleteTemplate = getFirstTemplateFromMap();
+        secondStorage.delete(toDeleteTemplate.getId());
+
+        storage.loadTemplateMapsFromFile();
+        assertEquals(3, storage.load().size());
+        assertFalse(storage.exists(toDeleteTemplate.getId()));
+    }
+
+    @Test
+    public void testJournalCompaction() {
+        File journal = new File(tmpTemplateStore.getAbsolutePath() + FileBasedKieServerTemplateStorage.JOURNAL_FILE_SUFFIX);
+        assertTrue(journal.exists());
+
+        System.setProperty(FileBasedKieServerTemplateStorage.JOURNAL_COMPACTION_SIZE_PROP, "1");
+        try {
+            storage = new FileBasedKieServerTemplateStorage(tmpTemplateStore.getAbsolutePath());
+        } finally {
+            System.clearProperty(FileBasedKieServerTemplateStorage.JOURNAL_COMPACTION_SIZE_PROP);
+        }
+        ServerTemplate toUpdateTemplate = getFirstTemplateFromMap();
+        storage.update(toUpdateTemplate);
+
+        // all changes are now in the snapshot
+        assertFalse(journal.exists());
+        assertTrue(tmpTemplateStore.length() > 0);
+
+        FileBasedKieServerTemplateStorage secondStorage = new FileBasedKieServerTemplateStorage(tmpTemplateStore.getAbsolutePath());
+        assertEquals(3, secondStorage.load().size());
+        templateMap.values().forEach(template -> assertTrue(secondStorage.exists(template.getId())));
+    }
+
+    @Test
+    public void testOwnRecordsNotReplayed() {
+        ServerTemplate serverTemplate = new ServerTemplate();
+        serverTemplate.setName("StoredByThisController");
+        serverTemplate.setId(UUID.randomUUID().toString());
+        storage.store(serverTemplate);
+
+        storage.loadTemplateMapsFromFile();
+        // replaying the record would replace the stored instance with a deserialized copy
+        assertSame(serverTemplate, storage.load(serverTemplate.getId()));
+    }
+
+    @Test
+    public void testTornJournalTailTruncated() throws IOException {
+        File journal = new File(tmpTemplateStore.getAbsolutePath() + FileBasedKieServerTemplateStorage.JOURNAL_FILE_SUFFIX);
+        long validSize = journal.length();
+        // header of a record whose payload was never written
+        Files.write(journal.toPath(), new byte[]{'S', 0, 0, 0, 100, 1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        FileBasedKieServerTemplateStorage secondStorage = new FileBasedKieServerTemplateStorage(tmpTemplateStore.getAbsolutePath());
+        assertEquals(3, secondStorage.load().size());
+        assertEquals(validSize, journal.length());
+
+        ServerTemplate serverTemplate = new ServerTemplate();
+        serverTemplate.setName("StoredAfterTornWrite");
+        serverTemplate.setId(UUID.randomUUID().toString());
+        secondStorage.store(serverTemplate);
+
+        storage.loadTemplateMapsFromFile();
+        assertEquals(4, storage.load().size());
+        assertTrue(new FileBasedKieServerTemplateStorage(tmpTemplateStore.getAbsolutePath()).exists(serverTemplate.getId()));
+    }
+
     @Test
     public void testGetStorageLocation() {
         String location = storage.getTemplatesLocation();
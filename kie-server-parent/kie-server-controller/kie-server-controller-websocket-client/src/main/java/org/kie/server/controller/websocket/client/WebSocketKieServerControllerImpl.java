@@ -30,6 +30,7 @@ import org.kie.server.api.model.KieServerConfig;
 import org.kie.server.api.model.KieServerInfo;
 import org.kie.server.common.KeyStoreHelperUtil;
 import org.kie.server.controller.api.KieServerController;
+import org.kie.server.controller.api.KieServerSetupVersion;
 import org.kie.server.controller.api.model.KieServerSetup;
 import org.kie.server.controller.websocket.client.handlers.KieServerSetupMessageHandler;
 import org.kie.server.controller.websocket.common.KieServerMessageHandlerWebSocketClient;
@@ -61,6 +62,7 @@ public class WebSocketKieServerControllerImpl implements KieServerController, Ki
         
         this.client = new KieServerMessageHandlerWebSocketClient((WebSocketClient client) -> {
             try {
+                updateSetupVersion(context.getStateRepository().load(KieServerEnvironment.getServerId()));
                 ((KieServerMessageHandlerWebSocketClient) client).sendTextWithInternalHandler(serialize(serverInfo),
                                                                                               message -> {
                                                                                                   logger.info("Successfully reconnected");
@@ -80,6 +82,7 @@ public class WebSocketKieServerControllerImpl implements KieServerController, Ki
         
 
         KieServerConfig config = currentState.getConfiguration();
+        updateSetupVersion(currentState);
         if (controllers != null && !controllers.isEmpty()) {
             for (String controllerUrl : controllers) {
 
@@ -102,8 +105,8 @@ public class WebSocketKieServerControllerImpl implements KieServerController, Ki
                             client.sendTextWithInternalHandler(serialize(serverInfo), new KieServerSetupMessageHandler(context, waitLatch, kieServerSetup));
     
                             boolean received = waitLatch.await(10, TimeUnit.SECONDS);
-                            if (received && kieServerSetup.getContainers() != null) {
-                                // once there is non null list let's return it
+                            if (received && (kieServerSetup.getContainers() != null || kieServerSetup.isUpToDate(serverInfo.getSetupVersion()))) {
+                                // once there is non null list or confirmation that server is up to date let's return it
                                 return kieServerSetup;
     
                             }
@@ -159,6 +162,11 @@ public class WebSocketKieServerControllerImpl implements KieServerController, Ki
         
     }
 
+    protected void updateSetupVersion(KieServerState currentState) {
+        // version of the setup the server runs right now, containers might have changed since last connect
+        serverInfo.setSetupVersion(KieServerSetupVersion.compute(currentState.getContainers(), currentState.getConfiguration()));
+    }
+
     protected String serialize(Object object) {
         if (object == null) {
             return "";
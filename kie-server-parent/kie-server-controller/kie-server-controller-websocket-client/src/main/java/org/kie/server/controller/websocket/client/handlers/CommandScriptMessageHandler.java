@@ -66,6 +66,8 @@ public class CommandScriptMessageHandler implements InternalMessageHandler {
 
         // 4. process request
         ServiceResponsesList response = executor.executeScript(script, MarshallingFormat.JSON, null);
+        // echo correlation id so the controller can match the reply with the request
+        response.setCorrelationId(script.getCorrelationId());
         
         String reply = serialize(response);
         return reply;
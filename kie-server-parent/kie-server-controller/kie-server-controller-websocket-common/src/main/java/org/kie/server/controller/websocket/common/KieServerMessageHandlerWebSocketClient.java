@@ -23,6 +23,7 @@ import javax.websocket.Session;
 
 import org.kie.server.controller.websocket.common.handlers.InternalMessageHandler;
 import org.kie.server.controller.websocket.common.handlers.KieServerMessageHandler;
+import org.kie.server.controller.websocket.common.handlers.WebSocketServiceResponse;
 
 public class KieServerMessageHandlerWebSocketClient extends WebSocketClientImpl<KieServerMessageHandler> {
 
@@ -40,6 +41,22 @@ public class KieServerMessageHandlerWebSocketClient extends WebSocketClientImpl<
                                   messageHandler -> messageHandler.addHandler(handler));
     }
 
+    /**
+     * Sends the content without waiting for it to be written and registers the response to be completed by the reply
+     * carrying given correlation id, so multiple requests can be in flight over the same session.
+     */
+    public void sendTextWithPendingResponse(final String correlationId,
+                                            final String content,
+                                            final WebSocketServiceResponse response) {
+        super.sendTextAsyncWithHandler(content,
+                                       messageHandler -> messageHandler.addPendingResponse(correlationId, response),
+                                       result -> {
+                                           if (!result.isOK()) {
+                                               response.fail(result.getException());
+                                           }
+                                       });
+    }
+
     @Override
     public void onOpen(final Session session,
                        final EndpointConfig config) {
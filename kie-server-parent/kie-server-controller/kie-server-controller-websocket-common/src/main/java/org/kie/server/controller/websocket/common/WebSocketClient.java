@@ -19,6 +19,7 @@ package org.kie.server.controller.websocket.common;
 import java.io.IOException;
 import java.util.function.Consumer;
 import javax.websocket.MessageHandler;
+import javax.websocket.SendHandler;
 
 import org.kie.server.controller.websocket.common.config.WebSocketClientConfiguration;
 
@@ -31,5 +32,9 @@ public interface WebSocketClient<T extends MessageHandler> {
     void sendTextWithHandler(String content,
                              Consumer<T> handler) throws IOException;
 
+    void sendTextAsyncWithHandler(String content,
+                                  Consumer<T> handler,
+                                  SendHandler sendHandler);
+
     boolean isActive();
 }
@@ -22,6 +22,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import javax.websocket.*;
 
+import org.kie.server.controller.api.ControllerConnectBackoff;
 import org.kie.server.controller.websocket.common.auth.WebSocketAuthConfigurator;
 import org.kie.server.controller.websocket.common.config.WebSocketClientConfiguration;
 import org.slf4j.Logger;
@@ -65,11 +66,12 @@ public abstract class WebSocketClientImpl<T extends MessageHandler> extends Endp
         if (!closed.get()) {
 
             reconnectThread = new Thread(() -> {
-
+                int attempt = 0;
                 while (!session.isOpen()) {
                     try {
-                        LOGGER.debug("Waiting 10 seconds before attempting to reconnect to controller {}", session.getRequestURI());
-                        Thread.sleep(10000);
+                        long waitTime = ControllerConnectBackoff.nextWaitTime(attempt++);
+                        LOGGER.debug("Waiting {} ms before attempting to reconnect to controller {}", waitTime, session.getRequestURI());
+                        Thread.sleep(waitTime);
 
                         this.session = container.connectToServer(this, this.config, session.getRequestURI());
                         if (onReconnect != null) {
@@ -140,6 +142,23 @@ public abstract class WebSocketClientImpl<T extends MessageHandler> extends Endp
         session.getBasicRemote().sendText(content);
     }
 
+    @Override
+    public void sendTextAsyncWithHandler(final String content,
+                                         final Consumer<T> handler,
+                                         final SendHandler sendHandler) {
+        if (!session.isOpen()) {
+            throw new RuntimeException("No connection to controller");
+        }
+
+        if(handler != null && this.messageHandler != null) {
+            handler.accept(this.messageHandler);
+        }
+
+        LOGGER.debug("Sending text message asynchronously using Web Socket Session with id: {}", session.getId());
+
+        WebSocketSessionSender.forSession(session).sendText(content, sendHandler);
+    }
+
     @Override
     public boolean isActive() {
         return session != null && session.isOpen();
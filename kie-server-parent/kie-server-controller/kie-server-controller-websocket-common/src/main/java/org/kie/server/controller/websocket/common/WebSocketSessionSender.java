@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.controller.websocket.common;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends messages asynchronously over a session one at a time, in the order they were submitted. Web Socket remote
+ * endpoint does not allow new message to be sent before previous one completed, so messages submitted meanwhile are
+ * queued and sent from the completion of the previous one.
+ */
+public class WebSocketSessionSender {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebSocketSessionSender.class);
+
+    private static final String SENDER_PROPERTY = WebSocketSessionSender.class.getName();
+
+    private final Session session;
+    private final Queue<OutgoingMessage> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean sending = new AtomicBoolean(false);
+
+    protected WebSocketSessionSender(Session session) {
+        this.session = session;
+    }
+
+    /**
+     * Returns sender bound to given session, all messages of a session must be sent via the same sender to keep them ordered
+     */
+    public static WebSocketSessionSender forSession(Session session) {
+        synchronized (session) {
+            WebSocketSessionSender sender = (WebSocketSessionSender) session.getUserProperties().get(SENDER_PROPERTY);
+            if (sender == null) {
+                sender = new WebSocketSessionSender(session);
+                session.getUserProperties().put(SENDER_PROPERTY, sender);
+            }
+            return sender;
+        }
+    }
+
+    public void sendText(String text, SendHandler handler) {
+        send(new OutgoingMessage(text, false, handler));
+    }
+
+    public void sendObject(Object object, SendHandler handler) {
+        send(new OutgoingMessage(object, true, handler));
+    }
+
+    protected void send(OutgoingMessage message) {
+        queue.add(message);
+        sendNext();
+    }
+
+    protected void sendNext() {
+        while (!queue.isEmpty() && sending.compareAndSet(false, true)) {
+            OutgoingMessage message = queue.poll();
+            if (message == null) {
+                sending.set(false);
+                continue;
+            }
+            try {
+                if (message.isObject) {
+                    session.getAsyncRemote().sendObject(message.payload, result -> completed(message, result));
+                } else {
+                    session.getAsyncRemote().sendText((String) message.payload, result -> completed(message, result));
+                }
+                return;
+            } catch (RuntimeException e) {
+                // send was not started so there is no completion to wait for
+                LOGGER.debug("Unable to send message over Web Socket session {} due to {}", session.getId(), e.getMessage());
+                sending.set(false);
+                notify(message, new SendResult(e));
+            }
+        }
+    }
+
+    protected void completed(OutgoingMessage message, SendResult result) {
+        sending.set(false);
+        try {
+            notify(message, result);
+        } finally {
+            sendNext();
+        }
+    }
+
+    protected void notify(OutgoingMessage message, SendResult result) {
+        if (message.handler == null) {
+            return;
+        }
+        try {
+            message.handler.onResult(result);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Send handler failed on Web Socket session {}", session.getId(), e);
+        }
+    }
+
+    protected int getQueueSize() {
+        return queue.size();
+    }
+
+    private static class OutgoingMessage {
+
+        private final Object payload;
+        private final boolean isObject;
+        private final SendHandler handler;
+
+        private OutgoingMessage(Object payload, boolean isObject, SendHandler handler) {
+            this.payload = payload;
+            this.isObject = isObject;
+            this.handler = handler;
+        }
+    }
+}
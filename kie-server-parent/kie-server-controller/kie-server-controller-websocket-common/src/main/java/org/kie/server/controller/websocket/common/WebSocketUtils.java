@@ -16,6 +16,13 @@
 
 package org.kie.server.controller.websocket.common;
 
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import org.kie.server.api.marshalling.Marshaller;
 import org.kie.server.api.marshalling.MarshallerFactory;
 import org.kie.server.api.marshalling.MarshallingFormat;
@@ -23,8 +30,15 @@ import org.kie.server.api.model.Wrapped;
 
 public class WebSocketUtils {
 
+    public static final String CORRELATION_ID = "correlation-id";
+
     private static Marshaller jsonMarshaller = MarshallerFactory.getMarshaller(null, MarshallingFormat.JSON, WebSocketUtils.class.getClassLoader());
 
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private static final String correlationIdPrefix = UUID.randomUUID().toString();
+    private static final AtomicLong correlationIdCounter = new AtomicLong();
+
     @SuppressWarnings("unchecked")
     public static <T> T unmarshal(String data, Class<T> unmarshalType) {
         if (data == null || data.isEmpty()) {
@@ -43,5 +57,38 @@ public class WebSocketUtils {
     public static String marshal(Object entity) {
         return jsonMarshaller.marshall(entity);
     }
+
+    /**
+     * Generates correlation id that is unique across JVMs without going through secure random for every message
+     */
+    public static String nextCorrelationId() {
+        return correlationIdPrefix + "-" + correlationIdCounter.incrementAndGet();
+    }
+
+    /**
+     * Returns correlation id found as top level attribute of given JSON message or null if there is none.
+     * Only top level attributes are examined and nested content is skipped without being parsed into objects.
+     */
+    public static String extractCorrelationId(String data) {
+        if (data == null || data.isEmpty()) {
+            return null;
+        }
+        try (JsonParser parser = jsonFactory.createParser(data)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (CORRELATION_ID.equals(name)) {
+                    return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // not a JSON message, so no correlation id
+        }
+        return null;
+    }
     
 }
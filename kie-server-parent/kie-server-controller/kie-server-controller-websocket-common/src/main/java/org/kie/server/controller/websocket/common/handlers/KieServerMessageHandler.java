@@ -15,19 +15,26 @@
 
 package org.kie.server.controller.websocket.common.handlers;
 
-import java.io.IOException;
-import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.websocket.MessageHandler;
 import javax.websocket.Session;
 
+import org.kie.server.controller.websocket.common.WebSocketSessionSender;
+import org.kie.server.controller.websocket.common.WebSocketUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class KieServerMessageHandler implements MessageHandler.Whole<String> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KieServerMessageHandler.class);
-    private ArrayDeque<InternalMessageHandler> internalHandlers = new ArrayDeque<>();
+    private Queue<InternalMessageHandler> internalHandlers = new ConcurrentLinkedQueue<>();
+    // responses waiting for reply, matched by correlation id so multiple requests can be in flight
+    private final Map<String, WebSocketServiceResponse> pendingResponses = new LinkedHashMap<>();
     
     private Session session;    
     
@@ -39,7 +46,19 @@ public class KieServerMessageHandler implements MessageHandler.Whole<String> {
     public void onMessage(String message) {
         LOGGER.debug("Message received on session id: '{}'", session.getId());
         LOGGER.debug("Message content '{}'", message);
-        InternalMessageHandler handler = internalHandlers.poll();
+        String correlationId = hasPendingResponses() ? WebSocketUtils.extractCorrelationId(message) : null;
+        InternalMessageHandler handler = removePendingResponse(correlationId);
+        if (handler == null && correlationId != null) {
+            LOGGER.debug("No pending response with correlation id '{}', it most likely timed out", correlationId);
+            return;
+        }
+        if (handler == null) {
+            handler = internalHandlers.poll();
+        }
+        if (handler == null) {
+            // reply from a peer that does not send correlation ids back, responses come in order of requests
+            handler = removeOldestPendingResponse();
+        }
         LOGGER.debug("About to handle message with handler {}", handler);
         if(handler == null){
             LOGGER.warn("No message handler available to process message");
@@ -50,13 +69,16 @@ public class KieServerMessageHandler implements MessageHandler.Whole<String> {
         // add handler if the current one has next one, this needs to be before sending response
         addHandler(handler.getNextHandler());                     
         if (response != null) {
-            try {
-                session.getBasicRemote().sendText(response);
-                LOGGER.debug("Response successfully sent");
-                handler.afterResponseSent();
-            } catch (IOException e) {
-                LOGGER.error("Error when sending response", e);
-            }
+            // sent via session sender as asynchronous requests may be being written over the same session
+            final InternalMessageHandler respondingHandler = handler;
+            WebSocketSessionSender.forSession(session).sendText(response, result -> {
+                if (result.isOK()) {
+                    LOGGER.debug("Response successfully sent");
+                    respondingHandler.afterResponseSent();
+                } else {
+                    LOGGER.error("Error when sending response", result.getException());
+                }
+            });
         }
         
     }
@@ -67,4 +89,43 @@ public class KieServerMessageHandler implements MessageHandler.Whole<String> {
             this.internalHandlers.add(handler);
         }
     }
+
+    /**
+     * Registers response that will be completed by the message carrying given correlation id. The response is
+     * unregistered once completed, regardless if it was by reply, failure or timeout.
+     */
+    public void addPendingResponse(String correlationId, WebSocketServiceResponse response) {
+        LOGGER.debug("Adding pending response {} with correlation id '{}' to session {}", response, correlationId, session.getId());
+        synchronized (pendingResponses) {
+            pendingResponses.put(correlationId, response);
+        }
+        response.getFuture().whenComplete((result, error) -> removePendingResponse(correlationId));
+    }
+
+    protected boolean hasPendingResponses() {
+        synchronized (pendingResponses) {
+            return !pendingResponses.isEmpty();
+        }
+    }
+
+    protected WebSocketServiceResponse removePendingResponse(String correlationId) {
+        if (correlationId == null) {
+            return null;
+        }
+        synchronized (pendingResponses) {
+            return pendingResponses.remove(correlationId);
+        }
+    }
+
+    protected WebSocketServiceResponse removeOldestPendingResponse() {
+        synchronized (pendingResponses) {
+            Iterator<WebSocketServiceResponse> it = pendingResponses.values().iterator();
+            if (!it.hasNext()) {
+                return null;
+            }
+            WebSocketServiceResponse response = it.next();
+            it.remove();
+            return response;
+        }
+    }
 }
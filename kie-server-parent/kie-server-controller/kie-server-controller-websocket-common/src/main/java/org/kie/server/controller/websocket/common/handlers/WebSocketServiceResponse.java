@@ -15,8 +15,14 @@
 
 package org.kie.server.controller.websocket.common.handlers;
 
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 
 import org.kie.server.api.model.KieServiceResponse;
@@ -26,16 +32,33 @@ import org.kie.server.api.model.ServiceResponse;
 @SuppressWarnings("rawtypes")
 public class WebSocketServiceResponse extends ServiceResponse implements InternalMessageHandler {
 
-    private CountDownLatch latch;
-    private KieServiceResponse<?> result;
+    public static final String RESPONSE_TIMEOUT = "org.kie.server.controller.websocket.response.timeout";
+
+    private static final long timeout = Long.parseLong(System.getProperty(RESPONSE_TIMEOUT, "30"));
+
+    // single timer shared by all pending responses so waiting for response does not need a thread per request
+    private static final ScheduledExecutorService timer = createTimer();
+
+    private final boolean isBlocking;
+    private final CompletableFuture<KieServiceResponse<?>> result = new CompletableFuture<>();
     private Function<String, KieServiceResponse<?>> handler;
     
     public WebSocketServiceResponse(boolean isBlocking, Function<String, KieServiceResponse<?>> handler) {
+        this.isBlocking = isBlocking;
         this.handler = handler;
         if (isBlocking) {
-            this.latch = new CountDownLatch(1);
+            ScheduledFuture<?> timeoutTask = timer.schedule(() -> result.completeExceptionally(new TimeoutException("No response received within " + timeout + " seconds")),
+                                                            timeout, TimeUnit.SECONDS);
+            result.whenComplete((response, error) -> timeoutTask.cancel(false));
         }
     }
+
+    /**
+     * Creates new response with the same handler, to be used when the same command is sent over multiple sessions
+     */
+    public WebSocketServiceResponse copy() {
+        return new WebSocketServiceResponse(isBlocking, handler);
+    }
     
     @Override
     public ResponseType getType() {
@@ -53,33 +76,65 @@ public class WebSocketServiceResponse extends ServiceResponse implements Interna
     }
 
     public String onMessage(String message) {
-        this.result = handler.apply(message);
-
-        if (latch != null) {
-           this.latch.countDown();
+        try {
+            this.result.complete(handler.apply(message));
+        } catch (RuntimeException e) {
+            this.result.completeExceptionally(e);
+            throw e;
         }
         
         return null;
     }
+
+    /**
+     * Marks this response as failed, e.g. when the request could not be sent
+     */
+    public void fail(Throwable error) {
+        this.result.completeExceptionally(error);
+    }
+
+    /**
+     * Future that is completed once the response arrives, fails to be sent or times out
+     */
+    public CompletableFuture<KieServiceResponse<?>> getFuture() {
+        return result;
+    }
     
     protected KieServiceResponse<?> getWrapperResult() {
-        if (latch != null) {
+        KieServiceResponse<?> response = null;
+        if (isBlocking) {
             try {
-                this.latch.await(30, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {                
+                response = this.result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Service response not received", e.getCause());
             }
+        } else {
+            response = this.result.getNow(null);
         }
-        if(result == null){
+        if(response == null){
             throw new RuntimeException("Service response not received");
         } else {
-            return result;
+            return response;
         }
     }
 
+    private static ScheduledExecutorService createTimer() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName("KieServer-WebSocketResponseTimeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
     @Override
     public String toString() {
         return "WebSocketServiceResponse{" +
-                "latch=" + latch +
+                "isBlocking=" + isBlocking +
                 ", result=" + result +
                 ", handler=" + handler +
                 "} " + super.toString();
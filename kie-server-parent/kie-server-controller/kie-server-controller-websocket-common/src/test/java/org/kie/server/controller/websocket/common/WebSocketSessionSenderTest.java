@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.controller.websocket.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class WebSocketSessionSenderTest {
+
+    private Session session;
+    private RemoteEndpoint.Async remote;
+    private List<String> written = new ArrayList<>();
+    private List<SendHandler> inProgress = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        Map<String, Object> properties = new HashMap<>();
+        session = mock(Session.class);
+        remote = mock(RemoteEndpoint.Async.class);
+        when(session.getId()).thenReturn("session");
+        when(session.getUserProperties()).thenReturn(properties);
+        when(session.getAsyncRemote()).thenReturn(remote);
+        doAnswer(invocation -> {
+            written.add((String) invocation.getArguments()[0]);
+            inProgress.add((SendHandler) invocation.getArguments()[1]);
+            return null;
+        }).when(remote).sendText(anyString(), any(SendHandler.class));
+    }
+
+    @Test
+    public void testSameSenderForSession() {
+        assertSame(WebSocketSessionSender.forSession(session), WebSocketSessionSender.forSession(session));
+    }
+
+    @Test
+    public void testMessagesSentOneAtATimeInOrder() {
+        WebSocketSessionSender sender = WebSocketSessionSender.forSession(session);
+        List<String> completed = new ArrayList<>();
+
+        sender.sendText("first", result -> completed.add("first"));
+        sender.sendText("second", result -> completed.add("second"));
+        sender.sendText("third", result -> completed.add("third"));
+
+        // second message must not be written before the first one completed
+        assertEquals(1, written.size());
+        assertEquals(2, sender.getQueueSize());
+
+        inProgress.get(0).onResult(new SendResult());
+        assertEquals(2, written.size());
+        inProgress.get(1).onResult(new SendResult());
+        inProgress.get(2).onResult(new SendResult());
+
+        assertEquals(3, written.size());
+        assertEquals(0, sender.getQueueSize());
+        assertEquals(written, completed);
+        assertEquals("first", written.get(0));
+        assertEquals("third", written.get(2));
+    }
+
+    @Test
+    public void testFailedSendReportedAndNextMessageSent() {
+        doThrow(new IllegalStateException("closed")).doAnswer(invocation -> {
+            written.add((String) invocation.getArguments()[0]);
+            inProgress.add((SendHandler) invocation.getArguments()[1]);
+            return null;
+        }).when(remote).sendText(anyString(), any(SendHandler.class));
+        WebSocketSessionSender sender = WebSocketSessionSender.forSession(session);
+        List<SendResult> results = new ArrayList<>();
+
+        sender.sendText("failing", results::add);
+        sender.sendText("next", results::add);
+
+        assertEquals(1, results.size());
+        assertFalse(results.get(0).isOK());
+        assertTrue(results.get(0).getException() instanceof IllegalStateException);
+        assertEquals(1, written.size());
+        assertEquals("next", written.get(0));
+    }
+}
@@ -164,4 +164,44 @@ public class WebSocketUtilsTest {
         assertArrayEquals(response.getResult().getContainers(),
                           responseResult.getResult().getContainers());
     }
+
+    @Test
+    public void testCorrelationIdSerialization() {
+        final KieServerControllerDescriptorCommand command = new KieServerControllerDescriptorCommand(SpecManagementService.class.getName(),
+                                                                                                      "listServerTemplates");
+        final String correlationId = WebSocketUtils.nextCorrelationId();
+        command.setCorrelationId(correlationId);
+
+        final String commandContent = WebSocketUtils.marshal(command);
+        assertEquals(correlationId,
+                     WebSocketUtils.extractCorrelationId(commandContent));
+        final KieServerControllerDescriptorCommand commandResult = WebSocketUtils.unmarshal(commandContent,
+                                                                                            KieServerControllerDescriptorCommand.class);
+        assertEquals(correlationId,
+                     commandResult.getCorrelationId());
+
+        final KieServerControllerServiceResponse<ContainerList> response = new KieServerControllerServiceResponse(KieServiceResponse.ResponseType.SUCCESS,
+                                                                                                                  "",
+                                                                                                                  new ContainerList());
+        response.setCorrelationId(correlationId);
+        final String responseContent = WebSocketUtils.marshal(response);
+        assertEquals(correlationId,
+                     WebSocketUtils.extractCorrelationId(responseContent));
+        final KieServerControllerServiceResponse<ContainerList> responseResult = WebSocketUtils.unmarshal(responseContent,
+                                                                                                          KieServerControllerServiceResponse.class);
+        assertEquals(correlationId,
+                     responseResult.getCorrelationId());
+    }
+
+    @Test
+    public void testExtractCorrelationIdIgnoresNestedContent() {
+        assertEquals("1",
+                     WebSocketUtils.extractCorrelationId("{\"result\" : {\"correlation-id\" : \"2\"}, \"correlation-id\" : \"1\"}"));
+        assertNull(WebSocketUtils.extractCorrelationId("{\"result\" : {\"correlation-id\" : \"2\"}}"));
+        assertNull(WebSocketUtils.extractCorrelationId("{\"correlation-id\" : null}"));
+        assertNull(WebSocketUtils.extractCorrelationId("not a json"));
+        assertNull(WebSocketUtils.extractCorrelationId(null));
+        assertNotEquals(WebSocketUtils.nextCorrelationId(),
+                        WebSocketUtils.nextCorrelationId());
+    }
 }
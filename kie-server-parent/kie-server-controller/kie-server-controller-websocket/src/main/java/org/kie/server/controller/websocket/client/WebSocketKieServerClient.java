@@ -15,7 +15,6 @@
 
 package org.kie.server.controller.websocket.client;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -64,6 +63,7 @@ import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.QueryServicesClient;
 import org.kie.server.client.jms.ResponseHandler;
 import org.kie.server.controller.websocket.WebSocketSessionManager;
+import org.kie.server.controller.websocket.common.WebSocketSessionSender;
 import org.kie.server.controller.websocket.common.WebSocketUtils;
 import org.kie.server.controller.websocket.common.handlers.WebSocketServiceResponse;
 import org.slf4j.Logger;
@@ -346,20 +346,8 @@ public class WebSocketKieServerClient implements KieServicesClient {
         List<Session> sessions = manager.getByUrl(url);
         
         Session session = sessions.get(0);
-        
-        logger.debug("Web Socket session ({}) is open {}", session.getId(), session.isOpen());
-        String content = WebSocketUtils.marshal(script);
-        logger.debug("Content to be sent over Web Socket '{}'", content);
-        try {
-            manager.getHandler(session.getId()).addHandler(response);
-            
-            session.getBasicRemote().sendText(content);
-            logger.debug("Message successfully sent to kie server");
-            return new ServiceResponsesList(Arrays.asList(response));
-        } catch (IOException e) {
-           throw new RuntimeException(e);
-        }
-        
+        sendCommand(session, script, response);
+        return new ServiceResponsesList(Arrays.asList(response));
     }
     
     protected ServiceResponsesList sendCommandToAllSessions(CommandScript script, WebSocketServiceResponse response) {
@@ -369,24 +357,42 @@ public class WebSocketKieServerClient implements KieServicesClient {
         ServiceResponsesList result = new ServiceResponsesList(responses);
                
         for (Session session : sessions) {
-        
-            logger.debug("Web Socket session ({}) is open {}", session.getId(), session.isOpen());
-            String content = WebSocketUtils.marshal(script);
-            logger.debug("Content to be sent over Web Socket '{}'", content);
-            try {
-                manager.getHandler(session.getId()).addHandler(response);
-                
-                session.getBasicRemote().sendText(content);
-                logger.debug("Message successfully sent to kie server");
-                responses.add(response);
-            } catch (IOException e) {
-               throw new RuntimeException(e);
-            }
-        
+            // each session replies on its own so it needs its own response to be completed
+            WebSocketServiceResponse sessionResponse = responses.isEmpty() ? response : response.copy();
+            sendCommand(session, script, sessionResponse);
+            responses.add(sessionResponse);
         }
         return result;
     }
 
+    /**
+     * Sends the script tagged with new correlation id without waiting for it to be written, the response is completed
+     * when the reply with the same correlation id arrives, the send fails or the response times out.
+     */
+    protected void sendCommand(Session session, CommandScript script, WebSocketServiceResponse response) {
+        logger.debug("Web Socket session ({}) is open {}", session.getId(), session.isOpen());
+        String correlationId = WebSocketUtils.nextCorrelationId();
+        script.setCorrelationId(correlationId);
+        String content = WebSocketUtils.marshal(script);
+        logger.debug("Content to be sent over Web Socket '{}'", content);
+        
+        // failing the response also removes it from pending responses of the session
+        manager.getHandler(session.getId()).addPendingResponse(correlationId, response);
+        try {
+            WebSocketSessionSender.forSession(session).sendText(content, result -> {
+                if (result.isOK()) {
+                    logger.debug("Message {} successfully sent to kie server", correlationId);
+                } else {
+                    logger.warn("Unable to send message {} to kie server at {} due to {}", correlationId, url, result.getException().getMessage());
+                    response.fail(result.getException());
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Unable to send message {} to kie server at {} due to {}", correlationId, url, e.getMessage());
+            response.fail(e);
+        }
+    }
+
     
     @Override
     public ServiceResponse<KieServerInfo> getServerInfo() {
@@ -16,7 +16,6 @@
 
 package org.kie.server.controller.websocket.management;
 
-import java.io.IOException;
 import javax.annotation.PostConstruct;
 import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Instance;
@@ -28,6 +27,7 @@ import org.kie.server.controller.api.commands.KieServerControllerDescriptorComma
 import org.kie.server.controller.api.model.KieServerControllerServiceResponse;
 import org.kie.server.controller.api.service.NotificationService;
 import org.kie.server.controller.api.storage.KieServerTemplateStorage;
+import org.kie.server.controller.websocket.common.WebSocketSessionSender;
 import org.kie.server.controller.websocket.common.decoder.KieServerControllerDescriptorCommandDecoder;
 import org.kie.server.controller.websocket.common.encoder.KieServerControllerServiceResponseEncoder;
 import org.slf4j.Logger;
@@ -77,14 +77,17 @@ public class WebSocketKieServerMgmtControllerImpl {
                      session.getId());
 
         final KieServerControllerServiceResponse response = commandService.executeCommand(command);
-        try {
-            session.getBasicRemote().sendObject(response);
-        } catch (IOException | EncodeException ex) {
-            LOGGER.error("Error trying to send Web Socket response: {}",
-                         ex.getMessage(),
-                         ex);
-            throw new RuntimeException(ex);
-        }
+        // echo correlation id so the client can match the response with the request
+        response.setCorrelationId(command.getCorrelationId());
+        // requests may be in flight concurrently, responses are written one at a time
+        WebSocketSessionSender.forSession(session).sendObject(response,
+                                                              result -> {
+                                                                  if (!result.isOK()) {
+                                                                      LOGGER.error("Error trying to send Web Socket response: {}",
+                                                                                   result.getException().getMessage(),
+                                                                                   result.getException());
+                                                                  }
+                                                              });
     }
 
     @OnClose
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Pipelines calls of the services clients (e.g. {@link ProcessServicesClient}, {@link UserTaskServicesClient}) so
+ * that they are sent to KIE Server as single command script instead of one request per call. Calls are queued
+ * until {@link #flush()} is invoked or until configured size or time threshold is reached, results are delivered
+ * to the returned futures.
+ * <pre>
+ * try (CommandBatch batch = KieServicesFactory.newCommandBatch(client, 50, 0)) {
+ *     CompletableFuture&lt;Long&gt; first = batch.submit(ProcessServicesClient.class, c -&gt; c.startProcess(containerId, processId));
+ *     CompletableFuture&lt;Long&gt; second = batch.submit(ProcessServicesClient.class, c -&gt; c.startProcess(containerId, processId));
+ *     batch.flush();
+ * }
+ * </pre>
+ * Calls for different containers or capabilities in the same flush are sent as separate scripts.
+ */
+public interface CommandBatch extends AutoCloseable {
+
+    /**
+     * Queues given call of the services client
+     * @param servicesClient type of the services client the call should be made on
+     * @param call call to be made, must use only the given client instance
+     * @return future completed with result of the call once the batch is flushed
+     */
+    <C, T> CompletableFuture<T> submit(Class<C> servicesClient, Function<C, T> call);
+
+    /**
+     * Sends all queued calls to the server and waits until they are completed
+     */
+    void flush();
+
+    /**
+     * @return number of calls waiting to be sent
+     */
+    int size();
+
+    /**
+     * Flushes queued calls and releases resources of the batch
+     */
+    @Override
+    void close();
+}
@@ -15,6 +15,7 @@
 
 package org.kie.server.client;
 
+import java.io.InputStream;
 import java.util.List;
 
 import org.kie.server.api.model.instance.DocumentInstance;
@@ -34,5 +35,38 @@ public interface DocumentServicesClient {
 
     List<DocumentInstance> listDocuments(Integer page, Integer pageSize);
 
+    /**
+     * Creates new document with content read from given stream. Content is sent in chunks so it is never loaded into
+     * memory as a whole. Available for REST transport only.
+     * @param name name of the document
+     * @param content content of the document, closed once it is sent
+     * @return identifier of the created document
+     */
+    String createDocument(String name, InputStream content);
+
+    /**
+     * Replaces content of the document with content read from given stream. Available for REST transport only.
+     * @param identifier identifier of the document
+     * @param content new content of the document, closed once it is sent
+     */
+    void updateDocumentContent(String identifier, InputStream content);
+
+    /**
+     * Opens stream with content of the document as it is received from the server. Available for REST transport only.
+     * @param identifier identifier of the document
+     * @return content of the document, must be closed by the caller
+     */
+    InputStream getDocumentContent(String identifier);
+
+    /**
+     * Opens stream with given range of the content of the document, e.g. to resume interrupted download. Available
+     * for REST transport only.
+     * @param identifier identifier of the document
+     * @param offset position of the first byte to be returned
+     * @param length maximum number of bytes to be returned, 0 or less for the rest of the content
+     * @return requested part of the content of the document, must be closed by the caller
+     */
+    InputStream getDocumentContent(String identifier, long offset, long length);
+
     void setResponseHandler(ResponseHandler responseHandler);
 }
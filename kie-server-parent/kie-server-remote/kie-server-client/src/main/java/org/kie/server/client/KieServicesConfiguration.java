@@ -29,7 +29,7 @@ import java.util.Set;
 
 public interface KieServicesConfiguration {
     public static enum Transport {
-        REST, JMS;
+        REST, JMS, WEBSOCKET;
     }
 
     String getServerUrl();
@@ -15,6 +15,7 @@
 
 package org.kie.server.client;
 
+import org.kie.server.client.credentials.EnteredCredentialsProvider;
 import org.kie.server.client.impl.KieServicesClientImpl;
 import org.kie.server.client.impl.KieServicesConfigurationImpl;
 
@@ -56,6 +57,23 @@ public class KieServicesFactory {
         return new KieServicesConfigurationImpl( serverUrl, credentialsProvider, timeout );
     }
 
+    /**
+     * Creates a new configuration object for Web Socket based service. Runtime commands are sent over single
+     * persistent connection and multiplexed by correlation id, while the client itself remains thread safe
+     * @param serverUrl the URL to the server (e.g.: "http://localhost:8080/kie-server/services/rest/server")
+     * @param login user login
+     * @param password user password
+     * @param timeout the maximum timeout in milliseconds
+     * @return configuration instance
+     */
+    public static KieServicesConfiguration newWebSocketConfiguration( String serverUrl, String login, String password, long timeout ) {
+        return new KieServicesConfigurationImpl( serverUrl, new EnteredCredentialsProvider( login, password ), timeout, KieServicesConfiguration.Transport.WEBSOCKET );
+    }
+
+    public static KieServicesConfiguration newWebSocketConfiguration( String serverUrl, CredentialsProvider credentialsProvider, long timeout ) {
+        return new KieServicesConfigurationImpl( serverUrl, credentialsProvider, timeout, KieServicesConfiguration.Transport.WEBSOCKET );
+    }
+
     /**
      * Creates a new configuration object for JMS based service
      * @param connectionFactory a JMS connection factory
@@ -126,4 +144,18 @@ public class KieServicesFactory {
         return new KieServicesClientImpl( newJMSConfiguration( context, username, password ) );
     }
 
+    /**
+     * Creates new batch that sends calls of the services clients of given client as single command script
+     * @param client client created by this factory
+     * @param maxSize number of queued calls that triggers flush, 0 or less to flush only explicitly
+     * @param maxDelay time in milliseconds after first queued call that triggers flush, 0 or less to flush only explicitly
+     * @return batch that must be closed once no longer needed
+     */
+    public static CommandBatch newCommandBatch( KieServicesClient client, int maxSize, long maxDelay ) {
+        if ( !(client instanceof KieServicesClientImpl) ) {
+            throw new IllegalArgumentException( "Batching is supported only for clients created by KieServicesFactory" );
+        }
+        return ((KieServicesClientImpl) client).newCommandBatch( maxSize, maxDelay );
+    }
+
 }
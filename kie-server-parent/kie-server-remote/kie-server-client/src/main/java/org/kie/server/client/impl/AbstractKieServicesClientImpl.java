@@ -22,6 +22,7 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,11 +46,15 @@ import org.kie.server.api.marshalling.MarshallingException;
 import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.ServiceResponsesList;
+import org.kie.server.api.websocket.WebSocketCommandFrame;
 import org.kie.server.client.KieServicesConfiguration;
 import org.kie.server.api.exception.KieServicesException;
 import org.kie.server.api.exception.KieServicesHttpException;
 import org.kie.server.client.balancer.LoadBalancer;
+import org.kie.server.client.jms.AsyncResponseHandler;
+import org.kie.server.client.jms.ResponseCallback;
 import org.kie.server.client.jms.ResponseHandler;
+import org.kie.server.client.websocket.WebSocketCommandChannel;
 import org.kie.server.common.rest.KieServerHttpRequest;
 import org.kie.server.common.rest.KieServerHttpRequestException;
 import org.kie.server.common.rest.KieServerHttpResponse;
@@ -76,6 +81,9 @@ public abstract class AbstractKieServicesClientImpl {
     // used by JMS to handle response via different interaction patterns
     private ResponseHandler responseHandler;
 
+    // when set, command scripts are handed over to the batch instead of being sent
+    private CommandBatchImpl batch;
+
     public AbstractKieServicesClientImpl(KieServicesConfiguration config) {
         this.config = config.clone();
         this.loadBalancer = config.getLoadBalancer() == null ? LoadBalancer.getDefault(config.getServerUrl()) : config.getLoadBalancer();
@@ -130,6 +138,10 @@ public abstract class AbstractKieServicesClientImpl {
         this.owner = owner;
     }
 
+    void setBatch(CommandBatchImpl batch) {
+        this.batch = batch;
+    }
+
     public LoadBalancer getLoadBalancer() {
         return loadBalancer;
     }
@@ -476,6 +488,12 @@ public abstract class AbstractKieServicesClientImpl {
     }
 
     protected ServiceResponsesList executeJmsCommand( CommandScript command, String classType, String targetCapability, String containerId ) {
+        if (batch != null) {
+            return batch.enqueue(command, classType, targetCapability, containerId);
+        }
+        if (config.getTransport() == KieServicesConfiguration.Transport.WEBSOCKET) {
+            return executeWebSocketCommand(command, classType, targetCapability, containerId);
+        }
         ConnectionFactory factory = config.getConnectionFactory();
         Queue sendQueue = config.getRequestQueue();
         Queue responseQueue = config.getResponseQueue();
@@ -505,11 +523,9 @@ public abstract class AbstractKieServicesClientImpl {
 
             // Create msg
             TextMessage textMsg;
-            Marshaller marshaller;
             try {
 
-                // serialize request
-                marshaller = MarshallerFactory.getMarshaller( config.getExtraClasses(), config.getMarshallingFormat(), classLoader );
+                // serialize request, the marshaller of the client is built for the same classes and format
                 String xmlStr = marshaller.marshall( command );
                 logger.debug("Message content to be sent '{}'", xmlStr);
                 textMsg = session.createTextMessage(xmlStr);
@@ -560,6 +576,71 @@ public abstract class AbstractKieServicesClientImpl {
         }
     }
 
+    /**
+     * Sends command script to the extension implementing given capability using the configured transport, with REST
+     * the script is posted to the capability specific command endpoint
+     */
+    protected ServiceResponsesList executeCommandScript( CommandScript command, String classType, String targetCapability, String containerId ) {
+        if (config.isRest()) {
+            String uri = loadBalancer.getUrl() + "/config";
+            if (targetCapability != null) {
+                uri += "/" + encode(targetCapability);
+                if (containerId != null) {
+                    uri += "?containerId=" + encode(containerId);
+                }
+            }
+            Map<String, String> headers = new HashMap<String, String>();
+            if (classType != null) {
+                headers.put(KieServerConstants.CLASS_TYPE_HEADER, classType);
+            }
+            return makeHttpPostRequestAndCreateCustomResponse(uri, command, ServiceResponsesList.class, headers);
+        }
+        return executeJmsCommand(command, classType, targetCapability, containerId);
+    }
+
+    /**
+     * Sends command script over the Web Socket connection of the owning client, the configured response handler
+     * decides whether to wait for the response, deliver it to the callback or not to wait for it at all, same as with JMS
+     */
+    protected ServiceResponsesList executeWebSocketCommand( CommandScript command, String classType, String targetCapability, String containerId ) {
+        WebSocketCommandChannel channel = owner.getWebSocketChannel();
+
+        String content = serialize(command);
+        logger.debug("Message content to be sent '{}'", content);
+        WebSocketCommandFrame.Entry request = channel.newRequest(config.getMarshallingFormat().getId(), content)
+                .classType(classType)
+                .targetCapability(targetCapability)
+                .containerId(containerId)
+                .conversationId(owner.getConversationId());
+
+        switch (responseHandler.getInteractionPattern()) {
+            case JMSConstants.FIRE_AND_FORGET_PATTERN:
+                channel.send(request);
+                return new ServiceResponsesList(Collections.singletonList(new ServiceResponse(ServiceResponse.ResponseType.NO_RESPONSE, "Message sent")));
+            case JMSConstants.ASYNC_REPLY_PATTERN:
+                ResponseCallback callback = responseHandler instanceof AsyncResponseHandler ? ((AsyncResponseHandler) responseHandler).getCallback() : null;
+                if (callback == null) {
+                    throw new IllegalStateException("There is no callback defined, can't continue...");
+                }
+                channel.executeAsync(request, (response, error) -> {
+                    if (error != null) {
+                        logger.error("Error while receiving response to request {} due to {}, response won't be delivered to client", request.getCorrelationId(), error.getMessage(), error);
+                        return;
+                    }
+                    owner.setConversationId(response.getConversationId());
+                    callback.onResponse(request.getCorrelationId(), deserialize(response.getPayload(), ServiceResponsesList.class));
+                });
+                return new ServiceResponsesList(Collections.singletonList(new ServiceResponse(ServiceResponse.ResponseType.NO_RESPONSE, "Message sent")));
+            default:
+                break;
+        }
+
+        WebSocketCommandFrame.Entry response = channel.execute(request);
+        owner.setConversationId(response.getConversationId());
+        logger.debug("Message content received '{}'", response.getPayload());
+
+        return deserialize(response.getPayload(), ServiceResponsesList.class);
+    }
 
     protected String getMediaType( MarshallingFormat format ) {
         switch ( format ) {
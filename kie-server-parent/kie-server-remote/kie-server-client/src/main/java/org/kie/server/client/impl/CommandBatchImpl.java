@@ -0,0 +1,340 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.client.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.kie.server.api.commands.CommandScript;
+import org.kie.server.api.exception.KieServicesException;
+import org.kie.server.api.model.KieServerCommand;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.ServiceResponsesList;
+import org.kie.server.client.CommandBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Services clients used by the batch are regular clients that, instead of sending the command script, hand it over
+ * to the batch and wait until the batch is flushed. Each submitted call runs on a pooled thread so the typed
+ * client API stays unchanged, queued scripts are then merged by capability, container and class type into single
+ * script per group. When the batch has a size threshold the pool is limited to that many threads, as more calls can
+ * never wait for a flush at the same time, calls submitted above it wait in the pool's queue without holding a thread.
+ */
+public class CommandBatchImpl implements CommandBatch {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandBatchImpl.class);
+
+    private static final AtomicInteger batchCounter = new AtomicInteger();
+
+    private final KieServicesClientImpl owner;
+    private final Map<Class<?>, Object> servicesClients;
+    private final int maxSize;
+    private final long maxDelay;
+
+    private final ExecutorService callers;
+    private final ScheduledExecutorService timer;
+
+    private final Object lock = new Object();
+    private final List<QueuedScript> queue = new ArrayList<>();
+    // calls submitted but not yet queued, flush waits for them so it does not miss calls submitted right before it
+    private int preparing;
+    private ScheduledFuture<?> scheduledFlush;
+    private volatile boolean closed;
+
+    private final ThreadLocal<Boolean> queuedByCurrentCall = new ThreadLocal<>();
+
+    /**
+     * @param owner client the batch sends the merged scripts with
+     * @param maxSize number of queued calls that triggers flush, 0 or less to flush only explicitly
+     * @param maxDelay time in milliseconds after first queued call that triggers flush, 0 or less to flush only explicitly
+     */
+    public CommandBatchImpl(KieServicesClientImpl owner, int maxSize, long maxDelay) {
+        this.owner = owner;
+        this.maxSize = maxSize;
+        this.maxDelay = maxDelay;
+
+        int id = batchCounter.incrementAndGet();
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadFactory callerFactory = runnable -> {
+            Thread thread = new Thread(runnable, "KieServicesClient - batch " + id + " - call " + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        if (maxSize > 0) {
+            // queue is intentionally not bounded, it holds only the submitted calls (no threads) and the caller
+            // decides how many of them it submits; bounding it would either fail submits or block the submitting
+            // thread, which deadlocks when that thread is the one expected to submit the call completing the batch
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(maxSize, maxSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), callerFactory);
+            pool.allowCoreThreadTimeOut(true);
+            this.callers = pool;
+        } else {
+            this.callers = Executors.newCachedThreadPool(callerFactory);
+        }
+        if (maxDelay > 0) {
+            this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "KieServicesClient - batch " + id + " - timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.timer = null;
+        }
+        this.servicesClients = owner.buildBatchServicesClients(this);
+    }
+
+    @Override
+    public <C, T> CompletableFuture<T> submit(Class<C> servicesClient, Function<C, T> call) {
+        if (closed) {
+            throw new IllegalStateException("Batch is already closed");
+        }
+        C client = servicesClient.cast(servicesClients.get(servicesClient));
+        if (client == null) {
+            throw new KieServicesException("Services client " + servicesClient.getName() + " is not available for batching");
+        }
+
+        synchronized (lock) {
+            preparing++;
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.apply(client);
+            } finally {
+                if (queuedByCurrentCall.get() == null) {
+                    // call finished without sending any command
+                    synchronized (lock) {
+                        preparing--;
+                        lock.notifyAll();
+                    }
+                }
+                queuedByCurrentCall.remove();
+            }
+        }, callers);
+    }
+
+    @Override
+    public void flush() {
+        List<QueuedScript> toSend;
+        synchronized (lock) {
+            while (preparing > 0) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new KieServicesException("Interrupted while waiting for submitted calls", e);
+                }
+            }
+            toSend = drain();
+        }
+        send(toSend);
+    }
+
+    @Override
+    public int size() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        callers.shutdown();
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+
+    /**
+     * Called by batch services clients in place of sending the script, blocks until the script is sent with the
+     * batch and returns the part of the responses that belongs to the script
+     */
+    ServiceResponsesList enqueue(CommandScript script, String classType, String targetCapability, String containerId) {
+        QueuedScript queued = new QueuedScript(script, classType, targetCapability, containerId);
+
+        List<QueuedScript> toSend = null;
+        synchronized (lock) {
+            if (queuedByCurrentCall.get() == null) {
+                queuedByCurrentCall.set(Boolean.TRUE);
+                preparing--;
+                lock.notifyAll();
+            }
+            queue.add(queued);
+            if (maxSize > 0 && queue.size() >= maxSize) {
+                toSend = drain();
+            } else if (timer != null && scheduledFlush == null) {
+                scheduledFlush = timer.schedule(this::flushQueued, maxDelay, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (toSend != null) {
+            send(toSend);
+        }
+
+        try {
+            return queued.response.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KieServicesException("Interrupted while waiting for batch to be flushed", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new KieServicesException("Unable to execute batch", e.getCause());
+        }
+    }
+
+    protected void flushQueued() {
+        List<QueuedScript> toSend;
+        synchronized (lock) {
+            toSend = drain();
+        }
+        send(toSend);
+    }
+
+    // must be called while holding the lock
+    private List<QueuedScript> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        List<QueuedScript> drained = new ArrayList<>(queue);
+        queue.clear();
+        return drained;
+    }
+
+    protected void send(List<QueuedScript> scripts) {
+        if (scripts.isEmpty()) {
+            return;
+        }
+        Map<GroupKey, List<QueuedScript>> groups = new LinkedHashMap<>();
+        for (QueuedScript script : scripts) {
+            groups.computeIfAbsent(new GroupKey(script), key -> new ArrayList<>()).add(script);
+        }
+
+        for (Map.Entry<GroupKey, List<QueuedScript>> group : groups.entrySet()) {
+            GroupKey key = group.getKey();
+            List<QueuedScript> members = group.getValue();
+
+            List<KieServerCommand> commands = new ArrayList<>();
+            for (QueuedScript member : members) {
+                commands.addAll(member.script.getCommands());
+            }
+            logger.debug("Sending batch of {} command(s) for capability {} and container {}", commands.size(), key.targetCapability, key.containerId);
+
+            try {
+                ServiceResponsesList responses = owner.executeCommandScript(new CommandScript(commands), key.classType, key.targetCapability, key.containerId);
+                distribute(members, commands.size(), responses);
+            } catch (RuntimeException e) {
+                for (QueuedScript member : members) {
+                    member.response.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void distribute(List<QueuedScript> members, int commandCount, ServiceResponsesList responses) {
+        List<ServiceResponse<? extends Object>> results = responses == null ? null : responses.getResponses();
+        if (results != null && results.size() == 1 && commandCount > 1
+                && ServiceResponse.ResponseType.NO_RESPONSE.equals(results.get(0).getType())) {
+            // fire and forget interaction, there is nothing to split
+            for (QueuedScript member : members) {
+                member.response.complete(responses);
+            }
+            return;
+        }
+        if (results == null || results.size() != commandCount) {
+            KieServicesException error = new KieServicesException("Server returned " + (results == null ? 0 : results.size()) + " response(s) for " + commandCount + " command(s)");
+            for (QueuedScript member : members) {
+                member.response.completeExceptionally(error);
+            }
+            return;
+        }
+
+        int index = 0;
+        for (QueuedScript member : members) {
+            int count = member.script.getCommands().size();
+            member.response.complete(new ServiceResponsesList(new ArrayList<>(results.subList(index, index + count))));
+            index += count;
+        }
+    }
+
+    protected static class QueuedScript {
+
+        private final CommandScript script;
+        private final String classType;
+        private final String targetCapability;
+        private final String containerId;
+        private final CompletableFuture<ServiceResponsesList> response = new CompletableFuture<>();
+
+        QueuedScript(CommandScript script, String classType, String targetCapability, String containerId) {
+            this.script = script;
+            this.classType = classType;
+            this.targetCapability = targetCapability;
+            this.containerId = containerId;
+        }
+    }
+
+    private static class GroupKey {
+
+        private final String classType;
+        private final String targetCapability;
+        private final String containerId;
+
+        GroupKey(QueuedScript script) {
+            this.classType = script.classType;
+            this.targetCapability = script.targetCapability;
+            this.containerId = script.containerId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey other = (GroupKey) o;
+            return Objects.equals(classType, other.classType)
+                    && Objects.equals(targetCapability, other.targetCapability)
+                    && Objects.equals(containerId, other.containerId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(classType, targetCapability, containerId);
+        }
+    }
+}
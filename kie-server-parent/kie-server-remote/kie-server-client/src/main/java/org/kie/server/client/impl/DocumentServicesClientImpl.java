@@ -15,11 +15,15 @@
 
 package org.kie.server.client.impl;
 
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
+import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.commands.CommandScript;
 import org.kie.server.api.commands.DescriptorCommand;
 import org.kie.server.api.model.KieServerCommand;
@@ -29,11 +33,17 @@ import org.kie.server.api.model.instance.DocumentInstance;
 import org.kie.server.api.model.instance.DocumentInstanceList;
 import org.kie.server.client.DocumentServicesClient;
 import org.kie.server.client.KieServicesConfiguration;
+import org.kie.server.common.rest.KieServerHttpRequest;
+import org.kie.server.common.rest.KieServerHttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static org.kie.server.api.rest.RestURI.*;
 
 public class DocumentServicesClientImpl extends AbstractKieServicesClientImpl implements DocumentServicesClient {
 
+    private static Logger logger = LoggerFactory.getLogger(DocumentServicesClientImpl.class);
+
     public DocumentServicesClientImpl(KieServicesConfiguration config) {
         super(config);
     }
@@ -164,4 +174,78 @@ public class DocumentServicesClientImpl extends AbstractKieServicesClientImpl im
 
         return result.getItems();
     }
+
+    @Override
+    public String createDocument(String name, InputStream content) {
+        assertRestTransport("createDocument");
+
+        Map<String, Object> valuesMap = new HashMap<String, Object>();
+        String uri = build(loadBalancer.getUrl(), DOCUMENT_URI, valuesMap) + "?name=" + encode(name);
+
+        logger.debug("About to send POST request with streamed content to '{}'", uri);
+        KieServerHttpRequest request = newRequest(uri).contentType(MediaType.APPLICATION_OCTET_STREAM).body(content).post();
+        KieServerHttpResponse response = request.response();
+
+        owner.setConversationId(response.header(KieServerConstants.KIE_CONVERSATION_ID_TYPE_HEADER));
+        if (response.code() != Response.Status.CREATED.getStatusCode()) {
+            throw createExceptionForUnexpectedResponseCode(request, response);
+        }
+        Object result = deserialize(response.body(), Object.class);
+        if (result instanceof Wrapped) {
+            return (String) ((Wrapped) result).unwrap();
+        }
+        return (String) result;
+    }
+
+    @Override
+    public void updateDocumentContent(String identifier, InputStream content) {
+        assertRestTransport("updateDocumentContent");
+
+        Map<String, Object> valuesMap = new HashMap<String, Object>();
+        valuesMap.put(DOCUMENT_ID, identifier);
+        String uri = build(loadBalancer.getUrl(), DOCUMENT_URI + "/" + DOCUMENT_INSTANCE_CONTENT_PUT_URI, valuesMap);
+
+        logger.debug("About to send PUT request with streamed content to '{}'", uri);
+        KieServerHttpRequest request = newRequest(uri).contentType(MediaType.APPLICATION_OCTET_STREAM).body(content).put();
+        KieServerHttpResponse response = request.response();
+
+        owner.setConversationId(response.header(KieServerConstants.KIE_CONVERSATION_ID_TYPE_HEADER));
+        if (response.code() != Response.Status.NO_CONTENT.getStatusCode()) {
+            throw createExceptionForUnexpectedResponseCode(request, response);
+        }
+    }
+
+    @Override
+    public InputStream getDocumentContent(String identifier) {
+        return getDocumentContent(identifier, 0, -1);
+    }
+
+    @Override
+    public InputStream getDocumentContent(String identifier, long offset, long length) {
+        assertRestTransport("getDocumentContent");
+
+        Map<String, Object> valuesMap = new HashMap<String, Object>();
+        valuesMap.put(DOCUMENT_ID, identifier);
+        String uri = build(loadBalancer.getUrl(), DOCUMENT_URI + "/" + DOCUMENT_INSTANCE_CONTENT_GET_URI, valuesMap);
+
+        logger.debug("About to send GET request for streamed content to '{}'", uri);
+        KieServerHttpRequest request = newRequest(uri).accept(MediaType.APPLICATION_OCTET_STREAM);
+        if (offset > 0 || length > 0) {
+            request.header("Range", "bytes=" + offset + "-" + (length > 0 ? Long.toString(offset + length - 1) : ""));
+        }
+        request.get();
+        KieServerHttpResponse response = request.response();
+
+        owner.setConversationId(response.header(KieServerConstants.KIE_CONVERSATION_ID_TYPE_HEADER));
+        if (response.code() != Response.Status.OK.getStatusCode() && response.code() != Response.Status.PARTIAL_CONTENT.getStatusCode()) {
+            throw createExceptionForUnexpectedResponseCode(request, response);
+        }
+        return response.stream();
+    }
+
+    protected void assertRestTransport(String operation) {
+        if (!config.isRest()) {
+            throw new UnsupportedOperationException("Streaming of document content (" + operation + ") is only supported by REST transport");
+        }
+    }
 }
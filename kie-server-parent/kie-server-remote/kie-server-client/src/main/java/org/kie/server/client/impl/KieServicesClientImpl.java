@@ -38,6 +38,7 @@ import org.kie.server.api.model.KieServerStateInfo;
 import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.ServiceResponsesList;
+import org.kie.server.client.CommandBatch;
 import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.KieServicesConfiguration;
 import org.kie.server.api.exception.KieServicesException;
@@ -45,6 +46,7 @@ import org.kie.server.client.RuleServicesClient;
 import org.kie.server.client.helper.KieServicesClientBuilder;
 import org.kie.server.client.jms.RequestReplyResponseHandler;
 import org.kie.server.client.jms.ResponseHandler;
+import org.kie.server.client.websocket.WebSocketCommandChannel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,8 +65,10 @@ public class KieServicesClientImpl extends AbstractKieServicesClientImpl impleme
     private static List<KieServicesClientBuilder> loadedClientBuilders = loadClientBuilders();   // load it only once to make sure it's thread safe
 
     private String conversationId;
+    private volatile WebSocketCommandChannel webSocketChannel;
 
     private KieServerInfo kieServerInfo;
+    private List<String> serverCapabilities;
     private Map<Class<?>, Object> servicesClients = new HashMap<Class<?>, Object>();
 
     public KieServicesClientImpl(KieServicesConfiguration config) {
@@ -84,6 +88,12 @@ public class KieServicesClientImpl extends AbstractKieServicesClientImpl impleme
         if (serverCapabilities == null) {
             serverCapabilities = getCapabilitiesFromServer();
         }
+        this.serverCapabilities = serverCapabilities;
+        servicesClients.putAll(buildServicesClients(config, serverCapabilities));
+    }
+
+    private Map<Class<?>, Object> buildServicesClients(KieServicesConfiguration config, List<String> serverCapabilities) {
+        Map<Class<?>, Object> builtClients = new HashMap<Class<?>, Object>();
         if (serverCapabilities != null && !serverCapabilities.isEmpty()) {
             // process available client builders
             Map<String, KieServicesClientBuilder> clientBuildersByCapability = new HashMap<String, KieServicesClientBuilder>();
@@ -108,7 +118,7 @@ public class KieServicesClientImpl extends AbstractKieServicesClientImpl impleme
                         }
 
                         logger.debug("Capability implemented by {}", clients);
-                        servicesClients.putAll(clients);
+                        builtClients.putAll(clients);
                     } catch (Exception e) {
                         logger.warn("Builder {} throw exception while setting up clients, no {} capabilities will be available", builder, capability);
                     }
@@ -117,7 +127,33 @@ public class KieServicesClientImpl extends AbstractKieServicesClientImpl impleme
                 }
             }
         }
+        return builtClients;
+    }
+
+    /**
+     * Builds separate set of services clients that hand their command scripts over to given batch instead of
+     * sending them to the server
+     */
+    Map<Class<?>, Object> buildBatchServicesClients(CommandBatchImpl batch) {
+        if (!(config instanceof KieServicesConfigurationImpl)) {
+            throw new UnsupportedOperationException("Batching is not supported for configuration " + config.getClass().getName());
+        }
+        Map<Class<?>, Object> clients = buildServicesClients(((KieServicesConfigurationImpl) config).cloneForCommands(), serverCapabilities);
+        for (Object serviceClient : clients.values()) {
+            if (serviceClient instanceof AbstractKieServicesClientImpl) {
+                ((AbstractKieServicesClientImpl) serviceClient).setBatch(batch);
+            }
+        }
+        return clients;
+    }
 
+    /**
+     * Creates new batch of services clients calls that are sent to the server as single command script
+     * @param maxSize number of queued calls that triggers flush, 0 or less to flush only explicitly
+     * @param maxDelay time in milliseconds after first queued call that triggers flush, 0 or less to flush only explicitly
+     */
+    public CommandBatch newCommandBatch(int maxSize, long maxDelay) {
+        return new CommandBatchImpl(this, maxSize, maxDelay);
     }
 
     private List<String> getCapabilitiesFromServer() {
@@ -358,6 +394,34 @@ public class KieServicesClientImpl extends AbstractKieServicesClientImpl impleme
         }
     }
 
+    /**
+     * Returns Web Socket channel shared by this client and all its services clients, opened lazily on first use
+     */
+    public WebSocketCommandChannel getWebSocketChannel() {
+        WebSocketCommandChannel channel = webSocketChannel;
+        if (channel == null) {
+            synchronized (this) {
+                channel = webSocketChannel;
+                if (channel == null) {
+                    channel = new WebSocketCommandChannel(loadBalancer.getUrl(), config);
+                    webSocketChannel = channel;
+                }
+            }
+        }
+        return channel;
+    }
+
+    /**
+     * Releases resources held by the client, currently the Web Socket connection when that transport is used
+     */
+    public void close() {
+        WebSocketCommandChannel channel = webSocketChannel;
+        if (channel != null) {
+            webSocketChannel = null;
+            channel.close();
+        }
+    }
+
     private static synchronized List<KieServicesClientBuilder> loadClientBuilders() {
         List<KieServicesClientBuilder> builders = new ArrayList<KieServicesClientBuilder>();
         for (KieServicesClientBuilder builder : clientBuilders) {
@@ -46,7 +46,7 @@ public final class KieServicesConfigurationImpl
 
     private             long timeoutInMillisecs      = 10000; // in milliseconds
 
-    // REST or JMS
+    // REST, JMS or WEBSOCKET
     private final Transport transport;
 
     // General
@@ -146,6 +146,30 @@ public final class KieServicesConfigurationImpl
 
     // REST ----------------------------------------------------------------------------------------------------------------------
 
+    // WEBSOCKET ----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Web Socket based constructor, commands are sent over single persistent connection to the server
+     * @param url the URL to the server REST endpoint (e.g.: "http://localhost:8080/kie-server/services/rest/server")
+     * @param credentialsProvider provider of the credentials used when opening the connection
+     * @param timeout the maximum time in milliseconds to wait for response of a command
+     * @param transport must be {@link Transport#WEBSOCKET}
+     */
+    public KieServicesConfigurationImpl(String url, CredentialsProvider credentialsProvider, long timeout, Transport transport) {
+        if (transport != Transport.WEBSOCKET) {
+            throw new IllegalArgumentException("Transport " + transport + " is not supported by this constructor");
+        }
+        this.transport = transport;
+
+        this.serverUrl = url;
+        this.timeoutInMillisecs = timeout;
+        this.credentialsProvider = credentialsProvider;
+        if (credentialsProvider instanceof EnteredCredentialsProvider) {
+            this.userName = ((EnteredCredentialsProvider) credentialsProvider).getUsername();
+            this.password = ((EnteredCredentialsProvider) credentialsProvider).getPassword();
+        }
+    }
+
     // JMS ----------------------------------------------------------------------------------------------------------------------
 
     public KieServicesConfigurationImpl(ConnectionFactory connectionFactory, Queue requestQueue, Queue responseQueue) {
@@ -431,6 +455,10 @@ public final class KieServicesConfigurationImpl
 
     // Clone ---
     private KieServicesConfigurationImpl(KieServicesConfigurationImpl config) {
+        this( config, config.transport );
+    }
+
+    private KieServicesConfigurationImpl(KieServicesConfigurationImpl config, Transport transport) {
         this.connectionFactory = config.connectionFactory;
 
         this.extraClasses = config.extraClasses;
@@ -440,7 +468,7 @@ public final class KieServicesConfigurationImpl
         this.responseQueue = config.responseQueue;
         this.serverUrl = config.serverUrl;
         this.timeoutInMillisecs = config.timeoutInMillisecs;
-        this.transport = config.transport;
+        this.transport = transport;
         this.userName = config.userName;
         this.useSsl = config.useSsl;
         this.capabilities = config.capabilities;
@@ -456,6 +484,14 @@ public final class KieServicesConfigurationImpl
         return new KieServicesConfigurationImpl( this );
     }
 
+    /**
+     * Copy of this configuration for clients that do not call REST endpoints directly but produce command scripts,
+     * used by batching where the scripts are sent by the owning client with its own transport
+     */
+    KieServicesConfigurationImpl cloneForCommands() {
+        return new KieServicesConfigurationImpl( this, Transport.JMS );
+    }
+
     @Override
     public String toString() {
         return "KieServicesConfiguration{" +
@@ -58,6 +58,10 @@ public class AsyncResponseHandler implements ResponseHandler {
         this.callback = callback;
     }
 
+    public ResponseCallback getCallback() {
+        return callback;
+    }
+
     @Override
     public int getInteractionPattern() {
         return JMSConstants.ASYNC_REPLY_PATTERN;
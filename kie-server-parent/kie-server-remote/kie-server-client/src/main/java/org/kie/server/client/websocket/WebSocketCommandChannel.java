@@ -0,0 +1,346 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.client.websocket;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import javax.websocket.ClientEndpointConfig;
+import javax.websocket.CloseReason;
+import javax.websocket.ContainerProvider;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.MessageHandler;
+import javax.websocket.Session;
+
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.exception.KieServicesException;
+import org.kie.server.api.websocket.WebSocketCommandFrame;
+import org.kie.server.client.CredentialsProvider;
+import org.kie.server.client.KieServicesConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single persistent Web Socket connection to KIE Server shared by all services clients of one
+ * <code>KieServicesClient</code>. Requests are multiplexed by correlation id so any number of threads can wait
+ * for their responses at the same time, and requests issued while the previous frame is being sent are batched
+ * into the next frame.
+ */
+public class WebSocketCommandChannel extends Endpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketCommandChannel.class);
+
+    private static final String REST_SERVICES_SUFFIX = "/services/rest/server";
+
+    private final URI endpointUri;
+    private final ClientEndpointConfig endpointConfig;
+    private final long timeout;
+    private final int maxBatchSize;
+
+    private final AtomicLong correlationIds = new AtomicLong();
+    private final Map<String, CompletableFuture<WebSocketCommandFrame.Entry>> pending = new ConcurrentHashMap<>();
+    // requests sent as fire and forget, they are completed as soon as they are written
+    private final Set<String> withoutResponse = ConcurrentHashMap.newKeySet();
+    private final Queue<WebSocketCommandFrame.Entry> outbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService sender;
+    private final ExecutorService callbacks;
+
+    private volatile Session session;
+    private volatile boolean closed;
+
+    public WebSocketCommandChannel(String serverUrl, KieServicesConfiguration config) {
+        this.endpointUri = toEndpointUri(serverUrl);
+        this.endpointConfig = ClientEndpointConfig.Builder.create()
+                .configurator(new AuthorizationConfigurator(config.getCredentialsProvider(), config.getHeaders()))
+                .build();
+        this.timeout = config.getTimeout();
+        this.maxBatchSize = Integer.parseInt(System.getProperty(KieServerConstants.CFG_KIE_SERVER_WEBSOCKET_BATCH_SIZE, "32"));
+        ScheduledThreadPoolExecutor sender = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "KieServicesClient - Web Socket sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // timeouts are cancelled for every response received so do not keep them until they would expire
+        sender.setRemoveOnCancelPolicy(true);
+        this.sender = sender;
+        this.callbacks = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "KieServicesClient - Web Socket callbacks");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public WebSocketCommandFrame.Entry newRequest(int formatId, String payload) {
+        return new WebSocketCommandFrame.Entry(Long.toString(correlationIds.incrementAndGet()), formatId, payload);
+    }
+
+    /**
+     * Sends given request and waits for its response at most as long as the configured client timeout
+     * @param request request created by {@link #newRequest(int, String)}
+     * @return response entry with the same correlation id
+     */
+    public WebSocketCommandFrame.Entry execute(WebSocketCommandFrame.Entry request) {
+        CompletableFuture<WebSocketCommandFrame.Entry> response = submit(request, true);
+        try {
+            return response.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new KieServicesException("Response to request " + request.getCorrelationId() + " not received within " + timeout + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KieServicesException("Interrupted while waiting for response to request " + request.getCorrelationId(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof KieServicesException) {
+                throw (KieServicesException) e.getCause();
+            }
+            throw new KieServicesException("Unable to execute request over Web Socket", e.getCause());
+        } finally {
+            pending.remove(request.getCorrelationId());
+        }
+    }
+
+    /**
+     * Sends given request without waiting for its response, the callback is invoked from separate thread once
+     * the response arrives, the request fails to be sent or the configured client timeout elapses
+     * @param request request created by {@link #newRequest(int, String)}
+     * @param callback receives either the response entry or the error
+     */
+    public void executeAsync(WebSocketCommandFrame.Entry request, BiConsumer<WebSocketCommandFrame.Entry, Throwable> callback) {
+        submit(request, true).whenCompleteAsync(callback, callbacks);
+    }
+
+    /**
+     * Sends given request without waiting for it to be written nor for its response, the response sent back by
+     * the server is ignored
+     * @param request request created by {@link #newRequest(int, String)}
+     */
+    public void send(WebSocketCommandFrame.Entry request) {
+        submit(request, false).whenComplete((response, error) -> {
+            if (error != null) {
+                logger.warn("Unable to send request {} to {} due to {}", request.getCorrelationId(), endpointUri, error.getMessage());
+            }
+        });
+    }
+
+    protected CompletableFuture<WebSocketCommandFrame.Entry> submit(WebSocketCommandFrame.Entry request, boolean expectResponse) {
+        if (closed) {
+            throw new KieServicesException("Web Socket connection to " + endpointUri + " is already closed");
+        }
+        String correlationId = request.getCorrelationId();
+        CompletableFuture<WebSocketCommandFrame.Entry> response = new CompletableFuture<>();
+        ScheduledFuture<?> timeoutTask = sender.schedule(() -> response.completeExceptionally(
+                new KieServicesException("Response to request " + correlationId + " not received within " + timeout + " ms")),
+                                                         timeout, TimeUnit.MILLISECONDS);
+        response.whenComplete((entry, error) -> {
+            timeoutTask.cancel(false);
+            pending.remove(correlationId);
+            withoutResponse.remove(correlationId);
+        });
+        if (!expectResponse) {
+            withoutResponse.add(correlationId);
+        }
+        pending.put(correlationId, response);
+        outbox.add(request);
+        if (flushScheduled.compareAndSet(false, true)) {
+            sender.execute(this::flush);
+        }
+        return response;
+    }
+
+    public void close() {
+        closed = true;
+        sender.shutdownNow();
+        callbacks.shutdown();
+        Session current = session;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                logger.warn("Unexpected error while closing Web Socket connection to {}", endpointUri, e);
+            }
+        }
+        failPending("Web Socket connection to " + endpointUri + " was closed");
+    }
+
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+        logger.debug("Web Socket connection to {} opened with session id {}", endpointUri, session.getId());
+        session.setMaxTextMessageBufferSize(Math.max(session.getMaxTextMessageBufferSize(), WebSocketCommandFrame.MAX_FRAME_SIZE));
+        session.addMessageHandler(new MessageHandler.Whole<String>() {
+            @Override
+            public void onMessage(String frame) {
+                onFrame(frame);
+            }
+        });
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        logger.debug("Web Socket session {} closed due to {}", session.getId(), closeReason);
+        if (session == this.session) {
+            this.session = null;
+            failPending("Web Socket connection to " + endpointUri + " was closed: " + closeReason.getReasonPhrase());
+        }
+    }
+
+    @Override
+    public void onError(Session session, Throwable thr) {
+        logger.warn("Error on Web Socket session {} due to {}", session.getId(), thr.getMessage(), thr);
+    }
+
+    protected void onFrame(String frame) {
+        List<WebSocketCommandFrame.Entry> responses;
+        try {
+            responses = WebSocketCommandFrame.decode(frame);
+        } catch (RuntimeException e) {
+            logger.error("Unable to decode frame received from {}", endpointUri, e);
+            return;
+        }
+        for (WebSocketCommandFrame.Entry response : responses) {
+            CompletableFuture<WebSocketCommandFrame.Entry> future = pending.get(response.getCorrelationId());
+            if (future != null) {
+                future.complete(response);
+            } else {
+                logger.debug("Response {} received after its request was abandoned, ignoring", response.getCorrelationId());
+            }
+        }
+    }
+
+    protected void flush() {
+        flushScheduled.set(false);
+        while (!outbox.isEmpty()) {
+            List<WebSocketCommandFrame.Entry> batch = new ArrayList<>();
+            WebSocketCommandFrame.Entry request;
+            while (batch.size() < maxBatchSize && (request = outbox.poll()) != null) {
+                // skip requests which already timed out
+                if (pending.containsKey(request.getCorrelationId())) {
+                    batch.add(request);
+                }
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+
+            try {
+                logger.debug("Sending {} request(s) in single frame to {}", batch.size(), endpointUri);
+                sendFrame(WebSocketCommandFrame.encode(batch));
+                for (WebSocketCommandFrame.Entry sent : batch) {
+                    CompletableFuture<WebSocketCommandFrame.Entry> future = pending.get(sent.getCorrelationId());
+                    if (future != null && withoutResponse.contains(sent.getCorrelationId())) {
+                        future.complete(null);
+                    }
+                }
+            } catch (Exception e) {
+                KieServicesException error = new KieServicesException("Unable to send request(s) over Web Socket to " + endpointUri, e);
+                for (WebSocketCommandFrame.Entry failed : batch) {
+                    CompletableFuture<WebSocketCommandFrame.Entry> future = pending.get(failed.getCorrelationId());
+                    if (future != null) {
+                        future.completeExceptionally(error);
+                    }
+                }
+            }
+        }
+    }
+
+    protected void sendFrame(String frame) throws Exception {
+        getSession().getBasicRemote().sendText(frame);
+    }
+
+    protected synchronized Session getSession() throws Exception {
+        Session current = session;
+        if (current == null || !current.isOpen()) {
+            if (closed) {
+                throw new IllegalStateException("Channel is closed");
+            }
+            current = ContainerProvider.getWebSocketContainer().connectToServer(this, endpointConfig, endpointUri);
+            session = current;
+        }
+        return current;
+    }
+
+    protected void failPending(String message) {
+        KieServicesException error = new KieServicesException(message);
+        for (CompletableFuture<WebSocketCommandFrame.Entry> future : pending.values()) {
+            future.completeExceptionally(error);
+        }
+    }
+
+    boolean isIdle() {
+        return pending.isEmpty() && withoutResponse.isEmpty();
+    }
+
+    static URI toEndpointUri(String serverUrl) {
+        String url = serverUrl;
+        while (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        if (url.endsWith(REST_SERVICES_SUFFIX)) {
+            url = url.substring(0, url.length() - REST_SERVICES_SUFFIX.length());
+        }
+        if (url.startsWith("https:")) {
+            url = "wss:" + url.substring("https:".length());
+        } else if (url.startsWith("http:")) {
+            url = "ws:" + url.substring("http:".length());
+        }
+        return URI.create(url + WebSocketCommandFrame.RUNTIME_ENDPOINT_PATH);
+    }
+
+    private static class AuthorizationConfigurator extends ClientEndpointConfig.Configurator {
+
+        private final CredentialsProvider credentialsProvider;
+        private final Map<String, String> headers;
+
+        AuthorizationConfigurator(CredentialsProvider credentialsProvider, Map<String, String> headers) {
+            this.credentialsProvider = credentialsProvider;
+            this.headers = headers;
+        }
+
+        @Override
+        public void beforeRequest(Map<String, List<String>> requestHeaders) {
+            if (headers != null) {
+                for (Map.Entry<String, String> header : headers.entrySet()) {
+                    requestHeaders.put(header.getKey(), Collections.singletonList(header.getValue()));
+                }
+            }
+            if (credentialsProvider != null) {
+                String authorization = credentialsProvider.getAuthorization();
+                if (authorization != null) {
+                    requestHeaders.put(credentialsProvider.getHeaderName(), Collections.singletonList(authorization));
+                }
+            }
+        }
+    }
+}
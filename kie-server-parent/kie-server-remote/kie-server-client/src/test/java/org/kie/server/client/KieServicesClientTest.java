@@ -15,11 +15,16 @@
 
 package org.kie.server.client;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
+import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieContainerResourceList;
@@ -254,6 +259,71 @@ public class KieServicesClientTest extends BaseKieServicesClientTest {
         assertEquals("Version", VERSION, releaseId.getVersion());
     }
 
+    @Test
+    public void testCommandBatchSentAsSingleRequest() throws Exception {
+        stubFor(post(urlEqualTo("/config/BPM?containerId=" + CONTAINER_ID))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/xml")
+                        .withBody("<responses>\n" +
+                                "  <response type=\"SUCCESS\" msg=\"\"/>\n" +
+                                "  <response type=\"SUCCESS\" msg=\"\"/>\n" +
+                                "</responses>")));
+
+        config.setCapabilities(Collections.singletonList(KieServerConstants.CAPABILITY_BPM));
+        KieServicesClient client = KieServicesFactory.newKieServicesClient(config);
+
+        try (CommandBatch batch = KieServicesFactory.newCommandBatch(client, 0, 0)) {
+            CompletableFuture<Object> first = batch.submit(ProcessServicesClient.class, processClient -> {
+                processClient.abortProcessInstance(CONTAINER_ID, 1L);
+                return "aborted";
+            });
+            CompletableFuture<Object> second = batch.submit(ProcessServicesClient.class, processClient -> {
+                processClient.abortProcessInstance(CONTAINER_ID, 2L);
+                return "aborted";
+            });
+            batch.flush();
+
+            assertEquals("aborted", first.get(5, TimeUnit.SECONDS));
+            assertEquals("aborted", second.get(5, TimeUnit.SECONDS));
+            assertEquals(0, batch.size());
+        }
+
+        verify(1, postRequestedFor(urlEqualTo("/config/BPM?containerId=" + CONTAINER_ID)));
+    }
+
+    @Test(timeout = 10000)
+    public void testCommandBatchWithMoreCallsThanSizeThreshold() throws Exception {
+        stubFor(post(urlEqualTo("/config/BPM?containerId=" + CONTAINER_ID))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/xml")
+                        .withBody("<responses>\n" +
+                                "  <response type=\"SUCCESS\" msg=\"\"/>\n" +
+                                "  <response type=\"SUCCESS\" msg=\"\"/>\n" +
+                                "</responses>")));
+
+        config.setCapabilities(Collections.singletonList(KieServerConstants.CAPABILITY_BPM));
+        KieServicesClient client = KieServicesFactory.newKieServicesClient(config);
+
+        // only two calls can wait for the batch at the same time, the others wait for a free caller thread
+        try (CommandBatch batch = KieServicesFactory.newCommandBatch(client, 2, 0)) {
+            List<CompletableFuture<Object>> calls = new ArrayList<>();
+            for (long processInstanceId = 1; processInstanceId <= 6; processInstanceId++) {
+                long id = processInstanceId;
+                calls.add(batch.submit(ProcessServicesClient.class, processClient -> {
+                    processClient.abortProcessInstance(CONTAINER_ID, id);
+                    return "aborted";
+                }));
+            }
+            for (CompletableFuture<Object> call : calls) {
+                assertEquals("aborted", call.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        verify(3, postRequestedFor(urlEqualTo("/config/BPM?containerId=" + CONTAINER_ID)));
+    }
+
     // TODO create more tests for other operations
 
     private void assertSuccess(ServiceResponse<?> response) {
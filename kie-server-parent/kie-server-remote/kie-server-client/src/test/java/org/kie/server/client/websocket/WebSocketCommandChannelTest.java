@@ -0,0 +1,266 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.client.websocket;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.exception.KieServicesException;
+import org.kie.server.api.websocket.WebSocketCommandFrame;
+import org.kie.server.client.KieServicesFactory;
+
+import static org.junit.Assert.*;
+
+public class WebSocketCommandChannelTest {
+
+    private static final String SERVER_URL = "http://localhost:8080/kie-server/services/rest/server";
+
+    private TestChannel channel;
+
+    @After
+    public void cleanup() {
+        System.clearProperty(KieServerConstants.CFG_KIE_SERVER_WEBSOCKET_BATCH_SIZE);
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    @Test
+    public void testEndpointUriFromServerUrl() {
+        assertEquals("ws://localhost:8080/kie-server/websocket/runtime",
+                     WebSocketCommandChannel.toEndpointUri("http://localhost:8080/kie-server/services/rest/server").toString());
+        assertEquals("wss://localhost:8443/kie-server/websocket/runtime",
+                     WebSocketCommandChannel.toEndpointUri("https://localhost:8443/kie-server/services/rest/server/").toString());
+        assertEquals("ws://localhost:8080/kie-server/websocket/runtime",
+                     WebSocketCommandChannel.toEndpointUri("ws://localhost:8080/kie-server").toString());
+    }
+
+    @Test(timeout = 10000)
+    public void testResponsesMatchedByCorrelationId() throws Exception {
+        channel = new TestChannel(5000);
+        Request first = new Request(channel, "first");
+        Request second = new Request(channel, "second");
+
+        List<WebSocketCommandFrame.Entry> requests = new ArrayList<>();
+        while (requests.size() < 2) {
+            requests.addAll(channel.sent.take());
+        }
+        // responses come back in different order than requests were sent
+        channel.onFrame(WebSocketCommandFrame.encode(Arrays.asList(response(second.request), response(first.request))));
+
+        assertEquals("response-first", first.get().getPayload());
+        assertEquals("response-second", second.get().getPayload());
+    }
+
+    @Test(timeout = 10000)
+    public void testRequestsBatchedWhileSending() throws Exception {
+        channel = new TestChannel(5000);
+        channel.sendGate = new CountDownLatch(1);
+
+        Request first = new Request(channel, "first");
+        channel.sendStarted.await();
+        Request second = new Request(channel, "second");
+        Request third = new Request(channel, "third");
+        Request fourth = new Request(channel, "fourth");
+        second.awaitWaiting();
+        third.awaitWaiting();
+        fourth.awaitWaiting();
+        channel.sendGate.countDown();
+
+        assertEquals(1, channel.sent.take().size());
+        assertEquals(3, channel.sent.take().size());
+
+        channel.onFrame(WebSocketCommandFrame.encode(Arrays.asList(response(first.request), response(second.request),
+                                                                   response(third.request), response(fourth.request))));
+        assertEquals("response-fourth", fourth.get().getPayload());
+    }
+
+    @Test(timeout = 10000)
+    public void testBatchSizeLimit() throws Exception {
+        System.setProperty(KieServerConstants.CFG_KIE_SERVER_WEBSOCKET_BATCH_SIZE, "2");
+        channel = new TestChannel(5000);
+        channel.sendGate = new CountDownLatch(1);
+
+        Request first = new Request(channel, "first");
+        channel.sendStarted.await();
+        List<Request> others = Arrays.asList(new Request(channel, "second"), new Request(channel, "third"), new Request(channel, "fourth"));
+        for (Request other : others) {
+            other.awaitWaiting();
+        }
+        channel.sendGate.countDown();
+
+        assertEquals(1, channel.sent.take().size());
+        assertEquals(2, channel.sent.take().size());
+        assertEquals(1, channel.sent.take().size());
+    }
+
+    @Test(timeout = 10000)
+    public void testRequestTimeout() throws Exception {
+        channel = new TestChannel(200);
+        Request request = new Request(channel, "first");
+
+        try {
+            request.get();
+            fail("Request without response must time out");
+        } catch (KieServicesException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("not received within 200 ms"));
+        }
+        // late response is ignored
+        channel.onFrame(WebSocketCommandFrame.encode(response(request.request)));
+    }
+
+    @Test(timeout = 10000)
+    public void testPendingRequestsFailedOnClose() throws Exception {
+        channel = new TestChannel(5000);
+        Request first = new Request(channel, "first");
+        Request second = new Request(channel, "second");
+        first.awaitWaiting();
+        second.awaitWaiting();
+
+        channel.close();
+
+        for (Request request : Arrays.asList(first, second)) {
+            try {
+                request.get();
+                fail("Pending request must fail when channel is closed");
+            } catch (KieServicesException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("was closed"));
+            }
+        }
+        try {
+            channel.execute(channel.newRequest(0, "third"));
+            fail("Closed channel must not accept new requests");
+        } catch (KieServicesException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("already closed"));
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testAsyncRequestCallback() throws Exception {
+        channel = new TestChannel(5000);
+        WebSocketCommandFrame.Entry request = channel.newRequest(0, "first");
+        CompletableFuture<WebSocketCommandFrame.Entry> callback = new CompletableFuture<>();
+
+        channel.executeAsync(request, (response, error) -> callback.complete(response));
+        assertEquals(1, channel.sent.take().size());
+        assertFalse(callback.isDone());
+
+        channel.onFrame(WebSocketCommandFrame.encode(response(request)));
+        assertEquals("response-first", callback.get(5, TimeUnit.SECONDS).getPayload());
+        awaitIdle(channel);
+    }
+
+    @Test(timeout = 10000)
+    public void testAsyncRequestTimeout() throws Exception {
+        channel = new TestChannel(200);
+        CompletableFuture<Throwable> callback = new CompletableFuture<>();
+
+        channel.executeAsync(channel.newRequest(0, "first"), (response, error) -> callback.complete(error));
+
+        Throwable error = callback.get(5, TimeUnit.SECONDS);
+        assertTrue(error instanceof KieServicesException);
+        assertTrue(error.getMessage(), error.getMessage().contains("not received within 200 ms"));
+        awaitIdle(channel);
+    }
+
+    @Test(timeout = 10000)
+    public void testFireAndForgetNotPendingOnceSent() throws Exception {
+        channel = new TestChannel(5000);
+        WebSocketCommandFrame.Entry request = channel.newRequest(0, "first");
+
+        channel.send(request);
+        assertEquals(1, channel.sent.take().size());
+        awaitIdle(channel);
+        // response sent back anyway is ignored
+        channel.onFrame(WebSocketCommandFrame.encode(response(request)));
+    }
+
+    private static void awaitIdle(WebSocketCommandChannel channel) throws InterruptedException {
+        // requests are removed from pending ones by the thread completing them
+        while (!channel.isIdle()) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static WebSocketCommandFrame.Entry response(WebSocketCommandFrame.Entry request) {
+        return new WebSocketCommandFrame.Entry(request.getCorrelationId(), request.getFormatId(), "response-" + request.getPayload());
+    }
+
+    private static class TestChannel extends WebSocketCommandChannel {
+
+        private final BlockingQueue<List<WebSocketCommandFrame.Entry>> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private volatile CountDownLatch sendGate;
+
+        TestChannel(long timeout) {
+            super(SERVER_URL, KieServicesFactory.newWebSocketConfiguration(SERVER_URL, "user", "password", timeout));
+        }
+
+        @Override
+        protected void sendFrame(String frame) throws Exception {
+            sendStarted.countDown();
+            CountDownLatch gate = sendGate;
+            if (gate != null) {
+                gate.await();
+            }
+            sent.add(WebSocketCommandFrame.decode(frame));
+        }
+    }
+
+    private static class Request {
+
+        private final WebSocketCommandFrame.Entry request;
+        private final CompletableFuture<WebSocketCommandFrame.Entry> response = new CompletableFuture<>();
+        private final Thread caller;
+
+        Request(WebSocketCommandChannel channel, String payload) {
+            this.request = channel.newRequest(0, payload);
+            this.caller = new Thread(() -> {
+                try {
+                    response.complete(channel.execute(request));
+                } catch (Throwable e) {
+                    response.completeExceptionally(e);
+                }
+            });
+            caller.start();
+        }
+
+        void awaitWaiting() throws InterruptedException {
+            // caller waits for its response only after the request is queued for sending
+            while (caller.getState() != Thread.State.TIMED_WAITING && !response.isDone()) {
+                Thread.sleep(5);
+            }
+        }
+
+        WebSocketCommandFrame.Entry get() throws Exception {
+            try {
+                return response.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                throw (Exception) e.getCause();
+            }
+        }
+    }
+}
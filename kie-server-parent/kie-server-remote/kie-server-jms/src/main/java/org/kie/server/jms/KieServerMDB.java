@@ -51,6 +51,8 @@ import org.kie.server.services.api.KieContainerInstance;
 import org.kie.server.services.api.KieServerExtension;
 import org.kie.server.services.impl.KieServerImpl;
 import org.kie.server.services.impl.KieServerLocator;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
+import org.kie.server.services.impl.metrics.KieServerMetrics.RequestStages;
 import org.kie.server.services.impl.security.adapters.JMSSecurityAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -259,7 +261,9 @@ public class KieServerMDB
             logger.debug("Selected marshaller is {}", marshaller);
 
             // 3. deserialize request
+            RequestStages stages = KieServerMetrics.startRequest(KieServerMetrics.TRANSPORT_JMS, containerId);
             CommandScript script = unmarshallRequest(message, msgCorrId, marshaller, format);
+            stages.completed(KieServerMetrics.STAGE_UNMARSHAL);
 
             logger.debug("Target capability is {}", targetCapability);
             for (KieServerExtension extension : kieServer.getServerExtensions()) {
@@ -276,13 +280,17 @@ public class KieServerMDB
             }
 
             // 4. process request
+            stages.skip();
             ServiceResponsesList response = executor.executeScript(script, format, classType);
+            stages.completed(KieServerMetrics.STAGE_EXECUTE);
 
             if (interactionPattern < UPPER_LIMIT_REPLY_INTERACTION_PATTERNS) {
                 connect = startConnectionAndSession();
                 logger.debug("Response message is about to be sent according to selected interaction pattern {}", interactionPattern);
                 // 5. serialize response
+                stages.skip();
                 Message msg = marshallResponse(connect.getSession(), msgCorrId, format, marshaller, response);
+                stages.completed(KieServerMetrics.STAGE_MARSHAL);
                 // set conversation id for routing
                 if (containerId != null && (conversationId == null || conversationId.trim().isEmpty())) {
                     try {
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.jms.executor;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.kie.server.services.api.KieServerMetricsCollector;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
+
+/**
+ * Statistics of job acquisition done by {@link PollExecutorBean}, shared by all bean instances. When the metrics
+ * extension is enabled they are published as gauges of the metrics endpoint.
+ */
+public class JobAcquisitionMetrics {
+
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder emptyPolls = new LongAdder();
+    private final LongAdder skippedPolls = new LongAdder();
+    private final LongAdder acquiredJobs = new LongAdder();
+    private final LongAdder acquisitionFailures = new LongAdder();
+    private final LongAdder acquisitionTime = new LongAdder();
+    private final AtomicLong maxAcquisitionTime = new AtomicLong();
+
+    private volatile int lastBatchSize;
+    private volatile int queueDepth = -1;
+
+    private final Map<String, CommandMetrics> commands = new ConcurrentHashMap<>();
+
+    // collector the gauges were registered with, the metrics extension might install it after the executor started
+    private volatile KieServerMetricsCollector gaugesCollector;
+
+    void pollSkipped() {
+        skippedPolls.increment();
+    }
+
+    void jobAcquired(long elapsedNanos, boolean found) {
+        polls.increment();
+        acquisitionTime.add(elapsedNanos);
+        maxAcquisitionTime.accumulateAndGet(elapsedNanos, Math::max);
+        if (found) {
+            acquiredJobs.increment();
+        } else {
+            emptyPolls.increment();
+        }
+    }
+
+    void jobAcquisitionFailed(long elapsedNanos) {
+        polls.increment();
+        acquisitionTime.add(elapsedNanos);
+        maxAcquisitionTime.accumulateAndGet(elapsedNanos, Math::max);
+        acquisitionFailures.increment();
+    }
+
+    void batchCompleted(int size) {
+        lastBatchSize = size;
+    }
+
+    void queueDepthSampled(int depth) {
+        queueDepth = depth;
+    }
+
+    void jobExecuted(String commandName, long elapsedNanos, boolean failed) {
+        commands.computeIfAbsent(commandName == null ? "unknown" : commandName, name -> new CommandMetrics())
+                .record(elapsedNanos, failed);
+    }
+
+    public long getPolls() {
+        return polls.sum();
+    }
+
+    public long getEmptyPolls() {
+        return emptyPolls.sum();
+    }
+
+    public long getSkippedPolls() {
+        return skippedPolls.sum();
+    }
+
+    public long getAcquiredJobs() {
+        return acquiredJobs.sum();
+    }
+
+    public long getAcquisitionFailures() {
+        return acquisitionFailures.sum();
+    }
+
+    public long getAverageAcquisitionTimeMicros() {
+        long count = polls.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(acquisitionTime.sum() / count);
+    }
+
+    public long getMaxAcquisitionTimeMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxAcquisitionTime.get());
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    /**
+     * Number of queued jobs seen by the last sample, capped by the sample size, -1 when not sampled yet
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public Map<String, CommandMetrics> getCommands() {
+        return Collections.unmodifiableMap(commands);
+    }
+
+    /**
+     * @return acquisition statistics keyed by their name, published as {@link KieServerMetrics#JOB_ACQUISITION} gauge
+     */
+    public Map<String, Number> getAcquisitionValues() {
+        Map<String, Number> values = new HashMap<>();
+        values.put("polls", getPolls());
+        values.put("empty_polls", getEmptyPolls());
+        values.put("skipped_polls", getSkippedPolls());
+        values.put("acquired_jobs", getAcquiredJobs());
+        values.put("acquisition_failures", getAcquisitionFailures());
+        values.put("avg_acquisition_micros", getAverageAcquisitionTimeMicros());
+        values.put("max_acquisition_micros", getMaxAcquisitionTimeMicros());
+        values.put("last_batch_size", lastBatchSize);
+        values.put("queue_depth", queueDepth);
+        return values;
+    }
+
+    public Map<String, Long> getCommandExecutions() {
+        Map<String, Long> values = new HashMap<>();
+        commands.forEach((command, metrics) -> values.put(command, metrics.getExecutions()));
+        return values;
+    }
+
+    public Map<String, Long> getCommandFailures() {
+        Map<String, Long> values = new HashMap<>();
+        commands.forEach((command, metrics) -> values.put(command, metrics.getFailures()));
+        return values;
+    }
+
+    /**
+     * Publishes the statistics as gauges once the metrics extension installed its collector, called on every poll
+     * so that gauges are registered also with a collector installed (or replaced) after the executor started
+     */
+    void registerGauges() {
+        KieServerMetricsCollector collector = KieServerMetrics.getCollector();
+        if (collector == null || collector == gaugesCollector) {
+            return;
+        }
+        synchronized (this) {
+            if (collector != gaugesCollector) {
+                collector.registerGauge(KieServerMetrics.JOB_ACQUISITION, "measure", this::getAcquisitionValues);
+                collector.registerGauge(KieServerMetrics.JOB_EXECUTIONS, "command", this::getCommandExecutions);
+                collector.registerGauge(KieServerMetrics.JOB_FAILURES, "command", this::getCommandFailures);
+                gaugesCollector = collector;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JobAcquisitionMetrics{" +
+                "polls=" + getPolls() +
+                ", emptyPolls=" + getEmptyPolls() +
+                ", skippedPolls=" + getSkippedPolls() +
+                ", acquiredJobs=" + getAcquiredJobs() +
+                ", acquisitionFailures=" + getAcquisitionFailures() +
+                ", avgAcquisitionMicros=" + getAverageAcquisitionTimeMicros() +
+                ", maxAcquisitionMicros=" + getMaxAcquisitionTimeMicros() +
+                ", lastBatchSize=" + lastBatchSize +
+                ", queueDepth=" + queueDepth +
+                ", commands=" + commands +
+                '}';
+    }
+
+    public static class CommandMetrics {
+
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder executionTime = new LongAdder();
+        private final AtomicLong maxExecutionTime = new AtomicLong();
+
+        void record(long elapsedNanos, boolean failed) {
+            executions.increment();
+            executionTime.add(elapsedNanos);
+            maxExecutionTime.accumulateAndGet(elapsedNanos, Math::max);
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        public long getExecutions() {
+            return executions.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getAverageExecutionTimeMillis() {
+            long count = executions.sum();
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(executionTime.sum() / count);
+        }
+
+        public long getMaxExecutionTimeMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxExecutionTime.get());
+        }
+
+        @Override
+        public String toString() {
+            return "{executions=" + getExecutions() +
+                    ", failures=" + getFailures() +
+                    ", avgMillis=" + getAverageExecutionTimeMillis() +
+                    ", maxMillis=" + getMaxExecutionTimeMillis() +
+                    '}';
+        }
+    }
+}
@@ -16,17 +16,24 @@
 package org.kie.server.jms.executor;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.PostConstruct;
 import javax.ejb.Asynchronous;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionManagement;
 import javax.ejb.TransactionManagementType;
 
+import org.jbpm.executor.entities.RequestInfo;
 import org.jbpm.executor.impl.AvailableJobsExecutor;
 import org.jbpm.executor.impl.ClassCacheManager;
 import org.jbpm.executor.impl.ExecutorImpl;
 import org.jbpm.executor.impl.ExecutorServiceImpl;
+import org.kie.api.executor.ExecutorQueryService;
 import org.kie.api.executor.ExecutorService;
+import org.kie.api.executor.STATUS;
+import org.kie.api.runtime.query.QueryContext;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.services.api.KieServerConfig;
 import org.kie.server.services.api.KieServerExtension;
 import org.kie.server.services.api.SupportedTransports;
 import org.kie.server.services.impl.KieServerImpl;
@@ -34,15 +41,31 @@ import org.kie.server.services.impl.KieServerLocator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Polling executor that claims available jobs in batches. Every job is claimed by the query service that
+ * locks the request row and marks it as running, so concurrent bean instances (and other servers sharing
+ * the database) never pick the same job. When a batch was full the next batch is claimed right away, when
+ * nothing was found subsequent timer ticks are skipped with exponential backoff to avoid needless polling.
+ */
 @Stateless(name="AvailableJobsExecutor")
 @TransactionManagement(TransactionManagementType.BEAN)
 public class PollExecutorBean extends AvailableJobsExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(PollExecutorBean.class);
 
+    // acquisition statistics and idle backoff are shared across all pooled instances of the bean
+    private static final JobAcquisitionMetrics metrics = new JobAcquisitionMetrics();
+    private static final AtomicInteger emptyPollsInRow = new AtomicInteger();
+    private static final AtomicInteger ticksToSkip = new AtomicInteger();
+
     private boolean active = true;
     private KieServerImpl kieServer;
 
+    private ExecutorQueryService executorQueryService;
+    private int batchSize = 1;
+    private int maxBatches = 1;
+    private int maxIdleBackoff = 0;
+
     @PostConstruct
     public void init() {
         kieServer = KieServerLocator.getInstance();
@@ -70,9 +93,23 @@ public class PollExecutorBean extends AvailableJobsExecutor {
             return;
         }
         setClassCacheManager(new ClassCacheManager());
-        setQueryService(((ExecutorServiceImpl) executorService).getQueryService());
         setExecutorStoreService(((ExecutorImpl) ((ExecutorServiceImpl) executorService).getExecutor()).getExecutorStoreService());
 
+        KieServerConfig config = kieServer.getServerRegistry().getConfig();
+        configure(((ExecutorServiceImpl) executorService).getQueryService(),
+                  Integer.parseInt(config.getConfigItemValue(KieServerConstants.CFG_EXECUTOR_BATCH_SIZE, "10")),
+                  Integer.parseInt(config.getConfigItemValue(KieServerConstants.CFG_EXECUTOR_BATCH_MAX, "10")),
+                  Integer.parseInt(config.getConfigItemValue(KieServerConstants.CFG_EXECUTOR_IDLE_BACKOFF, "4")));
+    }
+
+    void configure(ExecutorQueryService queryService, int batchSize, int maxBatches, int maxIdleBackoff) {
+        this.executorQueryService = queryService;
+        setQueryService(queryService);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+        this.maxIdleBackoff = Math.max(0, maxIdleBackoff);
+        logger.debug("PollExecutorBean configured with batch size {}, max batches {} and max idle backoff {} ticks",
+                     this.batchSize, this.maxBatches, this.maxIdleBackoff);
     }
 
     @Override
@@ -80,10 +117,106 @@ public class PollExecutorBean extends AvailableJobsExecutor {
     public void executeJob() {
         if (!active) {
             logger.warn("PollExecutor is not active due to startup errors");
+            super.executeJob();
+            return;
+        }
+        metrics.registerGauges();
+        if (skipTick()) {
+            metrics.pollSkipped();
+            return;
+        }
+
+        int batches = 0;
+        int executed;
+        do {
+            executed = executeBatch();
+            batches++;
+            // full batch means there is most likely more work available so poll again immediately
+        } while (executed == batchSize && batches < maxBatches);
+
+        if (executed == 0 && batches == 1) {
+            backoff();
+        } else {
+            emptyPollsInRow.set(0);
+            if (executed == batchSize) {
+                sampleQueueDepth();
+            } else {
+                metrics.queueDepthSampled(0);
+            }
+        }
+        logger.debug("Executor poll completed after {} batch(es), {}", batches, metrics);
+    }
+
+    public static JobAcquisitionMetrics getMetrics() {
+        return metrics;
+    }
+
+    // idle backoff is shared by all bean instances, tests start each from scratch
+    static void resetBackoff() {
+        emptyPollsInRow.set(0);
+        ticksToSkip.set(0);
+    }
+
+    protected int executeBatch() {
+        int executed = 0;
+        while (executed < batchSize) {
+            long start = System.nanoTime();
+            RequestInfo request;
+            try {
+                request = (RequestInfo) executorQueryService.getRequestForProcessing();
+            } catch (Exception e) {
+                // same as the default executor the failure is only logged, the poll ends with what was executed so far
+                metrics.jobAcquisitionFailed(System.nanoTime() - start);
+                logger.warn("Unexpected error while acquiring executor job {}", e.getMessage(), e);
+                break;
+            }
+            metrics.jobAcquired(System.nanoTime() - start, request != null);
+            if (request == null) {
+                break;
+            }
+            executed++;
+
+            long executionStart = System.nanoTime();
+            boolean failed = true;
+            try {
+                executeGivenJob(request);
+                failed = request.getStatus() == STATUS.ERROR || request.getStatus() == STATUS.RETRYING;
+            } finally {
+                metrics.jobExecuted(request.getCommandName(), System.nanoTime() - executionStart, failed);
+            }
         }
-        super.executeJob();
+        metrics.batchCompleted(executed);
+        return executed;
     }
 
+    protected void sampleQueueDepth() {
+        try {
+            // sample is capped to avoid loading large backlog, it only shows that queue is (at least) that deep
+            List<?> queued = executorQueryService.getQueuedRequests(new QueryContext(0, batchSize * maxBatches));
+            metrics.queueDepthSampled(queued.size());
+        } catch (Exception e) {
+            logger.debug("Unable to sample executor queue depth due to {}", e.getMessage());
+        }
+    }
 
+    private boolean skipTick() {
+        int remaining = ticksToSkip.get();
+        while (remaining > 0) {
+            if (ticksToSkip.compareAndSet(remaining, remaining - 1)) {
+                return true;
+            }
+            remaining = ticksToSkip.get();
+        }
+        return false;
+    }
 
+    private void backoff() {
+        if (maxIdleBackoff <= 0) {
+            return;
+        }
+        int emptyPolls = emptyPollsInRow.incrementAndGet();
+        // skip 1, 3, 7... ticks up to configured maximum
+        int skip = (int) Math.min(maxIdleBackoff, (1L << Math.min(emptyPolls, 30)) - 1);
+        ticksToSkip.set(skip);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.jms.executor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.jbpm.executor.entities.RequestInfo;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.api.executor.ExecutorQueryService;
+import org.kie.api.executor.STATUS;
+import org.kie.api.runtime.query.QueryContext;
+import org.kie.server.services.api.KieServerMetricsCollector;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.OngoingStubbing;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PollExecutorBeanTest {
+
+    private static final String FAILING_COMMAND = "FailingCommand";
+
+    @Mock
+    private ExecutorQueryService queryService;
+
+    private PollExecutorBean executor;
+
+    @Before
+    public void setup() {
+        PollExecutorBean.resetBackoff();
+        executor = new PollExecutorBean() {
+            @Override
+            public void executeGivenJob(RequestInfo request) {
+                request.setStatus(FAILING_COMMAND.equals(request.getCommandName()) ? STATUS.ERROR : STATUS.DONE);
+            }
+        };
+    }
+
+    @Test
+    public void testFullBatchesClaimedRightAway() {
+        executor.configure(queryService, 2, 10, 4);
+        availableJobs(5);
+
+        executor.executeJob();
+
+        // two full batches and the last one that found only one job
+        verify(queryService, times(6)).getRequestForProcessing();
+        assertEquals(1, PollExecutorBean.getMetrics().getLastBatchSize());
+        assertEquals(0, PollExecutorBean.getMetrics().getQueueDepth());
+        verify(queryService, never()).getQueuedRequests(any(QueryContext.class));
+    }
+
+    @Test
+    public void testBatchesLimitedAndQueueDepthSampled() {
+        executor.configure(queryService, 2, 2, 4);
+        availableJobs(10);
+        List<org.kie.api.executor.RequestInfo> queued = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            queued.add(job("TestCommand"));
+        }
+        when(queryService.getQueuedRequests(any(QueryContext.class))).thenReturn(queued);
+
+        executor.executeJob();
+
+        verify(queryService, times(4)).getRequestForProcessing();
+        verify(queryService).getQueuedRequests(any(QueryContext.class));
+        assertEquals(2, PollExecutorBean.getMetrics().getLastBatchSize());
+        assertEquals(4, PollExecutorBean.getMetrics().getQueueDepth());
+    }
+
+    @Test
+    public void testEmptyPollsBackOff() {
+        executor.configure(queryService, 2, 10, 4);
+        long emptyPolls = PollExecutorBean.getMetrics().getEmptyPolls();
+        long skippedPolls = PollExecutorBean.getMetrics().getSkippedPolls();
+
+        // empty polls skip 1, 3 and then at most 4 ticks
+        int[] expectedSkips = {1, 3, 4, 4};
+        int ticks = 0;
+        for (int skip : expectedSkips) {
+            executor.executeJob();
+            ticks++;
+            verify(queryService, times(ticks)).getRequestForProcessing();
+            for (int i = 0; i < skip; i++) {
+                executor.executeJob();
+            }
+            verify(queryService, times(ticks)).getRequestForProcessing();
+        }
+
+        assertEquals(emptyPolls + expectedSkips.length, PollExecutorBean.getMetrics().getEmptyPolls());
+        assertEquals(skippedPolls + 12, PollExecutorBean.getMetrics().getSkippedPolls());
+        assertEquals(0, PollExecutorBean.getMetrics().getLastBatchSize());
+    }
+
+    @Test
+    public void testBackoffResetWhenJobFound() {
+        executor.configure(queryService, 2, 10, 4);
+
+        // two empty polls, the second one skips three ticks
+        executor.executeJob();
+        executor.executeJob();
+        executor.executeJob();
+        for (int i = 0; i < 3; i++) {
+            executor.executeJob();
+        }
+        verify(queryService, times(2)).getRequestForProcessing();
+
+        availableJobs(1);
+        executor.executeJob();
+        verify(queryService, times(4)).getRequestForProcessing();
+
+        // next empty poll starts backing off from scratch
+        executor.executeJob();
+        verify(queryService, times(5)).getRequestForProcessing();
+        executor.executeJob();
+        verify(queryService, times(5)).getRequestForProcessing();
+        executor.executeJob();
+        verify(queryService, times(6)).getRequestForProcessing();
+    }
+
+    @Test
+    public void testBackoffDisabled() {
+        executor.configure(queryService, 2, 10, 0);
+
+        for (int i = 0; i < 5; i++) {
+            executor.executeJob();
+        }
+        verify(queryService, times(5)).getRequestForProcessing();
+    }
+
+    @Test
+    public void testCommandMetrics() {
+        executor.configure(queryService, 10, 1, 4);
+        long executions = executions("TestCommand");
+        long failures = failures(FAILING_COMMAND);
+        when(queryService.getRequestForProcessing()).thenReturn(job("TestCommand"), job(FAILING_COMMAND), job("TestCommand"), null);
+
+        executor.executeJob();
+
+        assertEquals(executions + 2, executions("TestCommand"));
+        assertEquals(failures + 1, failures(FAILING_COMMAND));
+
+        Map<String, Number> acquisition = PollExecutorBean.getMetrics().getAcquisitionValues();
+        assertEquals(3, acquisition.get("last_batch_size"));
+        assertTrue(acquisition.containsKey("polls"));
+        assertTrue(acquisition.containsKey("queue_depth"));
+        assertEquals(Long.valueOf(executions + 2), PollExecutorBean.getMetrics().getCommandExecutions().get("TestCommand"));
+        assertEquals(Long.valueOf(failures + 1), PollExecutorBean.getMetrics().getCommandFailures().get(FAILING_COMMAND));
+    }
+
+    @Test
+    public void testAcquisitionFailureLoggedAndCounted() {
+        executor.configure(queryService, 10, 1, 4);
+        long failures = PollExecutorBean.getMetrics().getAcquisitionFailures();
+        long executions = executions("TestCommand");
+        when(queryService.getRequestForProcessing()).thenReturn(job("TestCommand")).thenThrow(new IllegalStateException("database not available"));
+
+        executor.executeJob();
+
+        verify(queryService, times(2)).getRequestForProcessing();
+        assertEquals(failures + 1, PollExecutorBean.getMetrics().getAcquisitionFailures());
+        assertEquals(executions + 1, executions("TestCommand"));
+        assertEquals(1, PollExecutorBean.getMetrics().getLastBatchSize());
+        assertEquals(failures + 1, PollExecutorBean.getMetrics().getAcquisitionValues().get("acquisition_failures"));
+    }
+
+    @Test
+    public void testGaugesRegisteredWithCollectorInstalledLater() {
+        executor.configure(queryService, 2, 10, 0);
+        KieServerMetricsCollector collector = mock(KieServerMetricsCollector.class);
+        try {
+            executor.executeJob();
+
+            KieServerMetrics.setCollector(collector);
+            executor.executeJob();
+            executor.executeJob();
+
+            // registered once, on the first poll after the collector was installed
+            verify(collector).registerGauge(eq(KieServerMetrics.JOB_ACQUISITION), eq("measure"), any());
+            verify(collector).registerGauge(eq(KieServerMetrics.JOB_EXECUTIONS), eq("command"), any());
+            verify(collector).registerGauge(eq(KieServerMetrics.JOB_FAILURES), eq("command"), any());
+        } finally {
+            KieServerMetrics.setCollector(null);
+        }
+    }
+
+    private void availableJobs(int count) {
+        OngoingStubbing<org.kie.api.executor.RequestInfo> stubbing = when(queryService.getRequestForProcessing());
+        for (int i = 0; i < count; i++) {
+            stubbing = stubbing.thenReturn(job("TestCommand"));
+        }
+        stubbing.thenReturn(null);
+    }
+
+    private static RequestInfo job(String commandName) {
+        RequestInfo request = new RequestInfo();
+        request.setCommandName(commandName);
+        request.setStatus(STATUS.RUNNING);
+        return request;
+    }
+
+    private static long executions(String commandName) {
+        JobAcquisitionMetrics.CommandMetrics command = PollExecutorBean.getMetrics().getCommands().get(commandName);
+        return command == null ? 0 : command.getExecutions();
+    }
+
+    private static long failures(String commandName) {
+        JobAcquisitionMetrics.CommandMetrics command = PollExecutorBean.getMetrics().getCommands().get(commandName);
+        return command == null ? 0 : command.getFailures();
+    }
+}
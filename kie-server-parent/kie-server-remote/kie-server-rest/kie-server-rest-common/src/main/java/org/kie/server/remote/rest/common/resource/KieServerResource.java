@@ -20,7 +20,9 @@ import static org.kie.server.remote.rest.common.util.RestUtils.*;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -28,8 +30,14 @@ import javax.ws.rs.core.Response;
 
 import org.kie.server.api.commands.CommandScript;
 import org.kie.server.api.model.ServiceResponsesList;
+import org.kie.server.remote.rest.common.Header;
 import org.kie.server.services.api.KieContainerCommandService;
+import org.kie.server.services.api.KieServerExtension;
+import org.kie.server.services.impl.KieServerImpl;
+import org.kie.server.services.impl.KieServerLocator;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
+import org.kie.server.services.impl.metrics.KieServerMetrics.RequestStages;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -62,12 +70,64 @@ public class KieServerResource {
             @ApiParam(value = "command script payload", required = true) String commandScriptPayload ) {
 
         String contentType = getContentType(headers);
+        RequestStages stages = KieServerMetrics.startRequest(KieServerMetrics.TRANSPORT_REST, null);
 
         CommandScript command = marshallerHelper.unmarshal(commandScriptPayload, contentType, CommandScript.class);
+        stages.completed(KieServerMetrics.STAGE_UNMARSHAL);
 
         ServiceResponsesList result = delegate.executeScript(command, MarshallerHelper.getFormat(contentType), null);
+        stages.completed(KieServerMetrics.STAGE_EXECUTE);
 
-        return createCorrectVariant(result, headers);
+        Response response = createCorrectVariant(result, headers);
+        stages.completed(KieServerMetrics.STAGE_MARSHAL);
+        return response;
+    }
+
+    @ApiOperation(value="Executes command script on execution server by the extension that implements given capability, usually used to send batch of commands in single request",
+            response=ServiceResponsesList.class, code=200)
+    @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"), @ApiResponse(code = 404, message = "No extension found for given capability") })
+    @POST
+    @Path("{capability}")
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response executeCapabilityCommands(@Context HttpHeaders headers,
+            @ApiParam(value = "capability of the extension that should execute the commands", required = true) @PathParam("capability") String capability,
+            @ApiParam(value = "optional container id used to unmarshal the commands with container's classes", required = false) @QueryParam("containerId") String containerId,
+            @ApiParam(value = "command script payload", required = true) String commandScriptPayload ) {
+
+        String contentType = getContentType(headers);
+        KieServerImpl kieServer = KieServerLocator.getInstance();
+
+        KieContainerCommandService executor = null;
+        for (KieServerExtension extension : kieServer.getServerExtensions()) {
+            KieContainerCommandService tmp = extension.getAppComponents(KieContainerCommandService.class);
+            if (tmp != null && extension.getImplementedCapability().equalsIgnoreCase(capability)) {
+                executor = tmp;
+                break;
+            }
+        }
+        if (executor == null) {
+            return notFound("No extension found for capability " + capability, getVariant(headers));
+        }
+
+        RequestStages stages = KieServerMetrics.startRequest(KieServerMetrics.TRANSPORT_REST, containerId);
+        MarshallerHelper containerMarshallerHelper = new MarshallerHelper(kieServer.getServerRegistry());
+        CommandScript command;
+        if (containerId != null && kieServer.getServerRegistry().getContainer(containerId) != null) {
+            command = containerMarshallerHelper.unmarshal(containerId, commandScriptPayload, contentType, CommandScript.class);
+        } else {
+            command = containerMarshallerHelper.unmarshal(commandScriptPayload, contentType, CommandScript.class);
+        }
+
+        stages.completed(KieServerMetrics.STAGE_UNMARSHAL);
+
+        ServiceResponsesList result = executor.executeScript(command, MarshallerHelper.getFormat(contentType), getClassType(headers));
+        stages.completed(KieServerMetrics.STAGE_EXECUTE);
+
+        Header conversationIdHeader = containerId == null ? null : buildConversationIdHeader(containerId, kieServer.getServerRegistry(), headers);
+        Response response = createCorrectVariant(containerMarshallerHelper, containerId, result, headers, null, conversationIdHeader);
+        stages.completed(KieServerMetrics.STAGE_MARSHAL);
+        return response;
     }
 
 }
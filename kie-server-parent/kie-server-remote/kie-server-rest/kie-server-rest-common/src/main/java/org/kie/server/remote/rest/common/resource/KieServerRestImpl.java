@@ -268,6 +268,24 @@ public class KieServerRestImpl {
         return serviceUnavailable();
     }
     
+    @ApiOperation(value="Readiness check for container that indicates that container is started and its marshallers are prewarmed",
+            response=Void.class, code=200)
+    @ApiResponses(value = { @ApiResponse(code = 503, message = "Container not yet available"),
+            @ApiResponse(code = 404, message = "Container not found") })
+    @GET
+    @Path("containers/{id}/readycheck")
+    @Produces({MediaType.TEXT_PLAIN})
+    public Response containerReadycheck(@Context HttpHeaders headers,
+            @ApiParam(value = "Container id to be checked", required = true) @PathParam("id") String id) {
+        if (server.getServerRegistry().getContainer(id) == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        if (server.isContainerReady(id)) {
+            return Response.status(Response.Status.OK).build();
+        }
+        return serviceUnavailable();
+    }
+
     @ApiOperation(value="Liveness check for KIE Server that validates both kie server and all extensions, optionally produces report",
             response=Message.class, code=200, responseContainer="List")
     @ApiResponses(value = { @ApiResponse(code = 503, message = "If any of the checks failed") })
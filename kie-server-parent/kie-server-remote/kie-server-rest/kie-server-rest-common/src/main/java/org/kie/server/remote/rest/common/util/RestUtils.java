@@ -24,6 +24,7 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Variant;
 
 import org.kie.server.common.rest.RestEasy960Util;
+import org.kie.server.common.rest.variant.NegotiationCache;
 import org.kie.server.api.ConversationId;
 import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.KieServerEnvironment;
@@ -39,6 +40,9 @@ public class RestUtils {
 
     private static MarshallerHelper marshallerHelper = new MarshallerHelper(null);
     private static Variant ERROR_VARIANT = new Variant(MediaType.TEXT_PLAIN_TYPE, (Locale) null, null);
+
+    private static final NegotiationCache<String, MediaType> mediaTypeCache = new NegotiationCache<String, MediaType>();
+    private static final NegotiationCache<MediaType, Variant> variantCache = new NegotiationCache<MediaType, Variant>();
     
     public static Response createCorrectVariant(Object responseObj, HttpHeaders headers, Header... customHeaders) {
         return createCorrectVariant(responseObj, headers, null, customHeaders);
@@ -93,7 +97,7 @@ public class RestUtils {
     public static Variant getVariant(HttpHeaders headers) { 
         Variant v = RestEasy960Util.getVariant(headers);
         if( v == null ) {
-            v = Variant.mediaTypes(getMediaType(headers)).add().build().get(0);
+            v = variantCache.get(getMediaType(headers), mediaType -> Variant.mediaTypes(mediaType).add().build().get(0));
         }
         return v;
     }
@@ -132,7 +136,10 @@ public class RestUtils {
     }
 
     public static MediaType getMediaType(HttpHeaders httpHeaders) {
-        String contentType = getContentType(httpHeaders);
+        return mediaTypeCache.get(getContentType(httpHeaders), RestUtils::toMediaType);
+    }
+
+    private static MediaType toMediaType(String contentType) {
         try {
             return MediaType.valueOf(contentType);
         } catch (IllegalArgumentException e) {
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.remote.rest.common.websocket;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.websocket.CloseReason;
+import javax.websocket.EndpointConfig;
+import javax.websocket.HandshakeResponse;
+import javax.websocket.OnClose;
+import javax.websocket.OnError;
+import javax.websocket.OnMessage;
+import javax.websocket.OnOpen;
+import javax.websocket.Session;
+import javax.websocket.server.HandshakeRequest;
+import javax.websocket.server.ServerEndpoint;
+import javax.websocket.server.ServerEndpointConfig;
+
+import org.kie.server.api.ConversationId;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.KieServerEnvironment;
+import org.kie.server.api.commands.CommandScript;
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.ServiceResponsesList;
+import org.kie.server.api.websocket.WebSocketCommandFrame;
+import org.kie.server.services.api.KieContainerCommandService;
+import org.kie.server.services.api.KieContainerInstance;
+import org.kie.server.services.api.KieServerExtension;
+import org.kie.server.services.impl.KieServerImpl;
+import org.kie.server.services.impl.KieServerLocator;
+import org.kie.server.services.impl.security.adapters.JMSSecurityAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Web Socket counterpart of the JMS endpoint - executes command scripts sent by clients configured with
+ * Web Socket transport. Each frame may carry several requests, every request is executed by the (managed) executor
+ * and its response is sent back as soon as it completes, with the same correlation id so client can match it
+ * with the waiting caller.
+ */
+@ServerEndpoint(value = WebSocketCommandFrame.RUNTIME_ENDPOINT_PATH, configurator = KieServerRuntimeEndpoint.CredentialsConfigurator.class)
+public class KieServerRuntimeEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieServerRuntimeEndpoint.class);
+
+    private static final String USER_PROPERTY = "kie.server.websocket.user";
+    private static final String PASSWORD_PROPERTY = "kie.server.websocket.password";
+    private static final String DEFAULT_CAPABILITY = "KieServer";
+
+    private static final Map<MarshallingFormat, Marshaller> marshallers = new ConcurrentHashMap<>();
+
+    private static volatile ExecutorService executor;
+
+    @OnOpen
+    public void onOpen(Session session, EndpointConfig config) {
+        session.setMaxTextMessageBufferSize(Math.max(session.getMaxTextMessageBufferSize(), WebSocketCommandFrame.MAX_FRAME_SIZE));
+        String password = CredentialsConfigurator.takeCredentials(session.getUserPrincipal());
+        if (password == null) {
+            logger.warn("Runtime Web Socket session {} has no credentials of authenticated user, closing it", session.getId());
+            closeUnauthenticated(session);
+            return;
+        }
+        // session user properties are not shared with other sessions, unlike the ones of the endpoint configuration
+        session.getUserProperties().put(USER_PROPERTY, session.getUserPrincipal().getName());
+        session.getUserProperties().put(PASSWORD_PROPERTY, password);
+        logger.debug("Runtime Web Socket session {} opened", session.getId());
+    }
+
+    @OnMessage
+    public void onMessage(Session session, String frame) {
+        String user = (String) session.getUserProperties().get(USER_PROPERTY);
+        String password = (String) session.getUserProperties().get(PASSWORD_PROPERTY);
+        if (user == null || password == null) {
+            logger.warn("Received frame on runtime Web Socket session {} without credentials, closing it", session.getId());
+            closeUnauthenticated(session);
+            return;
+        }
+        List<WebSocketCommandFrame.Entry> requests = WebSocketCommandFrame.decode(frame);
+        // requests are not executed on the thread reading the session so long running ones do not hold the others
+        for (WebSocketCommandFrame.Entry request : requests) {
+            try {
+                getExecutor().execute(() -> sendResponse(session, executeAs(user, password, request)));
+            } catch (RejectedExecutionException e) {
+                logger.warn("Request {} received over Web Socket rejected by executor", request.getCorrelationId());
+                sendResponse(session, failure(request, "Request rejected, server is overloaded"));
+            }
+        }
+    }
+
+    @OnClose
+    public void onClose(Session session, CloseReason closeReason) {
+        logger.debug("Runtime Web Socket session {} closed due to {}", session.getId(), closeReason);
+    }
+
+    @OnError
+    public void onError(Session session, Throwable e) {
+        logger.error("Error on runtime Web Socket session {} due to {}", session.getId(), e.getMessage(), e);
+    }
+
+    protected void closeUnauthenticated(Session session) {
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, "Missing credentials"));
+        } catch (IOException e) {
+            logger.debug("Unable to close runtime Web Socket session {}", session.getId(), e);
+        }
+    }
+
+    protected WebSocketCommandFrame.Entry executeAs(String user, String password, WebSocketCommandFrame.Entry request) {
+        JMSSecurityAdapter.login(user, password);
+        try {
+            return execute(request);
+        } catch (RuntimeException e) {
+            logger.error("Unexpected error while executing request {} received over Web Socket", request.getCorrelationId(), e);
+            return failure(request, e.getMessage());
+        } finally {
+            JMSSecurityAdapter.logout();
+        }
+    }
+
+    protected void sendResponse(Session session, WebSocketCommandFrame.Entry response) {
+        try {
+            // responses of requests executed concurrently must not be written at the same time
+            synchronized (session) {
+                session.getBasicRemote().sendText(WebSocketCommandFrame.encode(response));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Unable to send response {} over Web Socket session {}", response.getCorrelationId(), session.getId(), e);
+        }
+    }
+
+    protected WebSocketCommandFrame.Entry failure(WebSocketCommandFrame.Entry request, String message) {
+        MarshallingFormat format = MarshallingFormat.fromId(request.getFormatId());
+        if (format == null) {
+            format = MarshallingFormat.JAXB;
+        }
+        ServiceResponsesList response = new ServiceResponsesList(Collections.<ServiceResponse<? extends Object>>singletonList(new ServiceResponse<Void>(ServiceResponse.ResponseType.FAILURE, message)));
+        Marshaller marshaller = marshallers.computeIfAbsent(format, f -> MarshallerFactory.getMarshaller(f, KieServerRuntimeEndpoint.class.getClassLoader()));
+        return new WebSocketCommandFrame.Entry(request.getCorrelationId(), format.getId(), marshaller.marshall(response));
+    }
+
+    protected WebSocketCommandFrame.Entry execute(WebSocketCommandFrame.Entry request) {
+        KieServerImpl kieServer = KieServerLocator.getInstance();
+
+        MarshallingFormat format = MarshallingFormat.fromId(request.getFormatId());
+        if (format == null) {
+            format = MarshallingFormat.JAXB;
+        }
+        String containerId = request.getContainerId();
+        String conversationId = request.getConversationId();
+        String targetCapability = request.getTargetCapability() == null ? DEFAULT_CAPABILITY : request.getTargetCapability();
+
+        Marshaller marshaller = getMarshaller(kieServer, containerId, format);
+        ServiceResponsesList response;
+        try {
+            CommandScript script = marshaller.unmarshall(request.getPayload(), CommandScript.class);
+
+            KieContainerCommandService executor = null;
+            for (KieServerExtension extension : kieServer.getServerExtensions()) {
+                KieContainerCommandService tmp = extension.getAppComponents(KieContainerCommandService.class);
+
+                if (tmp != null && extension.getImplementedCapability().equalsIgnoreCase(targetCapability)) {
+                    executor = tmp;
+                    break;
+                }
+            }
+            if (executor == null) {
+                throw new IllegalStateException("No executor found for script execution");
+            }
+
+            response = executor.executeScript(script, format, request.getClassType());
+        } catch (Exception e) {
+            logger.error("Error while executing request {} received over Web Socket", request.getCorrelationId(), e);
+            response = new ServiceResponsesList(Collections.<ServiceResponse<? extends Object>>singletonList(new ServiceResponse<Void>(ServiceResponse.ResponseType.FAILURE, e.getMessage())));
+        }
+
+        if (containerId != null && (conversationId == null || conversationId.trim().isEmpty())) {
+            try {
+                KieContainerInstance containerInstance = kieServer.getServerRegistry().getContainer(containerId);
+                if (containerInstance != null) {
+                    ReleaseId releaseId = containerInstance.getResource().getResolvedReleaseId();
+                    if (releaseId == null) {
+                        releaseId = containerInstance.getResource().getReleaseId();
+                    }
+
+                    conversationId = ConversationId.from(KieServerEnvironment.getServerId(), containerId, releaseId).toString();
+                }
+            } catch (Exception e) {
+                logger.warn("Unable to build conversation id due to {}", e.getMessage(), e);
+            }
+        }
+
+        return new WebSocketCommandFrame.Entry(request.getCorrelationId(), format.getId(), marshaller.marshall(response))
+                .conversationId(conversationId);
+    }
+
+    protected Marshaller getMarshaller(KieServerImpl kieServer, String containerId, MarshallingFormat format) {
+        if (containerId != null && !containerId.isEmpty()) {
+            KieContainerInstance kieContainerInstance = kieServer.getServerRegistry().getContainer(containerId);
+            if (kieContainerInstance != null && kieContainerInstance.getKieContainer() != null) {
+                return kieContainerInstance.getMarshaller(format);
+            }
+        }
+
+        return marshallers.computeIfAbsent(format, f -> MarshallerFactory.getMarshaller(f, KieServerRuntimeEndpoint.class.getClassLoader()));
+    }
+
+    /**
+     * Executor is looked up in JNDI (default managed executor service unless configured otherwise) and if there is
+     * none, e.g. outside of EE container, own pool sized by number of processors (at least two) is used
+     */
+    protected static ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (KieServerRuntimeEndpoint.class) {
+                if (executor == null) {
+                    executor = lookupExecutor();
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static ExecutorService lookupExecutor() {
+        String jndiName = System.getProperty(KieServerConstants.CFG_KIE_SERVER_WEBSOCKET_EXECUTOR, "java:comp/DefaultManagedExecutorService");
+        try {
+            ExecutorService managed = (ExecutorService) new InitialContext().lookup(jndiName);
+            logger.debug("Runtime Web Socket requests executed by managed executor {}", jndiName);
+            return managed;
+        } catch (NamingException | RuntimeException e) {
+            logger.debug("Managed executor {} not available ({}), runtime Web Socket requests executed by own thread pool", jndiName, e.getMessage());
+        }
+        return Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "KieServer - Web Socket runtime");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Keeps credentials of the (already authenticated) handshake request until the session of that handshake
+     * is opened, so commands can be executed on behalf of that user, same as JMS does with credentials sent with
+     * every message. Credentials are kept per user name - endpoint configuration is shared by all handshakes - and
+     * only for short time, so they do not stay in memory when the session of the handshake is never opened.
+     */
+    public static class CredentialsConfigurator extends ServerEndpointConfig.Configurator {
+
+        private static final String AUTHORIZATION_HEADER = "Authorization";
+        private static final String BASIC_AUTH_PREFIX = "Basic ";
+
+        static final long CREDENTIALS_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+        private static final Map<String, PendingCredentials> pendingCredentials = new ConcurrentHashMap<>();
+
+        @Override
+        public void modifyHandshake(ServerEndpointConfig sec, HandshakeRequest request, HandshakeResponse response) {
+            Principal principal = request.getUserPrincipal();
+            String[] credentials = getBasicCredentials(request.getHeaders());
+            if (principal == null || credentials == null || !credentials[0].equals(principal.getName())) {
+                throw new IllegalStateException("Runtime Web Socket handshake requires BASIC authorization of the authenticated user");
+            }
+            String password = credentials[1];
+            long now = System.currentTimeMillis();
+            expireCredentials(now);
+            pendingCredentials.compute(principal.getName(),
+                                       (user, pending) -> new PendingCredentials(password, pending == null ? 1 : pending.handshakes + 1, now + CREDENTIALS_TIMEOUT));
+        }
+
+        /**
+         * Returns password of given user sent with the handshake of a session being opened
+         * @param principal authenticated user of the session
+         * @return password or null if there was no handshake with credentials of the user
+         */
+        static String takeCredentials(Principal principal) {
+            if (principal == null) {
+                return null;
+            }
+            long now = System.currentTimeMillis();
+            String[] password = new String[1];
+            pendingCredentials.computeIfPresent(principal.getName(), (user, pending) -> {
+                if (pending.expiresAt < now) {
+                    return null;
+                }
+                password[0] = pending.password;
+                return pending.handshakes > 1 ? new PendingCredentials(pending.password, pending.handshakes - 1, pending.expiresAt) : null;
+            });
+            return password[0];
+        }
+
+        static void expireCredentials(long now) {
+            pendingCredentials.values().removeIf(pending -> pending.expiresAt < now);
+        }
+
+        static String[] getBasicCredentials(Map<String, List<String>> headers) {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                if (!AUTHORIZATION_HEADER.equalsIgnoreCase(header.getKey()) || header.getValue() == null || header.getValue().isEmpty()) {
+                    continue;
+                }
+                String authorization = header.getValue().get(0);
+                if (!authorization.startsWith(BASIC_AUTH_PREFIX)) {
+                    return null;
+                }
+                String credentials;
+                try {
+                    credentials = new String(Base64.getDecoder().decode(authorization.substring(BASIC_AUTH_PREFIX.length()).trim()), StandardCharsets.UTF_8);
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+                int separator = credentials.indexOf(':');
+                if (separator <= 0) {
+                    return null;
+                }
+                return new String[]{credentials.substring(0, separator), credentials.substring(separator + 1)};
+            }
+            return null;
+        }
+    }
+
+    private static class PendingCredentials {
+
+        private final String password;
+        private final int handshakes;
+        private final long expiresAt;
+
+        PendingCredentials(String password, int handshakes, long expiresAt) {
+            this.password = password;
+            this.handshakes = handshakes;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -119,6 +119,15 @@ public class KieServerRestImplTest {
         assertForbiddenResponse(response);
     }
     
+    @Test
+    public void testReadycheckOfNotExistingContainer() {
+
+        KieServerRestImpl restServer = new KieServerRestImpl(kieServer);
+
+        Response response = restServer.containerReadycheck(headers, "not-existing");
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
+    }
+
     private void assertForbiddenResponse(Response response) {   
         assertNotNull(response);        
         assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.remote.rest.common.websocket;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.websocket.CloseReason;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+import javax.websocket.server.HandshakeRequest;
+
+import org.junit.Test;
+import org.kie.server.api.websocket.WebSocketCommandFrame;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class KieServerRuntimeEndpointTest {
+
+    private final KieServerRuntimeEndpoint.CredentialsConfigurator configurator = new KieServerRuntimeEndpoint.CredentialsConfigurator();
+
+    @Test
+    public void testCredentialsKeptPerUser() {
+        configurator.modifyHandshake(null, handshake("john", "authorization", basic("john", "john-pwd")), null);
+        configurator.modifyHandshake(null, handshake("mary", "Authorization", basic("mary", "mary-pwd")), null);
+
+        assertEquals("mary-pwd", KieServerRuntimeEndpoint.CredentialsConfigurator.takeCredentials(principal("mary")));
+        assertEquals("john-pwd", KieServerRuntimeEndpoint.CredentialsConfigurator.takeCredentials(principal("john")));
+        // every handshake opens single session
+        assertNull(KieServerRuntimeEndpoint.CredentialsConfigurator.takeCredentials(principal("john")));
+    }
+
+    @Test
+    public void testConcurrentHandshakesOfSameUser() {
+        configurator.modifyHandshake(null, handshake("john", "Authorization", basic("john", "john-pwd")), null);
+        configurator.modifyHandshake(null, handshake("john", "Authorization", basic("john", "john-pwd")), null);
+
+        assertEquals("john-pwd", KieServerRuntimeEndpoint.CredentialsConfigurator.takeCredentials(principal("john")));
+        assertEquals("john-pwd", KieServerRuntimeEndpoint.CredentialsConfigurator.takeCredentials(principal("john")));
+        assertNull(KieServerRuntimeEndpoint.CredentialsConfigurator.takeCredentials(principal("john")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testHandshakeWithoutAuthorizationRejected() {
+        configurator.modifyHandshake(null, handshake("john", null, null), null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testHandshakeOfOtherUserRejected() {
+        configurator.modifyHandshake(null, handshake("john", "Authorization", basic("mary", "mary-pwd")), null);
+    }
+
+    @Test
+    public void testSessionWithoutCredentialsClosed() throws Exception {
+        Session session = mock(Session.class);
+        when(session.getUserPrincipal()).thenReturn(principal("nobody"));
+        Map<String, Object> userProperties = new HashMap<>();
+        when(session.getUserProperties()).thenReturn(userProperties);
+
+        KieServerRuntimeEndpoint endpoint = new KieServerRuntimeEndpoint();
+        endpoint.onOpen(session, null);
+        endpoint.onMessage(session, "ignored");
+
+        verify(session, times(2)).close(any(CloseReason.class));
+        assertTrue(userProperties.isEmpty());
+    }
+
+    @Test
+    public void testSessionKeepsCredentialsOfItsHandshake() {
+        configurator.modifyHandshake(null, handshake("john", "Authorization", basic("john", "john-pwd")), null);
+
+        Session session = mock(Session.class);
+        when(session.getUserPrincipal()).thenReturn(principal("john"));
+        Map<String, Object> userProperties = new HashMap<>();
+        when(session.getUserProperties()).thenReturn(userProperties);
+
+        new KieServerRuntimeEndpoint().onOpen(session, null);
+
+        assertEquals(2, userProperties.size());
+        assertTrue(userProperties.containsValue("john"));
+        assertTrue(userProperties.containsValue("john-pwd"));
+    }
+
+    @Test
+    public void testCredentialsOfNotOpenedSessionExpire() {
+        configurator.modifyHandshake(null, handshake("john", "Authorization", basic("john", "john-pwd")), null);
+
+        KieServerRuntimeEndpoint.CredentialsConfigurator.expireCredentials(System.currentTimeMillis() + KieServerRuntimeEndpoint.CredentialsConfigurator.CREDENTIALS_TIMEOUT + 1);
+
+        assertNull(KieServerRuntimeEndpoint.CredentialsConfigurator.takeCredentials(principal("john")));
+    }
+
+    @Test(timeout = 10000)
+    public void testResponseSentAsSoonAsRequestCompletes() throws Exception {
+        CountDownLatch slowRequestGate = new CountDownLatch(1);
+        BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        Session session = mock(Session.class);
+        RemoteEndpoint.Basic remote = mock(RemoteEndpoint.Basic.class);
+        when(session.getBasicRemote()).thenReturn(remote);
+        doAnswer(invocation -> sent.add((String) invocation.getArguments()[0])).when(remote).sendText(anyString());
+        Map<String, Object> userProperties = new HashMap<>();
+        when(session.getUserProperties()).thenReturn(userProperties);
+        when(session.getUserPrincipal()).thenReturn(principal("john"));
+        configurator.modifyHandshake(null, handshake("john", "Authorization", basic("john", "john-pwd")), null);
+
+        KieServerRuntimeEndpoint endpoint = new KieServerRuntimeEndpoint() {
+            @Override
+            protected WebSocketCommandFrame.Entry execute(WebSocketCommandFrame.Entry request) {
+                if ("slow".equals(request.getPayload())) {
+                    try {
+                        slowRequestGate.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return new WebSocketCommandFrame.Entry(request.getCorrelationId(), request.getFormatId(), "response-" + request.getPayload());
+            }
+        };
+        endpoint.onOpen(session, null);
+        endpoint.onMessage(session, WebSocketCommandFrame.encode(Arrays.asList(new WebSocketCommandFrame.Entry("1", 0, "slow"),
+                                                                               new WebSocketCommandFrame.Entry("2", 0, "fast"))));
+
+        List<WebSocketCommandFrame.Entry> first = WebSocketCommandFrame.decode(sent.poll(5, TimeUnit.SECONDS));
+        assertEquals(1, first.size());
+        assertEquals("2", first.get(0).getCorrelationId());
+
+        slowRequestGate.countDown();
+        List<WebSocketCommandFrame.Entry> second = WebSocketCommandFrame.decode(sent.poll(5, TimeUnit.SECONDS));
+        assertEquals("1", second.get(0).getCorrelationId());
+        assertEquals("response-slow", second.get(0).getPayload());
+    }
+
+    private HandshakeRequest handshake(String user, String header, String value) {
+        HandshakeRequest request = mock(HandshakeRequest.class);
+        Principal principal = principal(user);
+        when(request.getUserPrincipal()).thenReturn(principal);
+        Map<String, List<String>> headers = new HashMap<>();
+        if (header != null) {
+            headers.put(header, Collections.singletonList(value));
+        }
+        when(request.getHeaders()).thenReturn(headers);
+        return request;
+    }
+
+    private Principal principal(String name) {
+        return () -> name;
+    }
+
+    private String basic(String user, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
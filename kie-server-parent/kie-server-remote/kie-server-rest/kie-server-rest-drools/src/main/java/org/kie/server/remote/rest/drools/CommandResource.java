@@ -33,6 +33,8 @@ import org.kie.server.services.api.KieContainerCommandService;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.locator.ContainerLocatorProvider;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
+import org.kie.server.services.impl.metrics.KieServerMetrics.RequestStages;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -83,16 +85,22 @@ public class CommandResource {
             format = MarshallingFormat.valueOf(contentType);
         }
         logger.debug("Received request with content '{}'", cmdPayload);
+        // payload is unmarshalled by the container call itself so execute stage includes unmarshalling
+        RequestStages stages = KieServerMetrics.startRequest(KieServerMetrics.TRANSPORT_REST, id);
         Object result = delegate.callContainer(id, cmdPayload, format, classType);
+        stages.completed(KieServerMetrics.STAGE_EXECUTE);
         Header conversationIdHeader = buildConversationIdHeader(id, registry, headers);
+        stages.skip();
         try {
             String response = marshallerHelper.marshal(id, format.getType(), result, ContainerLocatorProvider.get().getLocator());
+            stages.completed(KieServerMetrics.STAGE_MARSHAL);
             logger.debug("Returning OK response with content '{}'", response);
 
             return createResponse(response, v, Response.Status.OK, conversationIdHeader);
         } catch (IllegalArgumentException e) {
             // in case marshalling failed return the call container response to keep backward compatibility
             String response = marshallerHelper.marshal(format.getType(), result);
+            stages.completed(KieServerMetrics.STAGE_MARSHAL);
             logger.debug("Returning OK response with content '{}'", response);
             return createResponse(response, v, Response.Status.OK, conversationIdHeader);
         }
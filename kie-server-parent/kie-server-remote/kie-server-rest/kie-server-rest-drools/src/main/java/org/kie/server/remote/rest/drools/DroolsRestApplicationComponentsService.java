@@ -24,6 +24,7 @@ import org.kie.server.services.api.KieContainerCommandService;
 import org.kie.server.services.api.KieServerApplicationComponentsService;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.api.SupportedTransports;
+import org.kie.server.services.drools.RuleProfilingService;
 
 public class DroolsRestApplicationComponentsService implements KieServerApplicationComponentsService {
 
@@ -38,6 +39,7 @@ public class DroolsRestApplicationComponentsService implements KieServerApplicat
 
         KieContainerCommandService batchCommandService = null;
         KieServerRegistry context = null;
+        RuleProfilingService ruleProfilingService = null;
        
         for( Object object : services ) { 
             if( KieContainerCommandService.class.isAssignableFrom(object.getClass()) ) { 
@@ -46,12 +48,18 @@ public class DroolsRestApplicationComponentsService implements KieServerApplicat
             } else if( KieServerRegistry.class.isAssignableFrom(object.getClass()) ) {
                 context = (KieServerRegistry) object;
                 continue;
+            } else if( RuleProfilingService.class.isAssignableFrom(object.getClass()) ) {
+                ruleProfilingService = (RuleProfilingService) object;
+                continue;
             }
         }
         
-        List<Object> components = new ArrayList<Object>(1);
+        List<Object> components = new ArrayList<Object>(2);
         if( SupportedTransports.REST.equals(type) ) {
             components.add(new CommandResource(batchCommandService, context));
+            if( ruleProfilingService != null ) {
+                components.add(new RuleProfilingResource(ruleProfilingService));
+            }
         }
         
         return components;
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.remote.rest.drools;
+
+import static org.kie.server.api.rest.RestURI.CONTAINER_ID;
+import static org.kie.server.api.rest.RestURI.RULE_PROFILING_RESET_URI;
+import static org.kie.server.api.rest.RestURI.RULE_PROFILING_URI;
+import static org.kie.server.remote.rest.common.util.RestUtils.createCorrectVariant;
+
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.kie.server.api.model.KieContainerRuleProfile;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.services.drools.RuleProfilingService;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+@Api(value="Rules profiling :: BRM")
+@Path("server/" + RULE_PROFILING_URI)
+public class RuleProfilingResource {
+
+    private RuleProfilingService ruleProfilingService;
+
+    public RuleProfilingResource() {
+
+    }
+
+    public RuleProfilingResource(RuleProfilingService ruleProfilingService) {
+        this.ruleProfilingService = ruleProfilingService;
+    }
+
+    @ApiOperation(value="Starts collecting per rule statistics for sessions of given container",
+            response=ServiceResponse.class, code=200)
+    @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"), @ApiResponse(code = 404, message = "Container not found") })
+    @POST
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response startProfiling(@Context HttpHeaders headers,
+            @ApiParam(value = "Container id which rules should be profiled", required = true) @PathParam(CONTAINER_ID) String id) {
+        return toResponse(ruleProfilingService.startProfiling(id), headers);
+    }
+
+    @ApiOperation(value="Stops collecting per rule statistics for given container, collected statistics are kept",
+            response=ServiceResponse.class, code=200)
+    @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"), @ApiResponse(code = 404, message = "Container is not profiled") })
+    @DELETE
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response stopProfiling(@Context HttpHeaders headers,
+            @ApiParam(value = "Container id which rules should not be profiled any more", required = true) @PathParam(CONTAINER_ID) String id) {
+        return toResponse(ruleProfilingService.stopProfiling(id), headers);
+    }
+
+    @ApiOperation(value="Retrieves per rule statistics collected for given container",
+            response=ServiceResponse.class, code=200)
+    @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"), @ApiResponse(code = 404, message = "Container is not profiled") })
+    @GET
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response getProfile(@Context HttpHeaders headers,
+            @ApiParam(value = "Container id which rule statistics should be retrieved", required = true) @PathParam(CONTAINER_ID) String id) {
+        return toResponse(ruleProfilingService.getProfile(id), headers);
+    }
+
+    @ApiOperation(value="Retrieves per rule statistics collected for given container and starts collecting them from scratch",
+            response=ServiceResponse.class, code=200)
+    @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"), @ApiResponse(code = 404, message = "Container is not profiled") })
+    @POST
+    @Path(RULE_PROFILING_RESET_URI)
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response resetProfile(@Context HttpHeaders headers,
+            @ApiParam(value = "Container id which rule statistics should be reset", required = true) @PathParam(CONTAINER_ID) String id) {
+        return toResponse(ruleProfilingService.resetProfile(id), headers);
+    }
+
+    protected Response toResponse(ServiceResponse<KieContainerRuleProfile> response, HttpHeaders headers) {
+        if (response.getType() == ServiceResponse.ResponseType.SUCCESS) {
+            return createCorrectVariant(response, headers, Response.Status.OK);
+        }
+        return createCorrectVariant(response, headers, Response.Status.NOT_FOUND);
+    }
+}
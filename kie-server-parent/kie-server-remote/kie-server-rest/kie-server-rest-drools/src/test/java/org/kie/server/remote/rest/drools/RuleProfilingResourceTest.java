@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.remote.rest.drools;
+
+import java.util.Collections;
+import java.util.Date;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.server.api.model.KieContainerRuleProfile;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.services.drools.RuleProfilingService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RuleProfilingResourceTest {
+
+    private static final String CONTAINER_ID = "test-container";
+
+    @Mock
+    private RuleProfilingService ruleProfilingService;
+    @Mock
+    private HttpHeaders headers;
+
+    private RuleProfilingResource resource;
+
+    @Before
+    public void setup() {
+        MultivaluedHashMap<String, String> mockedRequestHeaders = new MultivaluedHashMap<>();
+        mockedRequestHeaders.add("Accept", "application/json");
+        when(headers.getRequestHeaders()).thenReturn(mockedRequestHeaders);
+
+        resource = new RuleProfilingResource(ruleProfilingService);
+    }
+
+    @Test
+    public void testSuccessfulOperations() {
+        ServiceResponse<KieContainerRuleProfile> success = new ServiceResponse<KieContainerRuleProfile>(ServiceResponse.ResponseType.SUCCESS, "",
+                new KieContainerRuleProfile(CONTAINER_ID, true, new Date(), Collections.emptyList()));
+        when(ruleProfilingService.startProfiling(CONTAINER_ID)).thenReturn(success);
+        when(ruleProfilingService.stopProfiling(CONTAINER_ID)).thenReturn(success);
+        when(ruleProfilingService.getProfile(CONTAINER_ID)).thenReturn(success);
+        when(ruleProfilingService.resetProfile(CONTAINER_ID)).thenReturn(success);
+
+        assertEquals(Response.Status.OK.getStatusCode(), resource.startProfiling(headers, CONTAINER_ID).getStatus());
+        assertEquals(Response.Status.OK.getStatusCode(), resource.stopProfiling(headers, CONTAINER_ID).getStatus());
+        assertEquals(Response.Status.OK.getStatusCode(), resource.getProfile(headers, CONTAINER_ID).getStatus());
+        assertEquals(Response.Status.OK.getStatusCode(), resource.resetProfile(headers, CONTAINER_ID).getStatus());
+    }
+
+    @Test
+    public void testFailedOperations() {
+        ServiceResponse<KieContainerRuleProfile> failure = new ServiceResponse<KieContainerRuleProfile>(ServiceResponse.ResponseType.FAILURE, "not profiled");
+        when(ruleProfilingService.startProfiling(CONTAINER_ID)).thenReturn(failure);
+        when(ruleProfilingService.stopProfiling(CONTAINER_ID)).thenReturn(failure);
+        when(ruleProfilingService.getProfile(CONTAINER_ID)).thenReturn(failure);
+        when(ruleProfilingService.resetProfile(CONTAINER_ID)).thenReturn(failure);
+
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), resource.startProfiling(headers, CONTAINER_ID).getStatus());
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), resource.stopProfiling(headers, CONTAINER_ID).getStatus());
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), resource.getProfile(headers, CONTAINER_ID).getStatus());
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), resource.resetProfile(headers, CONTAINER_ID).getStatus());
+    }
+}
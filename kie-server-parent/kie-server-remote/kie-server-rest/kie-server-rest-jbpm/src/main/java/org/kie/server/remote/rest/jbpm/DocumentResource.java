@@ -16,12 +16,15 @@
 package org.kie.server.remote.rest.jbpm;
 
 import static org.kie.server.api.rest.RestURI.DOCUMENT_INSTANCE_CONTENT_GET_URI;
+import static org.kie.server.api.rest.RestURI.DOCUMENT_INSTANCE_CONTENT_PUT_URI;
 import static org.kie.server.api.rest.RestURI.DOCUMENT_INSTANCE_DELETE_URI;
 import static org.kie.server.api.rest.RestURI.DOCUMENT_INSTANCE_GET_URI;
 import static org.kie.server.api.rest.RestURI.DOCUMENT_INSTANCE_PUT_URI;
 import static org.kie.server.api.rest.RestURI.DOCUMENT_URI;
+import static org.kie.server.remote.rest.common.util.RestUtils.badRequest;
 import static org.kie.server.remote.rest.common.util.RestUtils.buildConversationIdHeader;
 import static org.kie.server.remote.rest.common.util.RestUtils.createCorrectVariant;
+import static org.kie.server.remote.rest.common.util.RestUtils.createResponse;
 import static org.kie.server.remote.rest.common.util.RestUtils.getContentType;
 import static org.kie.server.remote.rest.common.util.RestUtils.getVariant;
 import static org.kie.server.remote.rest.common.util.RestUtils.internalServerError;
@@ -30,14 +33,18 @@ import static org.kie.server.remote.rest.common.util.RestUtils.notFound;
 import static org.kie.server.remote.rest.jbpm.resources.Messages.UNEXPECTED_ERROR;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.text.MessageFormat;
+import java.util.Date;
+import java.util.List;
 
 import javax.mail.internet.MimeUtility;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -51,12 +58,18 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.Variant;
 
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.instance.DocumentInstance;
 import org.kie.server.api.model.instance.DocumentInstanceList;
+import org.kie.server.common.rest.RestEasy960Util;
 import org.kie.server.remote.rest.common.Header;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.api.KieServerRuntimeException;
+import org.kie.server.services.impl.marshal.MarshallerHelper;
 import org.kie.server.services.jbpm.DocumentServiceBase;
+import org.kie.server.services.jbpm.document.DocumentNotFoundException;
+import org.kie.server.services.jbpm.document.FileSystemDocumentStorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,8 +86,12 @@ public class DocumentResource {
 
     public static final Logger logger = LoggerFactory.getLogger(DocumentResource.class);
 
+    private static final String BYTES_UNIT = "bytes";
+    private static final int BUFFER_SIZE = 8192;
+
     private DocumentServiceBase documentServiceBase;
     private KieServerRegistry context;
+    private MarshallerHelper marshallerHelper;
 
     public DocumentResource() {
 
@@ -83,43 +100,96 @@ public class DocumentResource {
     public DocumentResource(DocumentServiceBase documentServiceBase, KieServerRegistry context) {
         this.documentServiceBase = documentServiceBase;
         this.context = context;
+        this.marshallerHelper = new MarshallerHelper(context);
     }
 
-    @ApiOperation(value="Retrieves document's content identified by given documentId",
-            response=byte[].class, code=200, responseHeaders={@ResponseHeader(name="Content-Disposition", description="provides file name of the document")})
+    @ApiOperation(value="Retrieves document's content identified by given documentId, content is streamed and single byte range can be requested with Range header",
+            response=byte[].class, code=200, responseHeaders={@ResponseHeader(name="Content-Disposition", description="provides file name of the document"),
+                    @ResponseHeader(name="Content-Range", description="provides range of the content returned with 206 response code")})
     @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"),
-            @ApiResponse(code = 404, message = "Document with given id not found") })
+            @ApiResponse(code = 404, message = "Document with given id not found"),
+            @ApiResponse(code = 206, message = "Requested range of the content"),
+            @ApiResponse(code = 416, message = "Requested range is outside of the content") })
     @GET
     @Path(DOCUMENT_INSTANCE_CONTENT_GET_URI)
     @Produces({MediaType.APPLICATION_OCTET_STREAM})
     public Response getDocumentContent(@javax.ws.rs.core.Context HttpHeaders headers, 
-            @ApiParam(value = "document id of a document that content should be retruned from", required = true) @PathParam("documentId") String documentId) {
+            @ApiParam(value = "document id of a document that content should be retruned from", required = true) @PathParam("documentId") String documentId,
+            @ApiParam(value = "optional byte range of the content, e.g. bytes=0-1023", required = false) @HeaderParam("Range") String range) {
         Variant v = getVariant(headers);
         // no container id available so only used to transfer conversation id if given by client
         Header conversationIdHeader = buildConversationIdHeader("", context, headers);
         try {
 
-            final DocumentInstance document = documentServiceBase.getDocument(documentId);
-
-            if (document == null) {
-                return notFound("Document with id " + documentId + " not found", v, conversationIdHeader);
+            final DocumentInstance document = documentServiceBase.getDocumentMetadata(documentId);
+
+            final long size = document.getContent() != null ? document.getContent().length : document.getSize();
+            long[] byteRange = parseRange(range, size);
+            Response.ResponseBuilder builder;
+            if (byteRange == null) {
+                builder = Response.ok();
+                byteRange = new long[]{0, size - 1};
+            } else if (byteRange[0] >= size) {
+                builder = Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE).header("Content-Range", BYTES_UNIT + " */" + size);
+                if (conversationIdHeader != null) {
+                    builder.header(conversationIdHeader.getName(), conversationIdHeader.getValue());
+                }
+                return builder.build();
+            } else {
+                builder = Response.status(Response.Status.PARTIAL_CONTENT)
+                        .header("Content-Range", BYTES_UNIT + " " + byteRange[0] + "-" + byteRange[1] + "/" + size);
             }
+            final long offset = byteRange[0];
+            final long length = byteRange[1] - byteRange[0] + 1;
+
             String fileName = MimeUtility.encodeWord(document.getName(), "utf-8", "Q");
             StreamingOutput entity = new StreamingOutput() {
 
                 @Override
                 public void write(OutputStream output) throws IOException, WebApplicationException {
-                    output.write(document.getContent());
+                    try (InputStream content = documentServiceBase.openDocumentContent(document, offset)) {
+                        copy(content, output, length);
+                    }
                 }
             };
+            builder.entity(entity)
+                    .header("Accept-Ranges", BYTES_UNIT)
+                    .header(HttpHeaders.CONTENT_LENGTH, length)
+                    .header("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
             if (conversationIdHeader != null) {
-                return Response.ok().entity(entity)
-                        .header(conversationIdHeader.getName(), conversationIdHeader.getValue())
-                        .header("Content-Disposition", "attachment; filename=\"" + fileName + "\"").build();
+                builder.header(conversationIdHeader.getName(), conversationIdHeader.getValue());
             }
 
-            return Response.ok().entity(entity).header("Content-Disposition", "attachment; filename=\"" + fileName + "\"").build();
-        }  catch (Exception e) {
+            return builder.build();
+        } catch (DocumentNotFoundException e){
+            return notFound("Document with id " + documentId + " not found", v, conversationIdHeader);
+        } catch (Exception e) {
+            logger.error("Unexpected error during processing {}", e.getMessage(), e);
+            return internalServerError(MessageFormat.format(UNEXPECTED_ERROR, e.getMessage()), v, conversationIdHeader);
+        }
+    }
+
+    @ApiOperation(value="Updates content of document identified by given document id, content (body) is streamed to the document storage",
+            response=Void.class, code=204)
+    @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"),
+            @ApiResponse(code = 404, message = "Document with given id not found") })
+    @PUT
+    @Path(DOCUMENT_INSTANCE_CONTENT_PUT_URI)
+    @Consumes({MediaType.APPLICATION_OCTET_STREAM})
+    public Response updateDocumentContent(@javax.ws.rs.core.Context HttpHeaders headers,
+            @ApiParam(value = "document id of a document that content should be updated", required = true) @PathParam("documentId") String documentId,
+            @ApiParam(value = "raw content of the document", required = true, type="byte[]") InputStream content) {
+        Variant v = getVariant(headers);
+        // no container id available so only used to transfer conversation id if given by client
+        Header conversationIdHeader = buildConversationIdHeader("", context, headers);
+        try {
+
+            documentServiceBase.updateDocumentContent(documentId, content);
+
+            return noContent(v, conversationIdHeader);
+        } catch (DocumentNotFoundException e){
+            return notFound("Document with id " + documentId + " not found", v, conversationIdHeader);
+        } catch (Exception e) {
             logger.error("Unexpected error during processing {}", e.getMessage(), e);
             return internalServerError(MessageFormat.format(UNEXPECTED_ERROR, e.getMessage()), v, conversationIdHeader);
         }
@@ -195,6 +265,40 @@ public class DocumentResource {
         }
     }
 
+    @ApiOperation(value="Creates new document with given name from raw content (body), content is streamed to the document storage",
+            response=String.class, code=201)
+    @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"),
+            @ApiResponse(code = 400, message = "Document name not given or not valid")})
+    @POST
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_OCTET_STREAM})
+    public Response createDocumentFromStream(@javax.ws.rs.core.Context HttpHeaders headers,
+            @ApiParam(value = "name of the document", required = true) @QueryParam("name") String name,
+            @ApiParam(value = "optional last modification time of the document in milliseconds, defaults to current time", required = false) @QueryParam("lastModified") Long lastModified,
+            @ApiParam(value = "raw content of the document", required = true, type="byte[]") InputStream content) {
+        Variant v = getVariant(headers);
+        // no container id available so only used to transfer conversation id if given by client
+        Header conversationIdHeader = buildConversationIdHeader("", context, headers);
+        if (name == null || name.trim().isEmpty()) {
+            return badRequest("Document name must be given", v, conversationIdHeader);
+        }
+        if (!FileSystemDocumentStorageService.isValidFileName(name)) {
+            return badRequest("Document name must not contain path elements", v, conversationIdHeader);
+        }
+        try {
+
+            String identifier = documentServiceBase.storeDocument(name, lastModified == null ? null : new Date(lastModified), content);
+
+            // content type describes the raw body so response format is taken from accept (or kie content type) header
+            String type = getResponseType(headers);
+            Variant responseVariant = MarshallingFormat.JSON.equals(MarshallingFormat.fromType(type)) ? RestEasy960Util.jsonVariant : RestEasy960Util.defaultVariant;
+            return createResponse(marshallerHelper.marshal(type, identifier), responseVariant, Response.Status.CREATED, conversationIdHeader);
+        } catch (Exception e) {
+            logger.error("Unexpected error during processing {}", e.getMessage(), e);
+            return internalServerError(MessageFormat.format(UNEXPECTED_ERROR, e.getMessage()), v, conversationIdHeader);
+        }
+    }
+
     @ApiOperation(value="Updates document identified by given document id based on given content (body)",
             response=Void.class, code=201)
     @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"),
@@ -248,4 +352,65 @@ public class DocumentResource {
             return internalServerError(MessageFormat.format(UNEXPECTED_ERROR, e.getMessage()), v, conversationIdHeader);
         }
     }
+
+    protected String getResponseType(HttpHeaders headers) {
+        List<String> kieContentType = headers.getRequestHeader(KieServerConstants.KIE_CONTENT_TYPE_HEADER);
+        if (kieContentType != null && !kieContentType.isEmpty()) {
+            return kieContentType.get(0);
+        }
+        Variant v = RestEasy960Util.getVariant(headers);
+        if (v == null) {
+            return MediaType.APPLICATION_XML;
+        }
+        return v.getMediaType().toString();
+    }
+
+    /**
+     * Parses single byte range of Range header
+     * @return first and last position of the range, null when whole content should be returned (no header, unsupported
+     * or malformed range) and first position not lower than size when range can't be satisfied
+     */
+    protected static long[] parseRange(String range, long size) {
+        if (range == null || !range.startsWith(BYTES_UNIT + "=") || range.indexOf(',') != -1) {
+            return null;
+        }
+        String spec = range.substring(BYTES_UNIT.length() + 1).trim();
+        int separator = spec.indexOf('-');
+        if (separator == -1) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, separator).trim();
+            String last = spec.substring(separator + 1).trim();
+            if (first.isEmpty()) {
+                // suffix range - last n bytes
+                long suffix = Long.parseLong(last);
+                if (suffix < 0) {
+                    return null;
+                }
+                return new long[]{suffix == 0 ? size : Math.max(0, size - suffix), size - 1};
+            }
+            long start = Long.parseLong(first);
+            if (last.isEmpty()) {
+                return new long[]{start, size - 1};
+            }
+            long end = Long.parseLong(last);
+            if (end < start) {
+                return null;
+            }
+            return new long[]{start, Math.min(end, size - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    protected static void copy(InputStream input, OutputStream output, long length) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long remaining = length;
+        int read;
+        while (remaining > 0 && (read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+            output.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.remote.rest.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ResourceInfo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
+import org.kie.server.services.metrics.MetricsRegistry;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+public class EndpointMetricsFilterTest {
+
+    private MetricsRegistry registry = new MetricsRegistry();
+    private ResourceInfo resourceInfo = mock(ResourceInfo.class);
+    private EndpointMetricsFilter filter = new EndpointMetricsFilter(resourceInfo);
+
+    @Before
+    public void setup() {
+        KieServerMetrics.setCollector(registry);
+    }
+
+    @After
+    public void cleanup() {
+        KieServerMetrics.setCollector(null);
+    }
+
+    @Test
+    public void testLatencyRecordedPerResourceMethod() throws Exception {
+        doReturn(TestResource.class).when(resourceInfo).getResourceClass();
+        when(resourceInfo.getResourceMethod()).thenReturn(TestResource.class.getMethod("getItem", String.class));
+
+        ContainerRequestContext requestContext = requestContext("GET");
+        filter.filter(requestContext);
+        filter.filter(requestContext, responseContext(200));
+        filter.filter(requestContext, responseContext(200));
+
+        assertTrue(registry.scrape().contains(KieServerMetrics.REST_ENDPOINT +
+                                                      "_count{endpoint=\"TestResource.getItem\",method=\"GET\",status=\"200\"} 2\n"));
+    }
+
+    @Test
+    public void testUnmatchedRequestRecorded() {
+        ContainerRequestContext requestContext = requestContext("POST");
+        filter.filter(requestContext);
+        filter.filter(requestContext, responseContext(404));
+
+        assertTrue(registry.scrape().contains(KieServerMetrics.REST_ENDPOINT +
+                                                      "_count{endpoint=\"unmatched\",method=\"POST\",status=\"404\"} 1\n"));
+    }
+
+    @Test
+    public void testResponseWithoutRequestStartNotRecorded() {
+        filter.filter(requestContext("GET"), responseContext(500));
+
+        assertFalse(registry.scrape().contains(KieServerMetrics.REST_ENDPOINT));
+    }
+
+    private ContainerRequestContext requestContext(String method) {
+        Map<String, Object> properties = new HashMap<>();
+        ContainerRequestContext requestContext = mock(ContainerRequestContext.class);
+        when(requestContext.getMethod()).thenReturn(method);
+        doAnswer(invocation -> properties.put((String) invocation.getArguments()[0], invocation.getArguments()[1]))
+                .when(requestContext).setProperty(anyString(), any());
+        when(requestContext.getProperty(anyString())).thenAnswer(invocation -> properties.get(invocation.getArguments()[0]));
+        return requestContext;
+    }
+
+    private ContainerResponseContext responseContext(int status) {
+        ContainerResponseContext responseContext = mock(ContainerResponseContext.class);
+        when(responseContext.getStatus()).thenReturn(status);
+        return responseContext;
+    }
+
+    public static class TestResource {
+
+        public String getItem(String id) {
+            return id;
+        }
+    }
+}
@@ -40,6 +40,7 @@ import org.kie.server.router.handlers.JobsHttpHandler;
 import org.kie.server.router.handlers.KieServerInfoHandler;
 import org.kie.server.router.handlers.QueriesDataHttpHandler;
 import org.kie.server.router.handlers.QueriesHttpHandler;
+import org.kie.server.router.proxy.BackendRegistry;
 import org.kie.server.router.proxy.KieServerProxyClient;
 import org.kie.server.router.repository.FileRepository;
 import org.kie.server.router.spi.ConfigRepository;
@@ -78,6 +79,8 @@ public class KieServerRouter {
     private ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();    
     private ScheduledFuture<?> controllerConnectionAttempts;
 
+    private BackendRegistry backendRegistry;
+
     public KieServerRouter() {
         configRepositoryServiceLoader.forEach( repo -> repository = repo);
         log.info("KIE Server router repository implementation is " + repository);
@@ -105,7 +108,9 @@ public class KieServerRouter {
         }
         
         AdminHttpHandler adminHandler = new AdminHttpHandler(configuration, repository, executorService);
-        final KieServerProxyClient proxyClient = new KieServerProxyClient(configuration, adminHandler);
+        backendRegistry = new BackendRegistry();
+        adminHandler.setBackendRegistry(backendRegistry);
+        final KieServerProxyClient proxyClient = new KieServerProxyClient(configuration, adminHandler, backendRegistry);
         Map<String, List<String>> perContainer = configuration.getHostsPerContainer();
 
         for (Map.Entry<String, List<String>> entry : perContainer.entrySet()) {
@@ -125,17 +130,18 @@ public class KieServerRouter {
         pathHandler.addPrefixPath("/jobs", new JobsHttpHandler(proxyHandler, adminHandler));
         pathHandler.addPrefixPath("/documents", new DocumentsHttpHandler(notFoundHandler, adminHandler));
         pathHandler.addExactPath("/containers", new ContainersHttpHandler(notFoundHandler, adminHandler));        
-        pathHandler.addPrefixPath("/mgmt", adminHandler);
+        // admin operations persist configuration and talk to controller so they run on worker threads
+        pathHandler.addPrefixPath("/mgmt", new BlockingHandler(adminHandler));
         pathHandler.addExactPath("/", new KieServerInfoHandler());
 
-        HttpHandler blockingHandler = new BlockingHandler(pathHandler);
-
-        // main server configuration
+        // main server configuration - proxied requests stay on IO threads, aggregate handlers dispatch themselves
+        // to worker threads when needed
         server = Undertow.builder()
                 .addHttpListener(port, host)                
-                .setHandler(blockingHandler)
+                .setHandler(pathHandler)
                 .build();
         server.start();
+        backendRegistry.startHealthChecks();
         log.infof("KieServerRouter started on %s:%s at %s", host, port, new Date());
         connectToController(adminHandler);
 
@@ -147,6 +153,9 @@ public class KieServerRouter {
     
     public void stop(boolean clean) {
         executorService.shutdownNow();
+        if (backendRegistry != null) {
+            backendRegistry.close();
+        }
         disconnectToController();
         if (server != null) {
             server.stop();
@@ -32,4 +32,11 @@ public class KieServerRouterConstants {
     public static final String CONFIG_FILE_WATCHER_ENABLED = "org.kie.server.router.config.watcher.enabled";
     public static final String KIE_SERVER_CONTROLLER_ATTEMPT_INTERVAL = "org.kie.server.controller.retry.interval";
     public static final String KIE_SERVER_RECOVERY_ATTEMPT_LIMIT = "org.kie.server.recovery.retry.limit";
+
+    public static final String LOAD_BALANCING_STRATEGY = "org.kie.server.router.lb.strategy";
+    public static final String LOAD_BALANCING_SLOW_START = "org.kie.server.router.lb.slowstart";
+    public static final String HEALTH_CHECK_INTERVAL = "org.kie.server.router.healthcheck.interval";
+    public static final String HEALTH_CHECK_TIMEOUT = "org.kie.server.router.healthcheck.timeout";
+    public static final String OUTLIER_CONSECUTIVE_ERRORS = "org.kie.server.router.outlier.errors";
+    public static final String OUTLIER_EJECTION_TIME = "org.kie.server.router.outlier.ejection";
 }
@@ -66,6 +66,9 @@ public abstract class AbstractAggregateHttpHandler implements HttpHandler {
             httpHandler.handleRequest(exchange);
             return;
         }
+        if (dispatchToWorker(exchange)) {
+            return;
+        }
         Map<String, Deque<String>> queryParams = exchange.getQueryParameters();
         // collect and alter paging
         Integer page = 0;
@@ -141,6 +144,21 @@ public abstract class AbstractAggregateHttpHandler implements HttpHandler {
         exchange.getResponseSender().send(response);
     }
 
+    /**
+     * Aggregation calls all servers with blocking http requests so it cannot run on IO thread. In such case
+     * the exchange is switched to blocking mode and dispatched to a worker thread that invokes this handler again.
+     * @param exchange current exchange
+     * @return true if exchange was dispatched and the caller should return immediately
+     */
+    protected boolean dispatchToWorker(HttpServerExchange exchange) {
+        if (exchange.isInIoThread()) {
+            exchange.startBlocking();
+            exchange.dispatch(this);
+            return true;
+        }
+        return false;
+    }
+
     protected String sendRequest(String url, HttpServerExchange exchange, Map<String,List<String>> responseHeaders, String page, String pageSize) throws Exception {
 
         URL obj = new URL(url + exchange.getRequestPath() + "?" + exchange.getQueryString().replaceAll(REPLACE_PAGE, "page=" + page).replaceAll(REPLACE_PAGE_SIZE, "pageSize="+pageSize));
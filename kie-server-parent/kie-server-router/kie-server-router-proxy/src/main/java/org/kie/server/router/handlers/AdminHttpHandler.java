@@ -22,6 +22,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -32,6 +33,7 @@ import org.json.JSONObject;
 import org.kie.server.router.Configuration;
 import org.kie.server.router.ContainerInfo;
 import org.kie.server.router.KieServerRouterConstants;
+import org.kie.server.router.proxy.BackendRegistry;
 import org.kie.server.router.proxy.aggragate.JSONResponseAggregator;
 import org.kie.server.router.proxy.aggragate.JaxbXMLResponseAggregator;
 import org.kie.server.router.proxy.aggragate.ResponseAggregator;
@@ -64,6 +66,8 @@ public class AdminHttpHandler implements HttpHandler {
     private Set<String> controllerContainers = new HashSet<>();
 
     private ScheduledExecutorService executorService;
+
+    private BackendRegistry backendRegistry;
     
     private ScheduledFuture<?> failedHostsReconnects;
     private ScheduledFuture<?> addToControllerAttempts;
@@ -72,6 +76,8 @@ public class AdminHttpHandler implements HttpHandler {
     private CopyOnWriteArrayList<FailedHostInfo> failedHosts = new CopyOnWriteArrayList<>();
     private CopyOnWriteArrayList<ContainerInfo> containersToAddToController = new CopyOnWriteArrayList<>();
     private CopyOnWriteArrayList<String> containersToRemoveFromController = new CopyOnWriteArrayList<>();
+    // servers which removal is already scheduled, so failures of concurrent requests remove them only once
+    private Set<String> scheduledServerRemovals = ConcurrentHashMap.newKeySet();
 
     private static final String CONTAINER_SPEC_JSON = "{\n" +
             "    \"container-id\" : \"#1@\",\n" +
@@ -111,7 +117,18 @@ public class AdminHttpHandler implements HttpHandler {
             exchange.getResponseSender().send(jsonConfig);
             
             return;
-        } 
+        } else if (path.startsWith("/backends")) {
+            if (backendRegistry == null) {
+                ResponseCodeHandler.HANDLE_404.handleRequest(exchange);
+                return;
+            }
+            String jsonMetrics = backendRegistry.toJSON();
+            exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "application/json");
+            exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, jsonMetrics.getBytes("UTF-8").length);
+            exchange.getResponseSender().send(jsonMetrics);
+
+            return;
+        }
         
         exchange.getRequestReceiver().receiveFullString((ex, data) -> {
             try {
@@ -187,6 +204,36 @@ public class AdminHttpHandler implements HttpHandler {
     public Configuration getConfiguration() {
         return configuration;
     }
+
+    public void setBackendRegistry(BackendRegistry backendRegistry) {
+        this.backendRegistry = backendRegistry;
+    }
+
+    /**
+     * Removes unavailable server using the router's executor, to be used from IO threads which must not be blocked
+     * by persisting the configuration or notifying its listeners
+     * @param url url of the server that failed
+     */
+    public void scheduleUnavailableServerRemoval(String url) {
+        if (url == null || !scheduledServerRemovals.add(url)) {
+            return;
+        }
+        try {
+            executorService.execute(() -> {
+                try {
+                    removeUnavailableServer(url);
+                } catch (Exception e) {
+                    log.warn("Unable to remove unavailable server " + url, e);
+                } finally {
+                    scheduledServerRemovals.remove(url);
+                }
+            });
+        } catch (RuntimeException e) {
+            scheduledServerRemovals.remove(url);
+            log.warn("Unable to schedule removal of unavailable server " + url, e);
+        }
+    }
+
     public void removeUnavailableServer(String url) {
         synchronized (configuration) {
             FailedHostInfo failedHost = configuration.removeUnavailableServer(url);
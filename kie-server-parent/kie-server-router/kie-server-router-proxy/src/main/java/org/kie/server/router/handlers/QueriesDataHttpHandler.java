@@ -41,6 +41,9 @@ public class QueriesDataHttpHandler extends AbstractAggregateHttpHandler {
 
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
+        if (dispatchToWorker(exchange)) {
+            return;
+        }
         if (exchange.getRequestMethod().equals(HttpString.tryFromString("POST"))) {
 
             Map<String, Deque<String>> queryParams = exchange.getQueryParameters();
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.proxy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.json.JSONObject;
+
+/**
+ * Runtime statistics of single backend (KIE Server) used for host selection, health and outlier tracking.
+ */
+public class BackendMetrics {
+
+    // weight of the latest sample in the exponentially weighted moving average of latency
+    private static final double EWMA_ALPHA = 0.3;
+
+    private final String url;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicInteger consecutiveErrors = new AtomicInteger();
+    // EWMA latency in nanoseconds stored as double bits, negative when no sample was recorded yet
+    private final AtomicLong ewmaLatency = new AtomicLong(Double.doubleToLongBits(-1));
+
+    private volatile long activeSince;
+    private volatile long ejectedUntil;
+    private volatile int ejections;
+    private volatile boolean healthy = true;
+    private volatile long lastHealthCheck;
+
+    public BackendMetrics(String url, long activeSince) {
+        this.url = url;
+        this.activeSince = activeSince;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public int getConsecutiveErrors() {
+        return consecutiveErrors.get();
+    }
+
+    public double getEwmaLatency() {
+        return Double.longBitsToDouble(ewmaLatency.get());
+    }
+
+    public long getActiveSince() {
+        return activeSince;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public boolean isEjected(long now) {
+        return ejectedUntil > now;
+    }
+
+    public int getEjections() {
+        return ejections;
+    }
+
+    void requestStarted() {
+        outstanding.incrementAndGet();
+        requests.increment();
+    }
+
+    void requestCompleted(long latencyNanos) {
+        outstanding.decrementAndGet();
+        recordLatency(latencyNanos);
+    }
+
+    /**
+     * Records the error and returns number of errors in a row
+     */
+    int recordError() {
+        errors.increment();
+        return consecutiveErrors.incrementAndGet();
+    }
+
+    void recordSuccess(long now) {
+        if (consecutiveErrors.get() != 0) {
+            consecutiveErrors.set(0);
+        }
+        if (ejections != 0 && ejectedUntil <= now) {
+            ejections = 0;
+        }
+    }
+
+    void eject(long until) {
+        ejections++;
+        ejectedUntil = until;
+        consecutiveErrors.set(0);
+    }
+
+    void activate(long now) {
+        activeSince = now;
+        ejectedUntil = 0;
+        consecutiveErrors.set(0);
+    }
+
+    void healthChecked(boolean healthy, long now) {
+        this.healthy = healthy;
+        this.lastHealthCheck = now;
+    }
+
+    private void recordLatency(long latencyNanos) {
+        long current;
+        long updated;
+        do {
+            current = ewmaLatency.get();
+            double ewma = Double.longBitsToDouble(current);
+            double next = ewma < 0 ? latencyNanos : ewma + EWMA_ALPHA * (latencyNanos - ewma);
+            updated = Double.doubleToLongBits(next);
+        } while (!ewmaLatency.compareAndSet(current, updated));
+    }
+
+    public JSONObject toJSON(long now) {
+        JSONObject json = new JSONObject();
+        json.put("url", url);
+        json.put("healthy", healthy);
+        json.put("ejected", isEjected(now));
+        json.put("ejections", ejections);
+        json.put("outstanding", getOutstanding());
+        json.put("requests", getRequests());
+        json.put("errors", getErrors());
+        json.put("consecutive-errors", getConsecutiveErrors());
+        double ewma = getEwmaLatency();
+        json.put("latency-ewma-ms", ewma < 0 ? 0 : ewma / TimeUnit.MILLISECONDS.toNanos(1));
+        json.put("active-since", activeSince);
+        json.put("last-health-check", lastHealthCheck);
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return "BackendMetrics{url=" + url + ", outstanding=" + getOutstanding() + ", healthy=" + healthy + "}";
+    }
+}
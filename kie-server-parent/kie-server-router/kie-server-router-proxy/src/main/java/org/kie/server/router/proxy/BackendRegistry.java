@@ -0,0 +1,282 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.proxy;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+import org.json.JSONArray;
+import org.kie.server.router.KieServerRouterConstants;
+
+/**
+ * Keeps track of all backends (KIE Servers) the router proxies to. It collects per backend latency and error
+ * metrics, actively probes backends, ejects outliers that fail repeatedly and provides the scores used by
+ * {@link LatencyAwareHostSelector} to pick a host.
+ */
+public class BackendRegistry {
+
+    private static final Logger log = Logger.getLogger(BackendRegistry.class);
+
+    // minimal weight of a backend that has just been added (or recovered) during slow start
+    private static final double MIN_SLOW_START_WEIGHT = 0.1;
+    // maximal ejection time as multiple of the base ejection time
+    private static final int MAX_EJECTION_MULTIPLIER = 10;
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        LEAST_OUTSTANDING,
+        EWMA;
+
+        public static final Strategy DEFAULT = LEAST_OUTSTANDING;
+
+        /**
+         * Resolves strategy by its name (e.g. least-outstanding), unknown names resolve to the default strategy
+         */
+        public static Strategy fromName(String name) {
+            if (name == null || name.trim().isEmpty()) {
+                return DEFAULT;
+            }
+            try {
+                return valueOf(name.trim().toUpperCase().replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                log.warnf("Unknown load balancing strategy '%s', using %s instead", name, DEFAULT);
+                return DEFAULT;
+            }
+        }
+    }
+
+    private final Map<String, BackendMetrics> backends = new ConcurrentHashMap<>();
+
+    private final Strategy strategy;
+    private final long slowStartMillis;
+    private final int consecutiveErrorsThreshold;
+    private final long ejectionMillis;
+    private final long healthCheckIntervalSeconds;
+    private final int healthCheckTimeoutMillis;
+
+    private ScheduledExecutorService healthCheckExecutor;
+
+    public BackendRegistry() {
+        this(Strategy.fromName(System.getProperty(KieServerRouterConstants.LOAD_BALANCING_STRATEGY, "least-outstanding")),
+             TimeUnit.SECONDS.toMillis(Long.parseLong(System.getProperty(KieServerRouterConstants.LOAD_BALANCING_SLOW_START, "30"))),
+             Integer.parseInt(System.getProperty(KieServerRouterConstants.OUTLIER_CONSECUTIVE_ERRORS, "5")),
+             TimeUnit.SECONDS.toMillis(Long.parseLong(System.getProperty(KieServerRouterConstants.OUTLIER_EJECTION_TIME, "30"))),
+             Long.parseLong(System.getProperty(KieServerRouterConstants.HEALTH_CHECK_INTERVAL, "10")),
+             Integer.parseInt(System.getProperty(KieServerRouterConstants.HEALTH_CHECK_TIMEOUT, "2000")));
+    }
+
+    public BackendRegistry(Strategy strategy, long slowStartMillis, int consecutiveErrorsThreshold, long ejectionMillis,
+                           long healthCheckIntervalSeconds, int healthCheckTimeoutMillis) {
+        this.strategy = strategy;
+        this.slowStartMillis = slowStartMillis;
+        this.consecutiveErrorsThreshold = consecutiveErrorsThreshold;
+        this.ejectionMillis = ejectionMillis;
+        this.healthCheckIntervalSeconds = healthCheckIntervalSeconds;
+        this.healthCheckTimeoutMillis = healthCheckTimeoutMillis;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public BackendMetrics getMetrics(String url) {
+        return backends.computeIfAbsent(url, u -> new BackendMetrics(u, now()));
+    }
+
+    public Collection<BackendMetrics> getAllMetrics() {
+        return backends.values();
+    }
+
+    /**
+     * Invoked when backend was (re)added to serve a container, newly seen backends start with slow start
+     */
+    public void backendAdded(String url) {
+        if (!backends.containsKey(url)) {
+            getMetrics(url);
+            log.debugf("Backend %s registered, slow start for %s ms", url, slowStartMillis);
+        }
+    }
+
+    /**
+     * Invoked when backend does not serve any container anymore, it is no longer health checked nor reported
+     * and starts with slow start again when it is added back
+     */
+    public void backendRemoved(String url) {
+        if (backends.remove(url) != null) {
+            log.debugf("Backend %s unregistered", url);
+        }
+    }
+
+    public BackendMetrics requestStarted(String url) {
+        BackendMetrics metrics = backends.get(url);
+        if (metrics == null) {
+            // backend removed while the request was being routed, its statistics are not kept
+            metrics = new BackendMetrics(url, now());
+        }
+        metrics.requestStarted();
+        return metrics;
+    }
+
+    public void requestCompleted(BackendMetrics metrics, long latencyNanos, int statusCode) {
+        metrics.requestCompleted(latencyNanos);
+        if (statusCode >= 500) {
+            errorOccurred(metrics);
+        } else {
+            metrics.recordSuccess(now());
+        }
+    }
+
+    public void connectionFailed(String url) {
+        BackendMetrics metrics = url == null ? null : backends.get(url);
+        if (metrics != null) {
+            errorOccurred(metrics);
+        }
+    }
+
+    public boolean isAvailable(BackendMetrics metrics, long now) {
+        return metrics.isHealthy() && !metrics.isEjected(now);
+    }
+
+    /**
+     * Score of the backend according to the configured strategy, lower score wins. Slow start scales the load
+     * a backend is considered to have, so an idle backend in slow start still competes with other idle backends
+     * while it takes over only a fraction of the concurrent requests of the others.
+     */
+    public double score(BackendMetrics metrics, long now) {
+        double weight = weight(metrics, now);
+        int outstanding = metrics.getOutstanding();
+        switch (strategy) {
+            case EWMA:
+                double latency = metrics.getEwmaLatency();
+                // backends without samples are assumed to be as fast as one millisecond
+                double expected = latency < 0 ? TimeUnit.MILLISECONDS.toNanos(1) : latency;
+                return expected * (outstanding + 1) / weight;
+            case LEAST_OUTSTANDING:
+                return outstanding / weight;
+            default:
+                return 0;
+        }
+    }
+
+    double weight(BackendMetrics metrics, long now) {
+        if (slowStartMillis <= 0) {
+            return 1;
+        }
+        long active = now - metrics.getActiveSince();
+        if (active >= slowStartMillis) {
+            return 1;
+        }
+        return Math.max(MIN_SLOW_START_WEIGHT, (double) active / slowStartMillis);
+    }
+
+    /**
+     * Starts periodic health checks of all registered backends
+     */
+    public void startHealthChecks() {
+        if (healthCheckIntervalSeconds <= 0) {
+            log.info("Backend health checks are disabled");
+            return;
+        }
+        healthCheckExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "kie-server-router-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthCheckExecutor.scheduleWithFixedDelay(() -> {
+            for (BackendMetrics metrics : new ArrayList<>(backends.values())) {
+                try {
+                    healthCheck(metrics);
+                } catch (Exception e) {
+                    log.debug("Unexpected error during health check of " + metrics.getUrl(), e);
+                }
+            }
+        }, healthCheckIntervalSeconds, healthCheckIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void close() {
+        if (healthCheckExecutor != null) {
+            healthCheckExecutor.shutdownNow();
+        }
+    }
+
+    protected void healthCheck(BackendMetrics metrics) {
+        String url = metrics.getUrl();
+        boolean wasHealthy = metrics.isHealthy();
+        boolean healthy = probe(url);
+        long now = now();
+        metrics.healthChecked(healthy, now);
+        if (healthy && !wasHealthy) {
+            // recovered backends are slowly ramped up again
+            metrics.activate(now);
+            log.infof("Backend %s passed health check and is available again", url);
+        } else if (!healthy && wasHealthy) {
+            log.warnf("Backend %s failed health check and will not receive requests", url);
+        }
+    }
+
+    protected boolean probe(String url) {
+        try {
+            HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
+            con.setRequestMethod("GET");
+            con.setConnectTimeout(healthCheckTimeoutMillis);
+            con.setReadTimeout(healthCheckTimeoutMillis);
+            con.setRequestProperty("Accept", "application/json");
+            int responseCode = con.getResponseCode();
+            con.disconnect();
+            // any response that is not a server error means the server is up, e.g. 401 for unauthenticated probe
+            return responseCode < 500;
+        } catch (Exception e) {
+            log.debugf("Health check of %s failed due to %s", url, e.getMessage());
+            return false;
+        }
+    }
+
+    public String toJSON() {
+        long now = now();
+        JSONArray json = new JSONArray();
+        for (BackendMetrics metrics : backends.values()) {
+            json.put(metrics.toJSON(now));
+        }
+        return json.toString(2);
+    }
+
+    private void errorOccurred(BackendMetrics metrics) {
+        int errors = metrics.recordError();
+        if (consecutiveErrorsThreshold > 0 && errors >= consecutiveErrorsThreshold) {
+            long multiplier = Math.min(MAX_EJECTION_MULTIPLIER, 1L << Math.min(metrics.getEjections(), 30));
+            long ejectFor = ejectionMillis * multiplier;
+            metrics.eject(now() + ejectFor);
+            log.warnf("Backend %s ejected for %s ms after %s consecutive errors", metrics.getUrl(), ejectFor, errors);
+        }
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "BackendRegistry{strategy=" + strategy + ", backends=" + backends.keySet() + "}";
+    }
+}
@@ -15,27 +15,36 @@
 
 package org.kie.server.router.proxy;
 
+import io.undertow.client.UndertowClient;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.proxy.LoadBalancingProxyClient;
+import io.undertow.util.AttachmentKey;
 
 public class CaptureHostLoadBalancingProxyClient extends LoadBalancingProxyClient {
-    private String uri = null;
+
+    // selected host is kept per exchange as the client is shared by all requests of the container
+    private static final AttachmentKey<String> SELECTED_HOST = AttachmentKey.create(String.class);
+
+    public CaptureHostLoadBalancingProxyClient() {
+        super();
+    }
+
+    public CaptureHostLoadBalancingProxyClient(HostSelector hostSelector) {
+        super(UndertowClient.getInstance(), null, hostSelector);
+    }
+
     @Override
     protected Host selectHost(HttpServerExchange exchange) {
         Host host = super.selectHost(exchange);
 
         if (host != null) {
-            uri = host.getUri().toString();
+            exchange.putAttachment(SELECTED_HOST, host.getUri().toString());
         }
 
         return host;
     }
 
-    public String getUri() {
-        return uri;
-    }
-
-    public void clear() {
-       uri = null;
+    public String getUri(HttpServerExchange exchange) {
+        return exchange.getAttachment(SELECTED_HOST);
     }
 }
@@ -20,9 +20,12 @@ import java.net.URI;
 import java.net.UnknownHostException;
 import java.nio.channels.UnresolvedAddressException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
@@ -31,6 +34,7 @@ import io.undertow.server.handlers.proxy.LoadBalancingProxyClient;
 import io.undertow.server.handlers.proxy.ProxyCallback;
 import io.undertow.server.handlers.proxy.ProxyClient;
 import io.undertow.server.handlers.proxy.ProxyConnection;
+import io.undertow.util.AttachmentKey;
 import org.jboss.logging.Logger;
 import org.kie.server.router.Configuration;
 import org.kie.server.router.ConfigurationListener;
@@ -42,6 +46,11 @@ public class KieServerProxyClient implements ProxyClient, ConfigurationListener
 
     private static final Logger log = Logger.getLogger(KieServerProxyClient.class);
 
+    /**
+     * Container id resolved for the exchange, resolution is done only once per exchange
+     */
+    public static final AttachmentKey<String> CONTAINER_ID = AttachmentKey.create(String.class);
+
     private ServiceLoader<ContainerResolver> containerResolverServiceLoader = ServiceLoader.load(ContainerResolver.class);
     private ServiceLoader<RestrictionPolicy> restrictionPolicyServiceLoader = ServiceLoader.load(RestrictionPolicy.class);
 
@@ -49,13 +58,23 @@ public class KieServerProxyClient implements ProxyClient, ConfigurationListener
     private RestrictionPolicy restrictionPolicy = new DefaultRestrictionPolicy();
 
     private Map<String, CaptureHostLoadBalancingProxyClient> containerClients = new ConcurrentHashMap<>();
+    // containers served by each backend, backends serving no container are evicted from the backend registry
+    private Map<String, Set<String>> backendContainers = new HashMap<>();
 
     private Configuration configuration;
     private AdminHttpHandler adminHandler;
+    private BackendRegistry backendRegistry;
+    private LatencyAwareHostSelector hostSelector;
 
     public KieServerProxyClient(Configuration configuration, AdminHttpHandler adminHandler) {
+        this(configuration, adminHandler, new BackendRegistry());
+    }
+
+    public KieServerProxyClient(Configuration configuration, AdminHttpHandler adminHandler, BackendRegistry backendRegistry) {
         this.configuration = configuration;
         this.adminHandler = adminHandler;
+        this.backendRegistry = backendRegistry;
+        this.hostSelector = new LatencyAwareHostSelector(backendRegistry);
         this.configuration.addListener(this);
         List<ContainerResolver> foundResolvers = new ArrayList<>();
         containerResolverServiceLoader.forEach(cr -> foundResolvers.add(cr));
@@ -74,15 +93,18 @@ public class KieServerProxyClient implements ProxyClient, ConfigurationListener
             this.restrictionPolicy = foundPolicies.get(0);
         }
         log.infof("Using '%s' container resolver and restriction policy '%s'", containerResolver, restrictionPolicy);
+        log.infof("Using '%s' load balancing strategy", backendRegistry.getStrategy());
     }
 
     public synchronized void addContainer(String containerId, URI serverURI) {
 
         CaptureHostLoadBalancingProxyClient client = containerClients.get(containerId);
         if (client == null) {
-            client = new CaptureHostLoadBalancingProxyClient();
+            client = new CaptureHostLoadBalancingProxyClient(hostSelector);
             containerClients.put(containerId, client);
         }
+        backendRegistry.backendAdded(serverURI.toString());
+        backendContainers.computeIfAbsent(serverURI.toString(), url -> new HashSet<>()).add(containerId);
         client.addHost(serverURI);
     }
 
@@ -94,12 +116,19 @@ public class KieServerProxyClient implements ProxyClient, ConfigurationListener
             return;
         }
         client.removeHost(serverURI);
+
+        String url = serverURI.toString();
+        Set<String> containers = backendContainers.get(url);
+        if (containers != null && containers.remove(containerId) && containers.isEmpty()) {
+            backendContainers.remove(url);
+            backendRegistry.backendRemoved(url);
+        }
     }
 
     @Override
     public ProxyTarget findTarget(HttpServerExchange exchange) {
 
-        String containerId = containerResolver.resolveContainerId(exchange, configuration.getContainerInfosPerContainer());
+        String containerId = resolveContainerId(exchange);
         if (restrictionPolicy.restrictedEndpoint(exchange, containerId)) {
             log.debugf("URL %s is restricted according to policy %s", exchange.getRelativePath(), restrictionPolicy.toString());
             return null;
@@ -115,22 +144,30 @@ public class KieServerProxyClient implements ProxyClient, ConfigurationListener
 
     @Override
     public void getConnection(ProxyTarget target, HttpServerExchange exchange, final ProxyCallback<ProxyConnection> callback, long timeout, TimeUnit timeUnit) {
-        String containerId = containerResolver.resolveContainerId(exchange, configuration.getContainerInfosPerContainer());
+        String containerId = resolveContainerId(exchange);
         CaptureHostLoadBalancingProxyClient client = containerClients.get(containerId);
+        if (client == null) {
+            // container was removed since the target was found
+            callback.couldNotResolveBackend(exchange);
+            return;
+        }
         try {
             client.getConnection(target, exchange, new ProxyCallback<ProxyConnection>() {
                 @Override
                 public void completed(HttpServerExchange exchange, ProxyConnection result) {
+                    trackRequest(exchange, client.getUri(exchange));
                     callback.completed(exchange, result);
                 }
 
                 @Override
                 public void failed(HttpServerExchange httpServerExchange) {
+                    String uri = client.getUri(exchange);
                     try {
-                        adminHandler.removeUnavailableServer(client.getUri());
+                        backendRegistry.connectionFailed(uri);
+                        // called on IO thread, configuration is updated and persisted by the router's executor
+                        adminHandler.scheduleUnavailableServerRemoval(uri);
                     } finally {
                         callback.failed(exchange);
-                        client.clear();
                     }
                 }
 
@@ -150,13 +187,42 @@ public class KieServerProxyClient implements ProxyClient, ConfigurationListener
                     || e instanceof UnresolvedAddressException
                     // xnio throws IllegalArgumentException for unresolvable host
                     || e instanceof IllegalArgumentException) {
-                adminHandler.removeUnavailableServer(client.getUri());
+                backendRegistry.connectionFailed(client.getUri(exchange));
+                adminHandler.scheduleUnavailableServerRemoval(client.getUri(exchange));
             }
 
             throw new RuntimeException(e);
         }
     }
 
+    protected void trackRequest(HttpServerExchange exchange, String uri) {
+        if (uri == null) {
+            return;
+        }
+        final BackendMetrics metrics = backendRegistry.requestStarted(uri);
+        final long start = System.nanoTime();
+        exchange.addExchangeCompleteListener((completedExchange, nextListener) -> {
+            try {
+                backendRegistry.requestCompleted(metrics, System.nanoTime() - start, completedExchange.getStatusCode());
+            } finally {
+                nextListener.proceed();
+            }
+        });
+    }
+
+    public BackendRegistry getBackendRegistry() {
+        return backendRegistry;
+    }
+
+    protected String resolveContainerId(HttpServerExchange exchange) {
+        String containerId = exchange.getAttachment(CONTAINER_ID);
+        if (containerId == null) {
+            containerId = containerResolver.resolveContainerId(exchange, configuration.getContainerInfosPerContainer());
+            exchange.putAttachment(CONTAINER_ID, containerId);
+        }
+        return containerId;
+    }
+
     @Override
     public void onContainerAdded(String container, String serverUrl) {
         addContainer(container, URI.create(serverUrl));
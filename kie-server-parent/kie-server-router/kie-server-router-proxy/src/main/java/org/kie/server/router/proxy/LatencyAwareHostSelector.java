@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.proxy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.undertow.server.handlers.proxy.LoadBalancingProxyClient;
+
+/**
+ * Host selector that skips unhealthy and ejected backends and picks the one with the lowest score
+ * computed by {@link BackendRegistry}. Hosts are evaluated starting from a rotating index so ties are
+ * distributed in round robin fashion. When all hosts are unavailable the round robin choice is returned
+ * so the load balancer can still try them.
+ */
+public class LatencyAwareHostSelector implements LoadBalancingProxyClient.HostSelector {
+
+    private final BackendRegistry registry;
+    private final AtomicInteger currentHost = new AtomicInteger(0);
+
+    public LatencyAwareHostSelector(BackendRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public int selectHost(LoadBalancingProxyClient.Host[] availableHosts) {
+        String[] urls = new String[availableHosts.length];
+        for (int i = 0; i < availableHosts.length; i++) {
+            urls[i] = availableHosts[i] == null ? null : availableHosts[i].getUri().toString();
+        }
+        return selectHost(urls);
+    }
+
+    int selectHost(String[] urls) {
+        int length = urls.length;
+        int start = (currentHost.incrementAndGet() & Integer.MAX_VALUE) % length;
+        long now = registry.now();
+
+        int selected = -1;
+        double selectedScore = Double.MAX_VALUE;
+        for (int i = 0; i < length; i++) {
+            int index = (start + i) % length;
+            if (urls[index] == null) {
+                continue;
+            }
+            BackendMetrics metrics = registry.getMetrics(urls[index]);
+            if (!registry.isAvailable(metrics, now)) {
+                continue;
+            }
+            double score = registry.score(metrics, now);
+            if (score < selectedScore) {
+                selected = index;
+                selectedScore = score;
+            }
+        }
+        return selected >= 0 ? selected : start;
+    }
+}
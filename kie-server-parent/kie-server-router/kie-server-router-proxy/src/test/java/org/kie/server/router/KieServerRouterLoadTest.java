@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import io.undertow.Undertow;
+import io.undertow.util.Headers;
+import org.jboss.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Load test harness for proxied requests, starts a stub backend and the router and reports the throughput
+ * of concurrent clients. Tune it with <code>router.load.clients</code> and <code>router.load.requests</code>
+ * system properties.
+ */
+@Ignore("Load test, run manually")
+public class KieServerRouterLoadTest {
+
+    private static final Logger log = Logger.getLogger(KieServerRouterLoadTest.class);
+
+    private static final String ROUTER_HOST = "localhost";
+    private static final int ROUTER_PORT = 9777;
+    private static final int BACKEND_PORT = 9778;
+
+    private static final int CLIENTS = Integer.getInteger("router.load.clients", 50);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("router.load.requests", 2000);
+
+    private File repositoryDirectory;
+    private Undertow backend;
+    private KieServerRouter router;
+
+    @Before
+    public void startServers() throws Exception {
+        repositoryDirectory = Files.createTempDirectory("router-load").toFile();
+        System.setProperty(KieServerRouterConstants.ROUTER_REPOSITORY_DIR, repositoryDirectory.getAbsolutePath());
+
+        backend = Undertow.builder()
+                .addHttpListener(BACKEND_PORT, ROUTER_HOST)
+                .setHandler(exchange -> {
+                    exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "application/json");
+                    exchange.getResponseSender().send("{\"type\" : \"SUCCESS\"}");
+                })
+                .build();
+        backend.start();
+
+        router = new KieServerRouter();
+        router.start(ROUTER_HOST, ROUTER_PORT);
+
+        String serverUrl = "http://" + ROUTER_HOST + ":" + BACKEND_PORT;
+        String registration = "{\"containerId\" : \"load\", \"alias\" : \"load-alias\", \"serverId\" : \"load-server\", " +
+                "\"serverUrl\" : \"" + serverUrl + "\", \"releaseId\" : \"org.kie:load:1.0\"}";
+        assertEquals(200, send("POST", "http://" + ROUTER_HOST + ":" + ROUTER_PORT + "/mgmt/add", registration));
+    }
+
+    @After
+    public void stopServers() {
+        if (router != null) {
+            router.stop(true);
+        }
+        if (backend != null) {
+            backend.stop();
+        }
+        System.clearProperty(KieServerRouterConstants.ROUTER_REPOSITORY_DIR);
+        repositoryDirectory.delete();
+    }
+
+    @Test
+    public void testProxiedRequestsThroughput() throws Exception {
+        String url = "http://" + ROUTER_HOST + ":" + ROUTER_PORT + "/containers/load/processes/instances";
+        // warm up
+        runClients(url, CLIENTS, REQUESTS_PER_CLIENT / 10);
+
+        long start = System.nanoTime();
+        long failures = runClients(url, CLIENTS, REQUESTS_PER_CLIENT);
+        long elapsed = System.nanoTime() - start;
+
+        long total = (long) CLIENTS * REQUESTS_PER_CLIENT;
+        log.infof("%d requests from %d clients in %d ms, %.0f requests/s, %d failed",
+                  total, CLIENTS, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                  total / (elapsed / 1_000_000_000.0), failures);
+        assertEquals(0, failures);
+    }
+
+    private long runClients(String url, int clients, int requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                results.add(executor.submit(() -> {
+                    long failed = 0;
+                    for (int j = 0; j < requests; j++) {
+                        if (send("GET", url, null) != 200) {
+                            failed++;
+                        }
+                    }
+                    return failed;
+                }));
+            }
+            long failed = 0;
+            for (Future<Long> result : results) {
+                failed += result.get();
+            }
+            return failed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int send(String method, String url, String body) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod(method);
+        connection.setRequestProperty("Accept", "application/json");
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes("UTF-8"));
+            }
+        }
+        int status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (in != null) {
+                byte[] buffer = new byte[1024];
+                while (in.read(buffer) != -1) {
+                    // drain so the connection can be reused
+                }
+            }
+        }
+        return status;
+    }
+}
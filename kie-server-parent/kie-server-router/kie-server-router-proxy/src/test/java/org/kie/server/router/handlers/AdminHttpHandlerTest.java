@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.router.handlers;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.kie.server.router.Configuration;
+import org.kie.server.router.spi.ConfigRepository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AdminHttpHandlerTest {
+
+    private static final String SERVER_URL = "http://localhost:8180/server";
+
+    private ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test(timeout = 10000)
+    public void testUnavailableServerRemovedOnceByExecutor() throws Exception {
+        CountDownLatch persistStarted = new CountDownLatch(1);
+        CountDownLatch persistGate = new CountDownLatch(1);
+        AtomicInteger persisted = new AtomicInteger();
+        Thread caller = Thread.currentThread();
+        Thread[] persistingThread = new Thread[1];
+
+        Configuration configuration = new Configuration();
+        configuration.addContainerHost("container1", SERVER_URL);
+        configuration.addServerHost("server1", SERVER_URL);
+        AdminHttpHandler adminHandler = new AdminHttpHandler(configuration, new ConfigRepository() {
+            @Override
+            public void persist(Configuration configuration) {
+                persistingThread[0] = Thread.currentThread();
+                persisted.incrementAndGet();
+                persistStarted.countDown();
+                try {
+                    persistGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public Configuration load() {
+                return configuration;
+            }
+
+            @Override
+            public void clean() {
+            }
+        }, executor);
+
+        adminHandler.scheduleUnavailableServerRemoval(SERVER_URL);
+        persistStarted.await();
+        // failures of other requests to the same server while it is being removed
+        adminHandler.scheduleUnavailableServerRemoval(SERVER_URL);
+        adminHandler.scheduleUnavailableServerRemoval(SERVER_URL);
+        persistGate.countDown();
+
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        assertEquals(1, persisted.get());
+        assertNotEquals(caller, persistingThread[0]);
+        assertTrue(configuration.getHostsPerContainer().get("container1").isEmpty());
+    }
+}
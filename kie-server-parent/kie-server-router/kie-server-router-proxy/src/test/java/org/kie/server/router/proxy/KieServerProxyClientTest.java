@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.proxy;
+
+import java.net.URI;
+
+import org.junit.Test;
+import org.kie.server.router.Configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KieServerProxyClientTest {
+
+    private static final String SERVER1 = "http://localhost:8080/server";
+    private static final String SERVER2 = "http://localhost:8180/server";
+
+    @Test
+    public void testBackendEvictedWhenNoContainerLeft() {
+        BackendRegistry registry = new BackendRegistry(BackendRegistry.Strategy.LEAST_OUTSTANDING, 0, 3, 1000, 0, 1000);
+        KieServerProxyClient proxyClient = new KieServerProxyClient(new Configuration(), null, registry);
+
+        proxyClient.addContainer("container1", URI.create(SERVER1));
+        proxyClient.addContainer("container2", URI.create(SERVER1));
+        proxyClient.addContainer("container1", URI.create(SERVER2));
+        assertEquals(2, registry.getAllMetrics().size());
+
+        proxyClient.removeContainer("container1", URI.create(SERVER1));
+        proxyClient.removeContainer("container1", URI.create(SERVER2));
+        assertEquals(1, registry.getAllMetrics().size());
+        assertEquals(SERVER1, registry.getAllMetrics().iterator().next().getUrl());
+
+        proxyClient.removeContainer("container2", URI.create(SERVER1));
+        assertTrue(registry.getAllMetrics().isEmpty());
+    }
+}
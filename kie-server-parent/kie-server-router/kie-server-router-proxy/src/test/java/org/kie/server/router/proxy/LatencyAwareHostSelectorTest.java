@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.proxy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyAwareHostSelectorTest {
+
+    private static final String SERVER1 = "http://localhost:8080/server";
+    private static final String SERVER2 = "http://localhost:8180/server";
+
+    private long time = 1000000;
+
+    private BackendRegistry registry(BackendRegistry.Strategy strategy, long slowStartMillis) {
+        return new BackendRegistry(strategy, slowStartMillis, 3, 1000, 0, 1000) {
+            @Override
+            protected long now() {
+                return time;
+            }
+        };
+    }
+
+    @Test
+    public void testLeastOutstandingSelection() {
+        BackendRegistry registry = registry(BackendRegistry.Strategy.LEAST_OUTSTANDING, 0);
+        LatencyAwareHostSelector selector = new LatencyAwareHostSelector(registry);
+        String[] hosts = new String[]{SERVER1, SERVER2};
+
+        registry.requestStarted(SERVER1);
+        registry.requestStarted(SERVER1);
+        registry.requestStarted(SERVER2);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, selector.selectHost(hosts));
+        }
+    }
+
+    @Test
+    public void testEwmaSelection() {
+        BackendRegistry registry = registry(BackendRegistry.Strategy.EWMA, 0);
+        LatencyAwareHostSelector selector = new LatencyAwareHostSelector(registry);
+        String[] hosts = new String[]{SERVER1, SERVER2};
+
+        registry.requestCompleted(registry.requestStarted(SERVER1), TimeUnit.MILLISECONDS.toNanos(5), 200);
+        registry.requestCompleted(registry.requestStarted(SERVER2), TimeUnit.MILLISECONDS.toNanos(50), 200);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, selector.selectHost(hosts));
+        }
+    }
+
+    @Test
+    public void testOutlierEjection() {
+        BackendRegistry registry = registry(BackendRegistry.Strategy.LEAST_OUTSTANDING, 0);
+        LatencyAwareHostSelector selector = new LatencyAwareHostSelector(registry);
+        String[] hosts = new String[]{SERVER1, SERVER2};
+
+        BackendMetrics metrics = registry.getMetrics(SERVER2);
+        for (int i = 0; i < 3; i++) {
+            registry.requestCompleted(registry.requestStarted(SERVER2), 1000, 503);
+        }
+        assertFalse(registry.isAvailable(metrics, time));
+        assertEquals(1, metrics.getEjections());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, selector.selectHost(hosts));
+        }
+
+        time += 1001;
+        assertTrue(registry.isAvailable(metrics, time));
+    }
+
+    @Test
+    public void testSlowStart() {
+        BackendRegistry registry = registry(BackendRegistry.Strategy.LEAST_OUTSTANDING, 10000);
+        BackendMetrics metrics = registry.getMetrics(SERVER1);
+
+        assertEquals(0.1, registry.weight(metrics, time), 0.0001);
+        assertEquals(0.5, registry.weight(metrics, time + 5000), 0.0001);
+        assertEquals(1.0, registry.weight(metrics, time + 10000), 0.0001);
+    }
+
+    @Test
+    public void testSlowStartBackendNotStarved() {
+        BackendRegistry registry = registry(BackendRegistry.Strategy.LEAST_OUTSTANDING, 10000);
+        LatencyAwareHostSelector selector = new LatencyAwareHostSelector(registry);
+        String[] hosts = new String[]{SERVER1, SERVER2};
+
+        registry.backendAdded(SERVER1);
+        time += 20000;
+        registry.backendAdded(SERVER2);
+
+        // idle backend in slow start gets its share of requests
+        int selectedNew = 0;
+        for (int i = 0; i < 10; i++) {
+            if (selector.selectHost(hosts) == 1) {
+                selectedNew++;
+            }
+        }
+        assertTrue(selectedNew > 0);
+
+        registry.requestStarted(SERVER1);
+        assertEquals(1, selector.selectHost(hosts));
+
+        // but only a fraction of the concurrent requests
+        registry.requestStarted(SERVER2);
+        for (int i = 0; i < 4; i++) {
+            registry.requestStarted(SERVER1);
+        }
+        assertEquals(0, selector.selectHost(hosts));
+    }
+
+    @Test
+    public void testEjectionsResetUsingRegistryClock() {
+        BackendRegistry registry = registry(BackendRegistry.Strategy.LEAST_OUTSTANDING, 0);
+        BackendMetrics metrics = registry.getMetrics(SERVER1);
+        for (int i = 0; i < 3; i++) {
+            registry.requestCompleted(registry.requestStarted(SERVER1), 1000, 503);
+        }
+        assertEquals(1, metrics.getEjections());
+
+        registry.requestCompleted(registry.requestStarted(SERVER1), 1000, 200);
+        assertEquals(1, metrics.getEjections());
+
+        time += 1001;
+        registry.requestCompleted(registry.requestStarted(SERVER1), 1000, 200);
+        assertEquals(0, metrics.getEjections());
+    }
+
+    @Test
+    public void testRemovedBackendEvicted() {
+        BackendRegistry registry = registry(BackendRegistry.Strategy.LEAST_OUTSTANDING, 0);
+        registry.backendAdded(SERVER1);
+        registry.backendAdded(SERVER2);
+        BackendMetrics metrics = registry.requestStarted(SERVER2);
+
+        registry.backendRemoved(SERVER2);
+        assertEquals(1, registry.getAllMetrics().size());
+        assertFalse(registry.toJSON().contains(SERVER2));
+
+        // requests and failures of removed backend do not register it again
+        registry.requestCompleted(metrics, 1000, 200);
+        registry.connectionFailed(SERVER2);
+        registry.requestStarted(SERVER2);
+        assertEquals(1, registry.getAllMetrics().size());
+    }
+
+    @Test
+    public void testStrategyFromName() {
+        assertEquals(BackendRegistry.Strategy.ROUND_ROBIN, BackendRegistry.Strategy.fromName("round-robin"));
+        assertEquals(BackendRegistry.Strategy.EWMA, BackendRegistry.Strategy.fromName(" ewma "));
+        assertEquals(BackendRegistry.Strategy.LEAST_OUTSTANDING, BackendRegistry.Strategy.fromName("least-outstanding"));
+        assertEquals(BackendRegistry.Strategy.DEFAULT, BackendRegistry.Strategy.fromName("fastest"));
+        assertEquals(BackendRegistry.Strategy.DEFAULT, BackendRegistry.Strategy.fromName(""));
+    }
+
+    @Test
+    public void testAllHostsUnavailable() {
+        BackendRegistry registry = registry(BackendRegistry.Strategy.LEAST_OUTSTANDING, 0);
+        LatencyAwareHostSelector selector = new LatencyAwareHostSelector(registry);
+
+        registry.getMetrics(SERVER1).healthChecked(false, time);
+
+        assertEquals(0, selector.selectHost(new String[]{SERVER1}));
+    }
+}
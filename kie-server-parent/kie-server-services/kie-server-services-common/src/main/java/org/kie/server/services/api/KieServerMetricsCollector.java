@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.api;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Receives measurements taken by KIE Server and its extensions. Labels are given as alternating
+ * label name and label value pairs e.g. <code>recordTime("kie_server_request_stage", 1000, "transport", "rest", "stage", "execute")</code>.
+ * Implementations must be thread safe and cheap to call as they are invoked on request threads.
+ */
+public interface KieServerMetricsCollector {
+
+    /**
+     * Records single duration
+     * @param name name of the timer
+     * @param durationNanos measured duration in nanoseconds
+     * @param labels alternating label names and values
+     */
+    void recordTime(String name, long durationNanos, String... labels);
+
+    /**
+     * Increments counter by one
+     * @param name name of the counter
+     * @param labels alternating label names and values
+     */
+    void increment(String name, String... labels);
+
+    /**
+     * Registers gauge that is evaluated only when metrics are read
+     * @param name name of the gauge
+     * @param label name of the label keys of the supplied map are reported with
+     * @param values supplier of current values per label value
+     */
+    void registerGauge(String name, String label, Supplier<Map<String, ? extends Number>> values);
+
+    /**
+     * Removes previously registered gauge
+     * @param name name of the gauge
+     */
+    void unregisterGauge(String name);
+
+    /**
+     * Removes all timer and counter series having given label value e.g. series of disposed container
+     * @param label name of the label
+     * @param value value of the label
+     */
+    void removeSeries(String label, String value);
+}
@@ -29,6 +29,19 @@ public class ContainerManager {
 
     private static final Logger logger = LoggerFactory.getLogger(ContainerManager.class);
 
+    /**
+     * Returns containers that should be installed based on setup received from controller. When controller
+     * confirmed that the setup version sent by the server is up to date it does not send containers at all
+     * and the ones from local state are used instead.
+     */
+    public Set<KieContainerResource> getContainersToInstall(KieServerSetup kieServerSetup, String setupVersion, KieServerState currentState) {
+        if (kieServerSetup.isUpToDate(setupVersion)) {
+            logger.debug("Setup version {} confirmed by controller, using containers from local state", setupVersion);
+            return currentState.getContainers();
+        }
+        return kieServerSetup.getContainers();
+    }
+
     public void installContainers(KieServerImpl kieServer, Set<KieContainerResource> containers, KieServerState currentState, KieServerSetup kieServerSetup) {
         installContainersSync(kieServer, containers, currentState, kieServerSetup);
     }
@@ -40,6 +40,7 @@ import org.kie.server.api.model.ServiceResponsesList;
 import org.kie.server.services.api.KieContainerCommandService;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.locator.ContainerLocatorProvider;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -106,6 +107,7 @@ public class KieContainerCommandServiceImpl implements KieContainerCommandServic
                         cmd = new BatchExecutionCommandImpl(Arrays.asList(new ExecutableCommand<?>[]{(ExecutableCommand<?>) cmd} ));
                     }
 
+                    KieServerMetrics.instrumentSession(containerId, ks);
                     ExecutionResults results = ks.execute((BatchExecutionCommandImpl) cmd);
                     if (marshallResponse) {
                         Marshaller marshaller = kci.getMarshaller(marshallingFormat);
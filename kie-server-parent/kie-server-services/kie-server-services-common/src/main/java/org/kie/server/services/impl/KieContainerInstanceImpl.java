@@ -15,10 +15,14 @@
 
 package org.kie.server.services.impl;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.drools.compiler.kie.builder.impl.InternalKieScanner;
 import org.drools.core.impl.InternalKieContainer;
@@ -32,13 +36,18 @@ import org.kie.server.api.model.KieScannerResource;
 import org.kie.server.api.model.KieScannerStatus;
 import org.kie.server.api.model.ReleaseId;
 import org.kie.server.services.api.KieContainerInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class KieContainerInstanceImpl implements KieContainerInstance {
 
+    private static final Logger logger = LoggerFactory.getLogger(KieContainerInstanceImpl.class);
+
     private KieContainerResource               resource;
     private InternalKieContainer               kieContainer;
     private InternalKieScanner                 scanner;
     private transient Map<MarshallingFormat, Marshaller> marshallers;
+    private transient volatile Future<?> marshallersPrewarm;
 
     private transient Map<String, Object> serviceContainer;
 
@@ -169,8 +178,12 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
     }
 
     public Marshaller getMarshaller(MarshallingFormat format) {
+        Marshaller marshaller = marshallers.get( format );
+        if ( marshaller != null ) {
+            return marshaller;
+        }
         synchronized ( marshallers ) {
-            Marshaller marshaller = marshallers.get( format );
+            marshaller = marshallers.get( format );
             if ( marshaller == null ) {
                 marshaller = MarshallerFactory.getMarshaller( getExtraClasses(), format, this.kieContainer.getClassLoader() );
                 this.marshallers.put( format, marshaller );
@@ -181,6 +194,10 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
 
     public void disposeMarshallers() {
         synchronized ( marshallers ) {
+            Future<?> prewarm = this.marshallersPrewarm;
+            if ( prewarm != null ) {
+                prewarm.cancel( false );
+            }
             for ( Marshaller marshaller : this.marshallers.values() ) {
                 marshaller.dispose();
             }
@@ -188,6 +205,38 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
         }
     }
 
+    /**
+     * Builds marshallers of given formats in background so the first requests do not have to wait for them,
+     * should be called once all extra classes of the container are registered.
+     * @param formats marshalling formats to be built, does nothing when empty
+     */
+    public void prewarmMarshallers(Collection<MarshallingFormat> formats) {
+        if (formats == null || formats.isEmpty() || kieContainer == null) {
+            return;
+        }
+        synchronized ( marshallers ) {
+            this.marshallersPrewarm = PrewarmExecutor.INSTANCE.submit(() -> {
+                long start = System.currentTimeMillis();
+                for (MarshallingFormat format : formats) {
+                    try {
+                        getMarshaller(format);
+                    } catch (Exception e) {
+                        logger.warn("Unable to prewarm {} marshaller of container {}", format, getContainerId(), e);
+                    }
+                }
+                logger.debug("Marshallers {} of container {} prewarmed in {} ms", formats, getContainerId(), System.currentTimeMillis() - start);
+            });
+        }
+    }
+
+    /**
+     * @return true if there is no prewarming of marshallers in progress
+     */
+    public boolean isMarshallersReady() {
+        Future<?> prewarm = this.marshallersPrewarm;
+        return prewarm == null || prewarm.isDone();
+    }
+
     @Override
     public void addService(Object service) {
         if (service == null) {
@@ -263,4 +312,14 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
         return !oldReleaseId.equals(newReleaseId);
     }
 
+    // marshallers of all containers are prewarmed by single background thread, created on first use
+    private static class PrewarmExecutor {
+
+        private static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "KieServer-MarshallersPrewarm");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
 }
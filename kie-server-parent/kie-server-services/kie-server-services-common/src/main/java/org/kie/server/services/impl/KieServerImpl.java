@@ -42,6 +42,7 @@ import org.kie.scanner.KieModuleMetaData;
 import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.KieServerEnvironment;
 import org.kie.server.api.Version;
+import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieContainerResourceFilter;
 import org.kie.server.api.model.KieContainerResourceList;
@@ -101,6 +102,8 @@ public class KieServerImpl implements KieServer {
     
     private boolean managementDisabled = Boolean.parseBoolean(System.getProperty(KieServerConstants.KIE_SERVER_MGMT_API_DISABLED, "false"));
 
+    private List<MarshallingFormat> prewarmFormats = getPrewarmFormats(System.getProperty(KieServerConstants.CFG_MARSHALLERS_PREWARM, ""));
+
     public KieServerImpl() {
         this(new KieServerStateFileRepository());
     }
@@ -160,7 +163,7 @@ public class KieServerImpl implements KieServer {
         try {
             kieServerSetup = kieController.connect(kieServerInfo);
 
-            containers = kieServerSetup.getContainers();
+            containers = containerManager.getContainersToInstall(kieServerSetup, kieServerInfo.getSetupVersion(), currentState);
             readyToRun = true;
         } catch (KieControllerNotDefinedException e) {
             // if no controllers use local storage
@@ -225,6 +228,7 @@ public class KieServerImpl implements KieServer {
                 logger.error("Error when destroying server extension of type {}", extension, e);
             }
         }
+        repository.close();
         eventSupport.fireAfterServerStopped(this);
     }
 
@@ -306,6 +310,7 @@ public class KieServerImpl implements KieServer {
                             }
 
                             ci.getResource().setStatus(KieContainerStatus.STARTED);
+                            ci.prewarmMarshallers(prewarmFormats);
                             logger.info("Container {} (for release id {}) successfully started", containerId, releaseId);
 
                             // store the current state of the server
@@ -769,6 +774,8 @@ public class KieServerImpl implements KieServer {
                     return new ServiceResponse<ReleaseId>(ServiceResponse.ResponseType.FAILURE, "Error updating release id on container " + id + " to " + releaseId + ", release id returned back to " + kci.getResource().getReleaseId(), kci.getResource().getReleaseId());
                 }
 
+                kci.prewarmMarshallers(prewarmFormats);
+
                 // store the current state of the server
                 KieServerState currentState = repository.load(KieServerEnvironment.getServerId());
 
@@ -942,6 +949,15 @@ public class KieServerImpl implements KieServer {
         return kieServerReady.get();
     }
 
+    /**
+     * @param containerId id of the container to check
+     * @return true if the container is started and its marshallers are not being prewarmed
+     */
+    public boolean isContainerReady(String containerId) {
+        KieContainerInstanceImpl container = context.getContainer(containerId);
+        return container != null && KieContainerStatus.STARTED.equals(container.getStatus()) && container.isMarshallersReady();
+    }
+
     public void markAsReady() {
         kieServerReady.set(true);
         logger.info("KieServer {} is ready to receive requests", KieServerEnvironment.getServerId());
@@ -987,6 +1003,21 @@ public class KieServerImpl implements KieServer {
  
     }
     
+    private List<MarshallingFormat> getPrewarmFormats(String formats) {
+        List<MarshallingFormat> result = new ArrayList<>();
+        for (String format : formats.split(",")) {
+            if (format.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                result.add(MarshallingFormat.fromType(format.trim()));
+            } catch (RuntimeException e) {
+                logger.warn("Unknown marshalling format '{}' configured to be prewarmed, ignoring it", format);
+            }
+        }
+        return result;
+    }
+
     private String calculateUptime() {
 
         long different = System.currentTimeMillis() - startTimestamp;
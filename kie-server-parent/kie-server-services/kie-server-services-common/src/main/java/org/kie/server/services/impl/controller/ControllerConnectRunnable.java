@@ -18,9 +18,9 @@ package org.kie.server.services.impl.controller;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieServerInfo;
+import org.kie.server.controller.api.ControllerConnectBackoff;
 import org.kie.server.controller.api.KieServerController;
 import org.kie.server.controller.api.model.KieServerSetup;
 import org.kie.server.services.api.KieControllerNotConnectedException;
@@ -56,13 +56,13 @@ public class ControllerConnectRunnable implements Runnable {
 
     @Override
     public void run() {
-
+        int attempt = 0;
         while (kieServerActive.get()) {
             try {
                 logger.debug("Attempting to connect to one of the controllers...");
                 KieServerSetup kieServerSetup = kieController.connect(kieServerInfo);
                 logger.debug("Connected to controller and retrieved setup details {}", kieServerSetup);
-                Set<KieContainerResource> containers = kieServerSetup.getContainers();
+                Set<KieContainerResource> containers = containerManager.getContainersToInstall(kieServerSetup, kieServerInfo.getSetupVersion(), currentState);
                 // add status message when connected
                 kieServer.addServerStatusMessage(kieServerInfo);
 
@@ -71,7 +71,7 @@ public class ControllerConnectRunnable implements Runnable {
                 break;
 
             } catch (KieControllerNotConnectedException e) {
-                long waitTime = Long.parseLong(System.getProperty(KieServerConstants.CFG_KIE_SERVER_CONTROLLER_CONNECT_INTERVAL, "10000"));
+                long waitTime = ControllerConnectBackoff.nextWaitTime(attempt++);
                 logger.debug("Still cannot connect to any controllers, waiting for {} before next attempt", waitTime);
                 try {
                     Thread.sleep(waitTime);
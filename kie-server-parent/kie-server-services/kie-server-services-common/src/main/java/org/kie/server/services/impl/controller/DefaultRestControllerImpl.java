@@ -31,6 +31,7 @@ import org.kie.server.api.model.KieServerInfo;
 import org.kie.server.common.rest.KieServerHttpRequest;
 import org.kie.server.common.rest.KieServerHttpResponse;
 import org.kie.server.controller.api.KieServerController;
+import org.kie.server.controller.api.KieServerSetupVersion;
 import org.kie.server.controller.api.model.KieServerSetup;
 import org.kie.server.services.api.KieControllerNotConnectedException;
 import org.kie.server.services.api.KieControllerNotDefinedException;
@@ -145,6 +146,8 @@ public class DefaultRestControllerImpl implements KieServerController {
         Set<String> controllers = currentState.getControllers();
 
         KieServerConfig config = currentState.getConfiguration();
+        // version of the setup the server runs right now, containers might have changed since last connect
+        serverInfo.setSetupVersion(KieServerSetupVersion.compute(currentState.getContainers(), config));
         if (controllers != null && !controllers.isEmpty()) {
             for (String controllerUrl : controllers) {
 
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl.metrics;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.kie.api.event.rule.AgendaEventListener;
+import org.kie.api.event.rule.RuleRuntimeEventManager;
+import org.kie.api.runtime.CommandExecutor;
+import org.kie.server.services.api.KieServerMetricsCollector;
+
+/**
+ * Entry point used by server components to report metrics. Until a collector is installed (by the metrics extension)
+ * all methods return right away so instrumented code paths pay only for a volatile read; callers that need to do
+ * extra work to build the measurement (timestamps, labels) should check {@link #isEnabled()} first.
+ */
+public final class KieServerMetrics {
+
+    public static final String REQUEST_STAGE = "kie_server_request_stage_seconds";
+    public static final String REST_ENDPOINT = "kie_server_rest_endpoint_seconds";
+    public static final String RULE_FIRING = "kie_server_rule_firing_seconds";
+    public static final String DMN_MODEL_EVALUATION = "kie_server_dmn_evaluation_seconds";
+    public static final String DMN_DECISION_EVALUATION = "kie_server_dmn_decision_seconds";
+    public static final String PROCESS_START = "kie_server_process_start_seconds";
+    public static final String PROCESS_DURATION = "kie_server_process_duration_seconds";
+    public static final String TASK_EVENTS = "kie_server_task_events_total";
+    public static final String TASK_DURATION = "kie_server_task_duration_seconds";
+    public static final String JOBS = "kie_server_jobs";
+    public static final String JOB_ACQUISITION = "kie_server_job_acquisition";
+    public static final String JOB_EXECUTIONS = "kie_server_job_executions";
+    public static final String JOB_FAILURES = "kie_server_job_failures";
+
+    public static final String TRANSPORT_REST = "rest";
+    public static final String TRANSPORT_JMS = "jms";
+
+    public static final String STAGE_UNMARSHAL = "unmarshal";
+    public static final String STAGE_EXECUTE = "execute";
+    public static final String STAGE_MARSHAL = "marshal";
+
+    private static final RequestStages DISABLED_STAGES = new RequestStages(null, null);
+
+    private static volatile KieServerMetricsCollector collector;
+
+    private KieServerMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return collector != null;
+    }
+
+    public static void setCollector(KieServerMetricsCollector metricsCollector) {
+        collector = metricsCollector;
+    }
+
+    public static KieServerMetricsCollector getCollector() {
+        return collector;
+    }
+
+    public static void recordTime(String name, long durationNanos, String... labels) {
+        KieServerMetricsCollector current = collector;
+        if (current != null) {
+            current.recordTime(name, durationNanos, labels);
+        }
+    }
+
+    public static void increment(String name, String... labels) {
+        KieServerMetricsCollector current = collector;
+        if (current != null) {
+            current.increment(name, labels);
+        }
+    }
+
+    public static void registerGauge(String name, String label, Supplier<Map<String, ? extends Number>> values) {
+        KieServerMetricsCollector current = collector;
+        if (current != null) {
+            current.registerGauge(name, label, values);
+        }
+    }
+
+    public static void unregisterGauge(String name) {
+        KieServerMetricsCollector current = collector;
+        if (current != null) {
+            current.unregisterGauge(name);
+        }
+    }
+
+    /**
+     * Starts timing stages of single request
+     * @param transport transport the request was received with
+     * @param containerId container the request targets or null when it is not container specific
+     * @return stages timer, no-op one when metrics are disabled
+     */
+    public static RequestStages startRequest(String transport, String containerId) {
+        if (collector == null) {
+            return DISABLED_STAGES;
+        }
+        return new RequestStages(transport, containerId == null ? "" : containerId);
+    }
+
+    /**
+     * Makes sure the session reports rule firings of given container, listener is added only once per session
+     * @param containerId container the session belongs to
+     * @param session session (stateful or stateless) about to be used
+     */
+    public static void instrumentSession(String containerId, CommandExecutor session) {
+        if (collector == null || !(session instanceof RuleRuntimeEventManager)) {
+            return;
+        }
+        RuleRuntimeEventManager eventManager = (RuleRuntimeEventManager) session;
+        for (AgendaEventListener listener : eventManager.getAgendaEventListeners()) {
+            if (listener instanceof RuleFiringMetricsListener) {
+                return;
+            }
+        }
+        eventManager.addEventListener(new RuleFiringMetricsListener(containerId));
+    }
+
+    /**
+     * Times consecutive stages of a request, each stage is measured from the end of the previous one
+     */
+    public static class RequestStages {
+
+        private final String transport;
+        private final String containerId;
+        private long last;
+
+        RequestStages(String transport, String containerId) {
+            this.transport = transport;
+            this.containerId = containerId;
+            this.last = transport == null ? 0 : System.nanoTime();
+        }
+
+        public void completed(String stage) {
+            if (transport == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            recordTime(REQUEST_STAGE, now - last, "transport", transport, "container_id", containerId, "stage", stage);
+            last = now;
+        }
+
+        /**
+         * Restarts timing of the next stage, used to exclude time not belonging to any stage
+         */
+        public void skip() {
+            if (transport != null) {
+                last = System.nanoTime();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl.metrics;
+
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.BeforeMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+
+/**
+ * Records duration of every rule firing (consequence execution) of sessions of single container
+ */
+public class RuleFiringMetricsListener extends DefaultAgendaEventListener {
+
+    private static final ThreadLocal<long[]> fireStart = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final String containerId;
+
+    public RuleFiringMetricsListener(String containerId) {
+        this.containerId = containerId;
+    }
+
+    @Override
+    public void beforeMatchFired(BeforeMatchFiredEvent event) {
+        fireStart.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterMatchFired(AfterMatchFiredEvent event) {
+        long start = fireStart.get()[0];
+        if (start != 0) {
+            KieServerMetrics.recordTime(KieServerMetrics.RULE_FIRING, System.nanoTime() - start, "container_id", containerId);
+        }
+    }
+}
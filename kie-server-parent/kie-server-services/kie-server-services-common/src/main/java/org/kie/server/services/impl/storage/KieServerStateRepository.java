@@ -20,4 +20,19 @@ public interface KieServerStateRepository {
     void store(String serverId, KieServerState kieServerState);
 
     KieServerState load(String serverId);
+
+    /**
+     * Makes sure all stored states are persisted, for repositories that do not write states immediately.
+     */
+    default void flush() {
+
+    }
+
+    /**
+     * Persists all stored states and releases resources of the repository, states stored afterwards are
+     * persisted immediately.
+     */
+    default void close() {
+        flush();
+    }
 }
@@ -18,11 +18,22 @@ package org.kie.server.services.impl.storage.file;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.reflection.PureJavaReflectionProvider;
@@ -34,48 +45,184 @@ import org.kie.server.api.model.KieServerConfigItem;
 import org.kie.server.services.impl.storage.KieServerState;
 import org.kie.server.services.impl.storage.KieServerStateRepository;
 import org.kie.soup.commons.xstream.XStreamUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Stores server state as <code>serverId.xml</code> file in the repository directory. Every write goes to a temporary
+ * file that is synced to disk and then renamed over the state file, so a crash never leaves partially written state.
+ * <p>
+ * When write delay (<code>org.kie.server.repo.write.delay</code> in milliseconds) is set, states are written behind:
+ * all changes stored within the delay are coalesced into a single write of the latest state. The state is serialized
+ * when stored, so later changes of the state object are not written until it is stored again.
+ */
 public class KieServerStateFileRepository implements KieServerStateRepository {
 
+    private static final Logger logger = LoggerFactory.getLogger(KieServerStateFileRepository.class);
+
+    // repositories with pending writes flushed by single shutdown hook, so changes are not lost when server
+    // goes down without being destroyed
+    private static final Set<KieServerStateFileRepository> writeBehindRepositories = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean shutdownHookRegistered = new AtomicBoolean();
+
     private final File repositoryDir;
+    private final long writeDelay;
 
     private XStream xs;
 
     private Map<String, KieServerState> knownStates = new ConcurrentHashMap<String, KieServerState>();
+    // serialized states stored but not yet written in write behind mode
+    private Map<String, String> pendingStates = new ConcurrentHashMap<String, String>();
+    private final ScheduledExecutorService writer;
+    private volatile boolean closed;
+
+    private final AtomicLong storeCount = new AtomicLong();
+    private final AtomicLong writeCount = new AtomicLong();
 
     public KieServerStateFileRepository(File repositoryDir) {
+        this(repositoryDir, Long.parseLong(System.getProperty(KieServerConstants.KIE_SERVER_STATE_REPO_WRITE_DELAY, "0")));
+    }
+
+    public KieServerStateFileRepository(File repositoryDir, long writeDelay) {
         this.repositoryDir = repositoryDir;
+        this.writeDelay = writeDelay;
         xs = XStreamUtils.createTrustingXStream(new PureJavaReflectionProvider());
         String[] voidDeny = {"void.class", "Void.class"};
         xs.denyTypes(voidDeny);
         xs.alias("kie-server-state", KieServerState.class);
         xs.alias("container", KieContainerResource.class);
         xs.alias("config-item", KieServerConfigItem.class);
+
+        if (writeDelay > 0) {
+            writer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "KieServer-StateWriter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            writeBehindRepositories.add(this);
+            if (shutdownHookRegistered.compareAndSet(false, true)) {
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> writeBehindRepositories.forEach(KieServerStateFileRepository::flush),
+                                                                "KieServer-StateWriter-Flush"));
+            }
+        } else {
+            writer = null;
+        }
     }
 
     public KieServerStateFileRepository() {
         this(new File(System.getProperty(KieServerConstants.KIE_SERVER_STATE_REPO, ".")));
     }
 
+    // synchronized so that the state that is known as the latest one is also the one written last
     public synchronized void store(String serverId, KieServerState kieServerState) {
-        FileOutputStream fos = null;
+        storeCount.incrementAndGet();
+        knownStates.put(serverId, kieServerState);
+
+        String state;
         try {
-            fos = new FileOutputStream(new File(repositoryDir, serverId + ".xml"));
+            // snapshot of the state as it is now, the state object keeps being changed by the server
+            state = xs.toXML(kieServerState);
+        } catch (RuntimeException e) {
+            logger.warn("Error when serializing kie server state of {}", serverId, e);
+            return;
+        }
 
-            xs.toXML(kieServerState, fos);
+        if (writeDelay <= 0 || closed) {
+            write(serverId, state);
+        } else if (pendingStates.put(serverId, state) == null) {
+            // first change within the window schedules the write, later ones only replace the state to be written
+            scheduleWrite(serverId);
+        }
+    }
 
-        } catch (IOException ex) {
-//            logger.warn("Error when persisting known session id", ex);
-        } finally {
-            if (fos != null) {
-                try {
-                    fos.close();
-                } catch (IOException e) {
-                }
+    /**
+     * Writes all states that are waiting to be written in write behind mode.
+     */
+    @Override
+    public void flush() {
+        for (String serverId : new ArrayList<String>(pendingStates.keySet())) {
+            writePending(serverId);
+        }
+    }
+
+    /**
+     * Writes all pending states and stops the write behind, states stored afterwards are written immediately.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        writeBehindRepositories.remove(this);
+        flush();
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    protected void scheduleWrite(String serverId) {
+        try {
+            writer.schedule(() -> writePending(serverId), writeDelay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // repository was closed in the meantime
+            writePending(serverId);
+        }
+    }
+
+    protected synchronized void writePending(String serverId) {
+        String state = pendingStates.remove(serverId);
+        if (state != null && !write(serverId, state)) {
+            // keep the state to be written again unless a newer one was stored in the meantime
+            if (pendingStates.putIfAbsent(serverId, state) == null && !closed) {
+                scheduleWrite(serverId);
             }
         }
+    }
 
-        knownStates.put(serverId, kieServerState);
+    protected synchronized boolean write(String serverId, String state) {
+        long start = System.nanoTime();
+        File stateFile = new File(repositoryDir, serverId + ".xml");
+        File tmpFile = new File(repositoryDir, serverId + ".xml.tmp");
+        try {
+            try (FileOutputStream fos = new FileOutputStream(tmpFile)) {
+                fos.write(state.getBytes(StandardCharsets.UTF_8));
+                fos.getFD().sync();
+            }
+            try {
+                Files.move(tmpFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Error when persisting kie server state of {}", serverId, ex);
+            return false;
+        }
+        long writeTime = System.nanoTime() - start;
+        writeCount.incrementAndGet();
+        logger.debug("Kie server state of {} written in {} us, {} changes coalesced so far",
+                     serverId, TimeUnit.NANOSECONDS.toMicros(writeTime), getCoalescedCount());
+        return true;
+    }
+
+    // counters below are used only by the debug log and tests
+
+    /**
+     * Number of states stored (changes) since this repository was created
+     */
+    long getStoreCount() {
+        return storeCount.get();
+    }
+
+    /**
+     * Number of state files actually written since this repository was created
+     */
+    long getWriteCount() {
+        return writeCount.get();
+    }
+
+    /**
+     * Number of stored states that did not require a write of their own as they were coalesced with a later change
+     */
+    long getCoalescedCount() {
+        return Math.max(0, storeCount.get() - writeCount.get() - pendingStates.size());
     }
 
     public KieServerState load(String serverId) {
@@ -129,6 +276,7 @@ public class KieServerStateFileRepository implements KieServerStateRepository {
     }
 
     public void clearCache() {
+        flush();
         this.knownStates.clear();
     }
 }
@@ -15,6 +15,8 @@
 
 package org.kie.server.services.impl;
 
+import java.util.Arrays;
+
 import org.assertj.core.api.Assertions;
 import org.drools.core.impl.InternalKieContainer;
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
@@ -75,6 +77,30 @@ public class KieContainerInstanceImplTest {
         Assertions.assertThat(updatedMarshaller).isNotEqualTo(marshaller);
     }
 
+    @Test(timeout = 30000)
+    public void testPrewarmMarshallers() throws Exception {
+        createEmptyKjar(GROUP_ID, ARTIFACT_ID, VERSION_100);
+
+        KieServices ks = KieServices.Factory.get();
+        InternalKieContainer kieContainer = (InternalKieContainer) ks.newKieContainer(CONTAINER_ID, RELEASE_ID_100);
+        KieContainerInstanceImpl containerInstance = new KieContainerInstanceImpl(CONTAINER_ID, KieContainerStatus.STARTED, kieContainer);
+        Assertions.assertThat(containerInstance.isMarshallersReady()).isTrue();
+
+        containerInstance.prewarmMarshallers(Arrays.asList(MarshallingFormat.JAXB, MarshallingFormat.JSON));
+        while (!containerInstance.isMarshallersReady()) {
+            Thread.sleep(10);
+        }
+
+        Marshaller marshaller = containerInstance.getMarshaller(MarshallingFormat.JAXB);
+        Assertions.assertThat(marshaller).isNotNull();
+        Assertions.assertThat(containerInstance.getMarshaller(MarshallingFormat.JAXB)).isSameAs(marshaller);
+
+        // marshallers are built again on demand once disposed
+        containerInstance.disposeMarshallers();
+        Assertions.assertThat(containerInstance.isMarshallersReady()).isTrue();
+        Assertions.assertThat(containerInstance.getMarshaller(MarshallingFormat.JAXB)).isNotSameAs(marshaller);
+    }
+
     private void verifyReleaseId(ReleaseId actualReleaseId, ReleaseId expectedReleaseId) {
         Assertions.assertThat(actualReleaseId).isNotNull();
         Assertions.assertThat(actualReleaseId.getGroupId()).isEqualTo(expectedReleaseId.getGroupId());
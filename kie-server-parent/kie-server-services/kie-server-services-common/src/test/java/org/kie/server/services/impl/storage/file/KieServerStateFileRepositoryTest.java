@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.server.services.impl.storage.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.services.impl.storage.KieServerState;
+
+public class KieServerStateFileRepositoryTest {
+
+    private static final String SERVER_ID = "test-server";
+
+    private File repositoryDir;
+
+    @Before
+    public void setup() throws Exception {
+        repositoryDir = Files.createTempDirectory("kie-server-state").toFile();
+    }
+
+    @After
+    public void cleanup() {
+        File[] files = repositoryDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        repositoryDir.delete();
+    }
+
+    @Test
+    public void testStoreWritesStateImmediately() {
+        KieServerStateFileRepository repository = new KieServerStateFileRepository(repositoryDir, 0);
+
+        repository.store(SERVER_ID, createState(1));
+
+        assertEquals(1, repository.getWriteCount());
+        assertEquals(0, repository.getCoalescedCount());
+        assertFalse(new File(repositoryDir, SERVER_ID + ".xml.tmp").exists());
+        assertEquals(1, new KieServerStateFileRepository(repositoryDir, 0).load(SERVER_ID).getContainers().size());
+    }
+
+    @Test
+    public void testWriteBehindCoalescesChanges() {
+        KieServerStateFileRepository repository = new KieServerStateFileRepository(repositoryDir, TimeUnit.HOURS.toMillis(1));
+
+        for (int i = 1; i <= 10; i++) {
+            repository.store(SERVER_ID, createState(i));
+        }
+        // latest state is available right away even though it was not written yet
+        assertEquals(10, repository.load(SERVER_ID).getContainers().size());
+        assertEquals(0, repository.getWriteCount());
+        assertFalse(new File(repositoryDir, SERVER_ID + ".xml").exists());
+
+        repository.flush();
+
+        assertEquals(1, repository.getWriteCount());
+        assertEquals(9, repository.getCoalescedCount());
+        assertTrue(new File(repositoryDir, SERVER_ID + ".xml").exists());
+        assertEquals(10, new KieServerStateFileRepository(repositoryDir, 0).load(SERVER_ID).getContainers().size());
+    }
+
+    @Test(timeout = 10000)
+    public void testWriteBehindWritesAfterDelay() throws Exception {
+        KieServerStateFileRepository repository = new KieServerStateFileRepository(repositoryDir, 100);
+
+        repository.store(SERVER_ID, createState(1));
+        repository.store(SERVER_ID, createState(2));
+
+        while (repository.getWriteCount() == 0) {
+            Thread.sleep(50);
+        }
+        assertEquals(1, repository.getWriteCount());
+        assertEquals(2, new KieServerStateFileRepository(repositoryDir, 0).load(SERVER_ID).getContainers().size());
+    }
+
+    @Test
+    public void testWriteBehindWritesStateAsStored() {
+        KieServerStateFileRepository repository = new KieServerStateFileRepository(repositoryDir, TimeUnit.HOURS.toMillis(1));
+
+        KieServerState state = createState(1);
+        repository.store(SERVER_ID, state);
+        // changes not stored yet must not leak into the pending write
+        state.getContainers().add(new KieContainerResource("not-stored", new ReleaseId("org.kie", "test", "2.0")));
+
+        repository.close();
+
+        assertEquals(1, repository.getWriteCount());
+        assertEquals(1, new KieServerStateFileRepository(repositoryDir, 0).load(SERVER_ID).getContainers().size());
+    }
+
+    @Test
+    public void testFailedWriteIsKeptPending() {
+        File missingDir = new File(repositoryDir, "missing");
+        KieServerStateFileRepository repository = new KieServerStateFileRepository(missingDir, TimeUnit.HOURS.toMillis(1));
+
+        repository.store(SERVER_ID, createState(2));
+        repository.flush();
+        assertEquals(0, repository.getWriteCount());
+
+        assertTrue(missingDir.mkdir());
+        repository.flush();
+
+        assertEquals(1, repository.getWriteCount());
+        assertEquals(2, new KieServerStateFileRepository(missingDir, 0).load(SERVER_ID).getContainers().size());
+
+        repository.close();
+        new File(missingDir, SERVER_ID + ".xml").delete();
+        missingDir.delete();
+    }
+
+    @Test
+    public void testCloseWritesPendingAndStopsWriteBehind() {
+        KieServerStateFileRepository repository = new KieServerStateFileRepository(repositoryDir, TimeUnit.HOURS.toMillis(1));
+
+        repository.store(SERVER_ID, createState(1));
+        repository.close();
+        assertEquals(1, repository.getWriteCount());
+
+        // states stored after close are written right away
+        repository.store(SERVER_ID, createState(3));
+        assertEquals(2, repository.getWriteCount());
+        assertEquals(3, new KieServerStateFileRepository(repositoryDir, 0).load(SERVER_ID).getContainers().size());
+    }
+
+    @Test(timeout = 60000)
+    public void testConcurrentStoresLastOneWins() throws Exception {
+        verifyConcurrentStores(new KieServerStateFileRepository(repositoryDir, 0));
+    }
+
+    @Test(timeout = 60000)
+    public void testConcurrentStoresWriteBehindLastOneWins() throws Exception {
+        verifyConcurrentStores(new KieServerStateFileRepository(repositoryDir, 1));
+    }
+
+    private void verifyConcurrentStores(KieServerStateFileRepository repository) throws Exception {
+        int threads = 8;
+        int storesPerThread = 50;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> storing = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            storing.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < storesPerThread; i++) {
+                    // every stored state has distinct number of containers
+                    repository.store(SERVER_ID, createState(1 + thread * storesPerThread + i));
+                }
+            }));
+        }
+        storing.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : storing) {
+            thread.join();
+        }
+        repository.close();
+
+        // state written to disk is the one the repository knows as the latest
+        int latest = repository.load(SERVER_ID).getContainers().size();
+        assertEquals(latest, new KieServerStateFileRepository(repositoryDir, 0).load(SERVER_ID).getContainers().size());
+    }
+
+    private KieServerState createState(int containers) {
+        KieServerState state = new KieServerState();
+        for (int i = 0; i < containers; i++) {
+            KieContainerResource container = new KieContainerResource("container-" + i, new ReleaseId("org.kie", "test", "1.0." + i));
+            state.getContainers().add(container);
+        }
+        return state;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.dmn;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
+
+/**
+ * Records evaluation time of every decision, decisions required by other decisions are evaluated
+ * within the requiring one so their time is included in it as well.
+ */
+public class DecisionMetricsListener implements DMNRuntimeEventListener {
+
+    private final String containerId;
+    private final String modelName;
+    private final Deque<Long> started = new ArrayDeque<>();
+
+    public DecisionMetricsListener(String containerId, String modelName) {
+        this.containerId = containerId;
+        this.modelName = modelName;
+    }
+
+    @Override
+    public void beforeEvaluateDecision(BeforeEvaluateDecisionEvent event) {
+        started.push(System.nanoTime());
+    }
+
+    @Override
+    public void afterEvaluateDecision(AfterEvaluateDecisionEvent event) {
+        if (started.isEmpty()) {
+            return;
+        }
+        long duration = System.nanoTime() - started.pop();
+        KieServerMetrics.recordTime(KieServerMetrics.DMN_DECISION_EVALUATION, duration,
+                                    "container_id", containerId, "model", modelName, "decision", event.getDecision().getName());
+    }
+}
@@ -38,6 +38,7 @@ import org.kie.server.api.model.dmn.DMNResultKS;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.KieContainerInstanceImpl;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -124,6 +125,13 @@ public class ModelEvaluatorServiceBase {
             
             DMNResult result = null;
 
+            long evaluationStart = 0;
+            if ( KieServerMetrics.isEnabled() ) {
+                // session is created per evaluation so the listener does not outlive it
+                dmnRuntime.addListener(new DecisionMetricsListener(containerId, model.getName()));
+                evaluationStart = System.nanoTime();
+            }
+
             final List<String> names = Optional.ofNullable(evalCtx.getDecisionNames()).orElse(Collections.emptyList());
             final List<String> ids = Optional.ofNullable(evalCtx.getDecisionIds()).orElse(Collections.emptyList());
 
@@ -141,6 +149,10 @@ public class ModelEvaluatorServiceBase {
                 LOG.debug("Not supported case");
                 throw new RuntimeException("Unable to locate DMN Decision to evaluate");
             }
+            if ( evaluationStart != 0 ) {
+                KieServerMetrics.recordTime(KieServerMetrics.DMN_MODEL_EVALUATION, System.nanoTime() - evaluationStart,
+                                            "container_id", containerId, "model", model.getName());
+            }
             
             LOG.debug("Result:");
             LOG.debug("{}",result);
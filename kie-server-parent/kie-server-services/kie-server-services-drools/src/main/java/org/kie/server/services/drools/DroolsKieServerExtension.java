@@ -52,6 +52,7 @@ public class DroolsKieServerExtension implements KieServerExtension {
     private static final Boolean filterRemoteable = Boolean.parseBoolean(System.getProperty(KieServerConstants.KIE_DROOLS_FILTER_REMOTEABLE_CLASSES, "false"));
 
     private RulesExecutionService rulesExecutionService;
+    private RuleProfilingService ruleProfilingService;
     private KieContainerCommandService batchCommandService;
     private KieServerRegistry registry;
 
@@ -70,14 +71,16 @@ public class DroolsKieServerExtension implements KieServerExtension {
 
     @Override
     public void init(KieServerImpl kieServer, KieServerRegistry registry) {
-        this.rulesExecutionService = new RulesExecutionService(registry);
+        this.ruleProfilingService = new RuleProfilingService(registry);
+        this.rulesExecutionService = new RulesExecutionService(registry, ruleProfilingService);
         this.batchCommandService = new DroolsKieContainerCommandServiceImpl(kieServer, registry, this.rulesExecutionService);
         this.registry = registry;
         if (registry.getKieSessionLookupManager() != null) {
-            registry.getKieSessionLookupManager().addHandler(new DroolsKieSessionLookupHandler());
+            registry.getKieSessionLookupManager().addHandler(new DroolsKieSessionLookupHandler(ruleProfilingService));
         }
         services.add(batchCommandService);
         services.add(rulesExecutionService);
+        services.add(ruleProfilingService);
 
         initialized = true;
     }
@@ -141,7 +144,7 @@ public class DroolsKieServerExtension implements KieServerExtension {
 
     @Override
     public void disposeContainer(String id, KieContainerInstance kieContainerInstance, Map<String, Object> parameters) {
-
+        ruleProfilingService.disposeContainer(id);
     }
 
     @Override
@@ -152,6 +155,7 @@ public class DroolsKieServerExtension implements KieServerExtension {
         Object [] services = { 
                 batchCommandService,
                 rulesExecutionService,
+                ruleProfilingService,
                 registry
 
         };
@@ -24,6 +24,15 @@ import org.kie.server.services.api.KieSessionLookupHandler;
 
 public class DroolsKieSessionLookupHandler implements KieSessionLookupHandler {
 
+    private RuleProfilingService ruleProfilingService;
+
+    public DroolsKieSessionLookupHandler() {
+    }
+
+    public DroolsKieSessionLookupHandler(RuleProfilingService ruleProfilingService) {
+        this.ruleProfilingService = ruleProfilingService;
+    }
+
     @Override
     public CommandExecutor lookupKieSession(String kieSessionId, KieContainerInstance containerInstance, KieServerRegistry registry) {
         CommandExecutor ks = null;
@@ -39,6 +48,9 @@ public class DroolsKieSessionLookupHandler implements KieSessionLookupHandler {
                         break;
                 }
             }
+            if (ruleProfilingService != null) {
+                ruleProfilingService.attach(containerInstance.getContainerId(), ks);
+            }
 
             return ks;
         }
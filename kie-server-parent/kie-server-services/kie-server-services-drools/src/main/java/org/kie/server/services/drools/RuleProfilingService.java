@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.drools;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.kie.api.runtime.CommandExecutor;
+import org.kie.server.api.model.KieContainerRuleProfile;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.services.api.KieContainerInstance;
+import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.drools.profiling.ContainerRuleProfiler;
+import org.kie.server.services.impl.locator.ContainerLocatorProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runtime toggleable per rule profiling of containers. Sessions are equipped with profiling listener only after
+ * profiling was enabled for their container for the first time, so containers that are never profiled pay
+ * only for a single map lookup per session lookup.
+ */
+public class RuleProfilingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleProfilingService.class);
+
+    private final KieServerRegistry context;
+    private final ConcurrentMap<String, ContainerRuleProfiler> profilers = new ConcurrentHashMap<>();
+
+    public RuleProfilingService(KieServerRegistry context) {
+        this.context = context;
+    }
+
+    public ServiceResponse<KieContainerRuleProfile> startProfiling(String containerId) {
+        KieContainerInstance kci = context.getContainer(containerId, ContainerLocatorProvider.get().getLocator());
+        if (kci == null || kci.getKieContainer() == null) {
+            return new ServiceResponse<KieContainerRuleProfile>(ServiceResponse.ResponseType.FAILURE, "Container " + containerId + " is not instantiated.");
+        }
+        // container might be referenced by alias
+        containerId = kci.getContainerId();
+        ContainerRuleProfiler profiler = profilers.computeIfAbsent(containerId, ContainerRuleProfiler::new);
+        profiler.setEnabled(true);
+        logger.info("Rule profiling enabled for container {}", containerId);
+
+        return new ServiceResponse<KieContainerRuleProfile>(ServiceResponse.ResponseType.SUCCESS, "Rule profiling enabled for container " + containerId, profiler.snapshot());
+    }
+
+    public ServiceResponse<KieContainerRuleProfile> stopProfiling(String containerId) {
+        ContainerRuleProfiler profiler = getProfiler(containerId);
+        if (profiler == null) {
+            return notProfiled(containerId);
+        }
+        profiler.setEnabled(false);
+        logger.info("Rule profiling disabled for container {}", containerId);
+
+        return new ServiceResponse<KieContainerRuleProfile>(ServiceResponse.ResponseType.SUCCESS, "Rule profiling disabled for container " + containerId, profiler.snapshot());
+    }
+
+    public ServiceResponse<KieContainerRuleProfile> getProfile(String containerId) {
+        ContainerRuleProfiler profiler = getProfiler(containerId);
+        if (profiler == null) {
+            return notProfiled(containerId);
+        }
+        return new ServiceResponse<KieContainerRuleProfile>(ServiceResponse.ResponseType.SUCCESS, "Rule profile of container " + containerId, profiler.snapshot());
+    }
+
+    public ServiceResponse<KieContainerRuleProfile> resetProfile(String containerId) {
+        ContainerRuleProfiler profiler = getProfiler(containerId);
+        if (profiler == null) {
+            return notProfiled(containerId);
+        }
+        return new ServiceResponse<KieContainerRuleProfile>(ServiceResponse.ResponseType.SUCCESS, "Rule profile of container " + containerId + " reset", profiler.reset());
+    }
+
+    /**
+     * Equips the session with profiling listener if profiling was ever enabled for the container
+     */
+    public void attach(String containerId, CommandExecutor session) {
+        if (profilers.isEmpty() || session == null) {
+            return;
+        }
+        ContainerRuleProfiler profiler = profilers.get(containerId);
+        if (profiler != null) {
+            profiler.attach(session);
+        }
+    }
+
+    public void disposeContainer(String containerId) {
+        profilers.remove(containerId);
+    }
+
+    protected ContainerRuleProfiler getProfiler(String containerId) {
+        ContainerRuleProfiler profiler = profilers.get(containerId);
+        if (profiler == null) {
+            KieContainerInstance kci = context.getContainer(containerId, ContainerLocatorProvider.get().getLocator());
+            if (kci != null) {
+                profiler = profilers.get(kci.getContainerId());
+            }
+        }
+        return profiler;
+    }
+
+    protected ServiceResponse<KieContainerRuleProfile> notProfiled(String containerId) {
+        return new ServiceResponse<KieContainerRuleProfile>(ServiceResponse.ResponseType.FAILURE, "Rule profiling was not enabled for container " + containerId);
+    }
+}
@@ -22,6 +22,7 @@ import org.kie.api.runtime.ExecutionResults;
 import org.kie.server.services.api.KieContainerInstance;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.KieContainerInstanceImpl;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
 
 /**
  * Direct rules execution service that allow use of typed objects instead of string only
@@ -29,11 +30,17 @@ import org.kie.server.services.impl.KieContainerInstanceImpl;
 public class RulesExecutionService {
 
     private KieServerRegistry context;
+    private RuleProfilingService ruleProfilingService;
 
     public RulesExecutionService(KieServerRegistry context) {
         this.context = context;
     }
 
+    public RulesExecutionService(KieServerRegistry context, RuleProfilingService ruleProfilingService) {
+        this.context = context;
+        this.ruleProfilingService = ruleProfilingService;
+    }
+
     public ExecutionResults call(KieContainerInstance kci, BatchExecutionCommand executionCommand) {
 
         BatchExecutionCommandImpl command = (BatchExecutionCommandImpl) executionCommand;
@@ -46,9 +53,13 @@ public class RulesExecutionService {
             } else {
                 // if no session ID is defined, then the default is a stateful session
                 ks = ((KieContainerInstanceImpl)kci).getKieContainer().getKieSession();
+                if (ruleProfilingService != null) {
+                    ruleProfilingService.attach(kci.getContainerId(), ks);
+                }
             }
 
             if (ks != null) {
+                KieServerMetrics.instrumentSession(kci.getContainerId(), ks);
                 ExecutionResults results = ks.execute(command);
 
                 return results;
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.drools.profiling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.kie.api.definition.rule.Rule;
+import org.kie.api.event.rule.AgendaEventListener;
+import org.kie.api.event.rule.RuleRuntimeEventManager;
+import org.kie.api.runtime.CommandExecutor;
+import org.kie.server.api.model.KieContainerRuleProfile;
+import org.kie.server.api.model.RuleStatistics;
+
+/**
+ * Rule profiling state of single container. Once created it stays attached to the sessions of the container
+ * until the container is disposed, disabling it only turns its listeners into a single volatile read per event.
+ */
+public class ContainerRuleProfiler {
+
+    private final String containerId;
+
+    private volatile boolean enabled;
+    private volatile Date collectedSince = new Date();
+    private volatile ConcurrentMap<Rule, RuleCounters> counters = new ConcurrentHashMap<>();
+
+    public ContainerRuleProfiler(String containerId) {
+        this.containerId = containerId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Adds profiling listener to the session unless it already has one
+     */
+    public void attach(CommandExecutor session) {
+        if (!(session instanceof RuleRuntimeEventManager)) {
+            return;
+        }
+        RuleRuntimeEventManager eventManager = (RuleRuntimeEventManager) session;
+        for (AgendaEventListener listener : eventManager.getAgendaEventListeners()) {
+            if (listener instanceof RuleProfilingListener && ((RuleProfilingListener) listener).getProfiler() == this) {
+                return;
+            }
+        }
+        eventManager.addEventListener(new RuleProfilingListener(this));
+    }
+
+    RuleCounters counters(Rule rule) {
+        RuleCounters ruleCounters = counters.get(rule);
+        if (ruleCounters == null) {
+            ruleCounters = counters.computeIfAbsent(rule, r -> new RuleCounters(r.getPackageName(), r.getName()));
+        }
+        return ruleCounters;
+    }
+
+    public KieContainerRuleProfile snapshot() {
+        return snapshot(counters, collectedSince);
+    }
+
+    /**
+     * Starts collecting from scratch and returns what was collected so far
+     */
+    public KieContainerRuleProfile reset() {
+        ConcurrentMap<Rule, RuleCounters> previous = counters;
+        Date previousSince = collectedSince;
+        counters = new ConcurrentHashMap<>();
+        collectedSince = new Date();
+
+        return snapshot(previous, previousSince);
+    }
+
+    protected KieContainerRuleProfile snapshot(ConcurrentMap<Rule, RuleCounters> source, Date since) {
+        List<RuleStatistics> rules = new ArrayList<>(source.size());
+        for (RuleCounters ruleCounters : source.values()) {
+            rules.add(ruleCounters.snapshot());
+        }
+        rules.sort(Comparator.comparingLong(RuleStatistics::getConsequenceTimeTotal).reversed());
+
+        return new KieContainerRuleProfile(containerId, enabled, since, rules);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.drools.profiling;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.kie.server.api.model.RuleStatistics;
+
+/**
+ * Counters of single rule, updated concurrently by all sessions of the container without locking
+ */
+public class RuleCounters {
+
+    private final String packageName;
+    private final String ruleName;
+
+    private final LongAdder activationsCreated = new LongAdder();
+    private final LongAdder activationsCancelled = new LongAdder();
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder consequenceTime = new LongAdder();
+    private final LongAccumulator maxConsequenceTime = new LongAccumulator(Math::max, 0);
+
+    public RuleCounters(String packageName, String ruleName) {
+        this.packageName = packageName;
+        this.ruleName = ruleName;
+    }
+
+    public void activationCreated() {
+        activationsCreated.increment();
+    }
+
+    public void activationCancelled() {
+        activationsCancelled.increment();
+    }
+
+    public void fired(long durationNanos) {
+        fired.increment();
+        consequenceTime.add(durationNanos);
+        maxConsequenceTime.accumulate(durationNanos);
+    }
+
+    public RuleStatistics snapshot() {
+        return new RuleStatistics(packageName, ruleName, activationsCreated.sum(), activationsCancelled.sum(),
+                                  fired.sum(), consequenceTime.sum(), maxConsequenceTime.get());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.drools.profiling;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.BeforeMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.event.rule.MatchCancelledEvent;
+import org.kie.api.event.rule.MatchCreatedEvent;
+
+/**
+ * Feeds agenda events of a session into the container profiler, does nothing while profiling is disabled
+ */
+public class RuleProfilingListener extends DefaultAgendaEventListener {
+
+    // firings are left behind when consequence throws, only this many most recent ones are kept per thread
+    private static final int MAX_NESTED_FIRINGS = 32;
+
+    // matches being fired by this listener's session on the current thread, a consequence may fire rules again
+    // (of the same or another session) so firings nest; listeners of stateless sessions are used by many threads.
+    // Matches are identified by identity hash code so that left behind firings do not hold on to the session.
+    private final ThreadLocal<Deque<Firing>> firings = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final ContainerRuleProfiler profiler;
+
+    public RuleProfilingListener(ContainerRuleProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public ContainerRuleProfiler getProfiler() {
+        return profiler;
+    }
+
+    @Override
+    public void matchCreated(MatchCreatedEvent event) {
+        if (profiler.isEnabled()) {
+            profiler.counters(event.getMatch().getRule()).activationCreated();
+        }
+    }
+
+    @Override
+    public void matchCancelled(MatchCancelledEvent event) {
+        if (profiler.isEnabled()) {
+            profiler.counters(event.getMatch().getRule()).activationCancelled();
+        }
+    }
+
+    @Override
+    public void beforeMatchFired(BeforeMatchFiredEvent event) {
+        if (profiler.isEnabled()) {
+            Deque<Firing> started = firings.get();
+            if (started.size() >= MAX_NESTED_FIRINGS) {
+                started.removeLast();
+            }
+            started.push(new Firing(System.identityHashCode(event.getMatch()), System.nanoTime()));
+        }
+    }
+
+    @Override
+    public void afterMatchFired(AfterMatchFiredEvent event) {
+        Deque<Firing> started = firings.get();
+        int match = System.identityHashCode(event.getMatch());
+        for (Firing firing : started) {
+            if (firing.match == match) {
+                // firings above it were left behind by consequences that threw
+                Firing top;
+                do {
+                    top = started.pop();
+                } while (top != firing);
+                profiler.counters(event.getMatch().getRule()).fired(System.nanoTime() - firing.start);
+                return;
+            }
+        }
+    }
+
+    private static class Firing {
+
+        private final int match;
+        private final long start;
+
+        private Firing(int match, long start) {
+            this.match = match;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.drools;
+
+import org.drools.core.impl.InternalKieContainer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.server.api.model.KieContainerRuleProfile;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.services.api.ContainerLocator;
+import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.impl.KieContainerInstanceImpl;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+@RunWith(MockitoJUnitRunner.class)
+public class RuleProfilingServiceTest {
+
+    private static final String CONTAINER_ID = "test-container";
+    private static final String ALIAS = "test-alias";
+    @Mock
+    private KieServerRegistry registry;
+    @Mock
+    private KieContainerInstanceImpl containerInstance;
+    @Mock
+    private InternalKieContainer kieContainer;
+
+    private RuleProfilingService service;
+
+    @Before
+    public void setup() {
+        when(containerInstance.getContainerId()).thenReturn(CONTAINER_ID);
+        when(containerInstance.getKieContainer()).thenReturn(kieContainer);
+        when(registry.getContainer(eq(CONTAINER_ID), any(ContainerLocator.class))).thenReturn(containerInstance);
+        when(registry.getContainer(eq(ALIAS), any(ContainerLocator.class))).thenReturn(containerInstance);
+        service = new RuleProfilingService(registry);
+    }
+
+    @Test
+    public void testStartProfilingOfUnknownContainer() {
+        ServiceResponse<KieContainerRuleProfile> response = service.startProfiling("unknown");
+        assertEquals(ServiceResponse.ResponseType.FAILURE, response.getType());
+    }
+
+    @Test
+    public void testStartProfilingOfNotInstantiatedContainer() {
+        when(containerInstance.getKieContainer()).thenReturn(null);
+
+        ServiceResponse<KieContainerRuleProfile> response = service.startProfiling(CONTAINER_ID);
+        assertEquals(ServiceResponse.ResponseType.FAILURE, response.getType());
+    }
+
+    @Test
+    public void testNotProfiledContainer() {
+        assertEquals(ServiceResponse.ResponseType.FAILURE, service.stopProfiling(CONTAINER_ID).getType());
+        assertEquals(ServiceResponse.ResponseType.FAILURE, service.getProfile(CONTAINER_ID).getType());
+        assertEquals(ServiceResponse.ResponseType.FAILURE, service.resetProfile(CONTAINER_ID).getType());
+    }
+    @Test
+    public void testStartAndStopProfiling() {
+        ServiceResponse<KieContainerRuleProfile> response = service.startProfiling(CONTAINER_ID);
+        assertEquals(ServiceResponse.ResponseType.SUCCESS, response.getType());
+        assertTrue(response.getResult().isEnabled());
+        assertEquals(CONTAINER_ID, response.getResult().getContainerId());
+
+        response = service.stopProfiling(CONTAINER_ID);
+        assertEquals(ServiceResponse.ResponseType.SUCCESS, response.getType());
+        assertFalse(response.getResult().isEnabled());
+
+        // profile stays available after profiling was stopped
+        response = service.getProfile(CONTAINER_ID);
+        assertEquals(ServiceResponse.ResponseType.SUCCESS, response.getType());
+        assertFalse(response.getResult().isEnabled());
+        response = service.resetProfile(CONTAINER_ID);
+        assertEquals(ServiceResponse.ResponseType.SUCCESS, response.getType());
+    }
+    @Test
+    public void testProfilingByAlias() {
+        ServiceResponse<KieContainerRuleProfile> response = service.startProfiling(ALIAS);
+        assertEquals(ServiceResponse.ResponseType.SUCCESS, response.getType());
+        // profiler is kept under container id
+        assertEquals(CONTAINER_ID, response.getResult().getContainerId());
+        assertNotNull(service.getProfiler(CONTAINER_ID));
+        assertSame(service.getProfiler(CONTAINER_ID), service.getProfiler(ALIAS));
+        assertEquals(ServiceResponse.ResponseType.SUCCESS, service.getProfile(ALIAS).getType());
+        assertEquals(ServiceResponse.ResponseType.SUCCESS, service.stopProfiling(ALIAS).getType());
+        assertFalse(service.getProfiler(CONTAINER_ID).isEnabled());
+    }
+    @Test
+    public void testDisposeContainer() {
+        service.startProfiling(CONTAINER_ID);
+        assertNotNull(service.getProfiler(CONTAINER_ID));
+
+        service.disposeContainer(CONTAINER_ID);
+        assertNull(service.getProfiler(CONTAINER_ID));
+        assertEquals(ServiceResponse.ResponseType.FAILURE, service.getProfile(CONTAINER_ID).getType());
+    }
+}
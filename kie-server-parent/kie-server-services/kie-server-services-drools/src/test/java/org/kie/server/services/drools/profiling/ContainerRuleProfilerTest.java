@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.drools.profiling;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.event.rule.AgendaEventListener;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.utils.KieHelper;
+import org.kie.server.api.model.KieContainerRuleProfile;
+import org.kie.server.api.model.RuleStatistics;
+
+import static org.junit.Assert.*;
+
+public class ContainerRuleProfilerTest {
+
+    private static final String DRL =
+            "package org.kie.server.test\n" +
+            "rule \"string inserted\"\n" +
+            "when\n" +
+            "    String()\n" +
+            "then\n" +
+            "end\n" +
+            "rule \"number inserted\"\n" +
+            "when\n" +
+            "    Integer()\n" +
+            "then\n" +
+            "end\n";
+
+    private KieBase kieBase;
+    private ContainerRuleProfiler profiler;
+
+    @Before
+    public void setup() {
+        kieBase = new KieHelper().addContent(DRL, ResourceType.DRL).build();
+        profiler = new ContainerRuleProfiler("test-container");
+    }
+
+    @Test
+    public void testAttachOnlyOnce() {
+        KieSession session = kieBase.newKieSession();
+        try {
+            profiler.attach(session);
+            profiler.attach(session);
+            assertEquals(1, countProfilingListeners(session, profiler));
+
+            // other profiler gets its own listener
+            ContainerRuleProfiler other = new ContainerRuleProfiler("other-container");
+            other.attach(session);
+            assertEquals(1, countProfilingListeners(session, profiler));
+            assertEquals(1, countProfilingListeners(session, other));
+        } finally {
+            session.dispose();
+        }
+    }
+
+    @Test
+    public void testDisabledProfilerRecordsNothing() {
+        KieSession session = kieBase.newKieSession();
+        try {
+            profiler.attach(session);
+            session.insert("test");
+            session.fireAllRules();
+        } finally {
+            session.dispose();
+        }
+
+        KieContainerRuleProfile profile = profiler.snapshot();
+        assertFalse(profile.isEnabled());
+        assertTrue(profile.getRules().isEmpty());
+    }
+
+    @Test
+    public void testCountersAggregatedAcrossSessions() {
+        profiler.setEnabled(true);
+
+        KieSession first = kieBase.newKieSession();
+        KieSession second = kieBase.newKieSession();
+        try {
+            profiler.attach(first);
+            profiler.attach(second);
+
+            first.insert("first");
+            first.insert(1);
+            first.fireAllRules();
+
+            second.insert("second");
+            second.insert("third");
+            second.fireAllRules();
+        } finally {
+            first.dispose();
+            second.dispose();
+        }
+
+        KieContainerRuleProfile profile = profiler.snapshot();
+        assertTrue(profile.isEnabled());
+        assertEquals(2, profile.getRules().size());
+
+        RuleStatistics strings = findRule(profile.getRules(), "string inserted");
+        assertEquals(3, strings.getActivationsCreated());
+        assertEquals(3, strings.getFired());
+
+        RuleStatistics numbers = findRule(profile.getRules(), "number inserted");
+        assertEquals(1, numbers.getActivationsCreated());
+        assertEquals(1, numbers.getFired());
+    }
+
+    @Test
+    public void testEnableDisableAndReset() {
+        KieSession session = kieBase.newKieSession();
+        try {
+            profiler.attach(session);
+
+            profiler.setEnabled(true);
+            session.insert("recorded");
+            session.fireAllRules();
+
+            profiler.setEnabled(false);
+            session.insert("not recorded");
+            session.fireAllRules();
+
+            assertEquals(1, findRule(profiler.snapshot().getRules(), "string inserted").getFired());
+
+            profiler.setEnabled(true);
+            KieContainerRuleProfile previous = profiler.reset();
+            assertEquals(1, findRule(previous.getRules(), "string inserted").getFired());
+            assertTrue(profiler.snapshot().getRules().isEmpty());
+
+            session.insert("recorded after reset");
+            session.fireAllRules();
+            assertEquals(1, findRule(profiler.snapshot().getRules(), "string inserted").getFired());
+        } finally {
+            session.dispose();
+        }
+    }
+
+    private static int countProfilingListeners(KieSession session, ContainerRuleProfiler profiler) {
+        int count = 0;
+        for (AgendaEventListener listener : session.getAgendaEventListeners()) {
+            if (listener instanceof RuleProfilingListener && ((RuleProfilingListener) listener).getProfiler() == profiler) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static RuleStatistics findRule(List<RuleStatistics> rules, String ruleName) {
+        for (RuleStatistics statistics : rules) {
+            if (ruleName.equals(statistics.getRuleName())) {
+                return statistics;
+            }
+        }
+        fail("No statistics of rule " + ruleName);
+        return null;
+    }
+}
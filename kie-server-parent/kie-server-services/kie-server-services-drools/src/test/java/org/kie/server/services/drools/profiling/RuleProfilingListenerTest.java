@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.drools.profiling;
+
+import org.junit.Test;
+import org.kie.api.definition.rule.Rule;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.BeforeMatchFiredEvent;
+import org.kie.api.runtime.rule.Match;
+import org.kie.server.api.model.RuleStatistics;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class RuleProfilingListenerTest {
+
+    @Test
+    public void testNestedFiringsOfDifferentProfilers() throws Exception {
+        ContainerRuleProfiler outerProfiler = enabledProfiler("outer-container");
+        ContainerRuleProfiler innerProfiler = enabledProfiler("inner-container");
+        RuleProfilingListener outerListener = new RuleProfilingListener(outerProfiler);
+        RuleProfilingListener innerListener = new RuleProfilingListener(innerProfiler);
+
+        Match outer = match("outer rule");
+        Match inner = match("inner rule");
+
+        // consequence of outer rule fires rules of another session on the same thread
+        outerListener.beforeMatchFired(before(outer));
+        Thread.sleep(5);
+        innerListener.beforeMatchFired(before(inner));
+        innerListener.afterMatchFired(after(inner));
+        Thread.sleep(5);
+        outerListener.afterMatchFired(after(outer));
+
+        RuleStatistics outerStatistics = single(outerProfiler);
+        RuleStatistics innerStatistics = single(innerProfiler);
+        assertEquals(1, outerStatistics.getFired());
+        assertEquals(1, innerStatistics.getFired());
+        assertTrue(outerStatistics.getConsequenceTimeTotal() >= 10000000L);
+        assertTrue(outerStatistics.getConsequenceTimeTotal() > innerStatistics.getConsequenceTimeTotal());
+    }
+
+    @Test
+    public void testNestedFiringsOfSameListener() throws Exception {
+        ContainerRuleProfiler profiler = enabledProfiler("test-container");
+        RuleProfilingListener listener = new RuleProfilingListener(profiler);
+
+        Match outer = match("outer rule");
+        Match inner = match("inner rule");
+
+        listener.beforeMatchFired(before(outer));
+        Thread.sleep(5);
+        listener.beforeMatchFired(before(inner));
+        listener.afterMatchFired(after(inner));
+        listener.afterMatchFired(after(outer));
+
+        assertEquals(2, profiler.snapshot().getRules().size());
+        // rules are sorted by consequence time
+        assertEquals("outer rule", profiler.snapshot().getRules().get(0).getRuleName());
+        assertEquals(1, profiler.snapshot().getRules().get(0).getFired());
+        assertEquals(1, profiler.snapshot().getRules().get(1).getFired());
+    }
+
+    @Test
+    public void testFiringLeftBehindByFailedConsequence() {
+        ContainerRuleProfiler profiler = enabledProfiler("test-container");
+        RuleProfilingListener listener = new RuleProfilingListener(profiler);
+
+        // consequence throws so after event never comes
+        Match failed = match("failing rule");
+        listener.beforeMatchFired(before(failed));
+
+        Match succeeded = match("succeeding rule");
+        listener.beforeMatchFired(before(succeeded));
+        listener.afterMatchFired(after(succeeded));
+
+        RuleStatistics statistics = single(profiler);
+        assertEquals("succeeding rule", statistics.getRuleName());
+        assertEquals(1, statistics.getFired());
+
+        // many failures do not prevent later firings from being recorded
+        for (int i = 0; i < 100; i++) {
+            listener.beforeMatchFired(before(failed));
+        }
+        listener.beforeMatchFired(before(succeeded));
+        listener.afterMatchFired(after(succeeded));
+        assertEquals(2, single(profiler).getFired());
+    }
+
+    @Test
+    public void testDisabledProfilerRecordsNothing() {
+        ContainerRuleProfiler profiler = new ContainerRuleProfiler("test-container");
+        RuleProfilingListener listener = new RuleProfilingListener(profiler);
+
+        Match match = match("test rule");
+        listener.beforeMatchFired(before(match));
+        listener.afterMatchFired(after(match));
+        assertTrue(profiler.snapshot().getRules().isEmpty());
+
+        // firing started while disabled is not recorded
+        listener.beforeMatchFired(before(match));
+        profiler.setEnabled(true);
+        listener.afterMatchFired(after(match));
+        assertTrue(profiler.snapshot().getRules().isEmpty());
+    }
+
+    private static ContainerRuleProfiler enabledProfiler(String containerId) {
+        ContainerRuleProfiler profiler = new ContainerRuleProfiler(containerId);
+        profiler.setEnabled(true);
+        return profiler;
+    }
+
+    private static RuleStatistics single(ContainerRuleProfiler profiler) {
+        assertEquals(1, profiler.snapshot().getRules().size());
+        return profiler.snapshot().getRules().get(0);
+    }
+
+    private static Match match(String ruleName) {
+        Rule rule = mock(Rule.class);
+        when(rule.getPackageName()).thenReturn("org.kie.server.test");
+        when(rule.getName()).thenReturn(ruleName);
+
+        Match match = mock(Match.class);
+        when(match.getRule()).thenReturn(rule);
+        return match;
+    }
+
+    private static BeforeMatchFiredEvent before(Match match) {
+        BeforeMatchFiredEvent event = mock(BeforeMatchFiredEvent.class);
+        when(event.getMatch()).thenReturn(match);
+        return event;
+    }
+
+    private static AfterMatchFiredEvent after(Match match) {
+        AfterMatchFiredEvent event = mock(AfterMatchFiredEvent.class);
+        when(event.getMatch()).thenReturn(match);
+        return event;
+    }
+}
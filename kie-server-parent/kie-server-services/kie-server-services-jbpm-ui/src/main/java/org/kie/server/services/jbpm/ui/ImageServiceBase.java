@@ -15,7 +15,6 @@
 
 package org.kie.server.services.jbpm.ui;
 
-import java.io.ByteArrayInputStream;
 import java.io.UnsupportedEncodingException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
@@ -24,7 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.jbpm.process.svg.SVGImageProcessor;
+import org.jbpm.process.svg.SVGTemplate;
 import org.jbpm.services.api.ProcessInstanceNotFoundException;
 import org.jbpm.services.api.RuntimeDataService;
 import org.jbpm.services.api.model.NodeInstanceDesc;
@@ -62,7 +61,7 @@ public class ImageServiceBase {
         }
     }
 
-    private byte[] getProcessImageAsBytes(String containerId, String processId) {
+    private String getProcessImageLocation(String containerId, String processId) {
 
         ProcessDefinition procDef = dataService.getProcessesByDeploymentIdProcessId(containerId, processId);
         if( procDef == null ) {
@@ -73,6 +72,11 @@ public class ImageServiceBase {
         if (procDef.getPackageName() != null && !procDef.getPackageName().trim().isEmpty()) {
             location = procDef.getPackageName().replaceAll("\\.", "/") + "/";
         }
+        return location;
+    }
+
+    private byte[] getProcessImageAsBytes(String containerId, String processId) {
+        String location = getProcessImageLocation(containerId, processId);
         // get SVG String
         byte[] imageSVG = imageReferenceMap.get(containerId).getImageContent(location, processId);
         if( imageSVG == null ) {
@@ -83,6 +87,18 @@ public class ImageServiceBase {
         return imageSVG;
     }
 
+    private SVGTemplate getProcessImageTemplate(String containerId, String processId) {
+        String location = getProcessImageLocation(containerId, processId);
+
+        SVGTemplate imageTemplate = imageReferenceMap.get(containerId).getImageTemplate(location, processId);
+        if( imageTemplate == null ) {
+            logger.warn("Could not find SVG image file for process '" + processId + "' within container " + containerId);
+            return null;
+        }
+
+        return imageTemplate;
+    }
+
     public String getProcessImage(String containerId, String processId) {
         containerId = registry.getContainerId(containerId, ContainerLocatorProvider.get().getLocator());
 
@@ -105,9 +121,9 @@ public class ImageServiceBase {
             throw new ProcessInstanceNotFoundException("No instance found for process instance id " + procInstId);
         }
         String imageSVGString = null;
-        // get SVG String
-        byte[] imageSVG = getProcessImageAsBytes(instance.getDeploymentId(), instance.getProcessId());
-        if (imageSVG != null) {
+        // get pre-processed SVG
+        SVGTemplate imageTemplate = getProcessImageTemplate(instance.getDeploymentId(), instance.getProcessId());
+        if (imageTemplate != null) {
             // find active nodes and modify image
             Map<String, String> subProcessLinks = new HashMap<>();
             Collection<NodeInstanceDesc> activeLogs = dataService.getProcessInstanceHistoryActive(procInstId, new QueryContext(0, 1000));
@@ -129,9 +145,7 @@ public class ImageServiceBase {
                 populateSubProcessLink(containerId, completeNode, subProcessLinks);
             }
 
-            ByteArrayInputStream svgStream = new ByteArrayInputStream(imageSVG);
-
-            imageSVGString = SVGImageProcessor.transform(svgStream, completed, new ArrayList<String>(active.values()), subProcessLinks);
+            imageSVGString = imageTemplate.transform(completed, new ArrayList<String>(active.values()), subProcessLinks);
 
             return imageSVGString;
         }
@@ -180,6 +180,7 @@ public class JBPMUIKieServerExtension implements KieServerExtension {
         }
 
         imageReferences.remove(id);
+        formServiceBase.disposeContainer(id);
     }
 
     @Override
@@ -63,4 +63,11 @@ public interface UIFormProvider {
      * @return type of the content
      */
     String getType();
+
+    /**
+     * Invoked when given container is updated or disposed so any state cached for it by the provider can be dropped
+     * @param containerId id of the container
+     */
+    default void disposeContainer(String containerId) {
+    }
 }
@@ -24,6 +24,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.Transformer;
@@ -66,6 +68,11 @@ public class RemoteFormModellerFormProvider extends AbstractFormProvider impleme
     public static final String SUB_FORM_TYPE = "Subform";
     public static final String MULTI_SUB_FORM_TYPE = "MultipleSubform";
 
+    // max number of cached forms per container, guards against unbounded number of requested languages
+    private static final int MAX_CACHED_FORMS = Integer.parseInt(System.getProperty("org.kie.server.ui.form.cache.size", "500"));
+
+    private final ConcurrentMap<String, ContainerFormCache> formCache = new ConcurrentHashMap<String, ContainerFormCache>();
+
     public RemoteFormModellerFormProvider() {
     }
 
@@ -82,11 +89,13 @@ public class RemoteFormModellerFormProvider extends AbstractFormProvider impleme
             return null;
         }
 
+        String formName = process.getId();
         String templateString = formManagerService.getFormByKey(process.getDeploymentId(),
-                                                                process.getId());
+                                                                formName);
         if (templateString == null) {
+            formName = process.getId() + getFormSuffix();
             templateString = formManagerService.getFormByKey(process.getDeploymentId(),
-                                                             process.getId() + getFormSuffix());
+                                                             formName);
         }
 
         if (templateString == null || templateString.isEmpty()) {
@@ -96,14 +105,16 @@ public class RemoteFormModellerFormProvider extends AbstractFormProvider impleme
             Boolean filterContent = (Boolean) renderContext.get("filterForm");
 
             if (filterContent == null || Boolean.TRUE.equals(filterContent)) {
-                templateString = filterXML(templateString,
-                                           lang,
-                                           process.getDeploymentId(),
-                                           null,
-                                           null);
+                templateString = filterForm(formName,
+                                            templateString,
+                                            lang,
+                                            process.getDeploymentId(),
+                                            null,
+                                            null);
             } else {
-                templateString = attachSubForms(templateString,
-                                                process.getDeploymentId());
+                templateString = expandForm(formName,
+                                            templateString,
+                                            process.getDeploymentId());
             }
             return templateString;
         }
@@ -146,240 +157,389 @@ public class RemoteFormModellerFormProvider extends AbstractFormProvider impleme
             Boolean filterContent = (Boolean) renderContext.get("filterForm");
 
             if (filterContent == null || Boolean.TRUE.equals(filterContent)) {
-                templateString = filterXML(templateString,
-                                           lang,
-                                           task.getTaskData().getDeploymentId(),
-                                           inputs,
-                                           outputs);
+                templateString = filterForm(lookupName,
+                                            templateString,
+                                            lang,
+                                            task.getTaskData().getDeploymentId(),
+                                            inputs,
+                                            outputs);
             } else {
-                templateString = attachSubForms(templateString,
-                                                task.getTaskData().getDeploymentId());
+                templateString = expandForm(lookupName,
+                                            templateString,
+                                            task.getTaskData().getDeploymentId());
             }
             return templateString;
         }
     }
 
+    @Override
+    public void disposeContainer(String containerId) {
+        formCache.remove(containerId);
+    }
+
+    /*
+     * Language filtering only depends on the form and the language so it is done once and the result is cached
+     * per container, each render then binds the data into a copy of the cached form.
+     */
+    protected String filterForm(String formName,
+                                String document,
+                                String lang,
+                                String deploymentId,
+                                Map inputs,
+                                Map outputs) {
+        try {
+            Document template = getLanguageFilteredForm(deploymentId,
+                                                        formName,
+                                                        document,
+                                                        lang);
+            Document doc = copyOf(template);
+            bindData(doc,
+                     lang,
+                     deploymentId,
+                     inputs,
+                     outputs);
+            document = asString(doc);
+        } catch (Exception ex) {
+            logger.error("Error when filtering form",
+                         ex);
+        }
+        return document;
+    }
+
+    protected String expandForm(String formName,
+                                String document,
+                                String deploymentId) {
+        ContainerFormCache containerCache = getContainerCache(deploymentId);
+        String expanded = containerCache.expandedForms.get(formName);
+        if (expanded == null) {
+            expanded = attachSubForms(document,
+                                      deploymentId);
+            containerCache.cacheExpandedForm(formName,
+                                             expanded);
+        }
+        return expanded;
+    }
+
     protected String filterXML(String document,
                                String lang,
                                String deploymentId,
                                Map inputs,
                                Map outputs) {
         try {
-            if (inputs == null) {
-                inputs = Collections.emptyMap();
-            }
-            if (outputs == null) {
-                outputs = Collections.emptyMap();
+            Document doc = parse(document);
+            filterLanguage(doc,
+                           lang);
+            bindData(doc,
+                     lang,
+                     deploymentId,
+                     inputs,
+                     outputs);
+            document = asString(doc);
+        } catch (Exception ex) {
+            logger.error("Error when filtering form",
+                         ex);
+        }
+        return document;
+    }
+
+    protected void filterLanguage(Document doc,
+                                  String lang) {
+        NodeList nodes = doc.getElementsByTagName(NODE_FORM);
+        Node nodeForm = nodes.item(0);
+        NodeList childNodes = nodeForm.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            Node node = childNodes.item(i);
+            if (node.getNodeName().equals(NODE_FIELD)) {
+                NodeList fieldPropsNodes = node.getChildNodes();
+                for (int j = 0; j < fieldPropsNodes.getLength(); j++) {
+                    Node nodeFieldProp = fieldPropsNodes.item(j);
+                    if (nodeFieldProp.getNodeName().equals(NODE_PROPERTY)) {
+                        String propName = nodeFieldProp.getAttributes().getNamedItem(ATTR_NAME).getNodeValue();
+                        String value = StringEscapeUtils.unescapeXml(nodeFieldProp.getAttributes().getNamedItem(ATTR_VALUE).getNodeValue());
+                        if (propName != null && ATTR_LANG_NAMES.contains(propName) && !StringUtils.isEmpty(value)) {
+                            filterProperty(nodeFieldProp,
+                                           lang,
+                                           value);
+                        }
+                    }
+                }
             }
+        }
+    }
 
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    protected void bindData(Document doc,
+                            String lang,
+                            String deploymentId,
+                            Map inputs,
+                            Map outputs) throws Exception {
+        if (inputs == null) {
+            inputs = Collections.emptyMap();
+        }
+        if (outputs == null) {
+            outputs = Collections.emptyMap();
+        }
 
-            factory.setNamespaceAware(true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
+        NodeList nodes = doc.getElementsByTagName(NODE_FORM);
+        Node nodeForm = nodes.item(0);
+        NodeList childNodes = nodeForm.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            Node node = childNodes.item(i);
+            if (node.getNodeName().equals(NODE_FIELD)) {
+
+                String fieldType = node.getAttributes().getNamedItem(ATTR_TYPE).getNodeValue();
+                if (SUB_FORM_TYPE.equals(fieldType)) {
+
+                    String defaultSubForm = findPropertyValue(node,
+                                                              "defaultSubform");
+                    if (defaultSubForm != null) {
+
+                        Document subFormTemplate = getLanguageFilteredForm(deploymentId,
+                                                                           defaultSubForm,
+                                                                           null,
+                                                                           lang);
+
+                        if (subFormTemplate != null) {
+                            Document tmpSubForm = copyOf(subFormTemplate);
+                            // read once to find out input binding name
+                            Node firstFieldNode = tmpSubForm.getElementsByTagName(NODE_FIELD).item(0);
+                            // inputs - current node
+                            String currentNodeInputBinding = findPropertyValue(node,
+                                                                               "inputBinding");
+                            currentNodeInputBinding = currentNodeInputBinding.replaceAll("/",
+                                                                                         ".");
 
-            Document doc = builder.parse(new ByteArrayInputStream(document.getBytes()));
-            NodeList nodes = doc.getElementsByTagName(NODE_FORM);
-            Node nodeForm = nodes.item(0);
-            NodeList childNodes = nodeForm.getChildNodes();
-            for (int i = 0; i < childNodes.getLength(); i++) {
-                Node node = childNodes.item(i);
-                if (node.getNodeName().equals(NODE_FIELD)) {
+                            // outputs current node
+                            String currentNodeOutputBinding = findPropertyValue(node,
+                                                                                "outputBinding");
+                            currentNodeOutputBinding = currentNodeOutputBinding.replaceAll("/",
+                                                                                           ".");
+
+                            // inputs sub form
+                            String inputBindingSubForm = findPropertyValue(firstFieldNode,
+                                                                           "inputBinding");
+                            inputBindingSubForm = inputBindingSubForm.split("/")[0];
+
+                            // outputs sub form
+                            String outputBindingSubForm = findPropertyValue(firstFieldNode,
+                                                                            "outputBinding");
+                            outputBindingSubForm = outputBindingSubForm.split("/")[0];
+
+                            Map<String, Object> subFormInputs = new HashMap<String, Object>(inputs);
+                            try {
+                                subFormInputs.put(inputBindingSubForm,
+                                                  MVELSafeHelper.getEvaluator().eval(currentNodeInputBinding,
+                                                                                     inputs));
+                            } catch (Exception e) {
 
-                    String fieldType = node.getAttributes().getNamedItem(ATTR_TYPE).getNodeValue();
-                    if (SUB_FORM_TYPE.equals(fieldType)) {
+                            }
 
-                        String defaultSubForm = findPropertyValue(node,
-                                                                  "defaultSubform");
-                        if (defaultSubForm != null) {
+                            Map<String, Object> subFormOutputs = new HashMap<String, Object>(outputs);
+                            try {
+                                subFormOutputs.put(outputBindingSubForm,
+                                                   MVELSafeHelper.getEvaluator().eval(currentNodeOutputBinding,
+                                                                                      outputs));
+                            } catch (Exception e) {
 
-                            String subFormContent = formManagerService.getFormByKey(deploymentId,
-                                                                                    defaultSubForm);
+                            }
 
-                            if (subFormContent != null) {
-                                // read once to find out input binding name
-                                Document tmpSubForm = builder.parse(new ByteArrayInputStream(subFormContent.getBytes()));
-
-                                Node firstFieldNode = tmpSubForm.getElementsByTagName(NODE_FIELD).item(0);
-                                // inputs - current node
-                                String currentNodeInputBinding = findPropertyValue(node,
-                                                                                   "inputBinding");
-                                currentNodeInputBinding = currentNodeInputBinding.replaceAll("/",
-                                                                                             ".");
-
-                                // outputs current node
-                                String currentNodeOutputBinding = findPropertyValue(node,
-                                                                                    "outputBinding");
-                                currentNodeOutputBinding = currentNodeOutputBinding.replaceAll("/",
-                                                                                               ".");
-
-                                // inputs sub form
-                                String inputBindingSubForm = findPropertyValue(firstFieldNode,
-                                                                               "inputBinding");
-                                inputBindingSubForm = inputBindingSubForm.split("/")[0];
+                            // run the transformation
+                            bindSubForm(tmpSubForm,
+                                        lang,
+                                        deploymentId,
+                                        subFormInputs,
+                                        subFormOutputs);
 
-                                // outputs sub form
-                                String outputBindingSubForm = findPropertyValue(firstFieldNode,
-                                                                                "outputBinding");
-                                outputBindingSubForm = outputBindingSubForm.split("/")[0];
-
-                                Map<String, Object> subFormInputs = new HashMap<String, Object>(inputs);
-                                try {
-                                    subFormInputs.put(inputBindingSubForm,
-                                                      MVELSafeHelper.getEvaluator().eval(currentNodeInputBinding,
-                                                                                         inputs));
-                                } catch (Exception e) {
-
-                                }
-
-                                Map<String, Object> subFormOutputs = new HashMap<String, Object>(outputs);
-                                try {
-                                    subFormOutputs.put(outputBindingSubForm,
-                                                       MVELSafeHelper.getEvaluator().eval(currentNodeOutputBinding,
-                                                                                          outputs));
-                                } catch (Exception e) {
-
-                                }
-
-                                // run the transformation
-                                String filtered = filterXML(subFormContent,
-                                                            lang,
-                                                            deploymentId,
-                                                            subFormInputs,
-                                                            subFormOutputs);
-
-                                Document docSubForm = builder.parse(new ByteArrayInputStream(filtered.getBytes()));
-                                NodeList nodesSubForm = docSubForm.getElementsByTagName(NODE_FORM);
-                                Node nodeFormSubForm = nodesSubForm.item(0);
+                            Node nodeFormSubForm = tmpSubForm.getElementsByTagName(NODE_FORM).item(0);
 
-                                Node imported = doc.importNode(nodeFormSubForm,
-                                                               true);
+                            Node imported = doc.importNode(nodeFormSubForm,
+                                                           true);
 
-                                node.getParentNode().appendChild(imported);
-                            }
+                            node.getParentNode().appendChild(imported);
                         }
-                    } else if (MULTI_SUB_FORM_TYPE.equals(fieldType)) {
+                    }
+                } else if (MULTI_SUB_FORM_TYPE.equals(fieldType)) {
+
+                    String defaultSubForm = findPropertyValue(node,
+                                                              "defaultSubform");
+                    if (defaultSubForm != null) {
+
+                        Document subFormTemplate = getLanguageFilteredForm(deploymentId,
+                                                                           defaultSubForm,
+                                                                           null,
+                                                                           lang);
+                        if (subFormTemplate != null) {
+
+                            String inputBinding = findPropertyValue(node,
+                                                                    "inputBinding");
+                            inputBinding = inputBinding.replaceAll("/",
+                                                                   ".");
+
+                            String outputBinding = findPropertyValue(node,
+                                                                     "outputBinding");
+                            outputBinding = outputBinding.replaceAll("/",
+                                                                     ".");
+
+                            Collection<Object> list = new ArrayList<Object>();
+                            Collection<Object> listOut = new ArrayList<Object>();
+                            Map<String, Object> subFormInputs = new HashMap<String, Object>(inputs);
+                            Map<String, Object> subFormOutputs = new HashMap<String, Object>(outputs);
+                            try {
+                                list = (Collection<Object>) MVELSafeHelper.getEvaluator().eval(inputBinding,
+                                                                                               inputs);
+                            } catch (Exception e) {
+                                // no elements found add simple object to generate single line
+                                list.add(new Object());
+                            }
+                            try {
+                                listOut = (Collection<Object>) MVELSafeHelper.getEvaluator().eval(outputBinding,
+                                                                                                  outputs);
+                            } catch (Exception e) {
+                                // no elements found add simple object to generate single line
+                                list.add(new Object());
+                            }
 
-                        String defaultSubForm = findPropertyValue(node,
-                                                                  "defaultSubform");
-                        if (defaultSubForm != null) {
+                            // read once to find out input binding name
+                            Node firstFieldNode = copyOf(subFormTemplate).getElementsByTagName(NODE_FIELD).item(0);
 
-                            String subFormContent = formManagerService.getFormByKey(deploymentId,
-                                                                                    defaultSubForm);
-                            if (subFormContent != null) {
+                            String inputBindingSubForm = findPropertyValue(firstFieldNode,
+                                                                           "inputBinding");
+                            inputBindingSubForm = inputBindingSubForm.split("/")[0];
 
-                                String inputBinding = findPropertyValue(node,
-                                                                        "inputBinding");
-                                inputBinding = inputBinding.replaceAll("/",
-                                                                       ".");
-
-                                String outputBinding = findPropertyValue(node,
-                                                                         "outputBinding");
-                                outputBinding = outputBinding.replaceAll("/",
-                                                                         ".");
-
-                                Collection<Object> list = new ArrayList<Object>();
-                                Collection<Object> listOut = new ArrayList<Object>();
-                                Map<String, Object> subFormInputs = new HashMap<String, Object>(inputs);
-                                Map<String, Object> subFormOutputs = new HashMap<String, Object>(outputs);
-                                try {
-                                    list = (Collection<Object>) MVELSafeHelper.getEvaluator().eval(inputBinding,
-                                                                                                   inputs);
-                                } catch (Exception e) {
-                                    // no elements found add simple object to generate single line
-                                    list.add(new Object());
-                                }
-                                try {
-                                    listOut = (Collection<Object>) MVELSafeHelper.getEvaluator().eval(outputBinding,
-                                                                                                      outputs);
-                                } catch (Exception e) {
-                                    // no elements found add simple object to generate single line
-                                    list.add(new Object());
-                                }
-
-                                // read once to find out input binding name
-                                Document tmpSubForm = builder.parse(new ByteArrayInputStream(subFormContent.getBytes()));
-
-                                Node firstFieldNode = tmpSubForm.getElementsByTagName(NODE_FIELD).item(0);
-
-                                String inputBindingSubForm = findPropertyValue(firstFieldNode,
-                                                                               "inputBinding");
-                                inputBindingSubForm = inputBindingSubForm.split("/")[0];
+                            String outputBindingSubForm = findPropertyValue(firstFieldNode,
+                                                                            "outputBinding");
+                            outputBindingSubForm = outputBindingSubForm.split("/")[0];
 
-                                String outputBindingSubForm = findPropertyValue(firstFieldNode,
-                                                                                "outputBinding");
-                                outputBindingSubForm = outputBindingSubForm.split("/")[0];
-
-                                Node nodeFormSubForm = null;
-
-                                // inputs
-                                for (Object element : list) {
-                                    subFormInputs.put(inputBindingSubForm,
-                                                      element);
-
-                                    String filtered = filterXML(subFormContent,
-                                                                lang,
-                                                                deploymentId,
-                                                                subFormInputs,
-                                                                subFormOutputs);
-
-                                    Document docSubForm = builder.parse(new ByteArrayInputStream(filtered.getBytes()));
-                                    NodeList nodesSubForm = docSubForm.getElementsByTagName(NODE_FORM);
-                                    nodeFormSubForm = nodesSubForm.item(0);
-                                }
-                                // outputs
-                                for (Object element : listOut) {
-                                    subFormOutputs.put(outputBindingSubForm,
-                                                       element);
-
-                                    String filtered = filterXML(subFormContent,
-                                                                lang,
-                                                                deploymentId,
-                                                                Collections.emptyMap(),
-                                                                subFormOutputs);
-
-                                    Document docSubForm = builder.parse(new ByteArrayInputStream(filtered.getBytes()));
-                                    NodeList nodesSubForm = docSubForm.getElementsByTagName(NODE_FORM);
-                                    nodeFormSubForm = nodesSubForm.item(0);
-                                }
-
-                                // Adding nestedForm after filtering inputs & outputs
-                                Node imported = doc.importNode(nodeFormSubForm,
-                                                               true);
-                                node.getParentNode().appendChild(imported);
+                            Node nodeFormSubForm = null;
+
+                            // inputs
+                            for (Object element : list) {
+                                subFormInputs.put(inputBindingSubForm,
+                                                  element);
+
+                                Document docSubForm = copyOf(subFormTemplate);
+                                bindSubForm(docSubForm,
+                                            lang,
+                                            deploymentId,
+                                            subFormInputs,
+                                            subFormOutputs);
+                                nodeFormSubForm = docSubForm.getElementsByTagName(NODE_FORM).item(0);
+                            }
+                            // outputs
+                            for (Object element : listOut) {
+                                subFormOutputs.put(outputBindingSubForm,
+                                                   element);
+
+                                Document docSubForm = copyOf(subFormTemplate);
+                                bindSubForm(docSubForm,
+                                            lang,
+                                            deploymentId,
+                                            Collections.emptyMap(),
+                                            subFormOutputs);
+                                nodeFormSubForm = docSubForm.getElementsByTagName(NODE_FORM).item(0);
                             }
+
+                            // Adding nestedForm after filtering inputs & outputs
+                            Node imported = doc.importNode(nodeFormSubForm,
+                                                           true);
+                            node.getParentNode().appendChild(imported);
                         }
                     }
+                }
 
-                    NodeList fieldPropsNodes = node.getChildNodes();
-                    for (int j = 0; j < fieldPropsNodes.getLength(); j++) {
-                        Node nodeFieldProp = fieldPropsNodes.item(j);
-                        if (nodeFieldProp.getNodeName().equals(NODE_PROPERTY)) {
-                            String propName = nodeFieldProp.getAttributes().getNamedItem(ATTR_NAME).getNodeValue();
-                            String value = StringEscapeUtils.unescapeXml(nodeFieldProp.getAttributes().getNamedItem(ATTR_VALUE).getNodeValue());
-                            if (inputs != null && propName != null && value != null && "inputBinding".equals(propName)) {
-                                setPropertyNodeValue(nodeFieldProp,
-                                                     value,
-                                                     inputs);
-                            } else if (outputs != null && propName != null && value != null && "outputBinding".equals(propName)) {
-                                setPropertyNodeValue(nodeFieldProp,
-                                                     value,
-                                                     outputs);
-                            } else if (propName != null && ATTR_LANG_NAMES.contains(propName) && !StringUtils.isEmpty(value)) {
-                                filterProperty(nodeFieldProp,
-                                               lang,
-                                               value);
-                            }
+                NodeList fieldPropsNodes = node.getChildNodes();
+                for (int j = 0; j < fieldPropsNodes.getLength(); j++) {
+                    Node nodeFieldProp = fieldPropsNodes.item(j);
+                    if (nodeFieldProp.getNodeName().equals(NODE_PROPERTY)) {
+                        String propName = nodeFieldProp.getAttributes().getNamedItem(ATTR_NAME).getNodeValue();
+                        String value = StringEscapeUtils.unescapeXml(nodeFieldProp.getAttributes().getNamedItem(ATTR_VALUE).getNodeValue());
+                        if (inputs != null && propName != null && value != null && "inputBinding".equals(propName)) {
+                            setPropertyNodeValue(nodeFieldProp,
+                                                 value,
+                                                 inputs);
+                        } else if (outputs != null && propName != null && value != null && "outputBinding".equals(propName)) {
+                            setPropertyNodeValue(nodeFieldProp,
+                                                 value,
+                                                 outputs);
                         }
                     }
                 }
             }
+        }
+    }
 
-            document = asString(doc);
+    private void bindSubForm(Document subForm,
+                             String lang,
+                             String deploymentId,
+                             Map inputs,
+                             Map outputs) {
+        try {
+            bindData(subForm,
+                     lang,
+                     deploymentId,
+                     inputs,
+                     outputs);
         } catch (Exception ex) {
+            // same as for top level forms, sub form is then used as is
             logger.error("Error when filtering form",
                          ex);
         }
-        return document;
+    }
+
+    /*
+     * Returns parsed and language filtered form that must not be modified, null when there is no such form.
+     * When document is not given it is loaded from the form manager service.
+     */
+    protected Document getLanguageFilteredForm(String deploymentId,
+                                               String formName,
+                                               String document,
+                                               String lang) throws Exception {
+        ContainerFormCache containerCache = getContainerCache(deploymentId);
+        String key = formName + "#" + lang;
+        Document template = containerCache.filteredForms.get(key);
+        if (template == null) {
+            if (document == null) {
+                document = formManagerService.getFormByKey(deploymentId,
+                                                           formName);
+                if (document == null) {
+                    return null;
+                }
+            }
+            template = parse(document);
+            filterLanguage(template,
+                           lang);
+            template = containerCache.cacheFilteredForm(key,
+                                                        template);
+        }
+        return template;
+    }
+
+    protected Document copyOf(Document template) {
+        // DOM implementations are not safe for concurrent reads (e.g. deferred node expansion)
+        synchronized (template) {
+            return (Document) template.cloneNode(true);
+        }
+    }
+
+    protected Document parse(String document) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+
+        factory.setNamespaceAware(true);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+
+        return builder.parse(new ByteArrayInputStream(document.getBytes()));
+    }
+
+    private ContainerFormCache getContainerCache(String deploymentId) {
+        ContainerFormCache containerCache = formCache.get(deploymentId);
+        if (containerCache == null) {
+            containerCache = new ContainerFormCache();
+            ContainerFormCache existing = formCache.putIfAbsent(deploymentId,
+                                                                containerCache);
+            if (existing != null) {
+                containerCache = existing;
+            }
+        }
+        return containerCache;
     }
 
     protected void setPropertyNodeValue(Node propertyNode,
@@ -526,4 +686,28 @@ public class RemoteFormModellerFormProvider extends AbstractFormProvider impleme
     public String getType() {
         return FormServiceBase.FormType.FORM_MODELLER_TYPE.getName();
     }
+
+    private static class ContainerFormCache {
+
+        private final ConcurrentMap<String, Document> filteredForms = new ConcurrentHashMap<String, Document>();
+        private final ConcurrentMap<String, String> expandedForms = new ConcurrentHashMap<String, String>();
+
+        private Document cacheFilteredForm(String key,
+                                           Document template) {
+            if (filteredForms.size() >= MAX_CACHED_FORMS) {
+                return template;
+            }
+            Document existing = filteredForms.putIfAbsent(key,
+                                                          template);
+            return existing != null ? existing : template;
+        }
+
+        private void cacheExpandedForm(String key,
+                                       String form) {
+            if (expandedForms.size() < MAX_CACHED_FORMS) {
+                expandedForms.putIfAbsent(key,
+                                          form);
+            }
+        }
+    }
 }
@@ -15,9 +15,12 @@
 package org.kie.server.services.jbpm.ui.img;
 
 import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
 import org.drools.compiler.kie.builder.impl.KieContainerImpl;
+import org.jbpm.process.svg.SVGTemplate;
 import org.kie.api.builder.model.KieBaseModel;
 import org.kie.api.definition.process.*;
 import org.kie.api.runtime.KieContainer;
@@ -31,6 +34,9 @@ public class ImageReference {
     private KieContainer kieContainer;
     private String kieBaseName;
 
+    // pre-processed images live as long as this reference, which is dropped when the container is disposed
+    private ConcurrentMap<String, SVGTemplate> imageTemplates = new ConcurrentHashMap<String, SVGTemplate>();
+
     public ImageReference(KieContainer kieContainer, String kieBaseName) {
         this.kieContainer = kieContainer;
         if (kieBaseName == null || kieBaseName.isEmpty()) {
@@ -81,6 +87,23 @@ public class ImageReference {
         return data;
     }
 
+    public SVGTemplate getImageTemplate(String location, String name) {
+        String key = location + name;
+        SVGTemplate template = imageTemplates.get(key);
+        if (template == null) {
+            byte[] data = getImageContent(location, name);
+            if (data == null) {
+                return null;
+            }
+            template = new SVGTemplate(data);
+            SVGTemplate existing = imageTemplates.putIfAbsent(key, template);
+            if (existing != null) {
+                template = existing;
+            }
+        }
+        return template;
+    }
+
     protected byte[] seek(String location, String name, InternalKieModule kieModule) {
         byte[] data = kieModule.getBytes(location + name + SVG_SUFFIX);
 
@@ -15,19 +15,28 @@
 
 package org.kie.server.services.jbpm;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 
 import org.jbpm.document.Document;
 import org.jbpm.document.service.DocumentStorageService;
 import org.jbpm.document.service.DocumentStorageServiceProvider;
+import org.jbpm.document.service.impl.DocumentStorageServiceImpl;
 import org.kie.server.api.model.instance.DocumentInstance;
 import org.kie.server.api.model.instance.DocumentInstance.Builder;
 import org.kie.server.api.model.instance.DocumentInstanceList;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.api.KieServerRuntimeException;
+import org.kie.server.services.jbpm.document.DocumentNotFoundException;
+import org.kie.server.services.jbpm.document.FileSystemDocumentStorageService;
+import org.kie.server.services.jbpm.document.StreamingDocumentStorageService;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,15 +46,18 @@ public class DocumentServiceBase {
     private static final Logger logger = LoggerFactory.getLogger(DocumentServiceBase.class);
 
     private DocumentStorageService documentStorageService = DocumentStorageServiceProvider.get().getStorageService();
+    private StreamingDocumentStorageService streamingStorageService;
     private MarshallerHelper marshallerHelper;
 
     public DocumentServiceBase(KieServerRegistry context) {
         this.marshallerHelper = new MarshallerHelper(context);
+        this.streamingStorageService = findStreamingStorageService(documentStorageService);
     }
 
     public DocumentServiceBase(DocumentStorageService documentStorageService, KieServerRegistry context) {
         this.documentStorageService = documentStorageService;
         this.marshallerHelper = new MarshallerHelper(context);
+        this.streamingStorageService = findStreamingStorageService(documentStorageService);
     }
 
     public DocumentInstance getDocument(String documentId) {
@@ -53,7 +65,7 @@ public class DocumentServiceBase {
         final Document document = documentStorageService.getDocument(documentId);
         logger.debug("Document loaded from repository {}", document);
         if (document == null) {
-            throw new KieServerRuntimeException("No document found with id " + documentId);
+            throw new DocumentNotFoundException("No document found with id " + documentId);
         }
         return convertDocument(document, true);
     }
@@ -80,7 +92,7 @@ public class DocumentServiceBase {
         Document document = documentStorageService.getDocument(documentId);
         logger.debug("Document found {}", documentInstance != null);
         if (document == null) {
-            throw new KieServerRuntimeException("No document found with id " + documentId);
+            throw new DocumentNotFoundException("No document found with id " + documentId);
         }
 
         documentStorageService.saveDocument(document, documentInstance.getContent());
@@ -92,13 +104,100 @@ public class DocumentServiceBase {
         Document document = documentStorageService.getDocument(documentId);
         logger.debug("Document found {}", document != null);
         if (document == null) {
-            throw new KieServerRuntimeException("No document found with id " + documentId);
+            throw new DocumentNotFoundException("No document found with id " + documentId);
         }
 
         documentStorageService.deleteDocument(document);
         logger.debug("Document {} deleted successfully", document);
     }
 
+    /**
+     * Stores new document with content read from given stream - without loading it into memory when document
+     * storage supports streaming
+     * @return identifier of the stored document
+     */
+    public String storeDocument(String name, Date lastModified, InputStream content) {
+        logger.debug("About to store document '{}' from stream", name);
+        if (lastModified == null) {
+            lastModified = new Date();
+        }
+        Document document;
+        if (streamingStorageService != null) {
+            document = documentStorageService.buildDocument(name, 0, lastModified, new HashMap<String, String>());
+            streamingStorageService.saveDocument(document, content);
+        } else {
+            byte[] bytes = readContent(content);
+            document = documentStorageService.buildDocument(name, bytes.length, lastModified, new HashMap<String, String>());
+            documentStorageService.saveDocument(document, bytes);
+        }
+        logger.debug("Document {} stored successfully", document);
+
+        return document.getIdentifier();
+    }
+
+    /**
+     * Replaces content of the document with content read from given stream
+     */
+    public void updateDocumentContent(String documentId, InputStream content) {
+        logger.debug("About to update content of document with id {} from stream", documentId);
+        if (streamingStorageService != null) {
+            Document document = streamingStorageService.getDocumentMetadata(documentId);
+            if (document == null) {
+                throw new DocumentNotFoundException("No document found with id " + documentId);
+            }
+            document.setLastModified(new Date());
+            streamingStorageService.saveDocument(document, content);
+            logger.debug("Document {} updated successfully", document);
+        } else {
+            Document document = documentStorageService.getDocument(documentId);
+            if (document == null) {
+                throw new DocumentNotFoundException("No document found with id " + documentId);
+            }
+            byte[] bytes = readContent(content);
+            document.setSize(bytes.length);
+            document.setLastModified(new Date());
+            documentStorageService.saveDocument(document, bytes);
+            logger.debug("Document {} updated successfully", document);
+        }
+    }
+
+    /**
+     * Loads the document to be streamed by {@link #openDocumentContent(DocumentInstance, long)}. Content is only
+     * included when the storage does not support streaming, as it has been loaded anyway.
+     */
+    public DocumentInstance getDocumentMetadata(String documentId) {
+        logger.debug("About to load metadata of document with id {}", documentId);
+        if (streamingStorageService != null) {
+            Document document = streamingStorageService.getDocumentMetadata(documentId);
+            if (document == null) {
+                throw new DocumentNotFoundException("No document found with id " + documentId);
+            }
+            return convertDocument(document, false);
+        }
+        return getDocument(documentId);
+    }
+
+    /**
+     * Opens stream with content of the document starting at given offset, caller is responsible for closing it
+     * @param document document loaded by {@link #getDocumentMetadata(String)}
+     */
+    public InputStream openDocumentContent(DocumentInstance document, long offset) {
+        InputStream content;
+        if (document.getContent() != null) {
+            ByteArrayInputStream bytes = new ByteArrayInputStream(document.getContent());
+            bytes.skip(offset);
+            content = bytes;
+        } else if (streamingStorageService != null) {
+            content = streamingStorageService.openDocumentContent(document.getIdentifier(), offset);
+        } else {
+            content = null;
+        }
+        if (content == null) {
+            throw new DocumentNotFoundException("No document found with id " + document.getIdentifier());
+        }
+        return content;
+    }
+
     public DocumentInstanceList listDocuments(Integer page, Integer pageSize) {
         logger.debug("About to list documents with page {} and pageSize {}", page, pageSize);
         final List<Document> documents = documentStorageService.listDocuments(page, pageSize);
@@ -113,6 +212,32 @@ public class DocumentServiceBase {
         return result;
     }
 
+    protected StreamingDocumentStorageService findStreamingStorageService(DocumentStorageService storageService) {
+        if (storageService instanceof StreamingDocumentStorageService) {
+            return (StreamingDocumentStorageService) storageService;
+        }
+        if (storageService != null && storageService.getClass() == DocumentStorageServiceImpl.class) {
+            // default storage keeps documents on file system so they can be streamed directly
+            return new FileSystemDocumentStorageService();
+        }
+        logger.debug("Document storage {} does not support streaming, document content will be loaded into memory", storageService);
+        return null;
+    }
+
+    protected byte[] readContent(InputStream content) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        try {
+            while ((read = content.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new KieServerRuntimeException("Unable to read document content", e);
+        }
+        return bytes.toByteArray();
+    }
+
     protected List<DocumentInstance> convertDocumentList(List<Document> documents) {
 
         List<DocumentInstance> list = new ArrayList<DocumentInstance>();
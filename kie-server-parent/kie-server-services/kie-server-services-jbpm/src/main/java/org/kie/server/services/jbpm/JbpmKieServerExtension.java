@@ -110,10 +110,13 @@ import org.kie.server.services.api.KieServerExtension;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.api.SupportedTransports;
 import org.kie.server.services.impl.KieServerImpl;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
 import org.kie.server.services.jbpm.admin.ProcessAdminServiceBase;
 import org.kie.server.services.jbpm.admin.UserTaskAdminServiceBase;
 import org.kie.server.services.jbpm.jpa.PersistenceUnitInfoImpl;
 import org.kie.server.services.jbpm.jpa.PersistenceUnitInfoLoader;
+import org.kie.server.services.jbpm.metrics.ExecutorJobsGauge;
+import org.kie.server.services.jbpm.metrics.ProcessMetricsListener;
 import org.kie.server.services.jbpm.security.JMSUserGroupAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -287,6 +290,10 @@ public class JbpmKieServerExtension implements KieServerExtension {
             executorService.init();
 
             ((KModuleDeploymentService) deploymentService).setExecutorService(executorService);
+
+            if (KieServerMetrics.isEnabled()) {
+                KieServerMetrics.registerGauge(KieServerMetrics.JOBS, "status", new ExecutorJobsGauge(emf));
+            }
         }
 
         // admin services
@@ -317,6 +324,7 @@ public class JbpmKieServerExtension implements KieServerExtension {
         ((AbstractDeploymentService)deploymentService).shutdown();
 
         if (executorService != null) {
+            KieServerMetrics.unregisterGauge(KieServerMetrics.JOBS);
             executorService.destroy();
         }
 
@@ -406,6 +414,11 @@ public class JbpmKieServerExtension implements KieServerExtension {
                 addProcessIdentityProcessListener(unit, kieContainer);
             }
 
+            if (KieServerMetrics.isEnabled()) {
+                logger.debug("Registering process and task metrics listeners");
+                addMetricsListeners(id, unit, kieContainer);
+            }
+
             deploymentService.deploy(unit);
             // in case it was deployed successfully pass all known classes to marshallers (jaxb, json etc)
             DeployedUnit deployedUnit = deploymentService.getDeployedUnit(unit.getIdentifier());
@@ -492,6 +505,8 @@ public class JbpmKieServerExtension implements KieServerExtension {
         }
         // remove any query param builder factories
         QueryParamBuilderManager.get().removeQueryFactories(id);
+        // forget start times of instances that are not going to complete in this container
+        ProcessMetricsListener.disposeContainer(id);
         logger.debug("Container {} disposed successfully by extension {}", id, this);
 
         // remove any container specific queries
@@ -648,6 +663,22 @@ public class JbpmKieServerExtension implements KieServerExtension {
         unit.setDeploymentDescriptor(descriptor);
     }
 
+    protected void addMetricsListeners(final String id, final KModuleDeploymentUnit unit, final InternalKieContainer kieContainer) {
+        final DeploymentDescriptor descriptor = getDeploymentDescriptor(unit, kieContainer);
+        descriptor.getBuilder()
+                .addEventListener(
+                        new ObjectModel(
+                                "mvel",
+                                "new org.kie.server.services.jbpm.metrics.ProcessMetricsListener(\"" + id + "\")"
+                        ))
+                .addTaskEventListener(
+                        new ObjectModel(
+                                "mvel",
+                                "new org.kie.server.services.jbpm.metrics.TaskMetricsListener(\"" + id + "\")"
+                        ));
+        unit.setDeploymentDescriptor(descriptor);
+    }
+
     protected DeploymentDescriptor getDeploymentDescriptor(KModuleDeploymentUnit unit, InternalKieContainer kieContainer) {
         DeploymentDescriptor descriptor = unit.getDeploymentDescriptor();
         if (descriptor == null) {
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.jbpm.document;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.UUID;
+
+import org.jbpm.document.Document;
+import org.jbpm.document.service.impl.DocumentImpl;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.services.api.KieServerRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streaming access to documents stored by the default jBPM file system storage - uses the same layout
+ * (<code>storage/documentId/documentName</code>) so documents can be accessed by both of them.
+ */
+public class FileSystemDocumentStorageService implements StreamingDocumentStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemDocumentStorageService.class);
+
+    private final File documentStorage;
+
+    public FileSystemDocumentStorageService() {
+        this(System.getProperty(KieServerConstants.CFG_DOCUMENT_STORAGE_PATH, ".docs"));
+    }
+
+    public FileSystemDocumentStorageService(String storagePath) {
+        this.documentStorage = new File(storagePath);
+    }
+
+    @Override
+    public Document saveDocument(Document document, InputStream content) {
+        if (document.getIdentifier() == null || document.getIdentifier().isEmpty()) {
+            document.setIdentifier(UUID.randomUUID().toString());
+        }
+        if (!isValidFileName(document.getIdentifier()) || !isValidFileName(document.getName())) {
+            throw new IllegalArgumentException("Invalid document identifier or name: " + document.getIdentifier() + ", " + document.getName());
+        }
+        File directory = new File(documentStorage, document.getIdentifier());
+        File destination = new File(directory, document.getName());
+        try {
+            if (!isInStorage(destination)) {
+                throw new IllegalArgumentException("Document " + document.getName() + " would be stored outside of document storage");
+            }
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Unable to create directory " + directory);
+            }
+            // content of the document is replaced, remove any file stored under different name
+            File[] existing = directory.listFiles();
+            if (existing != null) {
+                for (File file : existing) {
+                    if (!file.getName().equals(destination.getName())) {
+                        Files.delete(file.toPath());
+                    }
+                }
+            }
+
+            long size = Files.copy(content, destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            document.setSize(size);
+            if (document.getLastModified() != null) {
+                destination.setLastModified(document.getLastModified().getTime());
+            }
+            logger.debug("Stored {} bytes of document {} in {}", size, document.getIdentifier(), destination);
+            return document;
+        } catch (IOException e) {
+            throw new KieServerRuntimeException("Unable to store content of document " + document.getIdentifier(), e);
+        }
+    }
+
+    @Override
+    public Document getDocumentMetadata(String documentId) {
+        File file = getContentFile(documentId);
+        if (file == null) {
+            return null;
+        }
+        DocumentImpl document = new DocumentImpl();
+        document.setIdentifier(documentId);
+        document.setName(file.getName());
+        document.setSize(file.length());
+        document.setLastModified(new Date(file.lastModified()));
+
+        return document;
+    }
+
+    @Override
+    public InputStream openDocumentContent(String documentId, long offset) {
+        File file = getContentFile(documentId);
+        if (file == null) {
+            return null;
+        }
+        try {
+            FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            channel.position(offset);
+            return Channels.newInputStream(channel);
+        } catch (IOException e) {
+            throw new KieServerRuntimeException("Unable to read content of document " + documentId, e);
+        }
+    }
+
+    protected File getContentFile(String documentId) {
+        if (!isValidFileName(documentId)) {
+            return null;
+        }
+        File directory = new File(documentStorage, documentId);
+        File[] files = directory.listFiles();
+        if (files == null || files.length == 0 || files[0].isDirectory()) {
+            return null;
+        }
+        return files[0];
+    }
+
+    /**
+     * Names are used as single path element, so they must not navigate to other directories
+     */
+    public static boolean isValidFileName(String name) {
+        return name != null && !name.trim().isEmpty() && !name.contains("/") && !name.contains("\\")
+                && !name.equals(".") && !name.equals("..") && name.indexOf('\0') < 0;
+    }
+
+    protected boolean isInStorage(File file) throws IOException {
+        String storagePath = documentStorage.getCanonicalPath() + File.separator;
+        return file.getCanonicalPath().startsWith(storagePath);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.jbpm.document;
+
+import java.io.InputStream;
+
+import org.jbpm.document.Document;
+
+/**
+ * Optional extension of document storage that allows to transfer document content as streams instead of
+ * byte arrays, so memory used by upload and download does not depend on size of the document.
+ * Storage services that do not implement it are accessed with byte arrays.
+ */
+public interface StreamingDocumentStorageService {
+
+    /**
+     * Stores content of the given document read from the stream, replacing any existing content of the document
+     * @param document document built by the storage service or loaded from it
+     * @param content stream to read the content from, it is not closed by the storage
+     * @return stored document with size updated to the number of bytes read
+     */
+    Document saveDocument(Document document, InputStream content);
+
+    /**
+     * Loads the document without its content
+     * @param documentId identifier of the document
+     * @return document or null if there is no document with given id
+     */
+    Document getDocumentMetadata(String documentId);
+
+    /**
+     * Opens stream with content of the document, caller is responsible for closing it
+     * @param documentId identifier of the document
+     * @param offset number of bytes to skip from the beginning of the content
+     * @return stream positioned at given offset or null if there is no document with given id
+     */
+    InputStream openDocumentContent(String documentId, long offset);
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.jbpm.metrics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Number of executor jobs per status, computed only when metrics are read so jobs processing itself
+ * is not affected. Throughput is the rate of the COMPLETED/ERROR values between reads.
+ */
+public class ExecutorJobsGauge implements Supplier<Map<String, ? extends Number>> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorJobsGauge.class);
+
+    private static final String QUERY = "select r.status, count(r) from RequestInfo r group by r.status";
+
+    private final EntityManagerFactory emf;
+
+    public ExecutorJobsGauge(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    @Override
+    public Map<String, ? extends Number> get() {
+        Map<String, Long> jobs = new HashMap<>();
+        EntityManager em = emf.createEntityManager();
+        try {
+            List<Object[]> rows = em.createQuery(QUERY, Object[].class).getResultList();
+            for (Object[] row : rows) {
+                jobs.put(String.valueOf(row[0]), ((Number) row[1]).longValue());
+            }
+        } catch (Exception e) {
+            logger.debug("Unable to count executor jobs", e);
+        } finally {
+            em.close();
+        }
+        return jobs;
+    }
+}
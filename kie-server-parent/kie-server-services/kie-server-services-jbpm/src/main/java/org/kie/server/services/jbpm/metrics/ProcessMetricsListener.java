@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.jbpm.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.process.instance.impl.ProcessInstanceImpl;
+import org.kie.api.event.process.DefaultProcessEventListener;
+import org.kie.api.event.process.ProcessCompletedEvent;
+import org.kie.api.event.process.ProcessStartedEvent;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
+
+/**
+ * Records how long it takes to start process instances (until the instance reaches first wait state) and
+ * how long process instances run. Listeners are created per runtime engine, so start times of running instances
+ * are kept per container and shared by all of them; only instances started by this server since it was started
+ * are measured for duration. To keep memory bounded only the most recently started instances of each container
+ * are tracked (see {@link KieServerConstants#CFG_METRICS_PROCESS_TRACKED_INSTANCES}).
+ */
+public class ProcessMetricsListener extends DefaultProcessEventListener {
+
+    // kept in the process instance itself so nothing is left behind when the start fails
+    private static final String START_NANOS = ProcessMetricsListener.class.getName() + ".start";
+
+    private static final int maxTrackedInstances = Integer.parseInt(System.getProperty(KieServerConstants.CFG_METRICS_PROCESS_TRACKED_INSTANCES, "10000"));
+
+    private static final Map<String, Map<Long, Long>> instanceStarts = new ConcurrentHashMap<>();
+
+    private final String containerId;
+
+    public ProcessMetricsListener(String containerId) {
+        this.containerId = containerId;
+    }
+
+    /**
+     * Forgets start times of instances of disposed container
+     * @param containerId id of the disposed container
+     */
+    public static void disposeContainer(String containerId) {
+        instanceStarts.remove(containerId);
+    }
+
+    @Override
+    public void beforeProcessStarted(ProcessStartedEvent event) {
+        ProcessInstance processInstance = event.getProcessInstance();
+        if (processInstance instanceof ProcessInstanceImpl) {
+            ((ProcessInstanceImpl) processInstance).getMetaData().put(START_NANOS, System.nanoTime());
+        }
+        instanceStarts.computeIfAbsent(containerId, id -> createStartsMap())
+                .put(processInstance.getId(), System.currentTimeMillis());
+    }
+
+    @Override
+    public void afterProcessStarted(ProcessStartedEvent event) {
+        ProcessInstance processInstance = event.getProcessInstance();
+        if (!(processInstance instanceof ProcessInstanceImpl)) {
+            return;
+        }
+        Object started = ((ProcessInstanceImpl) processInstance).getMetaData().remove(START_NANOS);
+        if (!(started instanceof Long)) {
+            return;
+        }
+        KieServerMetrics.recordTime(KieServerMetrics.PROCESS_START, System.nanoTime() - (Long) started,
+                                    "container_id", containerId, "process_id", processInstance.getProcessId());
+    }
+
+    @Override
+    public void afterProcessCompleted(ProcessCompletedEvent event) {
+        Map<Long, Long> starts = instanceStarts.get(containerId);
+        Long started = starts == null ? null : starts.remove(event.getProcessInstance().getId());
+        if (started == null) {
+            return;
+        }
+        long duration = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - started);
+        KieServerMetrics.recordTime(KieServerMetrics.PROCESS_DURATION, duration,
+                                    "container_id", containerId, "process_id", event.getProcessInstance().getProcessId(),
+                                    "state", String.valueOf(event.getProcessInstance().getState()));
+    }
+
+    private static Map<Long, Long> createStartsMap() {
+        return Collections.synchronizedMap(new LinkedHashMap<Long, Long>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxTrackedInstances;
+            }
+        });
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.jbpm.metrics;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.services.task.events.DefaultTaskEventListener;
+import org.kie.api.task.TaskEvent;
+import org.kie.api.task.model.Task;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
+
+/**
+ * Counts task lifecycle events and records how long tasks wait to be started and to be completed,
+ * both measured from the time the task was created.
+ */
+public class TaskMetricsListener extends DefaultTaskEventListener {
+
+    private final String containerId;
+
+    public TaskMetricsListener(String containerId) {
+        this.containerId = containerId;
+    }
+
+    @Override
+    public void afterTaskAddedEvent(TaskEvent event) {
+        KieServerMetrics.increment(KieServerMetrics.TASK_EVENTS, "container_id", containerId, "event", "added");
+    }
+
+    @Override
+    public void afterTaskStartedEvent(TaskEvent event) {
+        KieServerMetrics.increment(KieServerMetrics.TASK_EVENTS, "container_id", containerId, "event", "started");
+        recordSinceCreated(event.getTask(), "started");
+    }
+
+    @Override
+    public void afterTaskCompletedEvent(TaskEvent event) {
+        KieServerMetrics.increment(KieServerMetrics.TASK_EVENTS, "container_id", containerId, "event", "completed");
+        recordSinceCreated(event.getTask(), "completed");
+    }
+
+    @Override
+    public void afterTaskExitedEvent(TaskEvent event) {
+        KieServerMetrics.increment(KieServerMetrics.TASK_EVENTS, "container_id", containerId, "event", "exited");
+    }
+
+    protected void recordSinceCreated(Task task, String phase) {
+        Date createdOn = task.getTaskData().getCreatedOn();
+        if (createdOn == null) {
+            return;
+        }
+        long duration = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - createdOn.getTime());
+        KieServerMetrics.recordTime(KieServerMetrics.TASK_DURATION, duration, "container_id", containerId, "phase", phase);
+    }
+}
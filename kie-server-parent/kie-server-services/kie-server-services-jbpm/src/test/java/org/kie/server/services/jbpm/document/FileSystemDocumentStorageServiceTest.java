@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.jbpm.document;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Date;
+
+import org.jbpm.document.Document;
+import org.jbpm.document.service.impl.DocumentImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FileSystemDocumentStorageServiceTest {
+
+    private File storage;
+    private FileSystemDocumentStorageService storageService;
+
+    @Before
+    public void setup() throws IOException {
+        storage = Files.createTempDirectory("documents").toFile();
+        storageService = new FileSystemDocumentStorageService(storage.getAbsolutePath());
+    }
+
+    @After
+    public void cleanup() {
+        deleteRecursively(storage);
+    }
+
+    @Test
+    public void testSaveAndReadDocument() throws Exception {
+        byte[] content = "just text content".getBytes();
+
+        Document document = newDocument("first document");
+        storageService.saveDocument(document, new ByteArrayInputStream(content));
+        assertNotNull(document.getIdentifier());
+        assertEquals(content.length, document.getSize());
+        assertTrue(new File(new File(storage, document.getIdentifier()), "first document").exists());
+
+        Document loaded = storageService.getDocumentMetadata(document.getIdentifier());
+        assertNotNull(loaded);
+        assertEquals(document.getIdentifier(), loaded.getIdentifier());
+        assertEquals("first document", loaded.getName());
+        assertEquals(content.length, loaded.getSize());
+        assertNull(loaded.getContent());
+
+        try (InputStream stream = storageService.openDocumentContent(document.getIdentifier(), 0)) {
+            assertArrayEquals(content, read(stream));
+        }
+        try (InputStream stream = storageService.openDocumentContent(document.getIdentifier(), 5)) {
+            assertEquals("text content", new String(read(stream)));
+        }
+    }
+
+    @Test
+    public void testReplaceDocumentContent() throws Exception {
+        Document document = newDocument("first document");
+        storageService.saveDocument(document, new ByteArrayInputStream("just text content".getBytes()));
+
+        byte[] updated = "updated".getBytes();
+        storageService.saveDocument(document, new ByteArrayInputStream(updated));
+        assertEquals(updated.length, document.getSize());
+
+        try (InputStream stream = storageService.openDocumentContent(document.getIdentifier(), 0)) {
+            assertArrayEquals(updated, read(stream));
+        }
+        assertEquals(1, new File(storage, document.getIdentifier()).listFiles().length);
+    }
+
+    @Test
+    public void testNotExistingDocument() {
+        assertNull(storageService.getDocumentMetadata("not-existing"));
+        assertNull(storageService.openDocumentContent("not-existing", 0));
+        assertNull(storageService.getDocumentMetadata("../" + storage.getName()));
+    }
+
+    @Test
+    public void testDocumentNameOutsideOfStorage() {
+        for (String name : new String[]{"../../escaped", "..", "dir/escaped", "dir\\escaped", ""}) {
+            try {
+                storageService.saveDocument(newDocument(name), new ByteArrayInputStream("content".getBytes()));
+                fail("Document with name '" + name + "' should be rejected");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+        assertFalse(new File(storage.getParentFile().getParentFile(), "escaped").exists());
+        assertEquals(0, storage.listFiles().length);
+    }
+
+    @Test
+    public void testDocumentIdentifierOutsideOfStorage() {
+        Document document = newDocument("document");
+        document.setIdentifier("..");
+        try {
+            storageService.saveDocument(document, new ByteArrayInputStream("content".getBytes()));
+            fail("Document with identifier '..' should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertFalse(new File(storage.getParentFile(), "document").exists());
+    }
+
+    private Document newDocument(String name) {
+        DocumentImpl document = new DocumentImpl();
+        document.setName(name);
+        document.setLastModified(new Date());
+        return document;
+    }
+
+    private byte[] read(InputStream stream) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
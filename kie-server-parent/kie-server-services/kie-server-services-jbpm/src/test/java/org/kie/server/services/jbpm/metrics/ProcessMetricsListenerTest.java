@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.jbpm.metrics;
+
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.event.process.ProcessCompletedEvent;
+import org.kie.api.event.process.ProcessStartedEvent;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
+
+import static org.junit.Assert.*;
+import static org.kie.server.services.jbpm.metrics.RecordingMetricsCollector.series;
+import static org.mockito.Mockito.*;
+
+public class ProcessMetricsListenerTest {
+
+    private static final String CONTAINER_ID = "test-container";
+
+    private RecordingMetricsCollector collector = new RecordingMetricsCollector();
+    private ProcessMetricsListener listener = new ProcessMetricsListener(CONTAINER_ID);
+
+    @Before
+    public void setup() {
+        KieServerMetrics.setCollector(collector);
+    }
+
+    @After
+    public void cleanup() {
+        KieServerMetrics.setCollector(null);
+        ProcessMetricsListener.disposeContainer(CONTAINER_ID);
+    }
+
+    @Test
+    public void testProcessStartRecorded() {
+        RuleFlowProcessInstance processInstance = createProcessInstance(1L, "test.process");
+
+        listener.beforeProcessStarted(startedEvent(processInstance));
+        listener.afterProcessStarted(startedEvent(processInstance));
+
+        assertEquals(1, collector.getTimes().size());
+        assertEquals(series(KieServerMetrics.PROCESS_START, "container_id", CONTAINER_ID, "process_id", "test.process"),
+                     collector.getTimes().get(0));
+        assertTrue(processInstance.getMetaData().isEmpty());
+    }
+
+    @Test
+    public void testSubProcessStartRecordedSeparately() {
+        RuleFlowProcessInstance parent = createProcessInstance(1L, "parent.process");
+        RuleFlowProcessInstance child = createProcessInstance(2L, "child.process");
+
+        listener.beforeProcessStarted(startedEvent(parent));
+        listener.beforeProcessStarted(startedEvent(child));
+        listener.afterProcessStarted(startedEvent(child));
+        listener.afterProcessStarted(startedEvent(parent));
+
+        assertEquals(2, collector.getTimes().size());
+        assertEquals(series(KieServerMetrics.PROCESS_START, "container_id", CONTAINER_ID, "process_id", "child.process"),
+                     collector.getTimes().get(0));
+        assertEquals(series(KieServerMetrics.PROCESS_START, "container_id", CONTAINER_ID, "process_id", "parent.process"),
+                     collector.getTimes().get(1));
+    }
+
+    @Test
+    public void testFailedStartDoesNotAffectNextStart() {
+        RuleFlowProcessInstance failed = createProcessInstance(1L, "failing.process");
+        RuleFlowProcessInstance processInstance = createProcessInstance(2L, "test.process");
+
+        // start of the first instance failed so after event is never fired for it
+        listener.beforeProcessStarted(startedEvent(failed));
+        listener.beforeProcessStarted(startedEvent(processInstance));
+        listener.afterProcessStarted(startedEvent(processInstance));
+        listener.afterProcessStarted(startedEvent(processInstance));
+
+        assertEquals(1, collector.getTimes().size());
+        assertEquals(series(KieServerMetrics.PROCESS_START, "container_id", CONTAINER_ID, "process_id", "test.process"),
+                     collector.getTimes().get(0));
+    }
+
+    @Test
+    public void testProcessDurationRecorded() {
+        RuleFlowProcessInstance processInstance = createProcessInstance(1L, "test.process");
+        listener.beforeProcessStarted(startedEvent(processInstance));
+        listener.afterProcessStarted(startedEvent(processInstance));
+
+        // completed by listener of another runtime engine of the same container
+        new ProcessMetricsListener(CONTAINER_ID).afterProcessCompleted(completedEvent(processInstance));
+
+        assertEquals(2, collector.getTimes().size());
+        assertEquals(series(KieServerMetrics.PROCESS_DURATION, "container_id", CONTAINER_ID, "process_id", "test.process",
+                            "state", String.valueOf(processInstance.getState())),
+                     collector.getTimes().get(1));
+
+        // start time is forgotten once the instance completes
+        listener.afterProcessCompleted(completedEvent(processInstance));
+        assertEquals(2, collector.getTimes().size());
+    }
+
+    @Test
+    public void testDurationOfUnknownInstanceNotRecorded() {
+        listener.afterProcessCompleted(completedEvent(createProcessInstance(1L, "test.process")));
+
+        assertTrue(collector.getTimes().isEmpty());
+    }
+
+    @Test
+    public void testDisposeContainerDropsStartTimes() {
+        RuleFlowProcessInstance processInstance = createProcessInstance(1L, "test.process");
+        listener.beforeProcessStarted(startedEvent(processInstance));
+        listener.afterProcessStarted(startedEvent(processInstance));
+
+        ProcessMetricsListener.disposeContainer(CONTAINER_ID);
+        listener.afterProcessCompleted(completedEvent(processInstance));
+
+        assertEquals(1, collector.getTimes().size());
+    }
+
+    private RuleFlowProcessInstance createProcessInstance(long id, String processId) {
+        RuleFlowProcessInstance processInstance = new RuleFlowProcessInstance();
+        processInstance.setId(id);
+        processInstance.setProcessId(processId);
+        return processInstance;
+    }
+
+    private ProcessStartedEvent startedEvent(ProcessInstance processInstance) {
+        ProcessStartedEvent event = mock(ProcessStartedEvent.class);
+        when(event.getProcessInstance()).thenReturn(processInstance);
+        return event;
+    }
+
+    private ProcessCompletedEvent completedEvent(ProcessInstance processInstance) {
+        ProcessCompletedEvent event = mock(ProcessCompletedEvent.class);
+        when(event.getProcessInstance()).thenReturn(processInstance);
+        return event;
+    }
+}
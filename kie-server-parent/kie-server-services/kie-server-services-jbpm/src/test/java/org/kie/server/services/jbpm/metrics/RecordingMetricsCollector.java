@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.jbpm.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.kie.server.services.api.KieServerMetricsCollector;
+
+/**
+ * Collector that keeps every reported measurement so tests can check what listeners reported.
+ */
+public class RecordingMetricsCollector implements KieServerMetricsCollector {
+
+    private final List<List<String>> times = new ArrayList<>();
+    private final List<List<String>> increments = new ArrayList<>();
+
+    @Override
+    public synchronized void recordTime(String name, long durationNanos, String... labels) {
+        times.add(series(name, labels));
+    }
+
+    @Override
+    public synchronized void increment(String name, String... labels) {
+        increments.add(series(name, labels));
+    }
+
+    @Override
+    public void registerGauge(String name, String label, Supplier<Map<String, ? extends Number>> values) {
+    }
+
+    @Override
+    public void unregisterGauge(String name) {
+    }
+
+    @Override
+    public void removeSeries(String label, String value) {
+    }
+
+    public synchronized List<List<String>> getTimes() {
+        return new ArrayList<>(times);
+    }
+
+    public synchronized List<List<String>> getIncrements() {
+        return new ArrayList<>(increments);
+    }
+
+    /**
+     * @return name followed by labels, in the form measurements are kept in
+     */
+    public static List<String> series(String name, String... labels) {
+        List<String> series = new ArrayList<>();
+        series.add(name);
+        series.addAll(Arrays.asList(labels));
+        return series;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.jbpm.metrics;
+
+import java.util.Date;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.task.TaskEvent;
+import org.kie.api.task.model.Task;
+import org.kie.api.task.model.TaskData;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
+
+import static org.junit.Assert.*;
+import static org.kie.server.services.jbpm.metrics.RecordingMetricsCollector.series;
+import static org.mockito.Mockito.*;
+
+public class TaskMetricsListenerTest {
+
+    private static final String CONTAINER_ID = "test-container";
+
+    private RecordingMetricsCollector collector = new RecordingMetricsCollector();
+    private TaskMetricsListener listener = new TaskMetricsListener(CONTAINER_ID);
+
+    @Before
+    public void setup() {
+        KieServerMetrics.setCollector(collector);
+    }
+
+    @After
+    public void cleanup() {
+        KieServerMetrics.setCollector(null);
+    }
+
+    @Test
+    public void testTaskEventsCounted() {
+        TaskEvent event = taskEvent(new Date());
+
+        listener.afterTaskAddedEvent(event);
+        listener.afterTaskStartedEvent(event);
+        listener.afterTaskCompletedEvent(event);
+        listener.afterTaskExitedEvent(event);
+
+        assertEquals(4, collector.getIncrements().size());
+        assertEquals(series(KieServerMetrics.TASK_EVENTS, "container_id", CONTAINER_ID, "event", "added"), collector.getIncrements().get(0));
+        assertEquals(series(KieServerMetrics.TASK_EVENTS, "container_id", CONTAINER_ID, "event", "started"), collector.getIncrements().get(1));
+        assertEquals(series(KieServerMetrics.TASK_EVENTS, "container_id", CONTAINER_ID, "event", "completed"), collector.getIncrements().get(2));
+        assertEquals(series(KieServerMetrics.TASK_EVENTS, "container_id", CONTAINER_ID, "event", "exited"), collector.getIncrements().get(3));
+    }
+
+    @Test
+    public void testTaskDurationsRecorded() {
+        TaskEvent event = taskEvent(new Date(System.currentTimeMillis() - 1000));
+
+        listener.afterTaskAddedEvent(event);
+        listener.afterTaskStartedEvent(event);
+        listener.afterTaskCompletedEvent(event);
+
+        assertEquals(2, collector.getTimes().size());
+        assertEquals(series(KieServerMetrics.TASK_DURATION, "container_id", CONTAINER_ID, "phase", "started"), collector.getTimes().get(0));
+        assertEquals(series(KieServerMetrics.TASK_DURATION, "container_id", CONTAINER_ID, "phase", "completed"), collector.getTimes().get(1));
+    }
+
+    @Test
+    public void testTaskWithoutCreationDateNotTimed() {
+        listener.afterTaskCompletedEvent(taskEvent(null));
+
+        assertEquals(1, collector.getIncrements().size());
+        assertTrue(collector.getTimes().isEmpty());
+    }
+
+    private TaskEvent taskEvent(Date createdOn) {
+        TaskData taskData = mock(TaskData.class);
+        when(taskData.getCreatedOn()).thenReturn(createdOn);
+        Task task = mock(Task.class);
+        when(task.getTaskData()).thenReturn(taskData);
+        TaskEvent event = mock(TaskEvent.class);
+        when(event.getTask()).thenReturn(task);
+        return event;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.model.Message;
+import org.kie.server.api.model.Severity;
+import org.kie.server.services.api.KieContainerInstance;
+import org.kie.server.services.api.KieServerApplicationComponentsService;
+import org.kie.server.services.api.KieServerExtension;
+import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.api.SupportedTransports;
+import org.kie.server.services.impl.KieServerImpl;
+import org.kie.server.services.impl.metrics.KieServerMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Installs metrics collector used by the server and other extensions to report request, rules, DMN, process,
+ * task and executor metrics. It is disabled by default, when disabled instrumented code paths only check
+ * that no collector is installed.
+ */
+public class MetricsKieServerExtension implements KieServerExtension {
+
+    public static final String EXTENSION_NAME = "Metrics";
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsKieServerExtension.class);
+
+    private static final Boolean disabled = Boolean.parseBoolean(System.getProperty(KieServerConstants.KIE_METRICS_SERVER_EXT_DISABLED, "true"));
+
+    private KieServerRegistry context;
+    private MetricsRegistry metricsRegistry;
+
+    private List<Object> services = new ArrayList<Object>();
+    private boolean initialized = false;
+
+    @Override
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    @Override
+    public boolean isActive() {
+        return disabled == false;
+    }
+
+    @Override
+    public void init(KieServerImpl kieServer, KieServerRegistry registry) {
+        this.context = registry;
+        this.metricsRegistry = new MetricsRegistry();
+        // installed before other extensions are initialized (see start order) so they can register their metrics
+        KieServerMetrics.setCollector(metricsRegistry);
+        services.add(metricsRegistry);
+
+        logger.info("{} installed metrics collector", this);
+        initialized = true;
+    }
+
+    @Override
+    public void destroy(KieServerImpl kieServer, KieServerRegistry registry) {
+        if (KieServerMetrics.getCollector() == metricsRegistry) {
+            KieServerMetrics.setCollector(null);
+        }
+    }
+
+    @Override
+    public void createContainer(String id, KieContainerInstance kieContainerInstance, Map<String, Object> parameters) {
+        //no-op
+    }
+
+    @Override
+    public boolean isUpdateContainerAllowed(String id, KieContainerInstance kieContainerInstance, Map<String, Object> parameters) {
+        return true;
+    }
+
+    @Override
+    public void updateContainer(String id, KieContainerInstance kieContainerInstance, Map<String, Object> parameters) {
+        //no-op
+    }
+
+    @Override
+    public void disposeContainer(String id, KieContainerInstance kieContainerInstance, Map<String, Object> parameters) {
+        // series of disposed containers would otherwise be reported until restart
+        metricsRegistry.removeSeries("container_id", id);
+    }
+
+    @Override
+    public List<Object> getAppComponents(SupportedTransports type) {
+        ServiceLoader<KieServerApplicationComponentsService> appComponentsServices
+                = ServiceLoader.load(KieServerApplicationComponentsService.class);
+        List<Object> appComponentsList = new ArrayList<Object>();
+        Object[] services = {context, metricsRegistry};
+        for (KieServerApplicationComponentsService appComponentsService : appComponentsServices) {
+            appComponentsList.addAll(appComponentsService.getAppComponents(EXTENSION_NAME, type, services));
+        }
+        return appComponentsList;
+    }
+
+    @Override
+    public <T> T getAppComponents(Class<T> serviceType) {
+        if (serviceType.isAssignableFrom(MetricsRegistry.class)) {
+            return (T) metricsRegistry;
+        }
+        return null;
+    }
+
+    @Override
+    public String getImplementedCapability() {
+        return KieServerConstants.CAPABILITY_METRICS;
+    }
+
+    @Override
+    public List<Object> getServices() {
+        return services;
+    }
+
+    @Override
+    public String getExtensionName() {
+        return EXTENSION_NAME;
+    }
+
+    @Override
+    public Integer getStartOrder() {
+        return -10;
+    }
+
+    @Override
+    public String toString() {
+        return EXTENSION_NAME + " KIE Server extension";
+    }
+
+    @Override
+    public List<Message> healthCheck(boolean report) {
+        List<Message> messages = KieServerExtension.super.healthCheck(report);
+
+        if (report) {
+            messages.add(new Message(Severity.INFO, getExtensionName() + " is alive"));
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.kie.server.services.api.KieServerMetricsCollector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In memory metrics collector that keeps count, total and maximum of timers and value of counters per label set
+ * and writes them in Prometheus text exposition format. Recording does not lock, only adders are updated.
+ */
+public class MetricsRegistry implements KieServerMetricsCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final ConcurrentMap<String, ConcurrentMap<List<String>, Timer>> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<List<String>, LongAdder>> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordTime(String name, long durationNanos, String... labels) {
+        timers.computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(Arrays.asList(labels), key -> new Timer())
+                .record(durationNanos);
+    }
+
+    @Override
+    public void increment(String name, String... labels) {
+        counters.computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(Arrays.asList(labels), key -> new LongAdder())
+                .increment();
+    }
+
+    @Override
+    public void registerGauge(String name, String label, Supplier<Map<String, ? extends Number>> values) {
+        gauges.put(name, new Gauge(label, values));
+    }
+
+    @Override
+    public void unregisterGauge(String name) {
+        gauges.remove(name);
+    }
+
+    @Override
+    public void removeSeries(String label, String value) {
+        timers.values().forEach(series -> series.keySet().removeIf(labels -> hasLabel(labels, label, value)));
+        counters.values().forEach(series -> series.keySet().removeIf(labels -> hasLabel(labels, label, value)));
+    }
+
+    private static boolean hasLabel(List<String> labels, String label, String value) {
+        for (int i = 0; i + 1 < labels.size(); i += 2) {
+            if (label.equals(labels.get(i)) && value.equals(labels.get(i + 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        timers.clear();
+        counters.clear();
+    }
+
+    /**
+     * @return all collected metrics in Prometheus text format (version 0.0.4)
+     */
+    public String scrape() {
+        StringBuilder output = new StringBuilder();
+
+        for (Map.Entry<String, ConcurrentMap<List<String>, Timer>> timer : new TreeMap<>(timers).entrySet()) {
+            String name = timer.getKey();
+            output.append("# TYPE ").append(name).append(" summary\n");
+            for (Map.Entry<List<String>, Timer> series : timer.getValue().entrySet()) {
+                String labels = formatLabels(series.getKey());
+                Timer value = series.getValue();
+                output.append(name).append("_count").append(labels).append(' ').append(value.count.sum()).append('\n');
+                output.append(name).append("_sum").append(labels).append(' ').append(value.total.sum() / NANOS_PER_SECOND).append('\n');
+            }
+            output.append("# TYPE ").append(name).append("_max gauge\n");
+            for (Map.Entry<List<String>, Timer> series : timer.getValue().entrySet()) {
+                output.append(name).append("_max").append(formatLabels(series.getKey())).append(' ')
+                        .append(series.getValue().max.get() / NANOS_PER_SECOND).append('\n');
+            }
+        }
+
+        for (Map.Entry<String, ConcurrentMap<List<String>, LongAdder>> counter : new TreeMap<>(counters).entrySet()) {
+            String name = counter.getKey();
+            output.append("# TYPE ").append(name).append(" counter\n");
+            for (Map.Entry<List<String>, LongAdder> series : counter.getValue().entrySet()) {
+                output.append(name).append(formatLabels(series.getKey())).append(' ').append(series.getValue().sum()).append('\n');
+            }
+        }
+
+        for (Map.Entry<String, Gauge> gauge : new TreeMap<>(gauges).entrySet()) {
+            String name = gauge.getKey();
+            Map<String, ? extends Number> values;
+            try {
+                values = gauge.getValue().values.get();
+            } catch (Exception e) {
+                logger.debug("Unable to read gauge {}", name, e);
+                continue;
+            }
+            output.append("# TYPE ").append(name).append(" gauge\n");
+            for (Map.Entry<String, ? extends Number> value : new TreeMap<>(values).entrySet()) {
+                output.append(name).append(formatLabels(Arrays.asList(gauge.getValue().label, value.getKey()))).append(' ')
+                        .append(value.getValue()).append('\n');
+            }
+        }
+
+        return output.toString();
+    }
+
+    protected String formatLabels(List<String> labels) {
+        if (labels.isEmpty()) {
+            return "";
+        }
+        StringBuilder formatted = new StringBuilder("{");
+        for (int i = 0; i + 1 < labels.size(); i += 2) {
+            if (i > 0) {
+                formatted.append(',');
+            }
+            formatted.append(labels.get(i)).append("=\"");
+            escape(labels.get(i + 1), formatted);
+            formatted.append('"');
+        }
+        return formatted.append('}').toString();
+    }
+
+    private void escape(String value, StringBuilder output) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    output.append("\\\\");
+                    break;
+                case '"':
+                    output.append("\\\"");
+                    break;
+                case '\n':
+                    output.append("\\n");
+                    break;
+                default:
+                    output.append(c);
+            }
+        }
+    }
+
+    private static class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        void record(long durationNanos) {
+            count.increment();
+            total.add(durationNanos);
+            max.accumulate(durationNanos);
+        }
+    }
+
+    private static class Gauge {
+
+        private final String label;
+        private final Supplier<Map<String, ? extends Number>> values;
+
+        Gauge(String label, Supplier<Map<String, ? extends Number>> values) {
+            this.label = label;
+            this.values = values;
+        }
+    }
+}
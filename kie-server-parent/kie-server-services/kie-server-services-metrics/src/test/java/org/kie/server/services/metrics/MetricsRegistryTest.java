@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MetricsRegistryTest {
+
+    private MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    public void testTimers() {
+        registry.recordTime("kie_server_test_seconds", 1_000_000_000L, "container_id", "test", "stage", "execute");
+        registry.recordTime("kie_server_test_seconds", 3_000_000_000L, "container_id", "test", "stage", "execute");
+
+        String output = registry.scrape();
+        assertTrue(output.contains("# TYPE kie_server_test_seconds summary\n"));
+        assertTrue(output.contains("kie_server_test_seconds_count{container_id=\"test\",stage=\"execute\"} 2\n"));
+        assertTrue(output.contains("kie_server_test_seconds_sum{container_id=\"test\",stage=\"execute\"} 4.0\n"));
+        assertTrue(output.contains("kie_server_test_seconds_max{container_id=\"test\",stage=\"execute\"} 3.0\n"));
+    }
+
+    @Test
+    public void testCounters() {
+        registry.increment("kie_server_test_total");
+        registry.increment("kie_server_test_total");
+        registry.increment("kie_server_events_total", "event", "say \"hello\"");
+
+        String output = registry.scrape();
+        assertTrue(output.contains("# TYPE kie_server_test_total counter\n"));
+        assertTrue(output.contains("kie_server_test_total 2\n"));
+        assertTrue(output.contains("kie_server_events_total{event=\"say \\\"hello\\\"\"} 1\n"));
+    }
+
+    @Test
+    public void testGauges() {
+        Map<String, Long> values = new HashMap<>();
+        values.put("DONE", 5L);
+        values.put("QUEUED", 1L);
+        registry.registerGauge("kie_server_test_jobs", "status", () -> values);
+
+        String output = registry.scrape();
+        assertTrue(output.contains("# TYPE kie_server_test_jobs gauge\n"));
+        assertTrue(output.contains("kie_server_test_jobs{status=\"DONE\"} 5\n"));
+        assertTrue(output.contains("kie_server_test_jobs{status=\"QUEUED\"} 1\n"));
+
+        registry.unregisterGauge("kie_server_test_jobs");
+        assertFalse(registry.scrape().contains("kie_server_test_jobs"));
+    }
+
+    @Test
+    public void testRemoveSeries() {
+        registry.recordTime("kie_server_test_seconds", 1_000_000_000L, "container_id", "disposed", "stage", "execute");
+        registry.recordTime("kie_server_test_seconds", 1_000_000_000L, "container_id", "running", "stage", "execute");
+        registry.increment("kie_server_test_total", "container_id", "disposed");
+        registry.increment("kie_server_test_total", "stage", "disposed");
+
+        registry.removeSeries("container_id", "disposed");
+
+        String output = registry.scrape();
+        assertFalse(output.contains("container_id=\"disposed\""));
+        assertTrue(output.contains("kie_server_test_seconds_count{container_id=\"running\",stage=\"execute\"} 1\n"));
+        assertTrue(output.contains("kie_server_test_total{stage=\"disposed\"} 1\n"));
+    }
+
+    @Test
+    public void testFailingGaugeIsSkipped() {
+        registry.registerGauge("kie_server_failing", "status", () -> {
+            throw new IllegalStateException("not available");
+        });
+        registry.registerGauge("kie_server_empty", "status", Collections::emptyMap);
+
+        String output = registry.scrape();
+        assertFalse(output.contains("kie_server_failing"));
+        assertTrue(output.contains("# TYPE kie_server_empty gauge\n"));
+    }
+}
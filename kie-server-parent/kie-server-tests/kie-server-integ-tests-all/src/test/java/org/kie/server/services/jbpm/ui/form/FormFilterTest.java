@@ -162,6 +162,61 @@ public class FormFilterTest {
         validateFormXML(allForms);
     }
 
+    @Test
+    public void testCachedFilterSubForm() throws Exception {
+        Map<String, Object> inputs = new HashMap<String, Object>();
+        Map<String, Object> outputs = new HashMap<String, Object>();
+
+        String filteredForm = formProvider.filterXML(createOrderFormContent,
+                                                     "en",
+                                                     "test",
+                                                     inputs,
+                                                     outputs);
+
+        String cachedForm = formProvider.filterForm("CreateOrder.form",
+                                                    createOrderFormContent,
+                                                    "en",
+                                                    "test",
+                                                    inputs,
+                                                    outputs);
+        validateFormXML(cachedForm);
+        assertEquals(filteredForm,
+                     cachedForm);
+
+        // second render is served from the language filtered form
+        cachedForm = formProvider.filterForm("CreateOrder.form",
+                                             createOrderFormContent,
+                                             "en",
+                                             "test",
+                                             inputs,
+                                             outputs);
+        assertEquals(filteredForm,
+                     cachedForm);
+    }
+
+    @Test
+    public void testCachedAddSubFormDisposedWithContainer() throws Exception {
+        String allForms = formProvider.expandForm("CreateOrder.form",
+                                                  createOrderFormContent,
+                                                  "test");
+        validateFormXML(allForms);
+
+        formManagerService.registerForm("test",
+                                        "PurchaseHeader.form",
+                                        headerFormContent.replace("header_customer",
+                                                                  "header_client"));
+        assertEquals(allForms,
+                     formProvider.expandForm("CreateOrder.form",
+                                             createOrderFormContent,
+                                             "test"));
+
+        formProvider.disposeContainer("test");
+        assertNotEquals(allForms,
+                        formProvider.expandForm("CreateOrder.form",
+                                                createOrderFormContent,
+                                                "test"));
+    }
+
     private void validateFormXML(String formXML) throws Exception {
         assertNotNull(formXML);
 
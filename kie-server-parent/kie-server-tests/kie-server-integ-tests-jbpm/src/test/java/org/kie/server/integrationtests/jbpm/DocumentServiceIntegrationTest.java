@@ -15,6 +15,10 @@
 
 package org.kie.server.integrationtests.jbpm;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -34,6 +38,7 @@ import org.kie.server.api.exception.KieServicesException;
 import org.kie.server.integrationtests.category.Smoke;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
 import org.kie.server.integrationtests.shared.KieServerDeployer;
 import org.kie.server.integrationtests.shared.KieServerUtil;
 
@@ -161,6 +166,45 @@ public class DocumentServiceIntegrationTest extends JbpmKieServerBaseIntegration
         assertDocumentInstances(fromServer, updatedFromServer, true);
     }
 
+    @Test
+    public void testCreateLoadDocumentContentAsStream() throws Exception {
+        assumeFalse(configuration.isJms());
+
+        String documentId = documentClient.createDocument(document.getName(), new ByteArrayInputStream(contentBytes));
+        assertNotNull(documentId);
+
+        DocumentInstance fromServer = documentClient.getDocument(documentId);
+        assertEquals(documentId, fromServer.getIdentifier());
+        assertEquals(document.getName(), fromServer.getName());
+        assertArrayEquals(contentBytes, fromServer.getContent());
+
+        try (InputStream stream = documentClient.getDocumentContent(documentId)) {
+            assertArrayEquals(contentBytes, readStream(stream));
+        }
+        try (InputStream stream = documentClient.getDocumentContent(documentId, 5, 4)) {
+            assertEquals("text", new String(readStream(stream)));
+        }
+        try (InputStream stream = documentClient.getDocumentContent(documentId, 5, 0)) {
+            assertEquals("text content", new String(readStream(stream)));
+        }
+    }
+
+    @Test
+    public void testUpdateDocumentContentAsStream() throws Exception {
+        assumeFalse(configuration.isJms());
+
+        String documentId = documentClient.createDocument(document);
+        assertNotNull(documentId);
+
+        byte[] updateDocBytes = "here comes the update".getBytes();
+        documentClient.updateDocumentContent(documentId, new ByteArrayInputStream(updateDocBytes));
+
+        DocumentInstance updatedFromServer = documentClient.getDocument(documentId);
+        assertEquals(document.getName(), updatedFromServer.getName());
+        assertEquals(updateDocBytes.length, updatedFromServer.getSize());
+        assertArrayEquals(updateDocBytes, updatedFromServer.getContent());
+    }
+
     @Test
     public void testDeleteDocument() throws Exception {
 
@@ -342,4 +386,14 @@ public class DocumentServiceIntegrationTest extends JbpmKieServerBaseIntegration
         assertEquals(expected.getSize(), actual.getSize());
         assertEquals(new String(expected.getContent()), new String(actual.getContent()));
     }
+
+    private byte[] readStream(InputStream stream) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
 }
@@ -21,6 +21,7 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 
 /**
  * This goal builds the Drools files belonging to the kproject with incremental compilation.
+ * The parallel KieBase build options are inherited from {@link org.kie.maven.plugin.BuildMojo}.
  */
 @Mojo(name = "build",
         requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME,